@@ -8,6 +8,7 @@ import javax.json.Json;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
 
+import com.senzing.listener.service.scheduling.AbstractSQLSchedulingService;
 import com.senzing.listener.service.scheduling.AbstractSchedulingService;
 
 /**
@@ -69,6 +70,13 @@ public enum ProcessingRate
     private static final long LEISURELY_REPORT_UPDATE_PERIOD
             = SzReplicatorService.DEFAULT_REPORT_UPDATE_PERIOD * 5;
 
+    /**
+     * The {@linkplain SzReplicatorService#COALESCE_WINDOW_KEY replicator
+     * coalesce window} for {@link #LEISURELY} processing rate. Its value is
+     * <code>{@value}</code>.
+     */
+    private static final long LEISURELY_COALESCE_WINDOW = 1000L;
+
     /**
      * The {@linkplain AbstractSchedulingService#FOLLOW_UP_DELAY_KEY scheduling
      * follow-up delay} for {@link #STANDARD} processing rate. Its value is
@@ -93,6 +101,13 @@ public enum ProcessingRate
     private static final long STANDARD_REPORT_UPDATE_PERIOD
             = SzReplicatorService.DEFAULT_REPORT_UPDATE_PERIOD;
 
+    /**
+     * The {@linkplain SzReplicatorService#COALESCE_WINDOW_KEY replicator
+     * coalesce window} for {@link #STANDARD} processing rate. Its value is
+     * <code>{@value}</code>.
+     */
+    private static final long STANDARD_COALESCE_WINDOW = 250L;
+
     /**
      * The {@linkplain AbstractSchedulingService#FOLLOW_UP_DELAY_KEY scheduling
      * follow-up delay} for {@link #AGGRESSIVE} processing rate. Its value is
@@ -107,6 +122,13 @@ public enum ProcessingRate
      */
     private static final long AGGRESSIVE_FOLLOW_UP_TIMEOUT = 300L;
 
+    /**
+     * The {@linkplain AbstractSQLSchedulingService#FOLLOW_UP_MEMORY_HORIZON_KEY
+     * scheduling follow-up memory horizon} for {@link #AGGRESSIVE} processing
+     * rate. Its value is <code>{@value}</code>.
+     */
+    private static final long AGGRESSIVE_FOLLOW_UP_MEMORY_HORIZON = 2000L;
+
     /**
      * The {@linkplain SzReplicatorService#REPORT_UPDATE_PERIOD_KEY replicator
      * report update period} for {@link #AGGRESSIVE} processing rate. Its value
@@ -114,6 +136,13 @@ public enum ProcessingRate
      */
     private static final long AGGRESSIVE_REPORT_UPDATE_PERIOD = 1L;
 
+    /**
+     * The {@linkplain SzReplicatorService#COALESCE_WINDOW_KEY replicator
+     * coalesce window} for {@link #AGGRESSIVE} processing rate. Its value is
+     * <code>{@value}</code>.
+     */
+    private static final long AGGRESSIVE_COALESCE_WINDOW = 50L;
+
     static
     {
         ProcessingRate[] values = ProcessingRate.values();
@@ -133,6 +162,9 @@ public enum ProcessingRate
                 value.replicatorOptions.put(
                         SzReplicatorService.REPORT_UPDATE_PERIOD_KEY,
                         LEISURELY_REPORT_UPDATE_PERIOD);
+                value.replicatorOptions.put(
+                        SzReplicatorService.COALESCE_WINDOW_KEY,
+                        LEISURELY_COALESCE_WINDOW);
                 break;
             case STANDARD:
                 value.schedulingOptions.put(
@@ -144,6 +176,9 @@ public enum ProcessingRate
                 value.replicatorOptions.put(
                         SzReplicatorService.REPORT_UPDATE_PERIOD_KEY,
                         STANDARD_REPORT_UPDATE_PERIOD);
+                value.replicatorOptions.put(
+                        SzReplicatorService.COALESCE_WINDOW_KEY,
+                        STANDARD_COALESCE_WINDOW);
                 break;
             case AGGRESSIVE:
                 value.schedulingOptions.put(
@@ -152,9 +187,16 @@ public enum ProcessingRate
                 value.schedulingOptions.put(
                         AbstractSchedulingService.FOLLOW_UP_TIMEOUT_KEY,
                         AGGRESSIVE_FOLLOW_UP_TIMEOUT);
+                value.schedulingOptions.put(
+                        AbstractSQLSchedulingService
+                            .FOLLOW_UP_MEMORY_HORIZON_KEY,
+                        AGGRESSIVE_FOLLOW_UP_MEMORY_HORIZON);
                 value.replicatorOptions.put(
                         SzReplicatorService.REPORT_UPDATE_PERIOD_KEY,
                         AGGRESSIVE_REPORT_UPDATE_PERIOD);
+                value.replicatorOptions.put(
+                        SzReplicatorService.COALESCE_WINDOW_KEY,
+                        AGGRESSIVE_COALESCE_WINDOW);
                 break;
             default:
                 throw new IllegalStateException("Unhandled value: " + value);
@@ -32,6 +32,11 @@ public interface SzReplicationProvider
          */
         REFRESH_ENTITY, 
 
+        /**
+         * Refresh a batch of entities in a single transaction.
+         */
+        REFRESH_ENTITIES,
+
         /**
          * Refresh a relationship.
          */
@@ -1,6 +1,7 @@
 package com.senzing.datamart;
 
 import com.senzing.cmdline.*;
+import com.senzing.listener.communication.AbstractMessageConsumer;
 import com.senzing.listener.communication.MessageConsumer;
 import com.senzing.listener.communication.rabbitmq.RabbitMQConsumer;
 import com.senzing.listener.communication.sqs.SQSConsumer;
@@ -1206,6 +1207,13 @@ public class SzReplicator extends Thread
                 throw new IllegalStateException(
                     "Missing INFO queue option: " + options);
             }
+
+            // add the options for how messages are handed to the replicator
+            addProcessingOptions(consumerJOB,
+                                 this.concurrency,
+                                 this.replicatorService.getCoalesceWindow(),
+                                 this.replicatorService.getCoalesceLimit());
+
             this.messageConsumer.init(consumerJOB.build());
             if (this.queueRegistryName != null) {
                 this.sqlMessageQueue 
@@ -1225,6 +1233,46 @@ public class SzReplicator extends Thread
         }
     }
 
+    /**
+     * Adds the options to the specified {@link JsonObjectBuilder} for the
+     * message consumer configuration that control how messages are handed to
+     * the replicator service.  The consumer adapts its concurrency between
+     * the specified base concurrency and its configured upper bound.  If the
+     * specified coalesce window is positive then the consumer processes the
+     * messages asynchronously so that a worker thread is not parked on each
+     * message for the duration of the window, and it keeps at least enough
+     * messages in flight to fill a coalesced group.
+     *
+     * @param consumerJOB The {@link JsonObjectBuilder} for the consumer
+     *                    configuration.
+     * @param concurrency The base concurrency for the replicator.
+     * @param coalesceWindow The {@linkplain
+     *                       SzReplicatorService#getCoalesceWindow() coalesce
+     *                       window} in milliseconds, or zero (0) if messages
+     *                       are not coalesced.
+     * @param coalesceLimit The {@linkplain
+     *                      SzReplicatorService#getCoalesceLimit() coalesce
+     *                      limit} for the number of messages in a group.
+     */
+    protected static void addProcessingOptions(JsonObjectBuilder consumerJOB,
+                                               int               concurrency,
+                                               long              coalesceWindow,
+                                               int               coalesceLimit)
+    {
+        int minimumConcurrency = concurrency;
+        if (coalesceWindow > 0L) {
+            consumerJOB.add(AbstractMessageConsumer.ASYNC_PROCESSING_KEY,
+                            true);
+            minimumConcurrency = Math.max(concurrency, coalesceLimit);
+        }
+
+        // let the consumer adapt above the minimum concurrency
+        consumerJOB.add(AbstractMessageConsumer.ADAPTIVE_CONCURRENCY_KEY,
+                        true);
+        consumerJOB.add(AbstractMessageConsumer.MINIMUM_CONCURRENCY_KEY,
+                        minimumConcurrency);
+    }
+
     /**
      * Gets the {@link SzReplicationProvider} for this instance.
      * 
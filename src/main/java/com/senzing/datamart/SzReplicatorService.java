@@ -8,10 +8,14 @@ import com.senzing.datamart.schema.PostgreSQLSchemaBuilder;
 import com.senzing.datamart.schema.SQLiteSchemaBuilder;
 import com.senzing.datamart.schema.SchemaBuilder;
 import com.senzing.listener.service.AbstractListenerService;
+import com.senzing.listener.service.InfoMessageProcessor;
 import com.senzing.listener.service.exception.ServiceExecutionException;
 import com.senzing.listener.service.exception.ServiceSetupException;
+import com.senzing.listener.service.model.SzInfoMessage;
+import com.senzing.listener.service.scheduling.AbstractSchedulingService;
 import com.senzing.listener.service.scheduling.Scheduler;
 import com.senzing.listener.service.scheduling.SchedulingService;
+import com.senzing.listener.service.scheduling.TaskBuilder;
 import com.senzing.listener.service.scheduling.TaskHandler;
 import com.senzing.sdk.SzEnvironment;
 import com.senzing.sql.ConnectionProvider;
@@ -31,8 +35,12 @@ import static com.senzing.util.LoggingUtilities.*;
 
 /**
  * Extends {@link AbstractListenerService} to implement a data mart replication.
+ * This implements {@link InfoMessageProcessor} since its tasks are scheduled
+ * from the parsed INFO message alone, which lets message consumers parse
+ * message bodies in a single streaming pass.
  */
-public class SzReplicatorService extends AbstractListenerService 
+public class SzReplicatorService extends AbstractListenerService
+    implements InfoMessageProcessor
 {
     /**
      * Constant for converting between nanoseconds and milliseconds.
@@ -59,6 +67,52 @@ public class SzReplicatorService extends AbstractListenerService
      */
     public static final long DEFAULT_REPORT_UPDATE_PERIOD = 60L;
 
+    /**
+     * The initialization parameter key to specify the maximum total weight
+     * of the {@link EntitySnapshotCache} of the last replicated state of
+     * recently refreshed entities.  The weight of an entity is one plus its
+     * number of records and related entities.  Zero (0) disables the cache,
+     * which should only be enabled if a single replicator process writes to
+     * the data mart.
+     */
+    public static final String ENTITY_CACHE_WEIGHT_KEY = "entityCacheWeight";
+
+    /**
+     * The default maximum total weight of the {@link EntitySnapshotCache},
+     * which is zero (0) to disable the cache.
+     */
+    public static final long DEFAULT_ENTITY_CACHE_WEIGHT = 0L;
+
+    /**
+     * The initialization parameter key to specify the maximum number of
+     * affected entities from a group of coalesced INFO messages to refresh
+     * in a single transaction.  One (1) disables batching so each entity is
+     * refreshed in its own transaction.
+     */
+    public static final String REFRESH_BATCH_SIZE_KEY = "refreshBatchSize";
+
+    /**
+     * The default maximum number of affected entities to refresh in a single
+     * transaction.
+     */
+    public static final int DEFAULT_REFRESH_BATCH_SIZE = 50;
+
+    /**
+     * The initialization parameter key to specify the maximum number of
+     * postponed refresh tasks whose entities are retrieved from Senzing by
+     * the {@link EntityPrefetcher} while other tasks hold the locks they are
+     * waiting on.  Zero (0) disables prefetching.  Prefetching never
+     * increases the number of concurrent Senzing retrievals beyond the
+     * concurrency of the scheduling service.
+     */
+    public static final String PREFETCH_DEPTH_KEY = "prefetchDepth";
+
+    /**
+     * The default maximum number of postponed refresh tasks to prefetch,
+     * which is zero (0) to disable prefetching.
+     */
+    public static final int DEFAULT_PREFETCH_DEPTH = 0;
+
     /**
      * The {@link Map} of {@link DatabaseType} keys to
      * {@link SchemaBuilder} values.
@@ -178,6 +232,28 @@ public class SzReplicatorService extends AbstractListenerService
      */
     private Map<TaskAction, TaskHandler> handlerMap;
 
+    /**
+     * The {@link RefreshEntityHandler} for this instance.
+     */
+    private RefreshEntityHandler entityHandler;
+
+    /**
+     * The {@link RefreshEntitiesHandler} for this instance.
+     */
+    private RefreshEntitiesHandler batchHandler;
+
+    /**
+     * The maximum number of affected entities to refresh in a single
+     * transaction.
+     */
+    private int refreshBatchSize = DEFAULT_REFRESH_BATCH_SIZE;
+
+    /**
+     * The {@link EntityPrefetcher} for this instance, or <code>null</code>
+     * if not prefetching.
+     */
+    private EntityPrefetcher prefetcher = null;
+
     /**
      * Background thread to handle periodically scheduling tasks to avoid having
      * to use follow-up tasks to increase performance.
@@ -306,8 +382,9 @@ public class SzReplicatorService extends AbstractListenerService
         // set the environment
         this.environment = env;
 
-        RefreshEntityHandler entityHandler
-            = new RefreshEntityHandler(this.provider);
+        this.entityHandler = new RefreshEntityHandler(this.provider);
+
+        this.batchHandler = new RefreshEntitiesHandler(this.provider);
 
         SourceSummaryReportHandler summaryHandler
             = new SourceSummaryReportHandler(this.provider);
@@ -322,7 +399,8 @@ public class SzReplicatorService extends AbstractListenerService
             = new RelationBreakdownReportHandler(this.provider);
 
         this.handlerMap = Map.of(
-            REFRESH_ENTITY, entityHandler,
+            REFRESH_ENTITY, this.entityHandler,
+            REFRESH_ENTITIES, this.batchHandler,
             UPDATE_DATA_SOURCE_SUMMARY, summaryHandler,
             UPDATE_CROSS_SOURCE_SUMMARY, crossHandler,
             UPDATE_ENTITY_SIZE_BREAKDOWN, sizeBreakdownHandler,
@@ -549,6 +627,111 @@ public class SzReplicatorService extends AbstractListenerService
 
     }
 
+    /**
+     * Overridden to schedule {@link TaskAction#REFRESH_ENTITIES} tasks that
+     * each refresh up to the configured {@linkplain #REFRESH_BATCH_SIZE_KEY
+     * batch size} of the affected entities in a single transaction.  Each
+     * task requires the resources for all of its entities so that they are
+     * locked before the task is handled.  If batching is disabled, or only a
+     * single entity remains, then the affected entity is handled
+     * individually.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    protected void handleAffectedEntities(
+            Map<Long, SzInfoMessage>    affectedMap,
+            Scheduler                   scheduler)
+    {
+        int batchSize = this.refreshBatchSize;
+        if (batchSize <= 1 || affectedMap.size() <= 1) {
+            super.handleAffectedEntities(affectedMap, scheduler);
+            return;
+        }
+
+        List<Map.Entry<Long, SzInfoMessage>> entries
+            = new ArrayList<>(affectedMap.entrySet());
+
+        for (int start = 0; start < entries.size(); start += batchSize) {
+            int end = Math.min(start + batchSize, entries.size());
+
+            // handle a lone remaining entity individually
+            if (end - start == 1) {
+                Map.Entry<Long, SzInfoMessage> entry = entries.get(start);
+                this.handleAffected(
+                    entry.getKey(), entry.getValue(), null, null, scheduler);
+                continue;
+            }
+
+            TaskBuilder.ListParamBuilder idsBuilder = scheduler
+                .createTaskBuilder(REFRESH_ENTITIES.toString())
+                .listParameter(RefreshEntitiesHandler.ENTITY_IDS_KEY);
+
+            for (Map.Entry<Long, SzInfoMessage> entry
+                : entries.subList(start, end))
+            {
+                idsBuilder.add(entry.getKey());
+            }
+
+            TaskBuilder builder = idsBuilder.endList();
+
+            for (Map.Entry<Long, SzInfoMessage> entry
+                : entries.subList(start, end))
+            {
+                builder.resource(ENTITY_RESOURCE_KEY, entry.getKey());
+            }
+
+            builder.schedule();
+        }
+    }
+
+    /**
+     * Overridden to notify the {@link TaskHandler} for the action of the
+     * postponed task so it can prepare for the task.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    protected void taskPostponed(String                action,
+                                 Map<String, Object>   parameters,
+                                 int                   multiplicity)
+    {
+        TaskAction taskAction = null;
+        try {
+            taskAction = TaskAction.valueOf(action);
+        } catch (IllegalArgumentException ignore) {
+            return;
+        }
+        TaskHandler handler = this.handlerMap.get(taskAction);
+        if (handler != null) {
+            handler.taskPostponed(action, parameters, multiplicity);
+        }
+    }
+
+    /**
+     * Overridden to add the statistics for the {@link EntitySnapshotCache}
+     * and the {@link EntityPrefetcher} (if enabled) to those of the
+     * scheduling service.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Map<Statistic, Number> getStatistics()
+    {
+        Map<Statistic, Number> stats = super.getStatistics();
+        EntitySnapshotCache cache = this.entityHandler.getSnapshotCache();
+        if (cache != null || this.prefetcher != null) {
+            stats = new LinkedHashMap<>(stats);
+        }
+        if (cache != null) {
+            stats.putAll(cache.getStatistics());
+        }
+        if (this.prefetcher != null) {
+            stats.putAll(this.prefetcher.getStatistics());
+        }
+        return stats;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -573,6 +756,43 @@ public class SzReplicatorService extends AbstractListenerService
                                         1L,
                                         DEFAULT_REPORT_UPDATE_PERIOD);
 
+            long cacheWeight = getConfigLong(config,
+                                             ENTITY_CACHE_WEIGHT_KEY,
+                                             0L,
+                                             DEFAULT_ENTITY_CACHE_WEIGHT);
+
+            EntitySnapshotCache cache = (cacheWeight > 0L)
+                ? new EntitySnapshotCache(cacheWeight) : null;
+
+            this.entityHandler.setSnapshotCache(cache);
+            this.batchHandler.setSnapshotCache(cache);
+
+            this.refreshBatchSize = getConfigInteger(
+                config,
+                REFRESH_BATCH_SIZE_KEY,
+                1,
+                DEFAULT_REFRESH_BATCH_SIZE);
+
+            int prefetchDepth = getConfigInteger(config,
+                                                 PREFETCH_DEPTH_KEY,
+                                                 0,
+                                                 DEFAULT_PREFETCH_DEPTH);
+
+            // bound the prefetch retrievals by the scheduling concurrency
+            SchedulingService schedulingService = this.getSchedulingService();
+            int engineConcurrency
+                = (schedulingService instanceof AbstractSchedulingService)
+                ? ((AbstractSchedulingService) schedulingService)
+                    .getConcurrency()
+                : AbstractSchedulingService.DEFAULT_CONCURRENCY;
+
+            this.prefetcher = (prefetchDepth > 0)
+                ? new EntityPrefetcher(engineConcurrency, prefetchDepth)
+                : null;
+
+            this.entityHandler.setPrefetcher(this.prefetcher);
+            this.batchHandler.setPrefetcher(this.prefetcher);
+
             this.reportUpdater = new ReportUpdater(this, period);
 
             this.getInitialReportTasks().forEach((reportKey, action) -> {
@@ -600,6 +820,17 @@ public class SzReplicatorService extends AbstractListenerService
             updater.shutdown();
         }
 
+        EntityPrefetcher prefetcher = null;
+        synchronized (this) {
+            prefetcher = this.prefetcher;
+            this.prefetcher = null;
+        }
+        if (prefetcher != null) {
+            this.entityHandler.setPrefetcher(null);
+            this.batchHandler.setPrefetcher(null);
+            prefetcher.shutdown();
+        }
+
         try {
             if (updater != Thread.currentThread() && updater.isAlive()) {
                 updater.join();
@@ -0,0 +1,563 @@
+package com.senzing.datamart.handlers;
+
+import com.senzing.datamart.model.SzResolvedEntity;
+import com.senzing.util.Quantified.Statistic;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retrieves and parses the entities for refresh tasks that have been
+ * dequeued but are still waiting for the locks on their resources so that
+ * the Senzing retrieval overlaps the database writes of the tasks that hold
+ * those locks.
+ * <p>
+ * Prefetches are identified by the task action and parameters and are
+ * retrieved by a small pool of background threads.  Every retrieval, whether
+ * prefetched or {@linkplain #fetch(long, Set, Fetcher) performed directly}
+ * when handling a task, must obtain one of a fixed number of engine permits
+ * so that the number of concurrent Senzing calls never exceeds the engine
+ * concurrency.  The number of outstanding prefetches is bounded by the
+ * maximum pipeline depth and further requests are dropped unless the oldest
+ * prefetch has completed and can be evicted.
+ * <p>
+ * A prefetched state is only used if the task was not collapsed with another
+ * identical task after the prefetch was requested (i.e.: its multiplicity is
+ * unchanged), since the later task may have been scheduled for a change made
+ * after the entity was retrieved.
+ */
+public class EntityPrefetcher
+{
+    /**
+     * Task units constant for {@link Stat} instances.
+     */
+    private static final String TASK_UNITS = "tasks";
+
+    /**
+     * Milliseconds units constant for {@link Stat} instances.
+     */
+    private static final String MILLIS_UNITS = "ms";
+
+    /**
+     * Constant for converting between nanoseconds and milliseconds.
+     */
+    private static final long ONE_MILLION = 1000000L;
+
+    /**
+     * The statistics for an {@link EntityPrefetcher}.
+     */
+    public enum Stat implements Statistic
+    {
+        /**
+         * The number of tasks for which a prefetch was started.
+         */
+        prefetchRequestCount(TASK_UNITS),
+
+        /**
+         * The number of prefetch requests that were dropped because the
+         * pipeline was at its maximum depth, plus the number of completed
+         * prefetches that were evicted to make room for new requests.
+         */
+        prefetchDroppedCount(TASK_UNITS),
+
+        /**
+         * The number of tasks that were handled using prefetched entities.
+         */
+        prefetchHitCount(TASK_UNITS),
+
+        /**
+         * The number of tasks that were handled without prefetched entities
+         * because none were requested, the prefetch had not yet started or
+         * the prefetch failed.
+         */
+        prefetchMissCount(TASK_UNITS),
+
+        /**
+         * The number of prefetches that were discarded because the task was
+         * collapsed with another identical task after the prefetch.
+         */
+        prefetchStaleCount(TASK_UNITS),
+
+        /**
+         * The number of prefetches that are currently queued, in progress or
+         * completed and waiting for their task to be handled.
+         */
+        prefetchPipelineDepth(TASK_UNITS),
+
+        /**
+         * The average pipeline depth observed when tasks are handled.
+         */
+        averagePrefetchPipelineDepth(TASK_UNITS),
+
+        /**
+         * The greatest pipeline depth that has been observed.
+         */
+        greatestPrefetchPipelineDepth(TASK_UNITS),
+
+        /**
+         * The total time spent retrieving entities from Senzing in the
+         * background prefetch threads.
+         */
+        prefetchEngineTime(MILLIS_UNITS),
+
+        /**
+         * The total time spent handling tasks waiting for prefetches that
+         * were still in progress.
+         */
+        prefetchWaitTime(MILLIS_UNITS),
+
+        /**
+         * The fraction of the background retrieval time that was overlapped
+         * with other work rather than waited on by the task being handled.
+         */
+        prefetchOverlapRatio(null);
+
+        /**
+         * Constructs with the specified units.
+         *
+         * @param units The units to construct with.
+         */
+        Stat(String units)
+        {
+            this.units = units;
+        }
+
+        /**
+         * The units for this instance.
+         */
+        private String units;
+
+        /**
+         * Returns the units associated with this statistic.
+         *
+         * @return The units associated with this statistic.
+         */
+        public String getUnits()
+        {
+            return this.units;
+        }
+    }
+
+    /**
+     * Retrieves the current state of an entity from Senzing.
+     */
+    @FunctionalInterface
+    public interface Fetcher
+    {
+        /**
+         * Retrieves the current state of the entity with the specified
+         * entity ID, adding the entity ID to the specified {@link Set} if a
+         * transient state was encountered.
+         *
+         * @param entityId The entity ID of the entity to retrieve.
+         * @param transientSet The {@link Set} to which to add the entity ID
+         *                     if a transient state was encountered.
+         *
+         * @return The {@link SzResolvedEntity} describing the entity, or
+         *         <code>null</code> if the entity was not found.
+         *
+         * @throws Exception If a failure occurs.
+         */
+        SzResolvedEntity fetch(long entityId, Set<Long> transientSet)
+            throws Exception;
+    }
+
+    /**
+     * Describes an outstanding prefetch.
+     */
+    private static final class Prefetch
+    {
+        /**
+         * The multiplicity of the task when the prefetch was requested.
+         */
+        private final int multiplicity;
+
+        /**
+         * Set to <code>true</code> when the prefetch is started or claimed
+         * by the task before it could be started.
+         */
+        private final AtomicBoolean started = new AtomicBoolean(false);
+
+        /**
+         * The entity ID's for which a transient state was encountered.
+         */
+        private final Set<Long> transientSet = new TreeSet<>();
+
+        /**
+         * The {@link FutureTask} for the retrieved entities.
+         */
+        private FutureTask<Map<Long, SzResolvedEntity>> future;
+
+        /**
+         * Constructs with the specified multiplicity.
+         *
+         * @param multiplicity The multiplicity of the task.
+         */
+        private Prefetch(int multiplicity)
+        {
+            this.multiplicity = multiplicity;
+        }
+    }
+
+    /**
+     * The engine permits bounding the number of concurrent retrievals.
+     */
+    private final Semaphore enginePermits;
+
+    /**
+     * The maximum number of outstanding prefetches.
+     */
+    private final int maximumDepth;
+
+    /**
+     * The {@link ExecutorService} for the background retrievals.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The {@link Map} of task keys to outstanding {@link Prefetch} instances
+     * in the order they were requested.
+     */
+    private final Map<List<Object>, Prefetch> prefetches
+        = new LinkedHashMap<>();
+
+    /**
+     * The number of prefetches started.
+     */
+    private long requestCount = 0L;
+
+    /**
+     * The number of dropped prefetch requests.
+     */
+    private long droppedCount = 0L;
+
+    /**
+     * The number of tasks handled using prefetched entities.
+     */
+    private long hitCount = 0L;
+
+    /**
+     * The number of tasks handled without prefetched entities.
+     */
+    private long missCount = 0L;
+
+    /**
+     * The number of stale prefetches that were discarded.
+     */
+    private long staleCount = 0L;
+
+    /**
+     * The sum of the pipeline depths observed when tasks were handled.
+     */
+    private long depthSum = 0L;
+
+    /**
+     * The greatest observed pipeline depth.
+     */
+    private int greatestDepth = 0;
+
+    /**
+     * The total nanoseconds of background retrieval.
+     */
+    private long engineNanos = 0L;
+
+    /**
+     * The total nanoseconds spent waiting for in-progress prefetches.
+     */
+    private long waitNanos = 0L;
+
+    /**
+     * Flag indicating if this instance has been shutdown.
+     */
+    private boolean shutdown = false;
+
+    /**
+     * Constructs with the specified engine concurrency and maximum pipeline
+     * depth.  The number of background threads is the lesser of the two.
+     *
+     * @param engineConcurrency The maximum number of concurrent retrievals
+     *                          from Senzing, including those performed
+     *                          directly while handling tasks.
+     * @param maximumDepth The maximum number of outstanding prefetches.
+     *
+     * @throws IllegalArgumentException If either parameter is not positive.
+     */
+    public EntityPrefetcher(int engineConcurrency, int maximumDepth)
+    {
+        if (engineConcurrency <= 0) {
+            throw new IllegalArgumentException(
+                "The engine concurrency must be positive: "
+                + engineConcurrency);
+        }
+        if (maximumDepth <= 0) {
+            throw new IllegalArgumentException(
+                "The maximum pipeline depth must be positive: "
+                + maximumDepth);
+        }
+        this.enginePermits  = new Semaphore(engineConcurrency, true);
+        this.maximumDepth   = maximumDepth;
+
+        AtomicInteger threadCount = new AtomicInteger(0);
+        this.executor = Executors.newFixedThreadPool(
+            Math.min(engineConcurrency, maximumDepth), (runnable) -> {
+                Thread thread = new Thread(
+                    runnable,
+                    "EntityPrefetcher-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Gets the maximum number of outstanding prefetches.
+     *
+     * @return The maximum number of outstanding prefetches.
+     */
+    public int getMaximumDepth()
+    {
+        return this.maximumDepth;
+    }
+
+    /**
+     * Gets the current number of outstanding prefetches.
+     *
+     * @return The current number of outstanding prefetches.
+     */
+    public synchronized int getDepth()
+    {
+        return this.prefetches.size();
+    }
+
+    /**
+     * Requests that the entities with the specified entity ID's be retrieved
+     * in the background for the task identified by the specified action and
+     * parameters.  The request is ignored if a prefetch for the task is
+     * already outstanding.  If the pipeline is at its maximum depth then the
+     * oldest prefetch is evicted if it has completed, otherwise the request
+     * is dropped.
+     *
+     * @param action The action of the task.
+     * @param parameters The {@link Map} of parameters of the task.
+     * @param multiplicity The current multiplicity of the task.
+     * @param entityIds The {@link Collection} of entity ID's to retrieve.
+     * @param fetcher The {@link Fetcher} to use to retrieve each entity.
+     *
+     * @return <code>true</code> if the prefetch was started, otherwise
+     *         <code>false</code>.
+     */
+    public boolean prefetch(String              action,
+                            Map<String, Object> parameters,
+                            int                 multiplicity,
+                            Collection<Long>    entityIds,
+                            Fetcher             fetcher)
+    {
+        List<Object> key = Arrays.asList(action, parameters);
+        List<Long> idList = new ArrayList<>(entityIds);
+        Prefetch prefetch = new Prefetch(multiplicity);
+        prefetch.future = new FutureTask<>(() -> {
+            // check if the task claimed the prefetch before it started
+            if (!prefetch.started.compareAndSet(false, true)) {
+                return null;
+            }
+            long start = System.nanoTime();
+            try {
+                Map<Long, SzResolvedEntity> result = new LinkedHashMap<>();
+                for (Long entityId : idList) {
+                    result.put(entityId, this.fetch(
+                        entityId, prefetch.transientSet, fetcher));
+                }
+                return result;
+
+            } finally {
+                long duration = System.nanoTime() - start;
+                synchronized (this) {
+                    this.engineNanos += duration;
+                }
+            }
+        });
+
+        synchronized (this) {
+            if (this.shutdown || this.prefetches.containsKey(key)) {
+                return false;
+            }
+            if (this.prefetches.size() >= this.maximumDepth) {
+                // evict the oldest prefetch if it completed since its task
+                // may have been aborted or handled elsewhere
+                Iterator<Prefetch> iter = this.prefetches.values().iterator();
+                this.droppedCount++;
+                if (!iter.next().future.isDone()) {
+                    return false;
+                }
+                iter.remove();
+            }
+            this.prefetches.put(key, prefetch);
+            this.requestCount++;
+            if (this.prefetches.size() > this.greatestDepth) {
+                this.greatestDepth = this.prefetches.size();
+            }
+            this.executor.execute(prefetch.future);
+        }
+        return true;
+    }
+
+    /**
+     * Takes the prefetched entities for the task identified by the specified
+     * action and parameters, waiting for the prefetch to complete if it is
+     * in progress.  This returns <code>null</code> if there was no prefetch
+     * for the task, if it had not yet started, if it failed or if the task
+     * has been collapsed with another task since it was requested, in which
+     * case the caller should retrieve the entities itself.
+     *
+     * @param action The action of the task.
+     * @param parameters The {@link Map} of parameters of the task.
+     * @param multiplicity The multiplicity of the task being handled.
+     * @param transientSet The {@link Set} to which to add the entity ID's for
+     *                     which a transient state was encountered.
+     *
+     * @return The {@link Map} of {@link Long} entity ID keys to {@link
+     *         SzResolvedEntity} values (<code>null</code> for deleted
+     *         entities), or <code>null</code> if there are no usable
+     *         prefetched entities.
+     */
+    public Map<Long, SzResolvedEntity> take(String              action,
+                                            Map<String, Object> parameters,
+                                            int                 multiplicity,
+                                            Set<Long>           transientSet)
+    {
+        List<Object> key = Arrays.asList(action, parameters);
+        Prefetch prefetch = null;
+        synchronized (this) {
+            this.depthSum += this.prefetches.size();
+            prefetch = this.prefetches.remove(key);
+            if (prefetch == null) {
+                this.missCount++;
+                return null;
+            }
+            if (prefetch.multiplicity != multiplicity) {
+                this.staleCount++;
+            }
+        }
+
+        // check if stale or not yet started
+        if (prefetch.multiplicity != multiplicity
+            || prefetch.started.compareAndSet(false, true))
+        {
+            prefetch.future.cancel(false);
+            if (prefetch.multiplicity == multiplicity) {
+                synchronized (this) {
+                    this.missCount++;
+                }
+            }
+            return null;
+        }
+
+        // wait for the prefetch to complete
+        long start = System.nanoTime();
+        try {
+            Map<Long, SzResolvedEntity> result = prefetch.future.get();
+            transientSet.addAll(prefetch.transientSet);
+            synchronized (this) {
+                this.hitCount++;
+            }
+            return result;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            synchronized (this) {
+                this.missCount++;
+            }
+            return null;
+
+        } catch (ExecutionException | CancellationException e) {
+            synchronized (this) {
+                this.missCount++;
+            }
+            return null;
+
+        } finally {
+            long duration = System.nanoTime() - start;
+            synchronized (this) {
+                this.waitNanos += duration;
+            }
+        }
+    }
+
+    /**
+     * Retrieves the entity with the specified entity ID using the specified
+     * {@link Fetcher} after obtaining an engine permit so that the engine
+     * concurrency is not exceeded.
+     *
+     * @param entityId The entity ID of the entity to retrieve.
+     * @param transientSet The {@link Set} to which to add the entity ID if a
+     *                     transient state was encountered.
+     * @param fetcher The {@link Fetcher} to use to retrieve the entity.
+     *
+     * @return The {@link SzResolvedEntity} describing the entity, or
+     *         <code>null</code> if the entity was not found.
+     *
+     * @throws Exception If a failure occurs.
+     */
+    public SzResolvedEntity fetch(long      entityId,
+                                  Set<Long> transientSet,
+                                  Fetcher   fetcher)
+        throws Exception
+    {
+        this.enginePermits.acquireUninterruptibly();
+        try {
+            return fetcher.fetch(entityId, transientSet);
+
+        } finally {
+            this.enginePermits.release();
+        }
+    }
+
+    /**
+     * Shuts down the background threads and discards any outstanding
+     * prefetches.
+     */
+    public void shutdown()
+    {
+        synchronized (this) {
+            this.shutdown = true;
+            for (Prefetch prefetch : this.prefetches.values()) {
+                prefetch.future.cancel(false);
+            }
+            this.prefetches.clear();
+        }
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Gets the {@link Map} of {@link Statistic} keys to {@link Number} values
+     * describing the prefetch pipeline.
+     *
+     * @return The {@link Map} of {@link Statistic} keys to {@link Number}
+     *         values describing the prefetch pipeline.
+     */
+    public synchronized Map<Statistic, Number> getStatistics()
+    {
+        Map<Statistic, Number> statsMap = new LinkedHashMap<>();
+        long taskCount = this.hitCount + this.missCount + this.staleCount;
+        double averageDepth = (taskCount == 0L) ? 0.0
+            : ((double) this.depthSum) / ((double) taskCount);
+        double overlapRatio = (this.engineNanos == 0L) ? 0.0
+            : Math.max(0.0, ((double) (this.engineNanos - this.waitNanos))
+                            / ((double) this.engineNanos));
+
+        statsMap.put(Stat.prefetchRequestCount, this.requestCount);
+        statsMap.put(Stat.prefetchDroppedCount, this.droppedCount);
+        statsMap.put(Stat.prefetchHitCount, this.hitCount);
+        statsMap.put(Stat.prefetchMissCount, this.missCount);
+        statsMap.put(Stat.prefetchStaleCount, this.staleCount);
+        statsMap.put(Stat.prefetchPipelineDepth, this.prefetches.size());
+        statsMap.put(Stat.averagePrefetchPipelineDepth, averageDepth);
+        statsMap.put(Stat.greatestPrefetchPipelineDepth, this.greatestDepth);
+        statsMap.put(Stat.prefetchEngineTime,
+                     this.engineNanos / ONE_MILLION);
+        statsMap.put(Stat.prefetchWaitTime, this.waitNanos / ONE_MILLION);
+        statsMap.put(Stat.prefetchOverlapRatio, overlapRatio);
+        return statsMap;
+    }
+}
@@ -0,0 +1,589 @@
+package com.senzing.datamart.handlers;
+
+import com.senzing.datamart.model.SzResolvedEntity;
+import com.senzing.util.Quantified.Statistic;
+
+import java.util.*;
+
+/**
+ * Provides a size-bounded, weight-aware, in-process cache of the last
+ * replicated {@link SzResolvedEntity} for each entity ID so that {@link
+ * RefreshEntityHandler} can avoid reading and decoding the previous entity
+ * snapshot from the database for frequently refreshed entities.
+ * <p>
+ * The cache follows the W-TinyLFU design.  New entries enter a small LRU
+ * admission window (about one percent of the maximum weight).  Entries
+ * evicted from the window are only admitted to the main LRU space if their
+ * estimated access frequency is greater than that of every entry they would
+ * displace.  Access frequencies are estimated with a count-min sketch of
+ * 4-bit counters that are halved periodically so that the estimates favor
+ * recent activity.  The weight of an entry is one plus the number of records
+ * and related entities of the entity.
+ * <p>
+ * The cache does not perform any locking of its own beyond keeping its
+ * internal state consistent.  Callers must only {@linkplain
+ * #put(SzResolvedEntity) put} the state of an entity after it has been
+ * committed to the data mart and must {@linkplain #invalidate(long)
+ * invalidate} the entity if the transaction is rolled back, both while
+ * holding the lock on the entity resource.  Since the cache is per-process,
+ * it should only be used when a single process writes to the data mart.
+ */
+public class EntitySnapshotCache
+{
+    /**
+     * Lookup units constant for {@link Stat} instances.
+     */
+    private static final String LOOKUP_UNITS = "lookups";
+
+    /**
+     * Entity units constant for {@link Stat} instances.
+     */
+    private static final String ENTITY_UNITS = "entities";
+
+    /**
+     * Weight units constant for {@link Stat} instances.
+     */
+    private static final String WEIGHT_UNITS = "records and relations";
+
+    /**
+     * The statistics for an {@link EntitySnapshotCache}.
+     */
+    public enum Stat implements Statistic
+    {
+        /**
+         * The number of lookups that found the entity in the cache.
+         */
+        entityCacheHitCount(LOOKUP_UNITS),
+
+        /**
+         * The number of lookups that did not find the entity in the cache.
+         */
+        entityCacheMissCount(LOOKUP_UNITS),
+
+        /**
+         * The ratio of the number of lookups that found the entity in the
+         * cache to the total number of lookups.
+         */
+        entityCacheHitRatio(null),
+
+        /**
+         * The number of entities removed from the cache to make room for
+         * others, including those that were not admitted to the main space.
+         */
+        entityCacheEvictionCount(ENTITY_UNITS),
+
+        /**
+         * The number of entities evicted from the admission window that were
+         * not admitted to the main space because they were accessed less
+         * often than the entities they would have displaced.
+         */
+        entityCacheRejectionCount(ENTITY_UNITS),
+
+        /**
+         * The number of entities explicitly removed from the cache because
+         * they were deleted or their transaction was rolled back.
+         */
+        entityCacheInvalidationCount(ENTITY_UNITS),
+
+        /**
+         * The number of entities currently in the cache.
+         */
+        entityCacheSize(ENTITY_UNITS),
+
+        /**
+         * The total weight of the entities currently in the cache.
+         */
+        entityCacheWeight(WEIGHT_UNITS),
+
+        /**
+         * The maximum total weight of the entities in the cache.
+         */
+        entityCacheMaximumWeight(WEIGHT_UNITS);
+
+        /**
+         * Constructs with the specified units.
+         *
+         * @param units The units to construct with.
+         */
+        Stat(String units)
+        {
+            this.units = units;
+        }
+
+        /**
+         * The units for this instance.
+         */
+        private String units;
+
+        /**
+         * Returns the units associated with this statistic.
+         *
+         * @return The units associated with this statistic.
+         */
+        public String getUnits()
+        {
+            return this.units;
+        }
+    }
+
+    /**
+     * The fraction of the maximum weight reserved for the admission window.
+     */
+    private static final double WINDOW_FRACTION = 0.01;
+
+    /**
+     * The number of rows (hash functions) in the frequency sketch.
+     */
+    private static final int SKETCH_DEPTH = 4;
+
+    /**
+     * The minimum number of counters in each row of the frequency sketch.
+     */
+    private static final int MIN_SKETCH_WIDTH = 64;
+
+    /**
+     * The maximum number of counters in each row of the frequency sketch.
+     */
+    private static final int MAX_SKETCH_WIDTH = 1 << 18;
+
+    /**
+     * The maximum value of a frequency sketch counter.
+     */
+    private static final int MAX_FREQUENCY = 15;
+
+    /**
+     * The seeds for the hash function of each row of the frequency sketch.
+     */
+    private static final long[] SKETCH_SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL,
+        0x165667B19E3779F9L, 0xD6E8FEB86659FD93L };
+
+    /**
+     * Describes a cached entity and its weight.
+     */
+    private static final class Entry
+    {
+        /**
+         * The cached {@link SzResolvedEntity}.
+         */
+        private final SzResolvedEntity entity;
+
+        /**
+         * The weight of the cached entity.
+         */
+        private final long weight;
+
+        /**
+         * Constructs with the specified entity and weight.
+         *
+         * @param entity The {@link SzResolvedEntity} to cache.
+         * @param weight The weight of the entity.
+         */
+        private Entry(SzResolvedEntity entity, long weight)
+        {
+            this.entity = entity;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * The maximum total weight of the cached entities.
+     */
+    private final long maximumWeight;
+
+    /**
+     * The maximum total weight of the entities in the admission window.
+     */
+    private final long windowMaximumWeight;
+
+    /**
+     * The maximum total weight of the entities in the main space.
+     */
+    private final long mainMaximumWeight;
+
+    /**
+     * The admission window in least-recently-used order.
+     */
+    private final LinkedHashMap<Long, Entry> window
+        = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The main space in least-recently-used order.
+     */
+    private final LinkedHashMap<Long, Entry> main
+        = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The total weight of the entities in the admission window.
+     */
+    private long windowWeight = 0L;
+
+    /**
+     * The total weight of the entities in the main space.
+     */
+    private long mainWeight = 0L;
+
+    /**
+     * The counters of the frequency sketch, one row per hash function.
+     */
+    private final byte[][] sketch;
+
+    /**
+     * The mask to apply to a hash to obtain the index of a counter in a row
+     * of the frequency sketch.
+     */
+    private final int sketchMask;
+
+    /**
+     * The number of counter increments after which the frequency sketch
+     * counters are halved.
+     */
+    private final int sketchSampleSize;
+
+    /**
+     * The number of counter increments since the frequency sketch counters
+     * were last halved.
+     */
+    private int sketchIncrements = 0;
+
+    /**
+     * The number of lookups that found the entity.
+     */
+    private long hitCount = 0L;
+
+    /**
+     * The number of lookups that did not find the entity.
+     */
+    private long missCount = 0L;
+
+    /**
+     * The number of entities evicted.
+     */
+    private long evictionCount = 0L;
+
+    /**
+     * The number of entities not admitted from the window to the main space.
+     */
+    private long rejectionCount = 0L;
+
+    /**
+     * The number of entities explicitly invalidated.
+     */
+    private long invalidationCount = 0L;
+
+    /**
+     * Constructs with the maximum total weight of the cached entities.
+     *
+     * @param maximumWeight The maximum total weight of the cached entities,
+     *                      which must be positive.
+     *
+     * @throws IllegalArgumentException If the specified maximum weight is
+     *                                  not positive.
+     */
+    public EntitySnapshotCache(long maximumWeight)
+    {
+        if (maximumWeight <= 0L) {
+            throw new IllegalArgumentException(
+                "The maximum weight must be positive: " + maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+        this.windowMaximumWeight
+            = Math.max(1L, (long) (maximumWeight * WINDOW_FRACTION));
+        this.mainMaximumWeight
+            = Math.max(0L, maximumWeight - this.windowMaximumWeight);
+
+        int width = MIN_SKETCH_WIDTH;
+        while (width < MAX_SKETCH_WIDTH && width < maximumWeight) {
+            width <<= 1;
+        }
+        this.sketch = new byte[SKETCH_DEPTH][width];
+        this.sketchMask = width - 1;
+        this.sketchSampleSize = width * 10;
+    }
+
+    /**
+     * Gets the weight of the specified entity, which is one plus the number
+     * of records and related entities.
+     *
+     * @param entity The {@link SzResolvedEntity} for which to get the weight.
+     *
+     * @return The weight of the specified entity.
+     */
+    public static long weigh(SzResolvedEntity entity)
+    {
+        return 1L + entity.getRecords().size()
+            + entity.getRelatedEntities().size();
+    }
+
+    /**
+     * Gets the maximum total weight of the cached entities.
+     *
+     * @return The maximum total weight of the cached entities.
+     */
+    public long getMaximumWeight()
+    {
+        return this.maximumWeight;
+    }
+
+    /**
+     * Gets the total weight of the entities currently in the cache.
+     *
+     * @return The total weight of the entities currently in the cache.
+     */
+    public synchronized long getWeight()
+    {
+        return this.windowWeight + this.mainWeight;
+    }
+
+    /**
+     * Gets the number of entities currently in the cache.
+     *
+     * @return The number of entities currently in the cache.
+     */
+    public synchronized int getSize()
+    {
+        return this.window.size() + this.main.size();
+    }
+
+    /**
+     * Gets the last replicated {@link SzResolvedEntity} for the specified
+     * entity ID, recording the access.
+     *
+     * @param entityId The entity ID of the entity.
+     *
+     * @return The cached {@link SzResolvedEntity}, or <code>null</code> if
+     *         not cached.
+     */
+    public synchronized SzResolvedEntity get(long entityId)
+    {
+        this.recordAccess(entityId);
+        Entry entry = this.window.get(entityId);
+        if (entry == null) {
+            entry = this.main.get(entityId);
+        }
+        if (entry == null) {
+            this.missCount++;
+            return null;
+        }
+        this.hitCount++;
+        return entry.entity;
+    }
+
+    /**
+     * Caches the specified {@link SzResolvedEntity} as the last replicated
+     * state of the entity, replacing any previously cached state.  This
+     * should only be called after the state has been committed.
+     *
+     * @param entity The {@link SzResolvedEntity} to cache.
+     */
+    public synchronized void put(SzResolvedEntity entity)
+    {
+        long entityId = entity.getEntityId();
+        long weight = weigh(entity);
+        this.remove(entityId);
+        if (weight > this.maximumWeight) {
+            this.evictionCount++;
+            return;
+        }
+        this.window.put(entityId, new Entry(entity, weight));
+        this.windowWeight += weight;
+
+        // move the least recently used entries beyond the window's bound
+        // to the main space if they are admitted
+        Iterator<Map.Entry<Long, Entry>> iter
+            = this.window.entrySet().iterator();
+        while (this.windowWeight > this.windowMaximumWeight
+               && iter.hasNext())
+        {
+            Map.Entry<Long, Entry> candidate = iter.next();
+            iter.remove();
+            this.windowWeight -= candidate.getValue().weight;
+            this.admit(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    /**
+     * Removes any cached state for the specified entity ID.  This should be
+     * called if the entity is deleted or if a transaction that may have
+     * changed the entity is rolled back.
+     *
+     * @param entityId The entity ID of the entity.
+     */
+    public synchronized void invalidate(long entityId)
+    {
+        if (this.remove(entityId)) {
+            this.invalidationCount++;
+        }
+    }
+
+    /**
+     * Removes all entities from the cache.
+     */
+    public synchronized void clear()
+    {
+        this.window.clear();
+        this.main.clear();
+        this.windowWeight = 0L;
+        this.mainWeight = 0L;
+    }
+
+    /**
+     * Gets the {@link Map} of {@link Stat} keys to their {@link Number}
+     * values in an atomic thread-safe manner.
+     *
+     * @return The {@link Map} of {@link Stat} keys to their {@link Number}
+     *         values.
+     */
+    public synchronized Map<Statistic, Number> getStatistics()
+    {
+        Map<Statistic, Number> statsMap = new LinkedHashMap<>();
+        long lookups = this.hitCount + this.missCount;
+        double hitRatio = (lookups == 0L) ? 0.0
+            : ((double) this.hitCount) / ((double) lookups);
+
+        statsMap.put(Stat.entityCacheHitCount, this.hitCount);
+        statsMap.put(Stat.entityCacheMissCount, this.missCount);
+        statsMap.put(Stat.entityCacheHitRatio, hitRatio);
+        statsMap.put(Stat.entityCacheEvictionCount, this.evictionCount);
+        statsMap.put(Stat.entityCacheRejectionCount, this.rejectionCount);
+        statsMap.put(Stat.entityCacheInvalidationCount,
+                     this.invalidationCount);
+        statsMap.put(Stat.entityCacheSize, this.getSize());
+        statsMap.put(Stat.entityCacheWeight, this.getWeight());
+        statsMap.put(Stat.entityCacheMaximumWeight, this.maximumWeight);
+        return statsMap;
+    }
+
+    /**
+     * Removes the entry for the specified entity ID from either space.
+     *
+     * @param entityId The entity ID of the entity.
+     *
+     * @return <code>true</code> if an entry was removed, otherwise
+     *         <code>false</code>.
+     */
+    private boolean remove(long entityId)
+    {
+        Entry entry = this.window.remove(entityId);
+        if (entry != null) {
+            this.windowWeight -= entry.weight;
+            return true;
+        }
+        entry = this.main.remove(entityId);
+        if (entry != null) {
+            this.mainWeight -= entry.weight;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Admits the specified candidate evicted from the admission window to the
+     * main space if there is room or if its estimated frequency is greater
+     * than that of each of the least recently used entries that would have to
+     * be evicted to make room for it.
+     *
+     * @param entityId  The entity ID of the candidate.
+     * @param candidate The candidate {@link Entry}.
+     */
+    private void admit(long entityId, Entry candidate)
+    {
+        long excess = this.mainWeight + candidate.weight
+            - this.mainMaximumWeight;
+
+        // find the victims and check if the candidate beats them all
+        int victimCount = 0;
+        if (excess > 0L) {
+            int candidateFrequency = this.frequency(entityId);
+            long freed = 0L;
+            for (Map.Entry<Long, Entry> victim : this.main.entrySet()) {
+                if (freed >= excess) {
+                    break;
+                }
+                if (this.frequency(victim.getKey()) >= candidateFrequency) {
+                    this.rejectionCount++;
+                    this.evictionCount++;
+                    return;
+                }
+                freed += victim.getValue().weight;
+                victimCount++;
+            }
+            if (freed < excess) {
+                this.rejectionCount++;
+                this.evictionCount++;
+                return;
+            }
+        }
+
+        // evict the victims
+        Iterator<Entry> iter = this.main.values().iterator();
+        for (int index = 0; index < victimCount; index++) {
+            this.mainWeight -= iter.next().weight;
+            iter.remove();
+            this.evictionCount++;
+        }
+
+        this.main.put(entityId, candidate);
+        this.mainWeight += candidate.weight;
+    }
+
+    /**
+     * Computes the index of the counter in the specified row of the frequency
+     * sketch for the specified entity ID.
+     *
+     * @param entityId The entity ID.
+     * @param row      The row of the frequency sketch.
+     *
+     * @return The index of the counter.
+     */
+    private int sketchIndex(long entityId, int row)
+    {
+        long hash = (entityId + SKETCH_SEEDS[row]) * SKETCH_SEEDS[row];
+        hash ^= (hash >>> 32);
+        return ((int) hash) & this.sketchMask;
+    }
+
+    /**
+     * Increments the frequency sketch counters for the specified entity ID,
+     * halving all counters once the sample size has been reached.
+     *
+     * @param entityId The entity ID that was accessed.
+     */
+    private void recordAccess(long entityId)
+    {
+        boolean incremented = false;
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            int index = this.sketchIndex(entityId, row);
+            if (this.sketch[row][index] < MAX_FREQUENCY) {
+                this.sketch[row][index]++;
+                incremented = true;
+            }
+        }
+        if (incremented && ++this.sketchIncrements >= this.sketchSampleSize) {
+            for (byte[] counters : this.sketch) {
+                for (int index = 0; index < counters.length; index++) {
+                    counters[index] = (byte) (counters[index] >>> 1);
+                }
+            }
+            this.sketchIncrements = 0;
+        }
+    }
+
+    /**
+     * Estimates the access frequency of the specified entity ID as the
+     * minimum of its frequency sketch counters.
+     *
+     * @param entityId The entity ID.
+     *
+     * @return The estimated access frequency.
+     */
+    private int frequency(long entityId)
+    {
+        int frequency = MAX_FREQUENCY;
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            int index = this.sketchIndex(entityId, row);
+            frequency = Math.min(frequency, this.sketch[row][index]);
+        }
+        return frequency;
+    }
+}
@@ -0,0 +1,212 @@
+package com.senzing.datamart.handlers;
+
+import com.senzing.datamart.SzReplicationProvider;
+import com.senzing.datamart.SzReplicationProvider.TaskAction;
+import com.senzing.datamart.model.*;
+import com.senzing.listener.service.exception.ServiceExecutionException;
+import com.senzing.listener.service.scheduling.Scheduler;
+import com.senzing.sql.SQLUtilities;
+import com.senzing.util.LoggingUtilities;
+
+import java.sql.*;
+import java.util.*;
+
+import static com.senzing.sql.SQLUtilities.*;
+import static com.senzing.datamart.SzReplicationProvider.TaskAction.*;
+import static com.senzing.util.LoggingUtilities.*;
+
+/**
+ * Provides a handler for refreshing a batch of affected entities whose
+ * resources have already been locked for the task.  The deltas for all of
+ * the entities are computed first and then written in a single transaction
+ * so the cost of the commit and of enrolling the locking rows and pending
+ * report updates is shared by the entire batch.
+ */
+public class RefreshEntitiesHandler extends RefreshEntityHandler
+{
+    /**
+     * The parameter key for the list of entity ID's.
+     */
+    public static final String ENTITY_IDS_KEY = "ENTITY_IDS";
+
+    /**
+     * Constructs with the specified {@link SzReplicationProvider} to use to
+     * access the data mart replicator functions.
+     *
+     * @param provider The {@link SzReplicationProvider} to use.
+     */
+    public RefreshEntitiesHandler(SzReplicationProvider provider)
+    {
+        super(provider, REFRESH_ENTITIES);
+    }
+
+    /**
+     * Overridden to get the sorted entity ID's from the {@link
+     * #ENTITY_IDS_KEY} parameter.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    protected List<Long> getEntityIds(Map<String, Object> parameters)
+    {
+        SortedSet<Long> entityIds = new TreeSet<>();
+        for (Object entityId : (List<?>) parameters.get(ENTITY_IDS_KEY)) {
+            entityIds.add(((Number) entityId).longValue());
+        }
+        return new ArrayList<>(entityIds);
+    }
+
+    /**
+     * Implemented to handle the {@link TaskAction#REFRESH_ENTITIES} action by
+     * updating the deltas to all the entities in a single transaction and
+     * deferring aggregate report updates.  If any entity fails then the
+     * entire transaction is rolled back.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    protected void handleTask(Map<String, Object>   parameters,
+                              int                   multiplicity,
+                              Scheduler             followUpScheduler)
+        throws ServiceExecutionException
+    {
+        Connection conn = null;
+        boolean overridingDebug = false;
+        EntitySnapshotCache cache = this.getSnapshotCache();
+        SortedSet<Long> entityIds = new TreeSet<>();
+        try {
+            // get the entity ID's in a consistent order
+            List<Long> idList = this.getEntityIds(parameters);
+            entityIds.addAll(idList);
+
+            // get all the entities (unless already prefetched) before
+            // touching the database
+            Set<Long> transientSet = new TreeSet<>();
+            Map<Long, SzResolvedEntity> newEntities = this.retrieveEntities(
+                parameters, multiplicity, idList, transientSet);
+
+            if (transientSet.size() > 0) {
+                LoggingUtilities.overrideDebugLogging(true);
+                overridingDebug = true;
+            }
+
+            // get the connection
+            conn = this.getConnection();
+
+            // find the entity deltas
+            Map<Long, String> deleteOpIds = new LinkedHashMap<>();
+            List<EntityDelta> entityDeltas = new ArrayList<>(entityIds.size());
+            List<SzResolvedEntity> unchanged = new ArrayList<>();
+            for (Map.Entry<Long, SzResolvedEntity> entry
+                : newEntities.entrySet())
+            {
+                long entityId = entry.getKey();
+                SzResolvedEntity newEntity = entry.getValue();
+
+                // check if the last replicated state is cached and unchanged
+                SzResolvedEntity cachedEntity
+                    = (cache == null) ? null : cache.get(entityId);
+
+                if (cachedEntity != null && cachedEntity.equals(newEntity)) {
+                    logDebug("ENTITY " + entityId
+                        + " MATCHES CACHED STATE (PRESUMABLY NO CHANGES)");
+
+                    // ensure we have relationship integrity
+                    this.ensureRelationIntegrity(
+                        conn, entityId, followUpScheduler, new TreeSet<>());
+                    continue;
+                }
+
+                String deleteOpId = (newEntity == null)
+                    ? this.generateOperationId(entityId)
+                    : null;
+
+                EntityDelta entityDelta = this.prepareEntityDelta(
+                    conn, entityId, newEntity, cachedEntity, deleteOpId,
+                    followUpScheduler);
+
+                if (entityDelta != null) {
+                    entityDeltas.add(entityDelta);
+                    deleteOpIds.put(entityId, deleteOpId);
+                } else if (newEntity != null) {
+                    unchanged.add(newEntity);
+                }
+            }
+
+            // enroll the locking rows for all the deltas in a consistent
+            // order to ensure mutual exclusion while avoiding deadlocks
+            this.enrollLockingRows(conn, entityDeltas);
+
+            // apply each delta to the records and relations
+            int changeCount = 0;
+            for (EntityDelta entityDelta : entityDeltas) {
+                changeCount += this.applyEntityDelta(
+                    conn, entityDelta,
+                    deleteOpIds.get(entityDelta.getEntityId()),
+                    followUpScheduler);
+            }
+
+            // get all the report updates and insert them as pending
+            changeCount += this.insertReportDeltaUpdates(conn, entityDeltas);
+
+            logDebug("ENTITIES " + entityIds + " TOTAL CHANGES: "
+                     + changeCount);
+
+            // commit the transaction -- this will release any locked rows
+            conn.commit();
+
+            // cache the committed state of the entities
+            if (cache != null) {
+                for (EntityDelta entityDelta : entityDeltas) {
+                    SzResolvedEntity newEntity = entityDelta.getNewEntity();
+                    if (newEntity == null) {
+                        cache.invalidate(entityDelta.getEntityId());
+                    } else {
+                        cache.put(newEntity);
+                    }
+                }
+                for (SzResolvedEntity newEntity : unchanged) {
+                    cache.put(newEntity);
+                }
+            }
+
+            // close the connection here
+            conn = close(conn);
+
+            // notify the provider of report updates pending
+            for (EntityDelta entityDelta : entityDeltas) {
+                this.followUpOnReports(entityDelta);
+            }
+
+            // commit the follow-up scheduler
+            followUpScheduler.commit();
+
+        } catch (Exception e) {
+            logError(e, "UNEXPECTED FAILURE -- ROLLING BACK TRANSACTION....");
+
+            // the cached states may no longer match the data mart
+            if (cache != null) {
+                for (Long entityId : entityIds) {
+                    cache.invalidate(entityId);
+                }
+            }
+
+            // rollback the transaction
+            try {
+                SQLUtilities.rollback(conn);
+
+            } catch (Exception e2) {
+                logError(e2, "FAILED TO ROLLBACK: ");
+                System.err.println(e2.getMessage());
+                System.err.println(formatStackTrace(e2.getStackTrace()));
+            }
+            throw new ServiceExecutionException(e);
+
+        } finally {
+            conn = close(conn);
+            if (overridingDebug) {
+                LoggingUtilities.clearDebugOverride();
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.senzing.listener.service.locking.ResourceKey;
 import com.senzing.listener.service.scheduling.Scheduler;
 import com.senzing.sdk.SzEngine;
 import com.senzing.sdk.SzEnvironment;
+import com.senzing.sdk.SzException;
 import com.senzing.sdk.SzFlag;
 import com.senzing.sdk.SzNotFoundException;
 import com.senzing.sql.SQLUtilities;
@@ -66,6 +67,18 @@ public class RefreshEntityHandler extends AbstractTaskHandler
                  ENTITY_RELATION_BREAKDOWN,
                  UPDATE_ENTITY_RELATION_BREAKDOWN);
 
+    /**
+     * The optional {@link EntitySnapshotCache} of the last replicated state
+     * of recently refreshed entities, or <code>null</code> if not caching.
+     */
+    private volatile EntitySnapshotCache snapshotCache = null;
+
+    /**
+     * The optional {@link EntityPrefetcher} for retrieving entities for
+     * postponed tasks, or <code>null</code> if not prefetching.
+     */
+    private volatile EntityPrefetcher prefetcher = null;
+
     /**
      * Constructs with the specified {@link SzReplicationProvider} to use to
      * access the data mart replicator functions.
@@ -77,6 +90,108 @@ public class RefreshEntityHandler extends AbstractTaskHandler
         super(provider, REFRESH_ENTITY);
     }
 
+    /**
+     * Constructs with the specified {@link SzReplicationProvider} to use to
+     * access the data mart replicator functions and the {@link TaskAction}
+     * supported by the constructed instance.  This is used by extensions that
+     * refresh entities for a different action.
+     *
+     * @param provider The {@link SzReplicationProvider} to use.
+     * @param action The {@link TaskAction} supported by this instance.
+     */
+    protected RefreshEntityHandler(SzReplicationProvider provider,
+                                   TaskAction            action)
+    {
+        super(provider, action);
+    }
+
+    /**
+     * Gets the {@link EntitySnapshotCache} used to avoid reading and decoding
+     * the previous state of recently refreshed entities.
+     *
+     * @return The {@link EntitySnapshotCache} used by this instance, or
+     *         <code>null</code> if entity states are not cached.
+     */
+    public EntitySnapshotCache getSnapshotCache()
+    {
+        return this.snapshotCache;
+    }
+
+    /**
+     * Sets the {@link EntitySnapshotCache} used to avoid reading and decoding
+     * the previous state of recently refreshed entities.  The cache must
+     * only be used when this process is the only one writing to the data
+     * mart.
+     *
+     * @param cache The {@link EntitySnapshotCache} to use, or
+     *              <code>null</code> if entity states should not be cached.
+     */
+    public void setSnapshotCache(EntitySnapshotCache cache)
+    {
+        this.snapshotCache = cache;
+    }
+
+    /**
+     * Gets the {@link EntityPrefetcher} used to retrieve the entities for
+     * postponed tasks while other tasks are being handled.
+     *
+     * @return The {@link EntityPrefetcher} used by this instance, or
+     *         <code>null</code> if entities are not prefetched.
+     */
+    public EntityPrefetcher getPrefetcher()
+    {
+        return this.prefetcher;
+    }
+
+    /**
+     * Sets the {@link EntityPrefetcher} used to retrieve the entities for
+     * postponed tasks while other tasks are being handled.
+     *
+     * @param prefetcher The {@link EntityPrefetcher} to use, or
+     *                   <code>null</code> if entities should not be
+     *                   prefetched.
+     */
+    public void setPrefetcher(EntityPrefetcher prefetcher)
+    {
+        this.prefetcher = prefetcher;
+    }
+
+    /**
+     * Overridden to request that the {@link EntityPrefetcher} (if any)
+     * retrieve the entities for the postponed task so that the retrieval
+     * overlaps the handling of the tasks holding the locks it awaits.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public void taskPostponed(String                action,
+                              Map<String, Object>   parameters,
+                              int                   multiplicity)
+    {
+        EntityPrefetcher prefetcher = this.prefetcher;
+        if (prefetcher == null || !this.getSupportedAction().equals(action)) {
+            return;
+        }
+        prefetcher.prefetch(action,
+                            parameters,
+                            multiplicity,
+                            this.getEntityIds(parameters),
+                            this::fetchEntity);
+    }
+
+    /**
+     * Gets the entity ID's of the entities to be refreshed for the task with
+     * the specified parameters.
+     *
+     * @param parameters The {@link Map} of parameters for the task.
+     *
+     * @return The {@link List} of entity ID's for the task.
+     */
+    protected List<Long> getEntityIds(Map<String, Object> parameters)
+    {
+        return List.of(((Number) parameters.get(ENTITY_ID_KEY)).longValue());
+    }
+
     /**
      * Implemented to handle the {@link TaskAction#REFRESH_ENTITY} action by
      * updating the deltas to the entity and deferring aggregate report updates.
@@ -91,78 +206,39 @@ public class RefreshEntityHandler extends AbstractTaskHandler
     {
         Connection conn = null;
         boolean overridingDebug = false;
+        EntitySnapshotCache cache = this.snapshotCache;
+        Long entityId = null;
         try {
             // get the entity ID
-            long entityId =
-                    ((Number) parameters.get(ENTITY_ID_KEY)).longValue();
+            entityId = ((Number) parameters.get(ENTITY_ID_KEY)).longValue();
 
-            // get the environment
-            SzEnvironment env = this.getSzEnvironment();
-            SzEngine engine = env.getEngine();
+            // get the entity (unless already prefetched)
+            Set<Long> transientSet = new TreeSet<>();
+            SzResolvedEntity newEntity = this.retrieveEntities(
+                parameters, multiplicity, List.of(entityId), transientSet)
+                    .get(entityId);
 
-            // get the entity
-            String jsonText = null;
-            try {
-                jsonText = engine.getEntity(entityId, ENTITY_FLAGS);
-            } catch (SzNotFoundException e) {
-                // let the result be null to indicate deletion
-                jsonText = null;
+            if (transientSet.size() > 0) {
+                LoggingUtilities.overrideDebugLogging(true);
+                overridingDebug = true;
             }
 
-            JsonObject jsonObj = parseJsonObject(jsonText);
-            SzResolvedEntity newEntity = SzResolvedEntity.parse(jsonObj);
-
-            // we need to check for the transient state of a missing
-            // relationship match key
-            for (int retry = 0; (newEntity != null) && (retry < 5); retry++) {
-                boolean missingMatchKey = false;
-                for (SzRelatedEntity rel
-                    : newEntity.getRelatedEntities()
-                        .values()) {
-                    if (rel.getMatchKey() == null) {
-                        missingMatchKey = true;
-                        logWarning("ENTITY " + entityId
-                                + " MISSING RELATIONSHIP MATCH KEY: ",
-                                toJsonText(jsonObj, true));
-                        if (!overridingDebug) { 
-                            LoggingUtilities.overrideDebugLogging(true);
-                            overridingDebug = true;
-                        }
-                        break;
-                    }
-                }
-
-                // check if not missing a match key
-                if (!missingMatchKey) {
-                    break;
-                }
+            // check if the last replicated state is cached and unchanged
+            SzResolvedEntity cachedEntity
+                = (cache == null) ? null : cache.get(entityId);
 
-                // missing match key should be transient, so sleep and retry
-                try {
-                    Thread.sleep(retry * 10L);
-                } catch (InterruptedException ignore) {
-                    // do nothing
-                }
+            if (cachedEntity != null && cachedEntity.equals(newEntity)) {
+                logDebug("ENTITY " + entityId
+                         + " MATCHES CACHED STATE (PRESUMABLY NO CHANGES)");
 
-                // now retry the entity get
-                jsonText = null;
-                try {
-                    jsonText = engine.getEntity(entityId, ENTITY_FLAGS);
-                } catch (SzNotFoundException e) {
-                    // let the result be null to indicate deletion
-                    jsonText = null;
-                }
+                // ensure we have relationship integrity
+                conn = this.getConnection();
+                this.ensureRelationIntegrity(
+                        conn, entityId, followUpScheduler, new TreeSet<>());
 
-                jsonObj = parseJsonObject(jsonText);
-                logWarning("ENTITY " + entityId + ": RETRIED GET ENTITY (" 
-                            + retry + "):", toJsonText(jsonObj, true));
-                newEntity = SzResolvedEntity.parse(jsonObj);
+                return;
             }
 
-            logDebug("REFRESHING ENTITY " + entityId + ": ",
-                     (newEntity == null) ? "--> DELETED" : newEntity
-                             .toString());
-
             String deleteOpId = (newEntity == null)
                     ? this.generateOperationId(entityId)
                     : null;
@@ -170,67 +246,21 @@ public class RefreshEntityHandler extends AbstractTaskHandler
             // get the connection
             conn = this.getConnection();
 
-            // ensure the row and get the previous entity hash
-            String entityHash = (newEntity == null)
-                    ? this.prepareEntityDelete(conn, entityId, deleteOpId)
-                    : this.ensureEntityRow(conn, newEntity);
-
-            if (entityHash != null && entityHash.trim().length() == 0) {
-                // check if the entity never existed
-                if (newEntity == null) {
-                    logDebug("ENTITY " + entityId
-                        + " WAS NEVER REPLICATED."
-                        + "  FOLLOWING UP ON"
-                        + " RELATED ENTITIES...");
-                } else {
-                    logDebug("ENTITY " + entityId 
-                             + " HASHES MATCH (PRESUMABLY NO CHANGES)");
+            // find the entity delta
+            EntityDelta entityDelta = this.prepareEntityDelta(
+                conn, entityId, newEntity, cachedEntity, deleteOpId,
+                followUpScheduler);
+
+            if (entityDelta == null) {
+                // commit any digest back-fill and then cache the unchanged
+                // state now that it is known to match the data mart
+                conn.commit();
+                if (cache != null && newEntity != null) {
+                    cache.put(newEntity);
                 }
-
-                // ensure we have relationship integrity
-                this.ensureRelationIntegrity(
-                        conn, entityId, followUpScheduler, new TreeSet<>());
-
                 return;
             }
-            logDebug("CHANGES DETECTED FOR ENTITY " + entityId);
-
-            // parse the old entity
-            SzResolvedEntity oldEntity = SzResolvedEntity.parseHash(entityHash);
-
-            // check if the entity in unchanged -- this is a double-check since
-            // the
-            // hashes should have been the same before we got here
-            if (Objects.equals(oldEntity, newEntity)) {
-                logWarning("ENTITY ID " + entityId
-                        + ": entity hashes were different,"
-                        + " but no delta was found.",
-                    "NEW HASH  : " + newEntity.toHash(),
-                    "OLD HASH  : " + entityHash);
-                return;
-            }
-
-            // find the entity deltas
-            EntityDelta entityDelta = new EntityDelta(oldEntity, newEntity);
-
-            logDebug("ENTITY " + entityId + " ADDED RECORDS: ",
-                     entityDelta.getAddedRecords());
 
-            logDebug("ENTITY " + entityId + " CHANGED RECORDS: ",
-                     entityDelta.getChangedRecords());
-
-            logDebug("ENTITY " + entityId + " REMOVED RECORDS: ",
-                     entityDelta.getRemovedRecords());
-
-            logDebug("ENTITY " + entityId + " ADDED RELATIONS: ",
-                     entityDelta.getAddedRelations());
-
-            logDebug("ENTITY " + entityId + " CHANGED RELATIONS: ",
-                     entityDelta.getChangedRelations());
-
-            logDebug("ENTITY " + entityId + " REMOVED RELATIONS: ",
-                     entityDelta.getRemovedRelations());
-            
             // first enroll any subordinate resource locking rows into the
             // transaction
             // to ensure mutual exclusion while avoiding deadlocks -- this will
@@ -238,32 +268,27 @@ public class RefreshEntityHandler extends AbstractTaskHandler
             // mutual exclusion on the record and relationship rows
             this.enrollLockingRows(conn, entityDelta);
 
-            // check for added and changed records
-            int changeCount = this.ensureEntityRecords(conn, entityDelta,
-                    followUpScheduler);
-
-            // check for removed records
-            changeCount
-                    += this.orphanRemovedRecords(conn, entityDelta,
-                            followUpScheduler);
-
-            // check for added relations
-            changeCount
-                    += this.ensureRelations(conn, entityDelta,
-                            followUpScheduler);
+            // apply the delta to the records and relations
+            int changeCount = this.applyEntityDelta(
+                conn, entityDelta, deleteOpId, followUpScheduler);
 
             // get all the report updates and insert them as pending
             changeCount += this.insertReportDeltaUpdates(conn, entityDelta);
 
             logDebug("ENTITY " + entityId + " TOTAL CHANGES: " + changeCount);
-            // delete the entity row if deleted
-            if (newEntity == null) {
-                this.deleteEntityRow(conn, entityId, deleteOpId);
-            }
 
             // commit the transaction -- this will release any locked rows
             conn.commit();
 
+            // cache the committed state of the entity
+            if (cache != null) {
+                if (newEntity == null) {
+                    cache.invalidate(entityId);
+                } else {
+                    cache.put(newEntity);
+                }
+            }
+
             // close the connection here
             conn = close(conn);
 
@@ -275,6 +300,12 @@ public class RefreshEntityHandler extends AbstractTaskHandler
 
         } catch (Exception e) {
             logError(e, "UNEXPECTED FAILURE -- ROLLING BACK TRANSACTION....");
+
+            // the cached state may no longer match the data mart
+            if (cache != null && entityId != null) {
+                cache.invalidate(entityId);
+            }
+
             // rollback the transaction
             try {
                 SQLUtilities.rollback(conn);
@@ -294,6 +325,313 @@ public class RefreshEntityHandler extends AbstractTaskHandler
         }
     }
 
+    /**
+     * Retrieves the current state of the entities with the specified entity
+     * ID's for the task with the specified parameters and multiplicity.  If
+     * the entities were prefetched by the {@link EntityPrefetcher} (if any)
+     * then the prefetched states are used, otherwise they are retrieved now
+     * (within the engine concurrency bound of the {@link EntityPrefetcher}).
+     *
+     * @param parameters The {@link Map} of parameters for the task.
+     * @param multiplicity The multiplicity of the task.
+     * @param entityIds The {@link List} of entity ID's of the entities.
+     * @param transientSet The {@link Set} to which to add the entity ID's of
+     *                     entities found to be missing a relationship match
+     *                     key.
+     *
+     * @return The {@link Map} of {@link Long} entity ID keys to {@link
+     *         SzResolvedEntity} values, with <code>null</code> values for
+     *         entities that were not found.
+     *
+     * @throws Exception If a failure occurs.
+     */
+    protected Map<Long, SzResolvedEntity> retrieveEntities(
+            Map<String, Object> parameters,
+            int                 multiplicity,
+            List<Long>          entityIds,
+            Set<Long>           transientSet)
+        throws Exception
+    {
+        EntityPrefetcher prefetcher = this.prefetcher;
+        Map<Long, SzResolvedEntity> result = null;
+
+        // check for prefetched entities
+        if (prefetcher != null) {
+            result = prefetcher.take(this.getSupportedAction(),
+                                     parameters,
+                                     multiplicity,
+                                     transientSet);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        // retrieve the entities
+        result = new LinkedHashMap<>();
+        for (Long entityId : entityIds) {
+            result.put(entityId, (prefetcher == null)
+                ? this.fetchEntity(entityId, transientSet)
+                : prefetcher.fetch(entityId, transientSet, this::fetchEntity));
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the current state of the entity with the specified entity ID
+     * using the {@link SzEngine} from the {@link SzEnvironment}.
+     *
+     * @param entityId The entity ID of the entity to retrieve.
+     * @param transientSet The {@link Set} to which to add the entity ID if
+     *                     the entity was found to be missing a relationship
+     *                     match key.
+     *
+     * @return The {@link SzResolvedEntity} describing the entity, or
+     *         <code>null</code> if the entity was not found.
+     *
+     * @throws SzException If a Senzing failure occurs.
+     */
+    private SzResolvedEntity fetchEntity(long entityId, Set<Long> transientSet)
+        throws SzException
+    {
+        SzEngine engine = this.getSzEnvironment().getEngine();
+        return this.retrieveEntity(engine, entityId, transientSet);
+    }
+
+    /**
+     * Retrieves the current state of the entity with the specified entity ID
+     * from the Senzing repository using the specified {@link SzEngine}.  If
+     * a related entity is found to be missing its relationship match key then
+     * the retrieval is retried a few times since that state is expected to
+     * be transient, and the entity ID is added to the specified {@link Set}
+     * so the caller can enable debug logging.
+     *
+     * @param engine The {@link SzEngine} to use.
+     * @param entityId The entity ID of the entity to retrieve.
+     * @param transientSet The {@link Set} to which to add the entity ID if
+     *                     the entity was found to be missing a relationship
+     *                     match key.
+     *
+     * @return The {@link SzResolvedEntity} describing the entity, or
+     *         <code>null</code> if the entity was not found.
+     *
+     * @throws SzException If a Senzing failure occurs.
+     */
+    protected SzResolvedEntity retrieveEntity(SzEngine  engine,
+                                              long      entityId,
+                                              Set<Long> transientSet)
+        throws SzException
+    {
+        // get the entity
+        String jsonText = null;
+        try {
+            jsonText = engine.getEntity(entityId, ENTITY_FLAGS);
+        } catch (SzNotFoundException e) {
+            // let the result be null to indicate deletion
+            jsonText = null;
+        }
+
+        JsonObject jsonObj = parseJsonObject(jsonText);
+        SzResolvedEntity newEntity = SzResolvedEntity.parse(jsonObj);
+
+        // we need to check for the transient state of a missing
+        // relationship match key
+        for (int retry = 0; (newEntity != null) && (retry < 5); retry++) {
+            boolean missingMatchKey = false;
+            for (SzRelatedEntity rel
+                : newEntity.getRelatedEntities()
+                    .values()) {
+                if (rel.getMatchKey() == null) {
+                    missingMatchKey = true;
+                    logWarning("ENTITY " + entityId
+                            + " MISSING RELATIONSHIP MATCH KEY: ",
+                            toJsonText(jsonObj, true));
+                    transientSet.add(entityId);
+                    break;
+                }
+            }
+
+            // check if not missing a match key
+            if (!missingMatchKey) {
+                break;
+            }
+
+            // missing match key should be transient, so sleep and retry
+            try {
+                Thread.sleep(retry * 10L);
+            } catch (InterruptedException ignore) {
+                // do nothing
+            }
+
+            // now retry the entity get
+            jsonText = null;
+            try {
+                jsonText = engine.getEntity(entityId, ENTITY_FLAGS);
+            } catch (SzNotFoundException e) {
+                // let the result be null to indicate deletion
+                jsonText = null;
+            }
+
+            jsonObj = parseJsonObject(jsonText);
+            logWarning("ENTITY " + entityId + ": RETRIED GET ENTITY (" 
+                        + retry + "):", toJsonText(jsonObj, true));
+            newEntity = SzResolvedEntity.parse(jsonObj);
+        }
+
+        logDebug("REFRESHING ENTITY " + entityId + ": ",
+                 (newEntity == null) ? "--> DELETED" : newEntity
+                         .toString());
+
+        return newEntity;
+    }
+
+    /**
+     * Ensures the entity row for the specified entity (or prepares it for
+     * deletion) and determines the {@link EntityDelta} between the previously
+     * replicated state and the specified new state.  If there are no changes
+     * to apply then relationship integrity is ensured as needed and
+     * <code>null</code> is returned.  The snapshot cache is never updated
+     * here since the transaction is still open; the caller caches the new
+     * state once it has been committed.
+     *
+     * @param conn The JDBC {@link Connection} to use.
+     * @param entityId The entity ID of the entity.
+     * @param newEntity The {@link SzResolvedEntity} describing the new state
+     *                  of the entity, or <code>null</code> if deleted.
+     * @param cachedEntity The cached {@link SzResolvedEntity} describing the
+     *                     last replicated state of the entity, or
+     *                     <code>null</code> if not cached.
+     * @param deleteOpId The operation ID for deleting the entity row, or
+     *                   <code>null</code> if the entity was not deleted.
+     * @param followUpScheduler The {@link Scheduler} to use for scheduling
+     *                          follow-up tasks.
+     *
+     * @return The {@link EntityDelta} describing the changes, or
+     *         <code>null</code> if there are no changes to apply.
+     *
+     * @throws SQLException If a JDBC failure occurs.
+     */
+    protected EntityDelta prepareEntityDelta(
+            Connection          conn,
+            long                entityId,
+            SzResolvedEntity    newEntity,
+            SzResolvedEntity    cachedEntity,
+            String              deleteOpId,
+            Scheduler           followUpScheduler)
+        throws SQLException
+    {
+        // ensure the row and get the previous entity hash
+        byte[] entityHash = (newEntity == null)
+                ? this.prepareEntityDelete(conn, entityId, deleteOpId)
+                : this.ensureEntityRow(conn, newEntity);
+
+        if (entityHash != null && entityHash.length == 0) {
+            // check if the entity never existed
+            if (newEntity == null) {
+                logDebug("ENTITY " + entityId
+                    + " WAS NEVER REPLICATED."
+                    + "  FOLLOWING UP ON"
+                    + " RELATED ENTITIES...");
+            } else {
+                logDebug("ENTITY " + entityId 
+                         + " HASHES MATCH (PRESUMABLY NO CHANGES)");
+            }
+
+            // ensure we have relationship integrity
+            this.ensureRelationIntegrity(
+                    conn, entityId, followUpScheduler, new TreeSet<>());
+
+            return null;
+        }
+        logDebug("CHANGES DETECTED FOR ENTITY " + entityId);
+
+        // parse the old entity unless the cache already has it
+        SzResolvedEntity oldEntity = (entityHash != null
+                                      && cachedEntity != null)
+            ? cachedEntity : SzResolvedEntity.parseSnapshot(entityHash);
+
+        // check if the entity in unchanged -- this is a double-check since
+        // the
+        // hashes should have been the same before we got here
+        if (Objects.equals(oldEntity, newEntity)) {
+            logWarning("ENTITY ID " + entityId
+                    + ": entity hashes were different,"
+                    + " but no delta was found.",
+                "NEW ENTITY: " + newEntity,
+                "OLD ENTITY: " + oldEntity);
+            return null;
+        }
+
+        // find the entity deltas
+        EntityDelta entityDelta = new EntityDelta(oldEntity, newEntity);
+
+        logDebug("ENTITY " + entityId + " ADDED RECORDS: ",
+                 entityDelta.getAddedRecords());
+
+        logDebug("ENTITY " + entityId + " CHANGED RECORDS: ",
+                 entityDelta.getChangedRecords());
+
+        logDebug("ENTITY " + entityId + " REMOVED RECORDS: ",
+                 entityDelta.getRemovedRecords());
+
+        logDebug("ENTITY " + entityId + " ADDED RELATIONS: ",
+                 entityDelta.getAddedRelations());
+
+        logDebug("ENTITY " + entityId + " CHANGED RELATIONS: ",
+                 entityDelta.getChangedRelations());
+
+        logDebug("ENTITY " + entityId + " REMOVED RELATIONS: ",
+                 entityDelta.getRemovedRelations());
+
+        return entityDelta;
+    }
+
+    /**
+     * Applies the specified {@link EntityDelta} to the records and relations
+     * in the data mart and deletes the entity row if the entity was deleted.
+     * The locking rows for the delta should already have been enrolled into
+     * the transaction and the pending report updates are <b>not</b> inserted
+     * by this method.
+     *
+     * @param conn The JDBC {@link Connection} to use.
+     * @param entityDelta The {@link EntityDelta} to apply.
+     * @param deleteOpId The operation ID for deleting the entity row, or
+     *                   <code>null</code> if the entity was not deleted.
+     * @param followUpScheduler The {@link Scheduler} to use for scheduling
+     *                          follow-up tasks.
+     *
+     * @return The number of changes made.
+     *
+     * @throws SQLException If a JDBC failure occurs.
+     */
+    protected int applyEntityDelta(Connection   conn,
+                                   EntityDelta  entityDelta,
+                                   String       deleteOpId,
+                                   Scheduler    followUpScheduler)
+        throws SQLException
+    {
+        // check for added and changed records
+        int changeCount = this.ensureEntityRecords(conn, entityDelta,
+                followUpScheduler);
+
+        // check for removed records
+        changeCount
+                += this.orphanRemovedRecords(conn, entityDelta,
+                        followUpScheduler);
+
+        // check for added relations
+        changeCount
+                += this.ensureRelations(conn, entityDelta,
+                        followUpScheduler);
+
+        // delete the entity row if deleted
+        if (deleteOpId != null) {
+            this.deleteEntityRow(
+                conn, entityDelta.getEntityId(), deleteOpId);
+        }
+
+        return changeCount;
+    }
+
     /**
      * Prepares the entity row for deletion and retrieves the current entity
      * state from the previous hash using the specified JDBC {@link Connection},
@@ -305,11 +643,11 @@ public class RefreshEntityHandler extends AbstractTaskHandler
      * @param entityId    The entity ID for the entity.
      * @param operationId The unique operation ID previously used to prepare the
      *                    entity row for delete.
-     * @return The {@link String} entity hash describing the previous state, or
+     * @return The entity hash bytes describing the previous state, or
      *             <code>null</code> if not found.
      * @throws SQLException If a failure occurs.
      */
-    protected String prepareEntityDelete(Connection conn,
+    protected byte[] prepareEntityDelete(Connection conn,
                                          long entityId,
                                          String operationId)
         throws SQLException 
@@ -327,7 +665,7 @@ public class RefreshEntityHandler extends AbstractTaskHandler
 
             // check if no rows were updated (i.e.: already deleted)
             if (rowCount == 0) {
-                return "";
+                return new byte[0];
             }
             if (rowCount > 1) {
                 throw new IllegalStateException("Too many entity rows updated: "
@@ -352,7 +690,7 @@ public class RefreshEntityHandler extends AbstractTaskHandler
             }
 
             // get the entity hash
-            String entityHash = rs.getString(1);
+            byte[] entityHash = rs.getBytes(1);
             if (rs.wasNull()) {
                 entityHash = null;
             }
@@ -416,53 +754,63 @@ public class RefreshEntityHandler extends AbstractTaskHandler
     }
 
     /**
-     * Attempts to insert or update the entity row.
+     * Attempts to insert or update the entity row.  The upsert only modifies
+     * an existing row when its stored digest is missing or differs from the
+     * digest of the new entity snapshot, so an unchanged entity is detected
+     * from the update count without reading the row or the previous snapshot.
      *
      * @param conn      The JDBC {@link Connection} to use.
      * @param newEntity The {@link SzResolvedEntity} describing the entity.
      * @return The previous entity hash if updated, <code>null</code> if
-     *             inserted, or empty-string if nothing was changed because the
-     *             entity hashes were the same.
+     *             inserted, or an empty array if nothing was changed because
+     *             the entity digests (or hashes) were the same.
      * @throws SQLException If a JDBC failure occurs.
      */
-    protected String ensureEntityRow(Connection conn,
+    protected byte[] ensureEntityRow(Connection conn,
                                      SzResolvedEntity newEntity)
         throws SQLException 
     {
         PreparedStatement ps = null;
         ResultSet rs = null;
-        String operationId = this.generateOperationId(newEntity.getEntityId());
+        long entityId = newEntity.getEntityId();
+        byte[] snapshot = newEntity.toSnapshot();
+        byte[] digest = SzSnapshotCodec.digest(snapshot);
 
         try {
+            String operationId = this.generateOperationId(entityId);
+
             ps = conn.prepareStatement("INSERT INTO sz_dm_entity AS t1 ("
                     + " entity_id, entity_name, record_count, relation_count, "
-                    + " entity_hash, creator_id, modifier_id) "
-                    + "VALUES (?, ?, ?, ?, ?, ?, ?) "
+                    + " entity_hash, entity_digest, creator_id, modifier_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
                     + "ON CONFLICT (entity_id) DO UPDATE SET"
                     + " entity_name = EXCLUDED.entity_name,"
                     + " record_count = EXCLUDED.record_count,"
                     + " relation_count = EXCLUDED.relation_count,"
                     + " entity_hash = EXCLUDED.entity_hash,"
+                    + " entity_digest = EXCLUDED.entity_digest,"
                     + " prev_entity_hash = t1.entity_hash,"
                     + " modifier_id = EXCLUDED.modifier_id "
-                    + "WHERE t1.entity_hash <> EXCLUDED.entity_hash");
+                    + "WHERE t1.entity_digest IS NULL"
+                    + " OR t1.entity_digest <> EXCLUDED.entity_digest");
 
-            ps.setLong(1, newEntity.getEntityId());
+            ps.setLong(1, entityId);
             ps.setString(2, newEntity.getEntityName());
             ps.setInt(3, newEntity.getRecords().size());
             ps.setInt(4, newEntity.getRelatedEntities().size());
-            ps.setString(5, newEntity.toHash());
-            ps.setString(6, operationId);
+            ps.setBytes(5, snapshot);
+            ps.setBytes(6, digest);
             ps.setString(7, operationId);
+            ps.setString(8, operationId);
 
             int rowCount = ps.executeUpdate();
 
             ps = close(ps);
 
-            // check if nothing was updated or inserted (only happens if no
-            // patches)
+            // check if nothing was updated or inserted (only happens if the
+            // stored digest matches the new digest)
             if (rowCount == 0) {
-                return "";
+                return new byte[0];
             }
 
             if (rowCount > 1) {
@@ -474,7 +822,7 @@ public class RefreshEntityHandler extends AbstractTaskHandler
             ps = conn.prepareStatement("SELECT prev_entity_hash "
                     + "FROM sz_dm_entity WHERE entity_id = ? AND "
                             + "modifier_id = ?");
-            ps.setLong(1, newEntity.getEntityId());
+            ps.setLong(1, entityId);
             ps.setString(2, operationId);
 
             rs = ps.executeQuery();
@@ -488,7 +836,7 @@ public class RefreshEntityHandler extends AbstractTaskHandler
             }
 
             // get the previous entity hash
-            String prevEntityHash = rs.getString(1);
+            byte[] prevEntityHash = rs.getBytes(1);
             if (rs.wasNull()) {
                 prevEntityHash = null;
             }
@@ -497,6 +845,11 @@ public class RefreshEntityHandler extends AbstractTaskHandler
             rs = close(rs);
             ps = close(ps);
 
+            // check if the update only filled in a missing digest
+            if (Arrays.equals(snapshot, prevEntityHash)) {
+                return new byte[0];
+            }
+
             // return the previous entity hash
             return prevEntityHash;
 
@@ -887,7 +1240,7 @@ public class RefreshEntityHandler extends AbstractTaskHandler
                 ps2.setString(4, relationship.getMatchKey());
                 ps2.setString(5, relationship.getReverseMatchKey());
                 ps2.setString(6, relationship.getPrinciple());
-                ps2.setString(7, relationship.toHash());
+                ps2.setBytes(7, relationship.toSnapshot());
                 ps2.setString(8, operationId);
                 ps2.setString(9, operationId);
                 return -1;
@@ -1070,9 +1423,10 @@ public class RefreshEntityHandler extends AbstractTaskHandler
             while (rs.next()) {
                 long entityId = rs.getLong(1);
                 long relatedId = rs.getLong(2);
-                String hash = rs.getString(3);
+                byte[] hash = rs.getBytes(3);
 
-                SzRelationship relationship = SzRelationship.parseHash(hash);
+                SzRelationship relationship
+                    = SzRelationship.parseSnapshot(hash);
                 if (relationship == null) {
                     throw new IllegalStateException(
                             "Existing relationship exists but has no "
@@ -1313,9 +1667,30 @@ public class RefreshEntityHandler extends AbstractTaskHandler
     protected int insertReportDeltaUpdates(Connection conn,
                                            EntityDelta delta)
                                            throws SQLException
+    {
+        return this.insertReportDeltaUpdates(conn, List.of(delta));
+    }
+
+    /**
+     * Iterates over the pending report updates accumulated by all of the
+     * specified {@link EntityDelta} instances and batch-inserts them into the
+     * repository for later handling using a single statement.
+     *
+     * @param conn   The JDBC {@link Connection} to use.
+     * @param deltas The {@link Collection} of {@link EntityDelta} instances
+     *               that have accumulated the report updates.
+     * @return The number of rows inserted.
+     * @throws SQLException If a JDBC failure occurs.
+     */
+    protected int insertReportDeltaUpdates(Connection               conn,
+                                           Collection<EntityDelta>  deltas)
+                                           throws SQLException
     {
         // get the updates
-        List<SzReportUpdate> updates = delta.getReportUpdates();
+        List<SzReportUpdate> updates = new ArrayList<>();
+        for (EntityDelta delta : deltas) {
+            updates.addAll(delta.getReportUpdates());
+        }
         if (updates.size() == 0) {
             return 0;
         }
@@ -1411,10 +1786,39 @@ public class RefreshEntityHandler extends AbstractTaskHandler
                                      EntityDelta entityDelta)
                                      throws SQLException
     {
+        this.enrollLockingRows(conn, List.of(entityDelta));
+    }
+
+    /**
+     * Enrolls the database rows for locking the resources of all the
+     * specified {@link EntityDelta} instances into the transaction using a
+     * single statement.  The union of the resource keys is enrolled in a
+     * consistent order so that mutual exclusion is ensured while avoiding
+     * deadlocks.
+     *
+     * @param conn         The {@link Connection} to the database.
+     * @param entityDeltas The {@link Collection} of {@link EntityDelta}
+     *                     instances describing the changes.
+     * @throws SQLException If a JDBC failure occurs.
+     */
+    protected void enrollLockingRows(Connection                 conn,
+                                     Collection<EntityDelta>    entityDeltas)
+                                     throws SQLException
+    {
+        if (entityDeltas.size() == 0) {
+            return;
+        }
+
         PreparedStatement ps = null;
 
-        String operationId =
-                this.generateOperationId(entityDelta.getEntityId());
+        String operationId = this.generateOperationId(
+            entityDeltas.iterator().next().getEntityId());
+
+        // get the union of the resource keys in a consistent order
+        SortedSet<ResourceKey> resourceKeys = new TreeSet<>();
+        for (EntityDelta entityDelta : entityDeltas) {
+            resourceKeys.addAll(entityDelta.getResourceKeys());
+        }
 
         try {
             ps = conn.prepareStatement(
@@ -1423,8 +1827,6 @@ public class RefreshEntityHandler extends AbstractTaskHandler
                             + "ON CONFLICT (resource_key) DO UPDATE SET"
                             + " modifier_id = EXCLUDED.modifier_id");
 
-            SortedSet<ResourceKey> resourceKeys = entityDelta.getResourceKeys();
-
             this.batchUpdate(ps, resourceKeys, (ps2, resourceKey) -> {
                 ps2.setString(1, resourceKey.toString());
                 ps2.setString(2, operationId);
@@ -8,6 +8,7 @@ import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
 import java.util.*;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static com.senzing.datamart.model.SzMatchType.DISCLOSED_RELATION;
 import static com.senzing.util.JsonUtilities.*;
 import static com.senzing.util.LoggingUtilities.*;
@@ -623,9 +624,12 @@ public class SzRelationship
     }
 
     /**
-     * Generates the hash for this relationship.
+     * Generates the legacy hash text for this relationship, which is the
+     * zipped and base64-encoded JSON text.
      *
      * @return The hash for this relationship.
+     *
+     * @see #toSnapshot()
      */
     public String toHash()
     {
@@ -633,6 +637,20 @@ public class SzRelationship
         return ZipUtilities.zipText64(jsonText);
     }
 
+    /**
+     * Generates the compact binary snapshot for this relationship as stored
+     * in the data mart.  Equal relationships always produce identical
+     * snapshots.
+     *
+     * @return The binary snapshot for this relationship.
+     *
+     * @see SzSnapshotCodec#encode(SzRelationship)
+     */
+    public byte[] toSnapshot()
+    {
+        return SzSnapshotCodec.encode(this);
+    }
+
     /**
      * Overridden to return the result from {@link #toJsonText()}.
      *
@@ -714,4 +732,26 @@ public class SzRelationship
         String jsonText = ZipUtilities.unzipText64(hashText);
         return parse(jsonText);
     }
+
+    /**
+     * Parses the specified relationship snapshot bytes and returns an {@link
+     * SzRelationship} describing the relationship.  The snapshot may either
+     * be a binary snapshot produced by {@link #toSnapshot()} or the UTF-8
+     * bytes of legacy relationship hash text produced by {@link #toHash()}.
+     *
+     * @param snapshot The relationship snapshot bytes.
+     * @return The {@link SzRelationship} that was populated.
+     *
+     * @see SzSnapshotCodec
+     */
+    public static SzRelationship parseSnapshot(byte[] snapshot)
+    {
+        if (snapshot == null) {
+            return null;
+        }
+        if (!SzSnapshotCodec.isBinarySnapshot(snapshot)) {
+            return parseHash(new String(snapshot, UTF_8));
+        }
+        return SzSnapshotCodec.decodeRelationship(snapshot);
+    }
 }
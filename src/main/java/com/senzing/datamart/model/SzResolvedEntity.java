@@ -5,6 +5,7 @@ import com.senzing.util.ZipUtilities;
 import javax.json.*;
 import java.util.*;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static com.senzing.util.JsonUtilities.*;
 import static com.senzing.util.LoggingUtilities.*;
 
@@ -138,6 +139,28 @@ public class SzResolvedEntity extends SzEntity
         }
     }
 
+    /**
+     * Parses the specified entity snapshot bytes and returns an {@link
+     * SzResolvedEntity} describing the entity.  The snapshot may either be a
+     * binary snapshot produced by {@link #toSnapshot()} or the UTF-8 bytes of
+     * legacy entity hash text produced by {@link #toHash()}.
+     *
+     * @param snapshot The entity snapshot bytes describing the entity.
+     * @return The {@link SzResolvedEntity} that was populated.
+     *
+     * @see SzSnapshotCodec
+     */
+    public static SzResolvedEntity parseSnapshot(byte[] snapshot)
+    {
+        if (snapshot == null) {
+            return null;
+        }
+        if (!SzSnapshotCodec.isBinarySnapshot(snapshot)) {
+            return parseHash(new String(snapshot, UTF_8));
+        }
+        return SzSnapshotCodec.decodeEntity(snapshot);
+    }
+
     /**
      * Parses the specified JSON text and returns an {@link SzResolvedEntity}
      * describing the entity.
@@ -201,9 +224,12 @@ public class SzResolvedEntity extends SzEntity
     }
 
     /**
-     * Generates the hash for this entity.
+     * Generates the legacy hash text for this entity, which is the zipped and
+     * base64-encoded JSON text.
      *
      * @return The hash for this entity.
+     *
+     * @see #toSnapshot()
      */
     public String toHash()
     {
@@ -211,6 +237,19 @@ public class SzResolvedEntity extends SzEntity
         return ZipUtilities.zipText64(jsonText);
     }
 
+    /**
+     * Generates the compact binary snapshot for this entity as stored in the
+     * data mart.  Equal entities always produce identical snapshots.
+     *
+     * @return The binary snapshot for this entity.
+     *
+     * @see SzSnapshotCodec#encode(SzResolvedEntity)
+     */
+    public byte[] toSnapshot()
+    {
+        return SzSnapshotCodec.encode(this);
+    }
+
     /**
      * Overridden to return <code>true</code> if and only if the specified
      * parameter is an instance of the same class with equivalent properties.
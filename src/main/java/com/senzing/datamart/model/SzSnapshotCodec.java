@@ -0,0 +1,641 @@
+package com.senzing.datamart.model;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Encodes and decodes the compact, versioned binary snapshots of {@link
+ * SzResolvedEntity} and {@link SzRelationship} instances that are stored in
+ * the data mart to detect and describe changes between refreshes.
+ * <p>
+ * Every snapshot begins with the {@link #MAGIC} byte, the {@linkplain
+ * #FORMAT_VERSION format version} and a byte identifying the kind of
+ * snapshot.  This is followed by a dictionary of the distinct data source
+ * codes, match keys, match type codes and ERRULE codes referenced by the
+ * snapshot and then the body.  Entity ID's and counts are written as
+ * variable-length integers and the related entity ID's are delta-encoded in
+ * ascending order.  Records, related entities and source summaries are
+ * always written in sorted order so that equal instances always produce
+ * identical bytes and the snapshots can be compared directly in SQL.
+ * <p>
+ * Snapshots that do not begin with the {@link #MAGIC} byte are assumed to be
+ * the legacy format of zipped and base64-encoded JSON text.
+ */
+public final class SzSnapshotCodec
+{
+    /**
+     * The first byte of every binary snapshot.  This is not a base64
+     * character, so it distinguishes binary snapshots from the legacy format.
+     */
+    public static final byte MAGIC = (byte) 0xD5;
+
+    /**
+     * The current version of the binary snapshot format.
+     */
+    public static final byte FORMAT_VERSION = 1;
+
+    /**
+     * The byte identifying a snapshot of an {@link SzResolvedEntity}.
+     */
+    private static final byte ENTITY_KIND = 'E';
+
+    /**
+     * The byte identifying a snapshot of an {@link SzRelationship}.
+     */
+    private static final byte RELATIONSHIP_KIND = 'R';
+
+    /**
+     * The number of bytes in the snapshot header.
+     */
+    private static final int HEADER_LENGTH = 3;
+
+    /**
+     * The number of bytes in a snapshot digest (128 bits).
+     */
+    public static final int DIGEST_LENGTH = 16;
+
+    /**
+     * The algorithm of the message digest that is truncated to produce
+     * snapshot digests.
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * The per-thread {@link MessageDigest} instances used to compute snapshot
+     * digests.
+     */
+    private static final ThreadLocal<MessageDigest> MESSAGE_DIGEST
+        = ThreadLocal.withInitial(() -> {
+            try {
+                return MessageDigest.getInstance(DIGEST_ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+    /**
+     * Private default constructor.
+     */
+    private SzSnapshotCodec()
+    {
+        // do nothing
+    }
+
+    /**
+     * Checks if the specified bytes are a binary snapshot as opposed to the
+     * legacy format of zipped and base64-encoded JSON text.
+     *
+     * @param snapshot The snapshot bytes to check.
+     *
+     * @return <code>true</code> if the specified bytes begin with the binary
+     *         snapshot header, otherwise <code>false</code>.
+     */
+    public static boolean isBinarySnapshot(byte[] snapshot)
+    {
+        return (snapshot != null && snapshot.length >= HEADER_LENGTH
+                && snapshot[0] == MAGIC);
+    }
+
+    /**
+     * Computes the fixed-width digest of the specified snapshot.  Since equal
+     * instances always produce identical snapshots, the digest serves as a
+     * content fingerprint that can be compared to detect an unchanged entity
+     * without decoding (or even reading) the previous snapshot.  The digest
+     * is the first {@link #DIGEST_LENGTH} bytes of the SHA-256 hash of the
+     * snapshot.
+     *
+     * @param snapshot The snapshot bytes for which to compute the digest.
+     *
+     * @return The {@link #DIGEST_LENGTH} bytes of the digest.
+     *
+     * @throws NullPointerException If the specified snapshot is
+     *                              <code>null</code>.
+     */
+    public static byte[] digest(byte[] snapshot)
+    {
+        Objects.requireNonNull(snapshot, "The snapshot cannot be null");
+        MessageDigest messageDigest = MESSAGE_DIGEST.get();
+        byte[] hash = messageDigest.digest(snapshot);
+        return Arrays.copyOf(hash, DIGEST_LENGTH);
+    }
+
+    /**
+     * Encodes the specified {@link SzResolvedEntity} as a binary snapshot.
+     *
+     * @param entity The {@link SzResolvedEntity} to encode.
+     *
+     * @return The binary snapshot of the specified entity.
+     */
+    public static byte[] encode(SzResolvedEntity entity)
+    {
+        Objects.requireNonNull(entity, "The entity cannot be null");
+        Writer writer = new Writer();
+        writer.writeLong(entity.getEntityId());
+        writer.writeString(entity.getEntityName());
+        writeRecords(writer, entity.getRecords());
+
+        SortedMap<Long, SzRelatedEntity> related
+            = new TreeMap<>(entity.getRelatedEntities());
+        writer.writeCount(related.size());
+        long previousId = 0L;
+        for (SzRelatedEntity relatedEntity : related.values()) {
+            SzMatchType matchType = relatedEntity.getMatchType();
+            writer.writeLong(relatedEntity.getEntityId() - previousId);
+            writer.writeEntry((matchType == null) ? null : matchType.getCode());
+            writer.writeEntry(relatedEntity.getMatchKey());
+            writer.writeEntry(relatedEntity.getPrinciple());
+            writer.writeString(relatedEntity.getEntityName());
+            writeRecords(writer, relatedEntity.getRecords());
+            previousId = relatedEntity.getEntityId();
+        }
+        return writer.toSnapshot(ENTITY_KIND);
+    }
+
+    /**
+     * Encodes the specified {@link SzRelationship} as a binary snapshot.
+     *
+     * @param relationship The {@link SzRelationship} to encode.
+     *
+     * @return The binary snapshot of the specified relationship.
+     */
+    public static byte[] encode(SzRelationship relationship)
+    {
+        Objects.requireNonNull(relationship,
+                               "The relationship cannot be null");
+        Writer writer = new Writer();
+        SzMatchType matchType = relationship.getMatchType();
+        writer.writeLong(relationship.getEntityId());
+        writer.writeLong(relationship.getRelatedEntityId()
+                         - relationship.getEntityId());
+        writer.writeEntry((matchType == null) ? null : matchType.getCode());
+        writer.writeEntry(relationship.getMatchKey());
+        writer.writeEntry(relationship.getReverseMatchKey());
+        writer.writeEntry(relationship.getPrinciple());
+        writeSourceSummary(writer, relationship.getSourceSummary());
+        writeSourceSummary(writer, relationship.getRelatedSourceSummary());
+        return writer.toSnapshot(RELATIONSHIP_KIND);
+    }
+
+    /**
+     * Decodes the specified binary snapshot of an {@link SzResolvedEntity}.
+     *
+     * @param snapshot The binary snapshot to decode.
+     *
+     * @return The decoded {@link SzResolvedEntity}.
+     *
+     * @throws IllegalArgumentException If the specified bytes are not a valid
+     *                                  binary snapshot of an entity.
+     */
+    public static SzResolvedEntity decodeEntity(byte[] snapshot)
+    {
+        Reader reader = new Reader(snapshot, ENTITY_KIND);
+        SzResolvedEntity entity = new SzResolvedEntity();
+        entity.setEntityId(reader.readLong());
+        entity.setEntityName(reader.readString());
+        readRecords(reader, entity);
+
+        int relatedCount = reader.readCount();
+        long relatedId = 0L;
+        for (int index = 0; index < relatedCount; index++) {
+            relatedId += reader.readLong();
+            String matchTypeCode = reader.readEntry();
+            SzRelatedEntity related = new SzRelatedEntity();
+            related.setEntityId(relatedId);
+            related.setMatchType((matchTypeCode == null)
+                ? null : SzMatchType.lookup(matchTypeCode));
+            related.setMatchKey(reader.readEntry());
+            related.setPrinciple(reader.readEntry());
+            related.setEntityName(reader.readString());
+            readRecords(reader, related);
+            entity.addRelatedEntity(related);
+        }
+        reader.finish();
+        return entity;
+    }
+
+    /**
+     * Decodes the specified binary snapshot of an {@link SzRelationship}.
+     *
+     * @param snapshot The binary snapshot to decode.
+     *
+     * @return The decoded {@link SzRelationship}.
+     *
+     * @throws IllegalArgumentException If the specified bytes are not a valid
+     *                                  binary snapshot of a relationship.
+     */
+    public static SzRelationship decodeRelationship(byte[] snapshot)
+    {
+        Reader reader = new Reader(snapshot, RELATIONSHIP_KIND);
+        long entityId = reader.readLong();
+        long relatedId = entityId + reader.readLong();
+        String matchTypeCode = reader.readEntry();
+        String matchKey = reader.readEntry();
+        String reverseMatchKey = reader.readEntry();
+        String principle = reader.readEntry();
+        Map<String, Integer> summary = readSourceSummary(reader);
+        Map<String, Integer> relatedSummary = readSourceSummary(reader);
+        reader.finish();
+
+        SzMatchType matchType = (matchTypeCode == null)
+            ? null : SzMatchType.lookup(matchTypeCode);
+
+        return new SzRelationship(entityId,
+                                  relatedId,
+                                  matchType,
+                                  matchKey,
+                                  reverseMatchKey,
+                                  principle,
+                                  summary,
+                                  relatedSummary);
+    }
+
+    /**
+     * Writes the specified records in sorted order.
+     *
+     * @param writer  The {@link Writer} to write to.
+     * @param records The {@link Map} of {@link SzRecordKey} keys to {@link
+     *                SzRecord} values to write.
+     */
+    private static void writeRecords(Writer                       writer,
+                                     Map<SzRecordKey, SzRecord>   records)
+    {
+        SortedMap<SzRecordKey, SzRecord> sorted = new TreeMap<>(records);
+        writer.writeCount(sorted.size());
+        for (SzRecord record : sorted.values()) {
+            writer.writeEntry(record.getDataSource());
+            writer.writeString(record.getRecordId());
+            writer.writeEntry(record.getMatchKey());
+            writer.writeEntry(record.getPrinciple());
+        }
+    }
+
+    /**
+     * Reads the records written by {@link #writeRecords(Writer, Map)} and
+     * adds them to the specified {@link SzEntity}.
+     *
+     * @param reader The {@link Reader} to read from.
+     * @param entity The {@link SzEntity} to add the records to.
+     */
+    private static void readRecords(Reader reader, SzEntity entity)
+    {
+        int recordCount = reader.readCount();
+        for (int index = 0; index < recordCount; index++) {
+            String dataSource = reader.readEntry();
+            String recordId = reader.readString();
+            String matchKey = reader.readEntry();
+            String principle = reader.readEntry();
+            entity.addRecord(
+                new SzRecord(dataSource, recordId, matchKey, principle));
+        }
+    }
+
+    /**
+     * Writes the specified source summary in sorted order.
+     *
+     * @param writer  The {@link Writer} to write to.
+     * @param summary The {@link Map} of {@link String} data source code keys
+     *                to {@link Integer} record count values.
+     */
+    private static void writeSourceSummary(Writer                 writer,
+                                           Map<String, Integer>   summary)
+    {
+        SortedMap<String, Integer> sorted = new TreeMap<>(summary);
+        writer.writeCount(sorted.size());
+        for (Map.Entry<String, Integer> entry : sorted.entrySet()) {
+            writer.writeEntry(entry.getKey());
+            writer.writeCount(entry.getValue());
+        }
+    }
+
+    /**
+     * Reads a source summary written by {@link #writeSourceSummary(Writer,
+     * Map)}.
+     *
+     * @param reader The {@link Reader} to read from.
+     *
+     * @return The {@link Map} of {@link String} data source code keys to
+     *         {@link Integer} record count values.
+     */
+    private static Map<String, Integer> readSourceSummary(Reader reader)
+    {
+        int count = reader.readCount();
+        Map<String, Integer> summary = new LinkedHashMap<>();
+        for (int index = 0; index < count; index++) {
+            String dataSource = reader.readEntry();
+            summary.put(dataSource, (int) reader.readVarLong());
+        }
+        return summary;
+    }
+
+    /**
+     * Accumulates the body of a snapshot and the dictionary of the strings
+     * that it references.
+     */
+    private static final class Writer
+    {
+        /**
+         * The dictionary of {@link String} entries to their indexes, in the
+         * order in which they were first referenced.
+         */
+        private final Map<String, Integer> dictionary = new LinkedHashMap<>();
+
+        /**
+         * The bytes of the body.
+         */
+        private byte[] bytes = new byte[256];
+
+        /**
+         * The number of bytes written to the body.
+         */
+        private int length = 0;
+
+        /**
+         * Writes the specified unsigned value as a variable-length integer.
+         *
+         * @param value The value to write, interpreted as unsigned.
+         */
+        private void writeVarLong(long value)
+        {
+            this.ensureCapacity(10);
+            while ((value & ~0x7FL) != 0L) {
+                this.bytes[this.length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            this.bytes[this.length++] = (byte) value;
+        }
+
+        /**
+         * Writes the specified signed value as a zig-zag encoded
+         * variable-length integer so that small negative values stay small.
+         *
+         * @param value The value to write.
+         */
+        private void writeLong(long value)
+        {
+            this.writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        /**
+         * Writes the specified non-negative count.
+         *
+         * @param count The count to write.
+         */
+        private void writeCount(int count)
+        {
+            this.writeVarLong(count);
+        }
+
+        /**
+         * Writes a reference to the specified dictionary entry, adding it to
+         * the dictionary if it is not already present.  A <code>null</code>
+         * entry is written as zero (0).
+         *
+         * @param entry The entry to reference, or <code>null</code>.
+         */
+        private void writeEntry(String entry)
+        {
+            if (entry == null) {
+                this.writeVarLong(0L);
+                return;
+            }
+            Integer index = this.dictionary.get(entry);
+            if (index == null) {
+                index = this.dictionary.size();
+                this.dictionary.put(entry, index);
+            }
+            this.writeVarLong(index + 1L);
+        }
+
+        /**
+         * Writes the specified inline string as its UTF-8 length plus one
+         * followed by its UTF-8 bytes.  A <code>null</code> string is
+         * written as zero (0).
+         *
+         * @param text The text to write, or <code>null</code>.
+         */
+        private void writeString(String text)
+        {
+            if (text == null) {
+                this.writeVarLong(0L);
+                return;
+            }
+            byte[] utf8 = text.getBytes(UTF_8);
+            this.writeVarLong(utf8.length + 1L);
+            this.ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, this.bytes, this.length, utf8.length);
+            this.length += utf8.length;
+        }
+
+        /**
+         * Ensures there is room to write the specified number of additional
+         * bytes to the body.
+         *
+         * @param count The number of additional bytes.
+         */
+        private void ensureCapacity(int count)
+        {
+            int required = this.length + count;
+            if (required > this.bytes.length) {
+                this.bytes = Arrays.copyOf(
+                    this.bytes, Math.max(required, this.bytes.length * 2));
+            }
+        }
+
+        /**
+         * Assembles the complete snapshot with the header, the dictionary and
+         * the body.
+         *
+         * @param kind The byte identifying the kind of snapshot.
+         *
+         * @return The bytes of the complete snapshot.
+         */
+        private byte[] toSnapshot(byte kind)
+        {
+            byte[] body = this.bytes;
+            int bodyLength = this.length;
+
+            // write the header and the dictionary in place of the body
+            this.bytes = new byte[bodyLength + 64];
+            this.length = 0;
+            this.ensureCapacity(HEADER_LENGTH);
+            this.bytes[this.length++] = MAGIC;
+            this.bytes[this.length++] = FORMAT_VERSION;
+            this.bytes[this.length++] = kind;
+            this.writeCount(this.dictionary.size());
+            for (String entry : this.dictionary.keySet()) {
+                this.writeString(entry);
+            }
+
+            byte[] snapshot
+                = Arrays.copyOf(this.bytes, this.length + bodyLength);
+            System.arraycopy(body, 0, snapshot, this.length, bodyLength);
+            return snapshot;
+        }
+    }
+
+    /**
+     * Reads the dictionary and the body of a snapshot.
+     */
+    private static final class Reader
+    {
+        /**
+         * The bytes of the snapshot.
+         */
+        private final byte[] bytes;
+
+        /**
+         * The offset of the next byte to read.
+         */
+        private int offset;
+
+        /**
+         * The dictionary entries, indexed by their position.
+         */
+        private final String[] dictionary;
+
+        /**
+         * Constructs with the bytes of the snapshot and the expected kind,
+         * validating the header and reading the dictionary.
+         *
+         * @param bytes The bytes of the snapshot.
+         * @param kind  The byte identifying the expected kind of snapshot.
+         *
+         * @throws IllegalArgumentException If the header is not valid for
+         *                                  the expected kind of snapshot.
+         */
+        private Reader(byte[] bytes, byte kind)
+        {
+            Objects.requireNonNull(bytes, "The snapshot cannot be null");
+            if (!isBinarySnapshot(bytes)) {
+                throw new IllegalArgumentException(
+                    "The specified bytes are not a binary snapshot.");
+            }
+            if (bytes[1] != FORMAT_VERSION) {
+                throw new IllegalArgumentException(
+                    "Unsupported snapshot format version: " + bytes[1]);
+            }
+            if (bytes[2] != kind) {
+                throw new IllegalArgumentException(
+                    "Unexpected snapshot kind.  expected=[ " + (char) kind
+                    + " ], actual=[ " + (char) bytes[2] + " ]");
+            }
+            this.bytes = bytes;
+            this.offset = HEADER_LENGTH;
+            int count = this.readCount();
+            this.dictionary = new String[count];
+            for (int index = 0; index < count; index++) {
+                this.dictionary[index] = this.readString();
+                if (this.dictionary[index] == null) {
+                    throw new IllegalArgumentException(
+                        "Snapshot dictionary entries cannot be null.");
+                }
+            }
+        }
+
+        /**
+         * Reads an unsigned variable-length integer.
+         *
+         * @return The value that was read.
+         */
+        private long readVarLong()
+        {
+            long value = 0L;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (this.offset >= this.bytes.length) {
+                    throw new IllegalArgumentException(
+                        "The snapshot is truncated.");
+                }
+                byte next = this.bytes[this.offset++];
+                value |= ((long) (next & 0x7F)) << shift;
+                if ((next & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException(
+                "Malformed variable-length integer in snapshot.");
+        }
+
+        /**
+         * Reads a zig-zag encoded signed variable-length integer.
+         *
+         * @return The value that was read.
+         */
+        private long readLong()
+        {
+            long value = this.readVarLong();
+            return (value >>> 1) ^ -(value & 1L);
+        }
+
+        /**
+         * Reads a non-negative count.
+         *
+         * @return The count that was read.
+         */
+        private int readCount()
+        {
+            long count = this.readVarLong();
+            if (count < 0L || count > (this.bytes.length - this.offset)) {
+                throw new IllegalArgumentException(
+                    "Invalid count in snapshot: " + count);
+            }
+            return (int) count;
+        }
+
+        /**
+         * Reads a reference to a dictionary entry.
+         *
+         * @return The referenced entry, or <code>null</code> if none.
+         */
+        private String readEntry()
+        {
+            long reference = this.readVarLong();
+            if (reference == 0L) {
+                return null;
+            }
+            if (reference < 0L || reference > this.dictionary.length) {
+                throw new IllegalArgumentException(
+                    "Invalid dictionary reference in snapshot: " + reference);
+            }
+            return this.dictionary[(int) (reference - 1L)];
+        }
+
+        /**
+         * Reads an inline string.
+         *
+         * @return The string that was read, or <code>null</code> if none.
+         */
+        private String readString()
+        {
+            long length = this.readVarLong();
+            if (length == 0L) {
+                return null;
+            }
+            length--;
+            if (length < 0L || length > (this.bytes.length - this.offset)) {
+                throw new IllegalArgumentException(
+                    "The snapshot is truncated.");
+            }
+            String text = new String(
+                this.bytes, this.offset, (int) length, UTF_8);
+            this.offset += (int) length;
+            return text;
+        }
+
+        /**
+         * Ensures that all the bytes of the snapshot have been read.
+         *
+         * @throws IllegalArgumentException If unread bytes remain.
+         */
+        private void finish()
+        {
+            if (this.offset != this.bytes.length) {
+                throw new IllegalArgumentException(
+                    "Unexpected trailing bytes in snapshot: "
+                    + (this.bytes.length - this.offset));
+            }
+        }
+    }
+}
@@ -74,8 +74,9 @@ public class PostgreSQLSchemaBuilder extends SchemaBuilder
                 + "  entity_name TEXT, "
                 + "  record_count INTEGER, "
                 + "  relation_count INTEGER, "
-                + "  entity_hash TEXT, "
-                + "  prev_entity_hash TEXT, "
+                + "  entity_hash BYTEA, "
+                + "  prev_entity_hash BYTEA, "
+                + "  entity_digest BYTEA, "
                 + "  creator_id TEXT NOT NULL, "
                 + "  modifier_id TEXT NOT NULL, "
                 + "  created_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
@@ -83,6 +84,13 @@ public class PostgreSQLSchemaBuilder extends SchemaBuilder
 
         String dropEntityTable = "DROP TABLE IF EXISTS sz_dm_entity;";
 
+        String migrateEntityHashes = formatMigrateHashColumns(
+            "sz_dm_entity", "entity_hash", "prev_entity_hash");
+
+        String addEntityDigest
+            = "ALTER TABLE sz_dm_entity "
+                + "ADD COLUMN IF NOT EXISTS entity_digest BYTEA;";
+
         String createEntityTrigger 
             = formatCreatePostgreSQLTrigger("sz_dm_entity");
 
@@ -168,8 +176,8 @@ public class PostgreSQLSchemaBuilder extends SchemaBuilder
                 + "  match_key TEXT, "
                 + "  rev_match_key TEXT, "
                 + "  errule_code TEXT NOT NULL, "
-                + "  relation_hash TEXT NOT NULL, "
-                + "  prev_relation_hash TEXT, "
+                + "  relation_hash BYTEA NOT NULL, "
+                + "  prev_relation_hash BYTEA, "
                 + "  creator_id TEXT NOT NULL, "
                 + "  modifier_id TEXT NOT NULL, "
                 + "  created_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
@@ -178,6 +186,9 @@ public class PostgreSQLSchemaBuilder extends SchemaBuilder
 
         String dropRelationTable = "DROP TABLE IF EXISTS sz_dm_relation;";
 
+        String migrateRelationHashes = formatMigrateHashColumns(
+            "sz_dm_relation", "relation_hash", "prev_relation_hash");
+
         String createRelationIndex
             = "CREATE INDEX IF NOT EXISTS sz_dm_relation_ix "
                 + "ON sz_dm_relation (related_id, entity_id);";
@@ -397,6 +408,8 @@ public class PostgreSQLSchemaBuilder extends SchemaBuilder
         sqlList.add(createTriggerFunctionSql);
         sqlList.add(createLockTable);
         sqlList.add(createEntityTable);
+        sqlList.add(migrateEntityHashes);
+        sqlList.add(addEntityDigest);
         sqlList.add(createEntityNewIndex);
         sqlList.add(createEntityModIndex);
         sqlList.add(dropEntityTrigger);
@@ -412,6 +425,7 @@ public class PostgreSQLSchemaBuilder extends SchemaBuilder
         sqlList.add(createRecordModIndex);
 
         sqlList.add(createRelationTable);
+        sqlList.add(migrateRelationHashes);
         sqlList.add(dropRelationTrigger);
         sqlList.add(createRelationTrigger);
         sqlList.add(createRelationIndex);
@@ -465,6 +479,40 @@ public class PostgreSQLSchemaBuilder extends SchemaBuilder
                 + "EXECUTE PROCEDURE sz_maintain_timestamps();";
     }
 
+    /**
+     * Formats a PostgreSQL statement that converts the specified hash and
+     * previous hash columns of the specified table from the legacy
+     * <code>TEXT</code> type to <code>BYTEA</code> if they have not already
+     * been converted.  The existing hash text is kept as its UTF-8 bytes,
+     * which are recognized as the legacy format when read and replaced with
+     * a binary snapshot the next time the row is refreshed.
+     *
+     * @param tableName      The name of the table.
+     * @param hashColumn     The name of the hash column.
+     * @param prevHashColumn The name of the previous hash column.
+     * @return The statement to migrate the hash columns.
+     */
+    protected String formatMigrateHashColumns(String tableName,
+                                              String hashColumn,
+                                              String prevHashColumn)
+    {
+        return "DO $$ "
+                + "BEGIN "
+                + "  IF EXISTS (SELECT 1 FROM information_schema.columns "
+                + "    WHERE table_schema = current_schema() "
+                + "    AND table_name = '" + tableName + "' "
+                + "    AND column_name = '" + hashColumn + "' "
+                + "    AND data_type = 'text') THEN "
+                + "    ALTER TABLE " + tableName
+                + "      ALTER COLUMN " + hashColumn + " TYPE BYTEA "
+                + "        USING convert_to(" + hashColumn + ", 'UTF8'), "
+                + "      ALTER COLUMN " + prevHashColumn + " TYPE BYTEA "
+                + "        USING convert_to(" + prevHashColumn + ", 'UTF8'); "
+                + "  END IF; "
+                + "END; "
+                + "$$;";
+    }
+
     /**
      * Formats a PostgreSQL drop trigger statement for the timestamp maintenance
      * trigger for the specified table name.
@@ -1,10 +1,14 @@
 package com.senzing.datamart.schema;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.LinkedList;
 import java.util.List;
 
+import static com.senzing.sql.SQLUtilities.close;
+
 /**
  * Provides a data mart schema builder for SQLite.
  */
@@ -47,8 +51,9 @@ public class SQLiteSchemaBuilder extends SchemaBuilder
                 + "  entity_name TEXT, "
                 + "  record_count INTEGER, "
                 + "  relation_count INTEGER, "
-                + "  entity_hash TEXT, "
-                + "  prev_entity_hash TEXT,"
+                + "  entity_hash BLOB, "
+                + "  prev_entity_hash BLOB,"
+                + "  entity_digest BLOB, "
                 + "  creator_id TEXT NOT NULL, "
                 + "  modifier_id TEXT NOT NULL, "
                 + "  created_on TIMESTAMP NOT NULL "
@@ -156,8 +161,8 @@ public class SQLiteSchemaBuilder extends SchemaBuilder
                 + "  match_key TEXT, "
                 + "  rev_match_key TEXT, "
                 + "  errule_code TEXT NOT NULL, "
-                + "  relation_hash TEXT NOT NULL, "
-                + "  prev_relation_hash TEXT, "
+                + "  relation_hash BLOB NOT NULL, "
+                + "  prev_relation_hash BLOB, "
                 + "  creator_id TEXT NOT NULL, "
                 + "  modifier_id TEXT NOT NULL, "
                 + "  created_on TIMESTAMP NOT NULL "
@@ -455,9 +460,49 @@ public class SQLiteSchemaBuilder extends SchemaBuilder
         sqlList.add(createPendingReportUpdateTrigger);
 
         this.executeStatements(conn, sqlList);
+
+        // add the digest column to entity tables created before it existed
+        if (!this.hasColumn(conn, "sz_dm_entity", "entity_digest")) {
+            this.executeStatements(conn, List.of(
+                "ALTER TABLE sz_dm_entity ADD COLUMN entity_digest BLOB;"));
+        }
+
         conn.commit();
     }
 
+    /**
+     * Checks if the specified SQLite table has a column with the specified
+     * name.  SQLite does not support <code>ADD COLUMN IF NOT EXISTS</code> so
+     * this is used to add columns to tables created by earlier versions.
+     *
+     * @param conn      The JDBC {@link Connection} to use.
+     * @param tableName The name of the table to check.
+     * @param column    The name of the column to look for.
+     * @return <code>true</code> if the table has the column, otherwise
+     *         <code>false</code>.
+     * @throws SQLException If a JDBC failure occurs.
+     */
+    protected boolean hasColumn(Connection conn,
+                                String tableName,
+                                String column)
+        throws SQLException
+    {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            ps = conn.prepareStatement(
+                "SELECT COUNT(*) FROM pragma_table_info(?) WHERE name = ?");
+            ps.setString(1, tableName);
+            ps.setString(2, column);
+            rs = ps.executeQuery();
+            return (rs.next() && rs.getInt(1) > 0);
+
+        } finally {
+            rs = close(rs);
+            ps = close(ps);
+        }
+    }
+
     /**
      * Formats a SQLite create trigger statement for the timestamp maintenance
      * trigger for the specified table name.
@@ -4,18 +4,37 @@ import com.senzing.listener.communication.exception.MessageConsumerException;
 // CSOFF
 import com.senzing.listener.communication.exception.MessageConsumerSetupException;
 // CSON
+import com.senzing.listener.service.InfoMessageProcessor;
 import com.senzing.listener.service.MessageProcessor;
 import com.senzing.listener.service.locking.LockingService;
 import com.senzing.listener.service.locking.ProcessScopeLockingService;
+import com.senzing.listener.service.model.SzInfoMessage;
+import com.senzing.listener.service.model.SzInfoMessageParser;
 import com.senzing.util.AsyncWorkerPool;
 import com.senzing.util.AsyncWorkerPool.AsyncResult;
 import com.senzing.util.Timers;
 
+import javax.json.Json;
 import javax.json.JsonArray;
 import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonStructure;
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.*;
 import static com.senzing.util.JsonUtilities.parseJsonObject;
 import static com.senzing.util.JsonUtilities.parseJsonArray;
@@ -57,6 +76,95 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
      */
     public static final String TIMEOUT_KEY = "timeout";
 
+    /**
+     * The initialization parameter to specify whether each in-flight message
+     * should be processed on its own thread rather than on a fixed-size pool
+     * of {@linkplain #CONCURRENCY_KEY concurrency} threads.  Virtual threads
+     * are used if the JVM supports them, otherwise a platform thread is used
+     * for each in-flight message.  The number of in-flight messages is bounded
+     * by the {@link #MAX_IN_FLIGHT_KEY} initialization parameter.  If not
+     * configured then the value is set to {@link #DEFAULT_VIRTUAL_THREADS}.
+     */
+    public static final String VIRTUAL_THREADS_KEY = "virtualThreads";
+
+    /**
+     * The default value for the {@link #VIRTUAL_THREADS_KEY} initialization
+     * parameter.  The default is to use a fixed-size pool of threads.
+     */
+    public static final Boolean DEFAULT_VIRTUAL_THREADS = Boolean.FALSE;
+
+    /**
+     * The initialization parameter to specify the maximum number of messages
+     * that may be in flight at one time when {@linkplain #VIRTUAL_THREADS_KEY
+     * processing each message on its own thread}.  If not configured then the
+     * value is set to {@link #DEFAULT_MAX_IN_FLIGHT}.  If the value is
+     * specified it should be a positive number.
+     */
+    public static final String MAX_IN_FLIGHT_KEY = "maxInFlight";
+
+    /**
+     * The default value for the {@link #MAX_IN_FLIGHT_KEY} initialization
+     * parameter.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 1000;
+
+    /**
+     * The initialization parameter to specify whether messages should be
+     * processed using {@link MessageProcessor#processAsync(JsonObject)} so
+     * that messages are marked as processed and disposed from completion
+     * callbacks rather than blocking a worker thread for each message.  The
+     * number of in-flight messages is bounded by the {@link
+     * #MAX_IN_FLIGHT_KEY} initialization parameter.  This takes precedence
+     * over the {@link #VIRTUAL_THREADS_KEY} initialization parameter.  If not
+     * configured then the value is set to {@link #DEFAULT_ASYNC_PROCESSING}.
+     */
+    public static final String ASYNC_PROCESSING_KEY = "asyncProcessing";
+
+    /**
+     * The default value for the {@link #ASYNC_PROCESSING_KEY} initialization
+     * parameter.  The default is to process messages synchronously.
+     */
+    public static final Boolean DEFAULT_ASYNC_PROCESSING = Boolean.FALSE;
+
+    /**
+     * The initialization parameter to specify whether the number of messages
+     * processed concurrently should be adjusted at runtime based on the
+     * observed service latency and the {@linkplain Stat#dequeueHitRatio
+     * dequeue hit ratio}.  When enabled, the configured {@linkplain
+     * #CONCURRENCY_KEY concurrency} (or the {@linkplain #MAX_IN_FLIGHT_KEY
+     * maximum in-flight messages} when processing each message on its own
+     * thread or asynchronously) is the upper bound and the {@link
+     * #MINIMUM_CONCURRENCY_KEY} initialization parameter is the lower bound.
+     * The limit grows by one while there is a backlog of pending messages and
+     * latency is steady, and shrinks by a quarter when latency rises or
+     * messages fail.  If not configured then the value is set to {@link
+     * #DEFAULT_ADAPTIVE_CONCURRENCY}.
+     */
+    public static final String ADAPTIVE_CONCURRENCY_KEY = "adaptiveConcurrency";
+
+    /**
+     * The default value for the {@link #ADAPTIVE_CONCURRENCY_KEY}
+     * initialization parameter.  The default is to use a fixed concurrency.
+     */
+    public static final Boolean DEFAULT_ADAPTIVE_CONCURRENCY = Boolean.FALSE;
+
+    /**
+     * The initialization parameter to specify the lower bound on the number
+     * of messages processed concurrently when {@linkplain
+     * #ADAPTIVE_CONCURRENCY_KEY adaptive concurrency} is enabled.  If not
+     * configured then the value is set to {@link
+     * #DEFAULT_MINIMUM_CONCURRENCY}.  If the value is specified it should be a
+     * positive number.  If it exceeds the upper bound then the upper bound is
+     * used.
+     */
+    public static final String MINIMUM_CONCURRENCY_KEY = "minimumConcurrency";
+
+    /**
+     * The default value for the {@link #MINIMUM_CONCURRENCY_KEY}
+     * initialization parameter.
+     */
+    public static final int DEFAULT_MINIMUM_CONCURRENCY = 1;
+
     /**
      * Millisecond units constant for {@link Stat} instances.
      */
@@ -88,6 +196,13 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
          */
         concurrency(THREAD_UNITS),
 
+        /**
+         * The current limit on the number of messages processed concurrently.
+         * This equals the {@linkplain #concurrency concurrency} (or the
+         * maximum in-flight messages) unless adaptive concurrency is enabled.
+         */
+        concurrencyLimit(THREAD_UNITS),
+
         /**
          * The timeout to use when waiting for new messages to show up and to
          * check to see if message processing has ceased.
@@ -212,9 +327,8 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
         dequeue(MILLISECOND_UNITS),
 
         /**
-         * The time spent (in milliseconds) waiting to obtain the synchronized
-         * lock on the consumer in order to call the
-         * {@link #dequeueMessage(MessageProcessor)} function.
+         * The time spent (in milliseconds) between beginning to dequeue and
+         * entering the {@link #dequeueMessage(MessageProcessor)} function.
          */
         dequeueBlocking(MILLISECOND_UNITS),
 
@@ -226,7 +340,7 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
         dequeueMessageWaitLoop(MILLISECOND_UNITS),
 
         /**
-         * The time spent (in milliseconds) in the synchronization wait of
+         * The time spent (in milliseconds) parked in
          * {@link #dequeueMessage(MessageProcessor)} waiting for a message to
          * become available for processing. This should be the majority of the
          * time spent in {@link #dequeueMessageWaitLoop}, but isolates the
@@ -331,7 +445,7 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
     /**
      * The {@link State} of the {@link MessageConsumer}.
      */
-    private State state = UNINITIALIZED;
+    private volatile State state = UNINITIALIZED;
 
     /**
      * Flag indicating if we are currently processing messages. This is used to
@@ -350,6 +464,61 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
      */
     private AsyncWorkerPool<ProcessResult<M>> workerPool = null;
 
+    /**
+     * Flag indicating if each in-flight message is processed on its own
+     * thread rather than using the {@link #workerPool}.
+     */
+    private boolean virtualThreads = DEFAULT_VIRTUAL_THREADS;
+
+    /**
+     * The maximum number of in-flight messages when processing each message
+     * on its own thread.
+     */
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+
+    /**
+     * Flag indicating if messages are processed asynchronously via {@link
+     * MessageProcessor#processAsync(JsonObject)}.
+     */
+    private boolean asyncProcessing = DEFAULT_ASYNC_PROCESSING;
+
+    /**
+     * Flag indicating if the concurrency is adjusted at runtime.
+     */
+    private boolean adaptiveConcurrency = DEFAULT_ADAPTIVE_CONCURRENCY;
+
+    /**
+     * The lower bound on the concurrency when adaptive.
+     */
+    private int minimumConcurrency = DEFAULT_MINIMUM_CONCURRENCY;
+
+    /**
+     * The {@link AdaptiveConcurrencyLimiter} bounding the messages being
+     * processed, or <code>null</code> if not processing messages.
+     */
+    private volatile AdaptiveConcurrencyLimiter concurrencyLimiter = null;
+
+    /**
+     * The number of messages currently being processed on their own thread.
+     */
+    private final AtomicInteger inFlightCount = new AtomicInteger(0);
+
+    /**
+     * The {@link ProcessResult} instances for messages processed on their own
+     * thread that have not yet been post-processed.
+     */
+    private final Queue<ProcessResult<M>> completedResults
+        = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The {@link ProcessResult} instances for messages processed
+     * asynchronously whose batches have not yet been disposed.  These are
+     * disposed and post-processed by the message processing thread so that
+     * the completion callbacks never block on I/O.
+     */
+    private final Queue<ProcessResult<M>> undisposedResults
+        = new ConcurrentLinkedQueue<>();
+
     /**
      * The number of milliseconds to sleep between checking to see if message
      * processing should cease.
@@ -357,9 +526,29 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
     private long timeout = DEFAULT_TIMEOUT;
 
     /**
-     * The {@link List} of pending messages.
+     * The {@link PendingMessageRing} of pending messages.
      */
-    private List<InfoMessage<M>> pendingMessages;
+    private PendingMessageRing<InfoMessage<M>> pendingMessages;
+
+    /**
+     * The {@link Thread} that is parked in {@link
+     * #dequeueMessage(MessageProcessor)} awaiting a pending message, or
+     * <code>null</code> if none.
+     */
+    private final AtomicReference<Thread> dequeueWaiter
+        = new AtomicReference<>();
+
+    /**
+     * The number of threads {@linkplain #throttleConsumption() throttled}
+     * awaiting the pending messages to drop below the low watermark.
+     */
+    private final AtomicInteger throttledCount = new AtomicInteger(0);
+
+    /**
+     * The monitor on which throttled threads wait for the pending messages to
+     * drop below the low watermark.
+     */
+    private final Object throttleMonitor = new Object();
 
     /**
      * The background thread used for processing messages.
@@ -479,7 +668,7 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
      * @return The {@link State} of this instance.
      */
     @Override
-    public synchronized State getState()
+    public State getState()
     {
         return this.state;
     }
@@ -495,6 +684,7 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
         Objects.requireNonNull(state, "State cannot be null");
         this.state = state;
         this.notifyAll();
+        this.signalPendingMessage();
     }
 
     /**
@@ -538,7 +728,7 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
      *
      * @return The number of pending messages.
      */
-    protected synchronized int getPendingMessageCount()
+    protected int getPendingMessageCount()
     {
         return this.pendingMessages.size();
     }
@@ -598,11 +788,37 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
      * @return The maximum number of messages allowed in the pending queue
      *             before throttling consumption.
      */
-    protected synchronized int getMaximumPendingCount()
+    protected int getMaximumPendingCount()
     {
         return this.concurrency * 1000;
     }
 
+    /**
+     * Gets the high watermark for the pending queue, at or above which
+     * enqueueing {@linkplain #throttleConsumption() throttles consumption}.
+     * This is the {@linkplain #getMaximumPendingCount() maximum pending count}
+     * limited to the capacity of the pending queue.
+     *
+     * @return The high watermark for the pending queue.
+     */
+    private int getHighWatermark()
+    {
+        return Math.max(1, Math.min(this.getMaximumPendingCount(),
+                                    this.pendingMessages.getCapacity()));
+    }
+
+    /**
+     * Gets the low watermark for the pending queue, below which throttled
+     * consumption resumes.  This is half the {@linkplain #getHighWatermark()
+     * high watermark}.
+     *
+     * @return The low watermark for the pending queue.
+     */
+    private int getLowWatermark()
+    {
+        return Math.max(1, this.getHighWatermark() / 2);
+    }
+
     /**
      * Checks if this instance is current processing messages. This is used to
      * synchronize destruction. The {@link #doDestroy()} method is not called
@@ -639,6 +855,10 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
      */
     protected void updateDequeueHitRatio(boolean hit)
     {
+        AdaptiveConcurrencyLimiter limiter = this.concurrencyLimiter;
+        if (limiter != null) {
+            limiter.recordDequeue(hit);
+        }
         synchronized (this.getStatisticsMonitor()) {
             if (hit) {
                 this.dequeueHitCount++;
@@ -687,6 +907,7 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
             Map<Statistic, Number> statsMap = new LinkedHashMap<>();
 
             statsMap.put(Stat.concurrency, getConcurrency());
+            statsMap.put(Stat.concurrencyLimit, this.getConcurrencyLimit());
             statsMap.put(averageRoundTrip, this.getAverageRoundTripMillis());
             statsMap.put(longestRoundTrip, this.getLongestRoundTripMillis());
             statsMap.put(averageServiceProcess, this.getAverageProcessMillis());
@@ -752,8 +973,32 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
                         config, TIMEOUT_KEY,
                         0L, DEFAULT_TIMEOUT);
 
-                // create the list of pending messages
-                this.pendingMessages = new LinkedList<>();
+                // get the thread-per-message options
+                this.virtualThreads = getConfigBoolean(
+                        config, VIRTUAL_THREADS_KEY,
+                        DEFAULT_VIRTUAL_THREADS);
+
+                this.maxInFlight = getConfigInteger(
+                        config, MAX_IN_FLIGHT_KEY,
+                        1, DEFAULT_MAX_IN_FLIGHT);
+
+                this.asyncProcessing = getConfigBoolean(
+                        config, ASYNC_PROCESSING_KEY,
+                        DEFAULT_ASYNC_PROCESSING);
+
+                // get the adaptive concurrency options
+                this.adaptiveConcurrency = getConfigBoolean(
+                        config, ADAPTIVE_CONCURRENCY_KEY,
+                        DEFAULT_ADAPTIVE_CONCURRENCY);
+
+                this.minimumConcurrency = getConfigInteger(
+                        config, MINIMUM_CONCURRENCY_KEY,
+                        1, DEFAULT_MINIMUM_CONCURRENCY);
+
+                // create the ring of pending messages with room for a
+                // full batch beyond the maximum pending count
+                this.pendingMessages = new PendingMessageRing<>(
+                        Math.max(this.getMaximumPendingCount(), 1) * 2);
             }
 
             // defer additional configuration
@@ -913,6 +1158,91 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
         return this.concurrency;
     }
 
+    /**
+     * Checks if each in-flight message is processed on its own thread (a
+     * virtual thread if supported by the JVM) rather than on a fixed-size pool
+     * of {@linkplain #getConcurrency() concurrency} threads.
+     *
+     * @return <code>true</code> if each in-flight message is processed on its
+     *         own thread, otherwise <code>false</code>.
+     *
+     * @see #VIRTUAL_THREADS_KEY
+     */
+    protected boolean isUsingVirtualThreads()
+    {
+        return this.virtualThreads;
+    }
+
+    /**
+     * Gets the maximum number of messages that may be in flight at one time
+     * when {@linkplain #isUsingVirtualThreads() processing each message on its
+     * own thread}.
+     *
+     * @return The maximum number of in-flight messages.
+     *
+     * @see #MAX_IN_FLIGHT_KEY
+     */
+    protected int getMaxInFlight()
+    {
+        return this.maxInFlight;
+    }
+
+    /**
+     * Checks if messages are processed asynchronously via {@link
+     * MessageProcessor#processAsync(JsonObject)} so that no thread is blocked
+     * awaiting the completion of each message.
+     *
+     * @return <code>true</code> if messages are processed asynchronously,
+     *         otherwise <code>false</code>.
+     *
+     * @see #ASYNC_PROCESSING_KEY
+     */
+    protected boolean isAsyncProcessing()
+    {
+        return this.asyncProcessing;
+    }
+
+    /**
+     * Checks if the number of messages processed concurrently is adjusted at
+     * runtime based on the observed service latency and dequeue hit ratio.
+     *
+     * @return <code>true</code> if the concurrency is adaptive, otherwise
+     *         <code>false</code>.
+     *
+     * @see #ADAPTIVE_CONCURRENCY_KEY
+     */
+    protected boolean isAdaptiveConcurrency()
+    {
+        return this.adaptiveConcurrency;
+    }
+
+    /**
+     * Gets the lower bound on the number of messages processed concurrently
+     * when {@linkplain #isAdaptiveConcurrency() adaptive}.
+     *
+     * @return The lower bound on the concurrency.
+     *
+     * @see #MINIMUM_CONCURRENCY_KEY
+     */
+    protected int getMinimumConcurrency()
+    {
+        return this.minimumConcurrency;
+    }
+
+    /**
+     * Gets the current limit on the number of messages processed
+     * concurrently.  This returns the {@linkplain #getConcurrency()
+     * concurrency} if messages are not currently being processed.
+     *
+     * @return The current limit on the number of messages processed
+     *         concurrently.
+     */
+    public int getConcurrencyLimit()
+    {
+        AdaptiveConcurrencyLimiter limiter = this.concurrencyLimiter;
+        return (limiter == null) ? this.getConcurrency() : limiter.getLimit();
+    }
+
     /**
      * Gets the number of milliseconds to sleep between checking to see if
      * message processing should cease. This timeout is used when there are no
@@ -1127,11 +1457,23 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
      * empty-string then this method does nothing. If the message text contains
      * text that cannot be parsed as JSON then the unrecognized message is
      * logged and no messages are enqueued.
+     * <p>
+     * If {@link #extractMessageBytes(Object)} returns a non-null {@link
+     * ByteBuffer} then the message body is parsed in place from those bytes
+     * and the {@link String} form is only decoded for debug logging or to
+     * report a body that could not be parsed.  Otherwise the body is obtained
+     * from {@link #extractMessageBody(Object)}.
+     * </p>
      *
      * @param processor The {@link MessageProcessor} to enqueue with.
      * @param message   The framework-specific message that was received.
+     *
+     * @return <code>true</code> if the info messages were enqueued, or
+     *         <code>false</code> if the message was ignored because it was
+     *         empty or could not be parsed (in which case the message will
+     *         never be {@linkplain #disposeMessage(Object) disposed}).
      */
-    protected void enqueueMessages(MessageProcessor processor, M message)
+    protected boolean enqueueMessages(MessageProcessor processor, M message)
     {
         if (this.getState() != CONSUMING) {
             throw new IllegalStateException(
@@ -1142,24 +1484,45 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
         }
         this.timerStart(enqueue);
         try {
-            // get the message text and ensure it is non-empty and non-null
-            String messageText = this.extractMessageBody(message);
+            // prefer a view of the raw bytes so the body is not copied
+            ByteBuffer messageBytes = this.extractMessageBytes(message);
+            String messageText = null;
+            Object loggedText = null;
+            if (messageBytes != null) {
+                // trim the view and decode the text only if it is logged
+                messageBytes = trimMessageBytes(messageBytes);
+                loggedText = new MessageBytesText(messageBytes);
+
+                logDebug("RECEIVED MESSAGE: ", loggedText);
+
+                if (!messageBytes.hasRemaining()) {
+                    return false;
+                }
 
-            logDebug("RECEIVED MESSAGE: ", messageText);
+            } else {
+                // get the message text and ensure it is non-empty and non-null
+                messageText = this.extractMessageBody(message);
 
-            if (messageText == null) {
-                return;
-            }
-            messageText = messageText.trim();
-            if (messageText.length() == 0) {
-                return;
+                logDebug("RECEIVED MESSAGE: ", messageText);
+
+                if (messageText == null) {
+                    return false;
+                }
+                messageText = messageText.trim();
+                if (messageText.length() == 0) {
+                    return false;
+                }
+                loggedText = messageText;
             }
 
             List<InfoMessage<M>> infoMessages = null;
             try {
-                // construct the batch
-                MessageBatch<M> batch
-                        = new MessageBatch<>(message, messageText);
+                // construct the batch, parsing straight to the INFO message
+                // model if the processor can accept it
+                boolean streaming = (processor instanceof InfoMessageProcessor);
+                MessageBatch<M> batch = (messageBytes != null)
+                    ? new MessageBatch<>(message, messageBytes, streaming)
+                    : new MessageBatch<>(message, messageText, streaming);
 
                 // get the info messages
                 infoMessages = batch.getInfoMessages();
@@ -1167,21 +1530,24 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
             } catch (Exception e) {
                 logWarning(e,
                     "Ignoring unrecognized message body:",
-                    messageText);
-                return;
+                    loggedText);
+                return false;
             }
 
-            // add to the queue
-            synchronized (this) {
-                int totalCount = this.pendingMessages.size()
-                        + infoMessages.size();
-                this.lastMessageNanoTime.set(System.nanoTime());
-                this.pendingMessages.addAll(infoMessages);
-                this.notifyAll();
-                if (totalCount >= this.getMaximumPendingCount()) {
+            // add to the queue, waiting for room if the ring is full
+            this.lastMessageNanoTime.set(System.nanoTime());
+            for (InfoMessage<M> infoMessage : infoMessages) {
+                while (!this.pendingMessages.offer(infoMessage)) {
+                    this.signalPendingMessage();
                     this.throttleConsumption();
                 }
             }
+            this.signalPendingMessage();
+            if (this.pendingMessages.size() >= this.getHighWatermark()) {
+                this.throttleConsumption();
+            }
+            return true;
+
         } finally {
             this.timerPause(enqueue);
         }
@@ -1189,28 +1555,97 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
 
     /**
      * Throttles consumption until the number of pending messages is less than
-     * half the maximum pending count.
+     * the {@linkplain #getLowWatermark() low watermark}, which is half the
+     * maximum pending count.  Throttled threads are notified by {@link
+     * #dequeueMessage(MessageProcessor)} once the low watermark is crossed.
      */
-    protected synchronized void throttleConsumption()
+    protected void throttleConsumption()
     {
         this.timerStart(throttleEnqueue);
-        // wait until we work down to half the maximum pending count
-        while (this.pendingMessages.size()
-               >= (this.getMaximumPendingCount() / 2))
-        {
-            try {
-                long timeout = this.getTimeout();
-                this.timerStart(throttleWait);
-                this.wait(timeout); // wait at most the timeout milliseconds
-                this.timerPause(throttleWait);
-
-            } catch (InterruptedException ignore) {
-                // ignore the interruption
+        this.throttledCount.incrementAndGet();
+        try {
+            synchronized (this.throttleMonitor) {
+                // wait until we work down to the low watermark
+                while (this.pendingMessages.size() >= this.getLowWatermark()) {
+                    try {
+                        long timeout = this.getTimeout();
+                        this.timerStart(throttleWait);
+                        // wait at most the timeout milliseconds
+                        this.throttleMonitor.wait(timeout);
+                        this.timerPause(throttleWait);
+
+                    } catch (InterruptedException ignore) {
+                        // ignore the interruption
+                    }
+                }
             }
+        } finally {
+            this.throttledCount.decrementAndGet();
         }
         this.timerPause(throttleEnqueue);
     }
 
+    /**
+     * Wakes the thread parked in {@link #dequeueMessage(MessageProcessor)}
+     * awaiting a pending message, if any.
+     */
+    private void signalPendingMessage()
+    {
+        Thread waiter = this.dequeueWaiter.get();
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    /**
+     * Parks the calling thread for at most the specified number of
+     * milliseconds (or indefinitely if zero) unless a pending message is
+     * already available or this instance is no longer {@linkplain
+     * State#CONSUMING consuming}.  The thread is woken early when a message
+     * is enqueued, an asynchronously processed message completes or the
+     * state changes.
+     *
+     * @param timeout The maximum number of milliseconds to wait, or zero (0)
+     *                to wait until woken.
+     */
+    private void awaitPendingMessage(long timeout)
+    {
+        Thread current = Thread.currentThread();
+        this.dequeueWaiter.set(current);
+        try {
+            // check again after registering so a signal cannot be missed
+            if (this.pendingMessages.isEmpty()
+                && this.getState() == CONSUMING
+                && this.undisposedResults.isEmpty())
+            {
+                if (timeout > 0L) {
+                    LockSupport.parkNanos(
+                        this, TimeUnit.MILLISECONDS.toNanos(timeout));
+                } else {
+                    LockSupport.park(this);
+                }
+            }
+        } finally {
+            this.dequeueWaiter.compareAndSet(current, null);
+        }
+    }
+
+    /**
+     * Notifies the {@linkplain #throttleConsumption() throttled} threads, if
+     * any, once the pending messages have dropped below the {@linkplain
+     * #getLowWatermark() low watermark}.
+     */
+    private void releaseThrottled()
+    {
+        if (this.throttledCount.get() > 0
+            && this.pendingMessages.size() < this.getLowWatermark())
+        {
+            synchronized (this.throttleMonitor) {
+                this.throttleMonitor.notifyAll();
+            }
+        }
+    }
+
     /**
      * Calls the {@link #processMessages(MessageProcessor)} function in a
      * background thread after validating the current state of this instance.
@@ -1306,9 +1741,28 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
         }
 
         try {
-            // create the worker pool
+            // create the worker pool or the thread-per-message executor
+            ExecutorService executor = null;
+            AdaptiveConcurrencyLimiter limiter = null;
+            boolean async = false;
             synchronized (this) {
-                this.workerPool = new AsyncWorkerPool<>(this.getConcurrency());
+                int maximum = this.getConcurrency();
+                if (this.isAsyncProcessing()) {
+                    async = true;
+                    maximum = this.getMaxInFlight();
+                } else if (this.isUsingVirtualThreads()) {
+                    executor = this.createMessageExecutor();
+                    maximum = this.getMaxInFlight();
+                } else {
+                    this.workerPool
+                        = new AsyncWorkerPool<>(this.getConcurrency());
+                }
+                int minimum = (this.isAdaptiveConcurrency())
+                    ? Math.min(this.getMinimumConcurrency(), maximum)
+                    : maximum;
+                limiter = new AdaptiveConcurrencyLimiter(
+                    minimum, maximum, this.getConcurrency());
+                this.concurrencyLimiter = limiter;
             }
 
             // start the processing timer
@@ -1332,52 +1786,39 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
                     InfoMessage<M> infoMsg = msg;
                     final Timers timers = new Timers();
                     timers.start(waitForWorker.toString());
-                    AsyncResult<ProcessResult<M>> result
-                            = this.workerPool.execute(() -> {
-                        timers.pause(waitForWorker.toString());
-                        try {
-                            // process the message
-                            timers.start(serviceProcess.toString());
-                            processor.process(infoMsg.getMessage());
-                            timers.pause(serviceProcess.toString());
-
-                            // in case of success mark it as processed and
-                            // disposable
-                            timers.start(markProcessed.toString());
-                            infoMsg.markProcessed(true);
-                            timers.pause(markProcessed.toString());
-
-                        } catch (Exception e) {
-                            logWarning(e, "Failure detected, will retry");
-                            
-                            // in case of exception mark it as processed and
-                            // non-disposable
-                            timers.start(markProcessed.toString());
-                            infoMsg.markProcessed(false);
-                            timers.pause(markProcessed.toString());
-
-                        } finally {
-                            // get the associated message batch
-                            MessageBatch<M> batch = infoMsg.getBatch();
-
-                            // check if disposable
-                            if (batch.isDisposable()) {
-                                // dispose the message associated with the batch
-                                timers.start(disposeMessage.toString());
-                                this.disposeMessage(batch.getMessage());
-                                timers.pause(disposeMessage.toString());
+                    if (async) {
+                        this.processAsync(limiter,
+                                          processor,
+                                          infoMsg,
+                                          timers);
+                    } else if (executor != null) {
+                        this.executeInFlight(executor,
+                                             limiter,
+                                             processor,
+                                             infoMsg,
+                                             timers);
+                    } else {
+                        AdaptiveConcurrencyLimiter poolLimiter = limiter;
+                        long admitted = poolLimiter.acquire();
+                        AsyncResult<ProcessResult<M>> result
+                                = this.workerPool.execute(() -> {
+                            try {
+                                return this.processMessage(
+                                    processor, infoMsg, timers);
+                            } finally {
+                                poolLimiter.release(
+                                    admitted, !infoMsg.isDisposable());
                             }
+                        });
 
-                            this.recordStatistics(infoMsg, timers);
-                        }
-
-                        return new ProcessResult<>(infoMsg, timers);
-                    });
-
-                    // handle any result that was received
-                    this.handleAsyncResult(result);
+                        // handle any result that was received
+                        this.handleAsyncResult(result);
+                    }
                 }
 
+                // post-process any messages completed on their own thread
+                this.handleCompletedResults();
+
                 this.timerStart(betweenMessages);
             }
 
@@ -1388,10 +1829,27 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
                 // consuming messages -- time to wait for
                 // completion of in-flight messages so they
                 // can be disposed
-                List<AsyncResult<ProcessResult<M>>> results
-                        = this.workerPool.close();
-                for (AsyncResult<ProcessResult<M>> result : results) {
-                    this.handleAsyncResult(result);
+                if (async) {
+                    while (!limiter.awaitIdle(this.getTimeout())) {
+                        this.handleCompletedResults();
+                    }
+                    this.handleCompletedResults();
+
+                } else if (executor != null) {
+                    executor.shutdown();
+                    while (!executor.awaitTermination(
+                            this.getTimeout(), TimeUnit.MILLISECONDS))
+                    {
+                        this.handleCompletedResults();
+                    }
+                    this.handleCompletedResults();
+
+                } else {
+                    List<AsyncResult<ProcessResult<M>>> results
+                            = this.workerPool.close();
+                    for (AsyncResult<ProcessResult<M>> result : results) {
+                        this.handleAsyncResult(result);
+                    }
                 }
 
             } finally {
@@ -1402,6 +1860,7 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
                 synchronized (this) {
                     this.processing = false;
                     this.workerPool = null;
+                    this.concurrencyLimiter = null;
                     this.notifyAll();
                 }
             }
@@ -1412,15 +1871,318 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
     }
 
     /**
-     * Dequeues a previously enqueued {@link InfoMessage}.
+     * Processes the specified {@link InfoMessage} with the specified {@link
+     * MessageProcessor}, marks it as processed and disposes of its batch if
+     * the batch is disposable.  This is called from the worker thread.
+     *
+     * @param processor The {@link MessageProcessor} to use.
+     * @param infoMsg   The {@link InfoMessage} to process.
+     * @param timers    The {@link Timers} for the processing of the message.
+     *
+     * @return The {@link ProcessResult} describing the result.
+     */
+    protected ProcessResult<M> processMessage(MessageProcessor  processor,
+                                              InfoMessage<M>    infoMsg,
+                                              Timers            timers)
+    {
+        timers.pause(waitForWorker.toString());
+        Exception failure = null;
+        try {
+            // process the message
+            timers.start(serviceProcess.toString());
+            if (infoMsg.getInfoMessage() != null) {
+                ((InfoMessageProcessor) processor).process(
+                        infoMsg.getInfoMessage());
+            } else {
+                processor.process(infoMsg.getMessage());
+            }
+
+        } catch (Exception e) {
+            failure = e;
+        }
+
+        return this.completeMessage(infoMsg, timers, failure);
+    }
+
+    /**
+     * Completes the processing of the specified {@link InfoMessage} by marking
+     * it as processed and disposing of its batch if the batch is disposable.
+     * The {@link InfoMessage} is marked as successfully processed if the
+     * specified failure is <code>null</code>, otherwise it is marked for retry.
+     * If this completes a batch that is not disposable then the batch message
+     * is {@linkplain #retryMessage(Object) released for retry}.
+     *
+     * @param infoMsg The {@link InfoMessage} that was processed.
+     * @param timers  The {@link Timers} for the processing of the message.
+     * @param failure The failure that occurred, or <code>null</code> if the
+     *                message was processed successfully.
+     *
+     * @return The {@link ProcessResult} describing the result.
+     */
+    protected ProcessResult<M> completeMessage(InfoMessage<M>  infoMsg,
+                                               Timers          timers,
+                                               Throwable       failure)
+    {
+        try {
+            this.markCompleted(infoMsg, timers, failure);
+
+        } finally {
+            this.releaseBatch(infoMsg, timers);
+        }
+
+        return new ProcessResult<>(infoMsg, timers);
+    }
+
+    /**
+     * Marks the specified {@link InfoMessage} as processed.  The {@link
+     * InfoMessage} is marked as successfully processed if the specified
+     * failure is <code>null</code>, otherwise it is marked for retry.  This
+     * does not perform any I/O so it may be called from a completion
+     * callback.
+     *
+     * @param infoMsg The {@link InfoMessage} that was processed.
+     * @param timers  The {@link Timers} for the processing of the message.
+     * @param failure The failure that occurred, or <code>null</code> if the
+     *                message was processed successfully.
+     */
+    protected void markCompleted(InfoMessage<M>  infoMsg,
+                                 Timers          timers,
+                                 Throwable       failure)
+    {
+        timers.pause(serviceProcess.toString());
+        if (failure == null) {
+            // in case of success mark it as processed and
+            // disposable
+            timers.start(markProcessed.toString());
+            infoMsg.markProcessed(true);
+            timers.pause(markProcessed.toString());
+
+        } else {
+            logWarning(failure, "Failure detected, will retry");
+
+            // in case of exception mark it as processed and
+            // non-disposable
+            timers.start(markProcessed.toString());
+            infoMsg.markProcessed(false);
+            timers.pause(markProcessed.toString());
+        }
+    }
+
+    /**
+     * If the specified processed {@link InfoMessage} was the last to complete
+     * in its batch then this disposes of the batch if it is disposable, or
+     * otherwise {@linkplain #retryMessage(Object) releases it for retry}.
+     * The statistics for the {@link InfoMessage} are then recorded.  Only
+     * releasing the batch for the last {@link InfoMessage} ensures that it
+     * is disposed exactly once.
+     *
+     * @param infoMsg The {@link InfoMessage} that was processed.
+     * @param timers  The {@link Timers} for the processing of the message.
+     */
+    protected void releaseBatch(InfoMessage<M> infoMsg, Timers timers)
+    {
+        // get the associated message batch
+        MessageBatch<M> batch = infoMsg.getBatch();
+        try {
+            // only the last info message completed releases the batch
+            if (!infoMsg.isLastInBatch()) {
+                return;
+            }
+
+            // check if disposable
+            if (batch.isDisposable()) {
+                // dispose the message associated with the batch
+                timers.start(disposeMessage.toString());
+                this.disposeMessage(batch.getMessage());
+                timers.pause(disposeMessage.toString());
+
+            } else {
+                // release the failed message so it can be redelivered
+                this.retryMessage(batch.getMessage());
+            }
+
+        } finally {
+            this.recordStatistics(infoMsg, timers);
+        }
+    }
+
+    /**
+     * Begins processing the specified {@link InfoMessage} via {@link
+     * MessageProcessor#processAsync(JsonObject)} after being admitted by the
+     * specified {@link AdaptiveConcurrencyLimiter} that bounds the number of
+     * in-flight messages.  The message is marked as processed from the
+     * completion callback, but since the callback may run on a thread that
+     * must not block, the result is queued for the message processing thread
+     * to dispose of its batch and post-process it.
+     *
+     * @param limiter   The {@link AdaptiveConcurrencyLimiter} bounding the
+     *                  in-flight messages.
+     * @param processor The {@link MessageProcessor} to use.
+     * @param infoMsg   The {@link InfoMessage} to process.
+     * @param timers    The {@link Timers} for the processing of the message.
+     */
+    private void processAsync(AdaptiveConcurrencyLimiter    limiter,
+                              MessageProcessor              processor,
+                              InfoMessage<M>                infoMsg,
+                              Timers                        timers)
+    {
+        long admitted = limiter.acquire();
+        this.inFlightCount.incrementAndGet();
+        timers.pause(waitForWorker.toString());
+
+        CompletableFuture<Void> future;
+        try {
+            timers.start(serviceProcess.toString());
+            if (infoMsg.getInfoMessage() != null) {
+                future = ((InfoMessageProcessor) processor).processAsync(
+                        infoMsg.getInfoMessage());
+            } else {
+                future = processor.processAsync(infoMsg.getMessage());
+            }
+
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        future.whenComplete((result, failure) -> {
+            try {
+                if (failure instanceof CompletionException
+                    && failure.getCause() != null)
+                {
+                    failure = failure.getCause();
+                }
+                this.markCompleted(infoMsg, timers, failure);
+
+            } finally {
+                // leave the disposal to the message processing thread
+                this.undisposedResults.add(
+                    new ProcessResult<>(infoMsg, timers));
+                this.inFlightCount.decrementAndGet();
+                limiter.release(admitted, (failure != null));
+                this.signalPendingMessage();
+            }
+        });
+    }
+
+    /**
+     * Processes the specified {@link InfoMessage} on its own thread from the
+     * specified {@link ExecutorService} after being admitted by the specified
+     * {@link AdaptiveConcurrencyLimiter} that bounds the number of in-flight
+     * messages.  The result is queued to be post-processed by the message
+     * processing thread.
+     *
+     * @param executor  The {@link ExecutorService} to execute with.
+     * @param limiter   The {@link AdaptiveConcurrencyLimiter} bounding the
+     *                  in-flight messages.
+     * @param processor The {@link MessageProcessor} to use.
+     * @param infoMsg   The {@link InfoMessage} to process.
+     * @param timers    The {@link Timers} for the processing of the message.
+     */
+    private void executeInFlight(ExecutorService               executor,
+                                 AdaptiveConcurrencyLimiter    limiter,
+                                 MessageProcessor              processor,
+                                 InfoMessage<M>                infoMsg,
+                                 Timers                        timers)
+    {
+        long admitted = limiter.acquire();
+        this.inFlightCount.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    this.completedResults.add(
+                        this.processMessage(processor, infoMsg, timers));
+                } finally {
+                    this.inFlightCount.decrementAndGet();
+                    limiter.release(admitted, !infoMsg.isDisposable());
+                }
+            });
+
+        } catch (RuntimeException e) {
+            this.inFlightCount.decrementAndGet();
+            limiter.release(admitted, true);
+            throw e;
+        }
+    }
+
+    /**
+     * Post-processes the {@link ProcessResult} instances for the messages
+     * that have completed on their own thread, first disposing of the
+     * batches for those that were processed asynchronously.
+     */
+    private void handleCompletedResults()
+    {
+        for (ProcessResult<M> result = this.undisposedResults.poll();
+             result != null;
+             result = this.undisposedResults.poll())
+        {
+            this.releaseBatch(result.getInfoMessage(), result.getTimers());
+            this.timerStart(postProcess);
+            this.postProcess(result.getInfoMessage());
+            this.timerPause(postProcess);
+        }
+        for (ProcessResult<M> result = this.completedResults.poll();
+             result != null;
+             result = this.completedResults.poll())
+        {
+            this.timerStart(postProcess);
+            this.postProcess(result.getInfoMessage());
+            this.timerPause(postProcess);
+        }
+    }
+
+    /**
+     * Creates the {@link ExecutorService} used to process each in-flight
+     * message on its own thread when {@linkplain #isUsingVirtualThreads()
+     * virtual threads are enabled}.  This uses a virtual-thread-per-task
+     * executor if supported by the JVM, otherwise it falls back to a cached
+     * pool of platform threads.
+     *
+     * @return The {@link ExecutorService} to use for in-flight messages.
+     */
+    protected ExecutorService createMessageExecutor()
+    {
+        try {
+            Method method = Executors.class.getMethod(
+                "newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+
+        } catch (NoSuchMethodException e) {
+            logWarning("VIRTUAL THREADS NOT SUPPORTED BY THIS JVM, USING "
+                       + "A PLATFORM THREAD FOR EACH IN-FLIGHT MESSAGE");
+
+        } catch (ReflectiveOperationException e) {
+            logWarning(e, "FAILED TO CREATE VIRTUAL THREAD EXECUTOR, USING "
+                       + "A PLATFORM THREAD FOR EACH IN-FLIGHT MESSAGE");
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Checks if any messages are currently being processed by a worker.
+     *
+     * @return <code>true</code> if any messages are currently being
+     *         processed, otherwise <code>false</code>.
+     */
+    private boolean isWorkerBusy()
+    {
+        AsyncWorkerPool<ProcessResult<M>> pool = this.workerPool;
+        if (pool != null) {
+            return pool.isBusy();
+        }
+        return this.inFlightCount.get() > 0;
+    }
+
+    /**
+     * Dequeues a previously enqueued {@link InfoMessage}.  This does not
+     * synchronize on this instance: messages are taken from a lock-free ring
+     * and the calling thread parks only while the ring is empty.
      *
      * @param processor The {@link MessageProcessor} that is being used for
      *                  consumption.
      *
      * @return The {@link InfoMessage} that was dequeued.
      */
-    protected synchronized InfoMessage<M> dequeueMessage(
-            MessageProcessor processor)
+    protected InfoMessage<M> dequeueMessage(MessageProcessor processor)
     {
         this.timerPause(dequeueBlocking);
         this.timerStart(dequeueMessageWaitLoop);
@@ -1429,16 +2191,15 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
         boolean hit = true;
 
         // wait for a message to be available
-        while ((this.getState() == CONSUMING)
-               && (this.pendingMessages.size() == 0))
+        InfoMessage<M> msg = this.pendingMessages.poll();
+        while (msg == null && (this.getState() == CONSUMING)
+               && this.undisposedResults.isEmpty())
         {
             // if we get here then no message was ready, set hit flag to false
             hit = false;
 
             // toggle the timers
-            this.toggleActiveAndWaitingTimers(
-                    this.pendingMessages.size(),
-                    this.workerPool.isBusy());
+            this.toggleActiveAndWaitingTimers(0, this.isWorkerBusy());
 
             // determine how long to wait
             long timeout = this.getTimeout();
@@ -1446,23 +2207,23 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
             // wait for the designated duration
             this.timerStart(dequeueMessageWait);
             try {
-                this.wait(timeout);
+                this.awaitPendingMessage(timeout);
 
-            } catch (InterruptedException ignore) {
-                // ignore the interruption
             } finally {
                 this.timerPause(dequeueMessageWait);
             }
+            msg = this.pendingMessages.poll();
         }
         this.timerPause(dequeueMessageWaitLoop);
 
-        InfoMessage<M> msg = null;
-
         // if none ready then check if we can grab a pending message
         // NOTE: we do not get more pending messages if state is not CONSUMING
-        if (this.pendingMessages.size() > 0) {
-            // get the candidate message
-            msg = this.pendingMessages.remove(0);
+        if (msg == null) {
+            msg = this.pendingMessages.poll();
+        }
+        if (msg != null) {
+            // resume throttled consumption if below the low watermark
+            this.releaseThrottled();
 
             // ensure the timers are toggled correctly
             this.timerPause(waitingForMessages);
@@ -1476,7 +2237,7 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
         // toggle the timers
         this.toggleActiveAndWaitingTimers(
                 this.pendingMessages.size(),
-                this.workerPool.isBusy());
+                this.isWorkerBusy());
 
         this.updateDequeueHitRatio(false);
 
@@ -1580,6 +2341,102 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
      */
     protected abstract String extractMessageBody(M message);
 
+    /**
+     * Extracts a view of the UTF-8 encoded bytes of the JSON message body
+     * from the specified framework-specific message so it can be parsed in
+     * place without first being decoded to a {@link String}.  The bytes
+     * between the {@linkplain ByteBuffer#position() position} and the
+     * {@linkplain ByteBuffer#limit() limit} of the returned buffer are the
+     * message body.  The buffer must not be modified until the message is
+     * {@linkplain #disposeMessage(Object) disposed}.
+     * <p>
+     * By default this returns <code>null</code> so that {@link
+     * #extractMessageBody(Object)} is used instead.  Implementations whose
+     * vendor message queue delivers the body as bytes should override this.
+     * </p>
+     *
+     * @param message The framework-specific message from which to extract the
+     *                message body.
+     *
+     * @return A {@link ByteBuffer} view of the UTF-8 encoded message body, or
+     *         <code>null</code> if {@link #extractMessageBody(Object)} should
+     *         be used instead.
+     */
+    protected ByteBuffer extractMessageBytes(M message)
+    {
+        return null;
+    }
+
+    /**
+     * Returns a view of the specified {@link ByteBuffer} that excludes any
+     * leading or trailing whitespace.  The bytes are not copied.
+     *
+     * @param bytes The {@link ByteBuffer} to trim.
+     *
+     * @return The trimmed view of the specified {@link ByteBuffer}.
+     */
+    private static ByteBuffer trimMessageBytes(ByteBuffer bytes)
+    {
+        int start = bytes.position();
+        int end = bytes.limit();
+        while (start < end && isJsonWhitespace(bytes.get(start))) {
+            start++;
+        }
+        while (end > start && isJsonWhitespace(bytes.get(end - 1))) {
+            end--;
+        }
+        return bytes.duplicate().limit(end).position(start).slice();
+    }
+
+    /**
+     * Checks if the specified byte is a whitespace character that may
+     * surround a JSON message body.
+     *
+     * @param value The byte value to check.
+     *
+     * @return <code>true</code> if the byte is whitespace, otherwise
+     *         <code>false</code>.
+     */
+    private static boolean isJsonWhitespace(byte value)
+    {
+        return (value == ' ' || value == '\t' || value == '\n'
+                || value == '\r');
+    }
+
+    /**
+     * Decodes the text of a message body from its bytes only when {@link
+     * #toString()} is called, so that the body is not materialized as a
+     * {@link String} unless it is actually logged.
+     */
+    private static final class MessageBytesText
+    {
+        /**
+         * The bytes of the message body.
+         */
+        private final ByteBuffer bytes;
+
+        /**
+         * Constructs with the bytes of the message body.
+         *
+         * @param bytes The {@link ByteBuffer} with the message body.
+         */
+        private MessageBytesText(ByteBuffer bytes)
+        {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Decodes the message body as UTF-8 text.
+         *
+         * @return The message body as a {@link String}.
+         */
+        @Override
+        public String toString()
+        {
+            return UTF_8.decode(this.bytes.duplicate()).toString();
+        }
+    }
+
     /**
      * Disposes the specified framework-specific message. This method is called
      * for framework-specific messages that have been successfully handled or
@@ -1589,6 +2446,23 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
      */
     protected abstract void disposeMessage(M message);
 
+    /**
+     * Releases the specified framework-specific message so that it can be
+     * redelivered.  This method is called once all the info messages in the
+     * associated batch have been processed and at least one of them failed.
+     * The message will <b>not</b> be {@linkplain #disposeMessage(Object)
+     * disposed}.  The default implementation does nothing so the message is
+     * left to be redelivered according to the semantics of the messaging
+     * vendor.  Implementations that track outstanding messages should
+     * override this to stop tracking the message.
+     *
+     * @param message The framework-specific message to release for retry.
+     */
+    protected void retryMessage(M message)
+    {
+        // do nothing
+    }
+
     /**
      * Encapsulates a message for a message queue type along with the flags for
      * each sub-message in a batch indicating if the parent message can be
@@ -1636,12 +2510,35 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
          * @param messageText The text of the message body.
          */
         public MessageBatch(M message, String messageText)
+        {
+            this(message, messageText, false);
+        }
+
+        /**
+         * Constructs with the framework-specific message object, the text of
+         * the message body and a flag indicating whether the body should be
+         * parsed directly into {@link SzInfoMessage} instances using {@link
+         * SzInfoMessageParser} rather than into {@link JsonObject} instances.
+         *
+         * @param message     The framework-specific message object.
+         * @param messageText The text of the message body.
+         * @param streaming   <code>true</code> if the body should be parsed
+         *                    into {@link SzInfoMessage} instances, or
+         *                    <code>false</code> if it should be parsed into
+         *                    {@link JsonObject} instances.
+         */
+        public MessageBatch(M message, String messageText, boolean streaming)
         {
             this.message = message;
 
             // check if an array or an object
             try {
-                if (messageText.charAt(0) == '{') {
+                if (streaming) {
+                    // parse straight to the INFO message model in one pass
+                    this.setParsedMessages(
+                        SzInfoMessageParser.parse(messageText));
+
+                } else if (messageText.charAt(0) == '{') {
                     // we have an object -- parse it
                     JsonObject jsonObject = parseJsonObject(messageText);
                     InfoMessage<M> pending
@@ -1664,9 +2561,7 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
                 }
 
                 // set the pending count
-                this.enqueueTimeNanos = System.nanoTime();
-                this.pendingCount = this.infoMessages.size();
-                this.completedTimeNanos = -1L;
+                this.initPendingCount();
 
             } catch (RuntimeException e) {
                 throw e;
@@ -1675,6 +2570,106 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
             }
         }
 
+        /**
+         * Constructs with the framework-specific message object, a view of
+         * the UTF-8 encoded bytes of the message body and a flag indicating
+         * whether the body should be parsed directly into {@link
+         * SzInfoMessage} instances using {@link SzInfoMessageParser} rather
+         * than into {@link JsonObject} instances.  The bytes between the
+         * position and limit of the buffer are parsed in place without being
+         * decoded to a {@link String}.
+         *
+         * @param message     The framework-specific message object.
+         * @param messageBody The {@link ByteBuffer} view of the UTF-8 encoded
+         *                    message body.
+         * @param streaming   <code>true</code> if the body should be parsed
+         *                    into {@link SzInfoMessage} instances, or
+         *                    <code>false</code> if it should be parsed into
+         *                    {@link JsonObject} instances.
+         */
+        public MessageBatch(M           message,
+                            ByteBuffer  messageBody,
+                            boolean     streaming)
+        {
+            this.message = message;
+
+            // get the backing array, only copying if the buffer has none
+            byte[] bytes;
+            int offset;
+            int length = messageBody.remaining();
+            if (messageBody.hasArray()) {
+                bytes = messageBody.array();
+                offset = messageBody.arrayOffset() + messageBody.position();
+            } else {
+                bytes = new byte[length];
+                offset = 0;
+                messageBody.duplicate().get(bytes);
+            }
+
+            if (streaming) {
+                // parse straight to the INFO message model in one pass
+                this.setParsedMessages(
+                    SzInfoMessageParser.parse(bytes, offset, length));
+
+            } else {
+                // parse the object or array of objects from the bytes
+                JsonStructure jsonStructure;
+                try (JsonReader reader = Json.createReader(
+                        new ByteArrayInputStream(bytes, offset, length)))
+                {
+                    jsonStructure = reader.read();
+                }
+                if (jsonStructure instanceof JsonObject) {
+                    InfoMessage<M> pending = new InfoMessage<>(
+                        this, (JsonObject) jsonStructure);
+                    this.infoMessages = List.of(pending);
+
+                } else {
+                    JsonArray jsonArray = (JsonArray) jsonStructure;
+                    this.infoMessages = new ArrayList<>(jsonArray.size());
+                    for (JsonObject jsonObject
+                             : jsonArray.getValuesAs(JsonObject.class))
+                    {
+                        InfoMessage<M> pending
+                                = new InfoMessage<>(this, jsonObject);
+                        this.infoMessages.add(pending);
+                    }
+                    this.infoMessages = unmodifiableList(this.infoMessages);
+                }
+            }
+
+            // set the pending count
+            this.initPendingCount();
+        }
+
+        /**
+         * Sets the {@link InfoMessage} instances for this batch from the
+         * specified {@link List} of parsed {@link SzInfoMessage} instances.
+         *
+         * @param parsed The {@link List} of parsed {@link SzInfoMessage}
+         *               instances.
+         */
+        private void setParsedMessages(List<SzInfoMessage> parsed)
+        {
+            this.infoMessages = new ArrayList<>(parsed.size());
+            for (SzInfoMessage infoMessage : parsed) {
+                InfoMessage<M> pending = new InfoMessage<>(this, infoMessage);
+                this.infoMessages.add(pending);
+            }
+            this.infoMessages = unmodifiableList(this.infoMessages);
+        }
+
+        /**
+         * Initializes the enqueue timestamp and the pending count once the
+         * {@link InfoMessage} instances for this batch have been set.
+         */
+        private void initPendingCount()
+        {
+            this.enqueueTimeNanos = System.nanoTime();
+            this.pendingCount = this.infoMessages.size();
+            this.completedTimeNanos = -1L;
+        }
+
         /**
          * Gets the framework-specific message object associated with this
          * {@link MessageBatch} instance.
@@ -1794,10 +2789,19 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
         private MessageBatch<M> batch;
 
         /**
-         * The {@link JsonObject} describing the info message.
+         * The {@link JsonObject} describing the info message, or
+         * <code>null</code> if the message was parsed directly into an {@link
+         * SzInfoMessage}.
          */
         private JsonObject message;
 
+        /**
+         * The {@link SzInfoMessage} describing the info message, or
+         * <code>null</code> if the message was parsed into a {@link
+         * JsonObject}.
+         */
+        private SzInfoMessage infoMessage;
+
         /**
          * Flag indicating if this message is processed and is now disposable.
          * This value is <code>null</code> if the message has not yet been
@@ -1828,6 +2832,23 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
         {
             this.batch = batch;
             this.message = message;
+            this.infoMessage = null;
+            this.disposable = null;
+            this.lastInBatch = false;
+        }
+
+        /**
+         * Constructs a pending message that was parsed directly into an {@link
+         * SzInfoMessage}.
+         *
+         * @param batch       The {@link MessageBatch} to associate.
+         * @param infoMessage The {@link SzInfoMessage} for the sub-message.
+         */
+        public InfoMessage(MessageBatch<M> batch, SzInfoMessage infoMessage)
+        {
+            this.batch = batch;
+            this.message = null;
+            this.infoMessage = infoMessage;
             this.disposable = null;
             this.lastInBatch = false;
         }
@@ -1845,13 +2866,28 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
         /**
          * Gets the associated {@link JsonObject} message.
          *
-         * @return The {@link JsonObject} describing the message.
+         * @return The {@link JsonObject} describing the message, or
+         *         <code>null</code> if the message was parsed directly into an
+         *         {@link SzInfoMessage}.
          */
         public JsonObject getMessage()
         {
             return this.message;
         }
 
+        /**
+         * Gets the associated {@link SzInfoMessage} if the message was parsed
+         * directly into one for an {@link InfoMessageProcessor}.
+         *
+         * @return The {@link SzInfoMessage} describing the message, or
+         *         <code>null</code> if the message was parsed into a {@link
+         *         JsonObject}.
+         */
+        public SzInfoMessage getInfoMessage()
+        {
+            return this.infoMessage;
+        }
+
         /**
          * Checks if this {@link InfoMessage} was the last one that was
          * completed in the batch to which it belongs.
@@ -1937,8 +2973,10 @@ public abstract class AbstractMessageConsumer<M> implements MessageConsumer
          */
         public String toString()
         {
-            return "disposable=[ " + this.isDisposable()
-                    + " ]: " + toJsonText(this.getMessage());
+            return "disposable=[ " + this.isDisposable() + " ]: "
+                    + ((this.infoMessage != null)
+                       ? this.infoMessage.toJsonText()
+                       : toJsonText(this.getMessage()));
         }
     }
 
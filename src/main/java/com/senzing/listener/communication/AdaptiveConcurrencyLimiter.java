@@ -0,0 +1,293 @@
+package com.senzing.listener.communication;
+
+/**
+ * Bounds the number of messages that {@link AbstractMessageConsumer} has in
+ * flight at one time, optionally adjusting the bound at runtime using an
+ * additive-increase / multiplicative-decrease (AIMD) policy.
+ * <p>
+ * The limiter is adaptive if the minimum limit is less than the maximum
+ * limit.  After each window of completions (the size of the window is the
+ * current limit) the average service latency of the window is compared with
+ * a baseline that tracks the lowest average observed.  If any message in the
+ * window failed, or the average latency has grown past {@link
+ * #LATENCY_TOLERANCE} times the baseline, then the limit is multiplied by
+ * {@link #DECREASE_FACTOR}.  Otherwise, if more dequeue attempts found a
+ * message waiting than not (i.e.: the dequeue hit ratio for the window is
+ * above one-half, meaning there is a backlog), then the limit is increased
+ * by one.  The limit never leaves the configured bounds.
+ */
+final class AdaptiveConcurrencyLimiter
+{
+    /**
+     * The factor by which the limit is multiplied when latency grows past the
+     * tolerance or a message fails.  Its value is <code>{@value}</code>.
+     */
+    static final double DECREASE_FACTOR = 0.75;
+
+    /**
+     * The multiple of the baseline latency beyond which the average latency
+     * is considered congested.  Its value is <code>{@value}</code>.
+     */
+    static final double LATENCY_TOLERANCE = 2.0;
+
+    /**
+     * The number of nanoseconds by which the average latency must also exceed
+     * the baseline to be considered congested, so that jitter on very fast
+     * messages does not shrink the limit.  Its value is <code>{@value}</code>.
+     */
+    static final long LATENCY_SLACK_NANOS = 1000000L;
+
+    /**
+     * The weight given to each window's average latency when the baseline
+     * drifts upward toward it.  This lets the baseline follow a permanent
+     * change in the cost of processing.  Its value is <code>{@value}</code>.
+     */
+    static final double BASELINE_DRIFT = 0.05;
+
+    /**
+     * The minimum limit.
+     */
+    private final int minimum;
+
+    /**
+     * The maximum limit.
+     */
+    private final int maximum;
+
+    /**
+     * The current limit.
+     */
+    private int limit;
+
+    /**
+     * The number of messages currently in flight.
+     */
+    private int inFlightCount = 0;
+
+    /**
+     * The baseline latency in nanoseconds, or negative if not yet known.
+     */
+    private double baselineNanos = -1.0;
+
+    /**
+     * The number of completions in the current window.
+     */
+    private int sampleCount = 0;
+
+    /**
+     * The total latency in nanoseconds of the completions in the current
+     * window.
+     */
+    private long sampleNanos = 0L;
+
+    /**
+     * Whether any completion in the current window failed.
+     */
+    private boolean sampleFailed = false;
+
+    /**
+     * The number of dequeue attempts in the current window that found a
+     * message waiting.
+     */
+    private int dequeueHits = 0;
+
+    /**
+     * The number of dequeue attempts in the current window that found no
+     * message waiting.
+     */
+    private int dequeueMisses = 0;
+
+    /**
+     * Constructs with the bounds and the initial limit.  The initial limit is
+     * clamped to the bounds.
+     *
+     * @param minimum The minimum limit, which must be positive.
+     * @param maximum The maximum limit, which must not be less than the
+     *                minimum.
+     * @param initial The initial limit.
+     *
+     * @throws IllegalArgumentException If the bounds are invalid.
+     */
+    AdaptiveConcurrencyLimiter(int minimum, int maximum, int initial)
+    {
+        if (minimum < 1 || maximum < minimum) {
+            throw new IllegalArgumentException(
+                "Invalid concurrency bounds.  minimum=[ " + minimum
+                + " ], maximum=[ " + maximum + " ]");
+        }
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.limit = Math.max(minimum, Math.min(maximum, initial));
+    }
+
+    /**
+     * Checks if the limit is adjusted at runtime, which is the case if the
+     * minimum limit is less than the maximum limit.
+     *
+     * @return <code>true</code> if the limit is adaptive, otherwise
+     *         <code>false</code>.
+     */
+    boolean isAdaptive()
+    {
+        return this.minimum < this.maximum;
+    }
+
+    /**
+     * Gets the minimum limit.
+     *
+     * @return The minimum limit.
+     */
+    int getMinimum()
+    {
+        return this.minimum;
+    }
+
+    /**
+     * Gets the maximum limit.
+     *
+     * @return The maximum limit.
+     */
+    int getMaximum()
+    {
+        return this.maximum;
+    }
+
+    /**
+     * Gets the current limit on the number of messages in flight.
+     *
+     * @return The current limit on the number of messages in flight.
+     */
+    synchronized int getLimit()
+    {
+        return this.limit;
+    }
+
+    /**
+     * Gets the number of messages currently in flight.
+     *
+     * @return The number of messages currently in flight.
+     */
+    synchronized int getInFlightCount()
+    {
+        return this.inFlightCount;
+    }
+
+    /**
+     * Waits until fewer than the current limit of messages are in flight and
+     * then counts another message as in flight.  Interruption does not stop
+     * the wait, but the interrupt status of the thread is restored on return.
+     *
+     * @return The {@link System#nanoTime()} at which the message was admitted,
+     *         to be passed to {@link #release(long, boolean)}.
+     */
+    synchronized long acquire()
+    {
+        boolean interrupted = false;
+        while (this.inFlightCount >= this.limit) {
+            try {
+                this.wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        this.inFlightCount++;
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the completion of a message that was admitted by {@link
+     * #acquire()} and, if adaptive, adjusts the limit once a full window of
+     * completions has been recorded.
+     *
+     * @param acquireNanoTime The value returned from {@link #acquire()}.
+     * @param failed          <code>true</code> if the message failed,
+     *                        otherwise <code>false</code>.
+     */
+    synchronized void release(long acquireNanoTime, boolean failed)
+    {
+        this.inFlightCount--;
+        if (this.isAdaptive()) {
+            this.sampleCount++;
+            long elapsed = System.nanoTime() - acquireNanoTime;
+            this.sampleNanos += Math.max(0L, elapsed);
+            this.sampleFailed = this.sampleFailed || failed;
+            if (this.sampleCount >= this.limit) {
+                this.adjustLimit();
+            }
+        }
+        this.notifyAll();
+    }
+
+    /**
+     * Records whether an attempt to dequeue a message found one waiting, which
+     * indicates whether there is a backlog that more concurrency could serve.
+     *
+     * @param hit <code>true</code> if a message was waiting, otherwise
+     *            <code>false</code>.
+     */
+    synchronized void recordDequeue(boolean hit)
+    {
+        if (hit) {
+            this.dequeueHits++;
+        } else {
+            this.dequeueMisses++;
+        }
+    }
+
+    /**
+     * Waits at most the specified number of milliseconds for all admitted
+     * messages to be released.
+     *
+     * @param timeout The maximum number of milliseconds to wait.
+     *
+     * @return <code>true</code> if no messages are in flight, otherwise
+     *         <code>false</code>.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    synchronized boolean awaitIdle(long timeout)
+        throws InterruptedException
+    {
+        if (this.inFlightCount > 0) {
+            this.wait(Math.max(1L, timeout));
+        }
+        return (this.inFlightCount == 0);
+    }
+
+    /**
+     * Adjusts the limit using the completions recorded for the current window
+     * and then begins a new window.
+     */
+    private void adjustLimit()
+    {
+        double average = ((double) this.sampleNanos) / this.sampleCount;
+
+        // track the lowest average, drifting upward slowly
+        if (this.baselineNanos < 0.0 || average < this.baselineNanos) {
+            this.baselineNanos = average;
+        } else {
+            this.baselineNanos
+                += (average - this.baselineNanos) * BASELINE_DRIFT;
+        }
+
+        boolean congested = this.sampleFailed
+            || (average > (this.baselineNanos * LATENCY_TOLERANCE)
+                && (average - this.baselineNanos) > LATENCY_SLACK_NANOS);
+
+        if (congested) {
+            this.limit = Math.max(this.minimum,
+                                  (int) (this.limit * DECREASE_FACTOR));
+        } else if (this.dequeueHits > this.dequeueMisses) {
+            this.limit = Math.min(this.maximum, this.limit + 1);
+        }
+
+        this.sampleCount = 0;
+        this.sampleNanos = 0L;
+        this.sampleFailed = false;
+        this.dequeueHits = 0;
+        this.dequeueMisses = 0;
+    }
+}
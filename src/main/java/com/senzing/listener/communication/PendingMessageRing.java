@@ -0,0 +1,193 @@
+package com.senzing.listener.communication;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free ring buffer used by {@link AbstractMessageConsumer} to
+ * hold the pending messages between the threads receiving messages from the
+ * vendor message queue and the thread dispatching them for processing.
+ * <p>
+ * Each slot carries a sequence number that tells producers and consumers
+ * whether the slot is free to be written or ready to be read, so {@link
+ * #offer(Object)} and {@link #poll()} only contend on a compare-and-set of
+ * their respective positions and never block.  Any number of threads may
+ * offer and poll concurrently.
+ *
+ * @param <E> The type of element held in the ring.
+ */
+final class PendingMessageRing<E>
+{
+    /**
+     * The mask used to map a position to a slot index.  The capacity is
+     * always a power of two, so this is the capacity minus one.
+     */
+    private final int mask;
+
+    /**
+     * The elements in each slot.
+     */
+    private final AtomicReferenceArray<E> elements;
+
+    /**
+     * The sequence number for each slot.  A slot whose sequence equals the
+     * enqueue position is free to be written and a slot whose sequence is one
+     * more than the dequeue position is ready to be read.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * The position at which the next element will be enqueued.
+     */
+    private final AtomicLong enqueuePosition = new AtomicLong(0L);
+
+    /**
+     * The position from which the next element will be dequeued.
+     */
+    private final AtomicLong dequeuePosition = new AtomicLong(0L);
+
+    /**
+     * Constructs with the minimum capacity for the ring.  The actual capacity
+     * is the smallest power of two that is greater-than or equal-to the
+     * specified minimum capacity (and at least two).
+     *
+     * @param minimumCapacity The minimum capacity for the ring.
+     *
+     * @throws IllegalArgumentException If the specified minimum capacity is
+     *                                  less than one (1) or too large.
+     */
+    PendingMessageRing(int minimumCapacity)
+    {
+        if (minimumCapacity < 1 || minimumCapacity > (1 << 30)) {
+            throw new IllegalArgumentException(
+                "The minimum capacity must be between one and 2^30: "
+                + minimumCapacity);
+        }
+        int capacity = 2;
+        while (capacity < minimumCapacity) {
+            capacity <<= 1;
+        }
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int index = 0; index < capacity; index++) {
+            this.sequences.set(index, index);
+        }
+    }
+
+    /**
+     * Gets the maximum number of elements that can be held in the ring.
+     *
+     * @return The maximum number of elements that can be held in the ring.
+     */
+    int getCapacity()
+    {
+        return this.mask + 1;
+    }
+
+    /**
+     * Adds the specified element to the tail of the ring if there is room.
+     *
+     * @param element The element to add, which cannot be <code>null</code>.
+     *
+     * @return <code>true</code> if the element was added, or
+     *         <code>false</code> if the ring is full.
+     *
+     * @throws NullPointerException If the specified element is
+     *                              <code>null</code>.
+     */
+    boolean offer(E element)
+    {
+        Objects.requireNonNull(element, "Element cannot be null");
+        long position = this.enqueuePosition.get();
+        while (true) {
+            int index = (int) (position & this.mask);
+            long difference = this.sequences.get(index) - position;
+            if (difference == 0L) {
+                // the slot is free, so try to claim it
+                if (this.enqueuePosition.compareAndSet(position, position + 1))
+                {
+                    this.elements.set(index, element);
+                    this.sequences.set(index, position + 1);
+                    return true;
+                }
+                position = this.enqueuePosition.get();
+
+            } else if (difference < 0L) {
+                // the slot has not been read since the last lap, so full
+                return false;
+
+            } else {
+                // another producer claimed the slot, so catch up
+                position = this.enqueuePosition.get();
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the element at the head of the ring.
+     *
+     * @return The element that was removed, or <code>null</code> if the ring
+     *         is empty.
+     */
+    E poll()
+    {
+        long position = this.dequeuePosition.get();
+        while (true) {
+            int index = (int) (position & this.mask);
+            long difference = this.sequences.get(index) - (position + 1);
+            if (difference == 0L) {
+                // the slot is ready, so try to claim it
+                if (this.dequeuePosition.compareAndSet(position, position + 1))
+                {
+                    E element = this.elements.get(index);
+                    this.elements.set(index, null);
+                    this.sequences.set(index, position + this.mask + 1);
+                    return element;
+                }
+                position = this.dequeuePosition.get();
+
+            } else if (difference < 0L) {
+                // the slot has not been written yet, so empty
+                return null;
+
+            } else {
+                // another consumer claimed the slot, so catch up
+                position = this.dequeuePosition.get();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of elements currently in the ring.  When other threads
+     * are concurrently adding or removing elements this is a snapshot that
+     * may already be stale when it is returned.
+     *
+     * @return The number of elements currently in the ring.
+     */
+    int size()
+    {
+        while (true) {
+            long before = this.dequeuePosition.get();
+            long enqueued = this.enqueuePosition.get();
+            long after = this.dequeuePosition.get();
+            if (before == after) {
+                long size = enqueued - after;
+                return (int) Math.max(0L, Math.min(size, this.mask + 1));
+            }
+        }
+    }
+
+    /**
+     * Checks if the ring is currently empty.
+     *
+     * @return <code>true</code> if the ring is currently empty, otherwise
+     *         <code>false</code>.
+     */
+    boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+}
@@ -2,7 +2,15 @@ package com.senzing.listener.communication.rabbitmq;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 
 import javax.json.JsonObject;
@@ -32,7 +40,25 @@ import static com.senzing.listener.service.ServiceUtilities.*;
  * <li>{@link #MQ_USER_KEY} (optional, no authentication if not specified)</li>
  * <li>{@link #MQ_PASSWORD_KEY} (required if {@link #MQ_USER_KEY} is
  * specified)</li>
+ * <li>{@link #MQ_CHANNEL_COUNT_KEY} (optional, defaults to {@link
+ * #DEFAULT_MQ_CHANNEL_COUNT})</li>
  * </ul>
+ * <p>
+ * Flow control is provided by the RabbitMQ prefetch window: the {@linkplain
+ * #getMaximumPendingCount() maximum pending count} is divided across the
+ * channels and set on each via {@link Channel#basicQos(int)} so the broker
+ * stops delivering once that many messages are unacknowledged.  Disposed
+ * messages are acknowledged cumulatively (with <code>multiple</code> set to
+ * <code>true</code>) up to the highest delivery tag on the channel for which
+ * all prior deliveries have also been disposed.
+ * <p>
+ * A message that fails processing is negatively acknowledged.  On its first
+ * delivery it is requeued so that a transient failure is retried once.  If
+ * the failed delivery was itself a redelivery then it is negatively
+ * acknowledged <b>without</b> requeue so that the broker routes it to the
+ * dead-letter exchange configured for the queue (or discards it if none is
+ * configured) rather than redelivering a message that always fails in a
+ * tight loop.
  */
 public class RabbitMQConsumer extends AbstractMessageConsumer<Delivery>
 {
@@ -44,7 +70,8 @@ public class RabbitMQConsumer extends AbstractMessageConsumer<Delivery>
     /**
      * Constant for "ack multiple" parameter.
      */
-    private static final boolean MULTI_ACK = false;
+    private static final boolean MULTI_ACK = true;
+
 
     /**
      * The initialization parameter for the RabbitMQ host.
@@ -76,6 +103,130 @@ public class RabbitMQConsumer extends AbstractMessageConsumer<Delivery>
      */
     public static final String MQ_VIRTUAL_HOST_KEY = "mqVirtualHost";
 
+    /**
+     * The initialization parameter for the number of RabbitMQ channels to
+     * consume from concurrently.  The prefetch window is divided evenly across
+     * the channels.  If not specified then {@link #DEFAULT_MQ_CHANNEL_COUNT}
+     * is used.
+     */
+    public static final String MQ_CHANNEL_COUNT_KEY = "mqChannelCount";
+
+    /**
+     * The default number of RabbitMQ channels to consume from.  The default
+     * value is {@value}.  A different value can be set via the {@link
+     * #MQ_CHANNEL_COUNT_KEY} parameter.
+     */
+    public static final int DEFAULT_MQ_CHANNEL_COUNT = 1;
+
+    /**
+     * Tracks the delivery tags received on a single RabbitMQ {@link Channel}
+     * so that disposed messages can be acknowledged cumulatively.
+     */
+    private static class ChannelConsumer
+    {
+        /**
+         * The RabbitMQ {@link Channel}.
+         */
+        private Channel channel;
+
+        /**
+         * The consumer tag when consuming, or <code>null</code> when not.
+         */
+        private String consumerTag = null;
+
+        /**
+         * The delivery tags that have been received but not yet acknowledged.
+         */
+        private TreeSet<Long> outstandingTags = new TreeSet<>();
+
+        /**
+         * The outstanding delivery tags that have been disposed but are not
+         * yet acknowledged because a prior delivery is still outstanding.
+         */
+        private Set<Long> disposedTags = new HashSet<>();
+
+        /**
+         * Constructs with the specified {@link Channel}.
+         *
+         * @param channel The RabbitMQ {@link Channel}.
+         */
+        private ChannelConsumer(Channel channel)
+        {
+            this.channel = channel;
+        }
+
+        /**
+         * Records that the specified delivery tag has been received.
+         *
+         * @param deliveryTag The delivery tag that was received.
+         */
+        private synchronized void delivered(long deliveryTag)
+        {
+            this.outstandingTags.add(deliveryTag);
+        }
+
+        /**
+         * Records that the specified delivery tag has been disposed and
+         * acknowledges all deliveries up to the highest delivery tag for
+         * which every prior delivery has also been disposed.
+         *
+         * @param deliveryTag The delivery tag that was disposed.
+         *
+         * @throws IOException If a failure occurs acknowledging.
+         */
+        private synchronized void disposed(long deliveryTag)
+            throws IOException
+        {
+            this.disposedTags.add(deliveryTag);
+            this.acknowledgeDisposed();
+        }
+
+        /**
+         * Records that the delivery with the specified delivery tag failed
+         * and negatively acknowledges it.  The delivery is requeued unless it
+         * was already a redelivery, in which case it is left for the broker
+         * to dead-letter.  The delivery tag is no longer outstanding so it
+         * does not hold back the cumulative acknowledgement of later
+         * deliveries.
+         *
+         * @param deliveryTag The delivery tag that failed.
+         * @param requeue     <code>true</code> if the delivery should be
+         *                    requeued, otherwise <code>false</code>.
+         *
+         * @throws IOException If a failure occurs negatively acknowledging.
+         */
+        private synchronized void failed(long deliveryTag, boolean requeue)
+            throws IOException
+        {
+            if (!this.outstandingTags.remove(deliveryTag)) {
+                return;
+            }
+            this.disposedTags.remove(deliveryTag);
+            this.channel.basicNack(deliveryTag, false, requeue);
+            this.acknowledgeDisposed();
+        }
+
+        /**
+         * Acknowledges all deliveries up to the highest delivery tag for
+         * which every prior outstanding delivery has been disposed.
+         *
+         * @throws IOException If a failure occurs acknowledging.
+         */
+        private void acknowledgeDisposed()
+            throws IOException
+        {
+            long ackTag = -1L;
+            while (this.outstandingTags.size() > 0
+                   && this.disposedTags.remove(this.outstandingTags.first()))
+            {
+                ackTag = this.outstandingTags.pollFirst();
+            }
+            if (ackTag >= 0L) {
+                this.channel.basicAck(ackTag, MULTI_ACK);
+            }
+        }
+    }
+
     /**
      * The name of the queue.
      */
@@ -107,19 +258,23 @@ public class RabbitMQConsumer extends AbstractMessageConsumer<Delivery>
     private String password = null;
 
     /**
-     * The RabbitMQ {@link Channel} to use.
+     * The number of RabbitMQ channels to consume from.
      */
-    private Channel channel = null;
+    private int channelCount = DEFAULT_MQ_CHANNEL_COUNT;
 
     /**
-     * The consumer tag when consuming, or <code>null</code> when not.
+     * The {@link List} of {@link ChannelConsumer} instances for the channels
+     * being consumed.
      */
-    private String consumerTag = null;
+    private List<ChannelConsumer> channelConsumers
+        = Collections.synchronizedList(new ArrayList<>());
 
     /**
-     * The {@link MessageProcessor} being used by this instance for consumption.
+     * The {@link Map} of {@link Delivery} instances that have been enqueued
+     * but not yet disposed to the {@link ChannelConsumer} that received them.
      */
-    private MessageProcessor messageProcessor = null;
+    private Map<Delivery, ChannelConsumer> deliveryChannels
+        = new ConcurrentHashMap<>();
 
     /**
      * Generates a Rabbit MQ consumer.
@@ -152,7 +307,9 @@ public class RabbitMQConsumer extends AbstractMessageConsumer<Delivery>
      *   "mqPort:L "&lt;port&gt;",                     # not required
      *   "mqVirtualHost": "&lt;virtual host name&gt;", # not required
      *   "mqUser": "&lt;user name&gt;",                # not required
-     * "mqPassword": "&lt;password&gt;" # not required }
+     *   "mqPassword": "&lt;password&gt;",          # not required
+     *   "mqChannelCount": &lt;channel count&gt;      # not required
+     * }
      * </pre>
      * 
      * @param config Configuration string containing the needed information to
@@ -203,6 +360,11 @@ public class RabbitMQConsumer extends AbstractMessageConsumer<Delivery>
                                 + " must be provided.");
             }
 
+            // get the channel count
+            this.channelCount = getConfigInteger(
+                    config, MQ_CHANNEL_COUNT_KEY,
+                    1, DEFAULT_MQ_CHANNEL_COUNT);
+
         } catch (MessageConsumerSetupException e) {
             throw e;
 
@@ -224,7 +386,11 @@ public class RabbitMQConsumer extends AbstractMessageConsumer<Delivery>
     protected Long getQueueMessageCount()
     {
         try {
-            return this.channel.messageCount(this.getQueueName());
+            if (this.channelConsumers.size() == 0) {
+                return null;
+            }
+            Channel channel = this.channelConsumers.get(0).channel;
+            return channel.messageCount(this.getQueueName());
 
         } catch (Exception e) {
             logWarning(e, "Failed to get queue message count");
@@ -290,6 +456,31 @@ public class RabbitMQConsumer extends AbstractMessageConsumer<Delivery>
         return this.queueName;
     }
 
+    /**
+     * Returns the number of RabbitMQ channels to consume from.  This defaults
+     * to {@link #DEFAULT_MQ_CHANNEL_COUNT} and can be configured via the
+     * {@link #MQ_CHANNEL_COUNT_KEY} configuration parameter.
+     *
+     * @return The number of RabbitMQ channels to consume from.
+     */
+    public int getChannelCount()
+    {
+        return this.channelCount;
+    }
+
+    /**
+     * Returns the prefetch count to set on each RabbitMQ channel.  This
+     * divides the {@linkplain #getMaximumPendingCount() maximum pending count}
+     * evenly across the {@linkplain #getChannelCount() channels} so that the
+     * broker stops delivering messages before the pending queue fills.
+     *
+     * @return The prefetch count to set on each RabbitMQ channel.
+     */
+    protected int getPrefetchCount()
+    {
+        return Math.max(1, this.getMaximumPendingCount() / this.channelCount);
+    }
+
     /**
      * Sets up a RabbitMQ consumer and then receives messages from RabbitMQ and
      * feeds to service.
@@ -304,27 +495,57 @@ public class RabbitMQConsumer extends AbstractMessageConsumer<Delivery>
     {
         try {
             Connection connection = createConnection();
-            this.channel = this.getChannel(connection, queueName);
+            int prefetchCount = this.getPrefetchCount();
+
+            for (int index = 0; index < this.channelCount; index++) {
+                Channel channel = this.getChannel(connection, queueName);
 
-            this.messageProcessor = processor;
+                // limit the number of unacknowledged deliveries
+                channel.basicQos(prefetchCount);
 
-            DeliverCallback deliverCallback = (consumerTag, delivery) -> {
-                // enqueue the next message for processing -- this call may wait
-                // for enough room in the queue for the messages to be enqueued
-                this.enqueueMessages(processor, delivery);
-            };
+                ChannelConsumer channelConsumer = new ChannelConsumer(channel);
+                this.channelConsumers.add(channelConsumer);
 
-            // this call will run in the background until
-            // basicCancel() is called
-            this.consumerTag = this.channel.basicConsume(
-                    queueName, AUTO_ACK,
-                    deliverCallback, consumerTag -> { });
+                DeliverCallback deliverCallback = (consumerTag, delivery) -> {
+                    this.handleDelivery(processor, channelConsumer, delivery);
+                };
+
+                // this call will run in the background until
+                // basicCancel() is called
+                channelConsumer.consumerTag = channel.basicConsume(
+                        queueName, AUTO_ACK,
+                        deliverCallback, consumerTag -> { });
+            }
 
         } catch (IOException | TimeoutException e) {
             throw new MessageConsumerSetupException(e);
         }
     }
 
+    /**
+     * Handles a {@link Delivery} received on the channel associated with the
+     * specified {@link ChannelConsumer}.  If the message body is ignored then
+     * it is disposed immediately so it does not hold back the cumulative
+     * acknowledgement of later deliveries.
+     *
+     * @param processor       The {@link MessageProcessor} to enqueue with.
+     * @param channelConsumer The {@link ChannelConsumer} for the channel.
+     * @param delivery        The {@link Delivery} that was received.
+     */
+    private void handleDelivery(MessageProcessor processor,
+                                ChannelConsumer  channelConsumer,
+                                Delivery         delivery)
+    {
+        channelConsumer.delivered(delivery.getEnvelope().getDeliveryTag());
+        this.deliveryChannels.put(delivery, channelConsumer);
+
+        // enqueue the next message for processing -- this call may wait
+        // for enough room in the queue for the messages to be enqueued
+        if (!this.enqueueMessages(processor, delivery)) {
+            this.disposeMessage(delivery);
+        }
+    }
+
     /**
      * Extracts the message body from the specified {@link Delivery}.
      * 
@@ -346,81 +567,74 @@ public class RabbitMQConsumer extends AbstractMessageConsumer<Delivery>
     }
 
     /**
-     * <p>
-     * Override to do cancel consumption until the number of pending messages
-     * has decreased.
-     * </p>
-     * {@inheritDoc}
+     * Extracts a view of the message body bytes from the specified {@link
+     * Delivery} so the body is parsed in place rather than first being copied
+     * into a {@link String}.
+     * 
+     * @param message The message from which to extract the body.
+     * 
+     * @return A {@link ByteBuffer} wrapping the body of the specified {@link
+     *         Delivery}.
      */
     @Override
-    protected synchronized void throttleConsumption()
+    protected ByteBuffer extractMessageBytes(Delivery message)
     {
-        // check if currently consuming
-        if (this.consumerTag == null) {
+        return ByteBuffer.wrap(message.getBody());
+    }
+
+    /**
+     * Disposes of the specified {@link Delivery} by acknowledging it along
+     * with any earlier disposed deliveries on the same channel.
+     * 
+     */
+    @Override
+    protected void disposeMessage(Delivery message)
+    {
+        ChannelConsumer channelConsumer = this.deliveryChannels.remove(message);
+        if (channelConsumer == null) {
             return;
         }
+        try {
+            channelConsumer.disposed(message.getEnvelope().getDeliveryTag());
 
-        // cancel consumption temporarily
-        if (this.channel != null && this.consumerTag != null) {
-            try {
-                this.channel.basicCancel(this.consumerTag);
-
-            } catch (IOException e) {
-                logWarning(e,
-                        "Ignoring exception while"
-                                + " cancelling consumption.");
-            } finally {
-                this.consumerTag = null;
-            }
+        } catch (IOException e) {
+            logWarning(e,
+                    "Ignoring exception while"
+                            + " acknowledging message:",
+                    message);
         }
-
-        // after throttling for some time, then resume consumption
-        Thread thread = new Thread(() -> {
-            // now wait until the number of pending messages decreases
-            super.throttleConsumption();
-
-            DeliverCallback deliverCallback = (consumerTag, delivery) -> {
-                // enqueue the next message for processing -- this call may wait
-                // for enough room in the queue for the messages to be enqueued
-                this.enqueueMessages(this.messageProcessor, delivery);
-            };
-
-            synchronized (RabbitMQConsumer.this) {
-                try {
-                    // now reinstate consumption
-                    this.consumerTag
-                            = this.channel.basicConsume(
-                                    queueName, AUTO_ACK,
-                                    deliverCallback,
-                                    consumerTag -> { });
-
-                } catch (IOException e) {
-                    logError(e,
-                            "Failure to resume consumption"
-                                    + " after throttling.");
-                }
-            }
-        });
-
-        thread.start();
     }
 
     /**
-     * Disposes of the specified {@link Delivery}.
-     * 
+     * Overridden to negatively acknowledge the specified {@link Delivery} so
+     * that it does not hold back the acknowledgement of later deliveries on
+     * the same channel.  A first delivery is requeued to be retried once,
+     * but a failed redelivery is not requeued so that the broker can route
+     * it to the dead-letter exchange for the queue.
+     *
+     * @param message The {@link Delivery} to release for retry.
      */
     @Override
-    protected void disposeMessage(Delivery message)
+    protected void retryMessage(Delivery message)
     {
+        ChannelConsumer channelConsumer = this.deliveryChannels.remove(message);
+        if (channelConsumer == null) {
+            return;
+        }
+        boolean requeue = !message.getEnvelope().isRedeliver();
+        if (!requeue) {
+            logWarning("Failed redelivered message will not be requeued "
+                       + "and is left for the dead-letter exchange:",
+                       message);
+        }
         try {
-            this.channel.basicAck(
-                    message.getEnvelope().getDeliveryTag(),
-                    MULTI_ACK);
+            channelConsumer.failed(message.getEnvelope().getDeliveryTag(),
+                                   requeue);
 
         } catch (IOException e) {
             logWarning(e,
                     "Ignoring exception while"
-                            + " acknowledging message:",
+                            + " negatively acknowledging message:",
                     message);
         }
     }
@@ -431,14 +645,20 @@ public class RabbitMQConsumer extends AbstractMessageConsumer<Delivery>
     @Override
     protected void doDestroy()
     {
-        if (this.channel != null && this.consumerTag != null) {
-            try {
-                this.channel.basicCancel(this.consumerTag);
-
-            } catch (IOException e) {
-                logWarning(e, "Ignoring exception while destroying:");
-            } finally {
-                this.consumerTag = null;
+        synchronized (this.channelConsumers) {
+            for (ChannelConsumer channelConsumer : this.channelConsumers) {
+                if (channelConsumer.consumerTag == null) {
+                    continue;
+                }
+                try {
+                    channelConsumer.channel.basicCancel(
+                        channelConsumer.consumerTag);
+
+                } catch (IOException e) {
+                    logWarning(e, "Ignoring exception while destroying:");
+                } finally {
+                    channelConsumer.consumerTag = null;
+                }
             }
         }
     }
@@ -3,16 +3,41 @@ package com.senzing.listener.communication.sql;
 import java.util.List;
 import java.util.ArrayList;
 
+import java.sql.Array;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
 
 import com.senzing.sql.DatabaseType;
 
+import static com.senzing.sql.SQLUtilities.*;
+
 /**
- * Provides a PostgreSQL implementation of {@link SQLClient}.
+ * Provides a PostgreSQL implementation of {@link SQLClient}.  Messages are
+ * leased with <code>FOR UPDATE SKIP LOCKED</code> so that concurrent
+ * consumers sharing the same queue table skip each other's candidate rows
+ * rather than contending for them, and the leased rows are returned from
+ * the same statement.  Disposed messages are deleted in bulk.
+ * <p>
+ * Notifications are supported via <code>LISTEN</code> and
+ * <code>NOTIFY</code> on the {@link #NOTIFICATION_CHANNEL} channel.
+ * </p>
  */
 public class PostgreSQLClient implements SQLClient
 {
+    /**
+     * The name of the PostgreSQL notification channel that is notified when
+     * messages are inserted into the message queue.
+     */
+    public static final String NOTIFICATION_CHANNEL = "sz_message_queue";
+
     /**
      * Default constructor.
      */
@@ -58,6 +83,13 @@ public class PostgreSQLClient implements SQLClient
         
         String dropIndexSql = "DROP INDEX IF EXISTS sz_msg_queue_lease;";
 
+        String createReadyIndexSql
+            = "CREATE INDEX IF NOT EXISTS sz_msg_queue_ready "
+            + "ON sz_message_queue (created_on) "
+            + "WHERE lease_id IS NULL AND expire_lease_at IS NULL;";
+
+        String dropReadyIndexSql = "DROP INDEX IF EXISTS sz_msg_queue_ready;";
+
         String createTriggerFunctionSql =
             "CREATE OR REPLACE FUNCTION sz_msg_queue_timestamps() "
                 + "RETURNS TRIGGER "
@@ -96,17 +128,23 @@ public class PostgreSQLClient implements SQLClient
             "DROP TRIGGER IF EXISTS sz_msg_queue_trigger "
                 + "ON sz_message_queue;";
 
+        String dropNotifyFunctionSql =
+            "DROP FUNCTION IF EXISTS sz_msg_queue_notify CASCADE;";
+
 
         List<String> sqlList = new ArrayList<>();
 
         if (recreate) {
+            sqlList.add(dropNotifyFunctionSql);
             sqlList.add(dropTriggerSql);
             sqlList.add(dropTriggerFunctionSql);
+            sqlList.add(dropReadyIndexSql);
             sqlList.add(dropIndexSql);
             sqlList.add(dropTableSql);
         }
         sqlList.add(createTableSql);
         sqlList.add(createIndexSql);
+        sqlList.add(createReadyIndexSql);
         sqlList.add(createTriggerFunctionSql);
         sqlList.add(dropTriggerSql);
         sqlList.add(createTriggerSql);
@@ -114,4 +152,243 @@ public class PostgreSQLClient implements SQLClient
         // execute the statements
         this.executeSqlStatements(conn, sqlList);
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implemented to return <code>true</code>.
+     * </p>
+     */
+    @Override
+    public boolean isNotificationSupported()
+    {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implemented to create a statement-level trigger that calls
+     * <code>pg_notify()</code> on the {@link #NOTIFICATION_CHANNEL} after
+     * rows are inserted into the message queue.
+     * </p>
+     */
+    @Override
+    public void ensureNotifications(Connection conn)
+        throws SQLException
+    {
+        String createNotifyFunctionSql =
+            "CREATE OR REPLACE FUNCTION sz_msg_queue_notify() "
+                + "RETURNS TRIGGER "
+                + "LANGUAGE PLPGSQL "
+                + "AS $$ "
+                + "BEGIN "
+                + "  PERFORM pg_notify('" + NOTIFICATION_CHANNEL + "', ''); "
+                + "  RETURN NULL; "
+                + "END; "
+                + "$$;";
+
+        String dropNotifyTriggerSql =
+            "DROP TRIGGER IF EXISTS sz_msg_queue_notify_trigger "
+                + "ON sz_message_queue;";
+
+        String createNotifyTriggerSql =
+            "CREATE TRIGGER sz_msg_queue_notify_trigger "
+                + "  AFTER INSERT "
+                + "  ON sz_message_queue "
+                + "  FOR EACH STATEMENT "
+                + "  EXECUTE PROCEDURE sz_msg_queue_notify();";
+
+        List<String> sqlList = new ArrayList<>();
+        sqlList.add(createNotifyFunctionSql);
+        sqlList.add(dropNotifyTriggerSql);
+        sqlList.add(createNotifyTriggerSql);
+
+        // execute the statements
+        this.executeSqlStatements(conn, sqlList);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implemented to execute <code>LISTEN</code> on the {@link
+     * #NOTIFICATION_CHANNEL} and commit so that it takes effect.  This throws
+     * {@link SQLFeatureNotSupportedException} if the {@link Connection} does
+     * not wrap a {@link PGConnection}.
+     * </p>
+     */
+    @Override
+    public void listen(Connection conn)
+        throws SQLException
+    {
+        if (!conn.isWrapperFor(PGConnection.class)) {
+            throw new SQLFeatureNotSupportedException(
+                "The connection does not provide PostgreSQL notifications: "
+                + conn.getClass().getName());
+        }
+        Statement stmt = null;
+        try {
+            stmt = conn.createStatement();
+            stmt.execute("LISTEN " + NOTIFICATION_CHANNEL);
+            if (!conn.getAutoCommit()) {
+                conn.commit();
+            }
+        } finally {
+            stmt = close(stmt);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implemented to unwrap the {@link PGConnection} and wait for its
+     * notifications.
+     * </p>
+     */
+    @Override
+    public boolean awaitNotification(Connection conn, long timeoutMillis)
+        throws SQLException
+    {
+        PGConnection pgConn = conn.unwrap(PGConnection.class);
+        int timeout = (int) Math.max(1L,
+            Math.min(timeoutMillis, (long) Integer.MAX_VALUE));
+
+        PGNotification[] notifications = pgConn.getNotifications(timeout);
+        return (notifications != null && notifications.length > 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implemented to lease the rows with <code>FOR UPDATE SKIP LOCKED</code>
+     * and return them via <code>RETURNING</code> in a single statement.
+     * </p>
+     */
+    @Override
+    public List<LeasedMessage> leaseAndGetMessages(Connection conn,
+                                                   String     leaseId,
+                                                   int        leaseTime,
+                                                   int        maxLeaseCount)
+        throws SQLException
+    {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        DatabaseType dbType = this.getDatabaseType();
+        List<LeasedMessage> result = new ArrayList<>(maxLeaseCount);
+
+        try {
+            // prepare the statement
+            ps = conn.prepareStatement(
+                "UPDATE sz_message_queue "
+                    + "SET lease_id = ?, "
+                    + "expire_lease_at = "
+                    + dbType.getTimestampBindingSQL() + " "
+                    + "WHERE message_id IN ("
+                    + "SELECT message_id FROM sz_message_queue "
+                    + "WHERE lease_id IS NULL AND expire_lease_at IS NULL "
+                    + "ORDER BY created_on LIMIT ? "
+                    + "FOR UPDATE SKIP LOCKED) "
+                    + "RETURNING message_id, expire_lease_at, message_text");
+
+            // calculate the lease expiration
+            long now = System.currentTimeMillis();
+            long leaseExpire = now + (leaseTime * 1000);
+            Timestamp expireTime = new Timestamp(leaseExpire);
+
+            // bind the statement
+            ps.setString(1, leaseId);
+            dbType.setTimestamp(ps, 2, expireTime);
+            ps.setInt(3, maxLeaseCount);
+
+            // execute the update and read the leased rows
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                long messageId = rs.getLong(1);
+                Timestamp expTime = rs.getTimestamp(2, UTC_CALENDAR);
+                String messageText = rs.getString(3);
+
+                result.add(new LeasedMessage(messageId,
+                                             messageText,
+                                             leaseId,
+                                             expTime.getTime()));
+            }
+
+            // the returned rows are not ordered so order by message ID
+            result.sort((m1, m2) -> Long.compare(
+                m1.getMessageId(), m2.getMessageId()));
+
+            return result;
+
+        } finally {
+            rs = close(rs);
+            ps = close(ps);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implemented to delete all the messages with a single statement by
+     * binding the message IDs and lease IDs as arrays.
+     * </p>
+     */
+    @Override
+    public int deleteMessages(Connection conn, List<LeasedMessage> messages)
+        throws SQLException
+    {
+        if (messages.size() == 0) {
+            return 0;
+        }
+        PreparedStatement ps = null;
+        Array idArray = null;
+        Array leaseArray = null;
+        try {
+            Long[] messageIds = new Long[messages.size()];
+            String[] leaseIds = new String[messages.size()];
+            int index = 0;
+            for (LeasedMessage message : messages) {
+                messageIds[index] = message.getMessageId();
+                leaseIds[index] = message.getLeaseId();
+                index++;
+            }
+
+            ps = conn.prepareStatement(
+                "DELETE FROM sz_message_queue q "
+                    + "USING UNNEST(?, ?) AS d(message_id, lease_id) "
+                    + "WHERE q.message_id = d.message_id "
+                    + "AND q.lease_id = d.lease_id");
+
+            idArray = conn.createArrayOf("bigint", messageIds);
+            leaseArray = conn.createArrayOf("text", leaseIds);
+            ps.setArray(1, idArray);
+            ps.setArray(2, leaseArray);
+
+            return ps.executeUpdate();
+
+        } finally {
+            ps = close(ps);
+            idArray = free(idArray);
+            leaseArray = free(leaseArray);
+        }
+    }
+
+    /**
+     * Frees the resources held by the specified JDBC {@link Array} if it is
+     * not <code>null</code>, ignoring any {@link SQLException} that occurs.
+     *
+     * @param array The {@link Array} to free, or <code>null</code>.
+     *
+     * @return Always returns <code>null</code>.
+     */
+    private static Array free(Array array)
+    {
+        if (array != null) {
+            try {
+                array.free();
+            } catch (SQLException ignore) {
+                // ignore
+            }
+        }
+        return null;
+    }
 }
@@ -40,6 +40,80 @@ public interface SQLClient
    */
   void ensureSchema(Connection conn, boolean recreate) throws SQLException;
 
+  /**
+   * Checks if this client supports database notifications when messages are
+   * inserted into the message queue.  If so, then {@link
+   * #ensureNotifications(Connection)}, {@link #listen(Connection)} and {@link
+   * #awaitNotification(Connection, long)} may be used.  The default
+   * implementation returns <code>false</code>.
+   *
+   * @return <code>true</code> if database notifications are supported,
+   *         otherwise <code>false</code>.
+   */
+  default boolean isNotificationSupported()
+  {
+    return false;
+  }
+
+  /**
+   * Ensures the schema objects required to send a notification when messages
+   * are inserted into the message queue exist.  The default implementation
+   * throws {@link UnsupportedOperationException}.
+   *
+   * @param conn The {@link Connection} to use.
+   *
+   * @throws SQLException If a database failure occurs.
+   *
+   * @see #isNotificationSupported()
+   */
+  default void ensureNotifications(Connection conn) throws SQLException
+  {
+    throw new UnsupportedOperationException(
+        "Notifications are not supported by " + this.getDatabaseType());
+  }
+
+  /**
+   * Registers the specified {@link Connection} to receive notifications when
+   * messages are inserted into the message queue.  The {@link Connection}
+   * should be dedicated to listening and held until no longer needed.  The
+   * default implementation throws {@link UnsupportedOperationException}.
+   *
+   * @param conn The {@link Connection} to register.
+   *
+   * @throws SQLException If a database failure occurs.
+   *
+   * @see #isNotificationSupported()
+   */
+  default void listen(Connection conn) throws SQLException
+  {
+    throw new UnsupportedOperationException(
+        "Notifications are not supported by " + this.getDatabaseType());
+  }
+
+  /**
+   * Waits at most the specified number of milliseconds for a notification on
+   * the specified {@link Connection} that was previously registered via
+   * {@link #listen(Connection)}.  The default implementation throws {@link
+   * UnsupportedOperationException}.
+   *
+   * @param conn          The {@link Connection} that is listening.
+   *
+   * @param timeoutMillis The maximum number of milliseconds to wait.
+   *
+   * @return <code>true</code> if one or more notifications were received,
+   *         otherwise <code>false</code>.
+   *
+   * @throws SQLException If a database failure occurs.
+   *
+   * @see #isNotificationSupported()
+   */
+  default boolean awaitNotification(Connection conn, long timeoutMillis)
+      throws SQLException
+  {
+    throw new UnsupportedOperationException(
+        "Notifications are not supported by " + this.getDatabaseType());
+  }
+
   /**
    * Checks if the message queue is empty.
    * 
@@ -220,6 +294,43 @@ public interface SQLClient
     }
   }
 
+  /**
+   * Leases at most the specified number of the least recently received
+   * message rows with the specified lease ID and lease expiration time and
+   * returns a {@link List} of {@link LeasedMessage} instances describing the
+   * leased rows.  The default implementation calls {@link
+   * #leaseMessages(Connection, String, int, int)} followed by {@link
+   * #getLeasedMessages(Connection, String)} on the same {@link Connection}.
+   * Implementations may override to lease and select the rows in a single
+   * round trip.
+   *
+   * @param conn          The {@link Connection} to use.
+   *
+   * @param leaseId       The lease ID to use.
+   *
+   * @param leaseTime     The number of <b>seconds</b> for which the messages
+   *                      should be leased.
+   *
+   * @param maxLeaseCount The maximum number of info message rows to lease.
+   *
+   * @return The {@link List} of {@link LeasedMessage} instances that were
+   *             leased, which is empty if no rows were leased.
+   *
+   * @throws SQLException If a database failure occurs.
+   */
+  default List<LeasedMessage> leaseAndGetMessages(Connection conn,
+                                                  String     leaseId,
+                                                  int        leaseTime,
+                                                  int        maxLeaseCount)
+      throws SQLException
+  {
+    int count = this.leaseMessages(conn, leaseId, leaseTime, maxLeaseCount);
+    if (count == 0) {
+      return new LinkedList<>();
+    }
+    return this.getLeasedMessages(conn, leaseId);
+  }
+
   /**
    * Selects the info message rows that were previously leased with the
    * specified lease ID and returns a {@link List} of
@@ -387,6 +498,50 @@ public interface SQLClient
     }
   }
 
+  /**
+   * Renews the lease on all messages still leased with the specified lease ID
+   * in a single statement.  Messages whose lease has been released, or which
+   * have been deleted or leased by another client, are not affected.
+   *
+   * @param conn      The {@link Connection} to use.
+   *
+   * @param leaseId   The lease ID identifying the lease to renew.
+   *
+   * @param leaseTime The number of <b>seconds</b> to lease the messages from
+   *                  the point of renewal.
+   *
+   * @return The number of messages for which the lease was renewed.
+   *
+   * @throws SQLException If a database failure occurs.
+   */
+  default int renewLeases(Connection conn, String leaseId, int leaseTime)
+      throws SQLException
+  {
+    Objects.requireNonNull(leaseId, "Lease ID cannot be null");
+    PreparedStatement ps = null;
+    DatabaseType dbType = this.getDatabaseType();
+    try {
+      // prepare the statement
+      ps = conn.prepareStatement(
+          "UPDATE sz_message_queue SET expire_lease_at = "
+              + dbType.getTimestampBindingSQL()
+              + " WHERE lease_id = ?");
+
+      // calculate the expiration time
+      long now = System.currentTimeMillis();
+      Timestamp expireTime = new Timestamp(now + (leaseTime * 1000L));
+
+      // bind the statement
+      dbType.setTimestamp(ps, 1, expireTime);
+      ps.setString(2, leaseId);
+
+      return ps.executeUpdate();
+
+    } finally {
+      ps = close(ps);
+    }
+  }
+
   /**
    * Deletes a message from the database message queue.
    * 
@@ -433,4 +588,49 @@ public interface SQLClient
     }
   }
 
+  /**
+   * Deletes the specified {@link LeasedMessage} instances from the database
+   * message queue.  Each message is only deleted if it is still leased with
+   * its {@linkplain LeasedMessage#getLeaseId() lease ID}.  The default
+   * implementation executes a JDBC batch of single-row deletes.
+   * Implementations may override to delete the rows with a single statement.
+   *
+   * @param conn     The {@link Connection} to use.
+   *
+   * @param messages The {@link List} of {@link LeasedMessage} instances to
+   *                 delete.
+   *
+   * @return The number of messages that were deleted.
+   *
+   * @throws SQLException If a database failure occurs.
+   */
+  default int deleteMessages(Connection conn, List<LeasedMessage> messages)
+      throws SQLException
+  {
+    if (messages.size() == 0) {
+      return 0;
+    }
+    PreparedStatement ps = null;
+    try {
+      ps = conn.prepareStatement(
+          "DELETE FROM sz_message_queue WHERE message_id = ? AND lease_id = ?");
+
+      for (LeasedMessage message : messages) {
+        ps.setLong(1, message.getMessageId());
+        ps.setString(2, message.getLeaseId());
+        ps.addBatch();
+      }
+
+      int deleteCount = 0;
+      for (int rowCount : ps.executeBatch()) {
+        if (rowCount > 0) {
+          deleteCount += rowCount;
+        }
+      }
+      return deleteCount;
+
+    } finally {
+      ps = close(ps);
+    }
+  }
 }
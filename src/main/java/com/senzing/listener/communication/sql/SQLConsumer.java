@@ -1,8 +1,13 @@
 package com.senzing.listener.communication.sql;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.time.Instant;
 
 import javax.json.JsonObject;
@@ -166,6 +171,11 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
             } finally {
                 conn = close(conn);
             }
+
+            // wake the consumer if it is waiting on an empty queue
+            if (SQLConsumer.this.isUsingNotifications()) {
+                SQLConsumer.this.wakeup();
+            }
         }
 
         /**
@@ -255,6 +265,41 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
      */
     public static final String MAXIMUM_SLEEP_TIME_KEY = "maximumSleepTime";
 
+    /**
+     * The initialization parameter to configure the minimum number of
+     * <b>seconds</b> between attempts to release expired leases so that the
+     * messages may be leased again.  Expired leases are also released
+     * whenever an attempt to lease messages finds none available.  If not
+     * configured then {@link #DEFAULT_LEASE_RELEASE_INTERVAL} is used.
+     */
+    public static final String LEASE_RELEASE_INTERVAL_KEY
+        = "leaseReleaseInterval";
+
+    /**
+     * The initialization parameter to configure the maximum number of
+     * milliseconds that disposed messages are held so their deletions can be
+     * coalesced into a single bulk delete.  A bulk delete is performed sooner
+     * if the {@linkplain #MAXIMUM_LEASE_COUNT_KEY maximum lease count} is
+     * reached or no other leased messages remain outstanding.  If zero (0)
+     * then each message is deleted individually when it is disposed.  If not
+     * configured then {@link #DEFAULT_DELETE_BATCH_DELAY} is used.
+     */
+    public static final String DELETE_BATCH_DELAY_KEY = "deleteBatchDelay";
+
+    /**
+     * The initialization parameter to configure whether the consumer should
+     * be woken immediately when messages are added to an empty queue rather
+     * than waiting for its next poll.  Messages enqueued via the {@link
+     * MessageQueue} of this instance always wake the consumer when enabled.
+     * If the {@link SQLClient} {@linkplain
+     * SQLClient#isNotificationSupported() supports notifications} (e.g.:
+     * PostgreSQL <code>LISTEN</code> / <code>NOTIFY</code>) then messages
+     * inserted by other processes also wake the consumer, at the cost of one
+     * {@link Connection} held for listening.  Polling continues as a safety
+     * net.  If not configured then {@link #DEFAULT_NOTIFICATIONS} is used.
+     */
+    public static final String NOTIFICATIONS_KEY = "notifications";
+
     /**
      * The default number of times to retry failed reading from the database
      * queue before aborting consumption. The default value is {@value}. A 
@@ -297,11 +342,38 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
      */
     public static final int DEFAULT_MAXIMUM_SLEEP_TIME = 10;
 
+    /**
+     * The default minimum number of seconds between attempts to release
+     * expired leases.  The default value is {@value}.  A different value can
+     * be set via the {@link #LEASE_RELEASE_INTERVAL_KEY} initialization
+     * parameter.
+     */
+    public static final int DEFAULT_LEASE_RELEASE_INTERVAL = 60;
+
+    /**
+     * The default maximum number of milliseconds that disposed messages are
+     * held so their deletions can be coalesced.  The default value is
+     * {@value}.  A different value can be set via the {@link
+     * #DELETE_BATCH_DELAY_KEY} initialization parameter.
+     */
+    public static final long DEFAULT_DELETE_BATCH_DELAY = 100L;
+
+    /**
+     * The default value for the {@link #NOTIFICATIONS_KEY} initialization
+     * parameter.  The default value is {@value}.
+     */
+    public static final Boolean DEFAULT_NOTIFICATIONS = Boolean.FALSE;
+
     /**
      * Defined constant for one second in milliseconds.
      */
     private static final long ONE_SECOND = 1000L;
 
+    /**
+     * Constant for nanosecond/millisecond conversion.
+     */
+    private static final long ONE_MILLION = 1000000L;
+
     /**
      * The {@link ConnectionProvider} to use for obtaining {@link Connection}
      * instances.
@@ -373,6 +445,99 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
      */
     private int maximumSleepTime = DEFAULT_MAXIMUM_SLEEP_TIME;
 
+    /**
+     * The configured minimum number of seconds between attempts to release
+     * expired leases.
+     */
+    private int leaseReleaseInterval = DEFAULT_LEASE_RELEASE_INTERVAL;
+
+    /**
+     * The configured maximum number of milliseconds that disposed messages
+     * are held so their deletions can be coalesced.
+     */
+    private long deleteBatchDelay = DEFAULT_DELETE_BATCH_DELAY;
+
+    /**
+     * The {@link List} of disposed {@link LeasedMessage} instances that are
+     * pending deletion.  This is also used as the monitor for the pending
+     * deletions.
+     */
+    private final List<LeasedMessage> pendingDeletes = new ArrayList<>();
+
+    /**
+     * The nanosecond timestamp when the oldest message in {@link
+     * #pendingDeletes} was disposed.
+     */
+    private long pendingDeletesNanoTime = 0L;
+
+    /**
+     * The number of leased messages that have been enqueued but not yet
+     * disposed.
+     */
+    private final AtomicInteger outstandingCount = new AtomicInteger(0);
+
+    /**
+     * Flag indicating if the consumer should be woken when messages are added
+     * to the queue.
+     */
+    private boolean notifications = DEFAULT_NOTIFICATIONS;
+
+    /**
+     * The monitor used to wake the consumption thread when it is waiting on an
+     * empty queue.
+     */
+    private final Object wakeMonitor = new Object();
+
+    /**
+     * Flag indicating if the consumption thread has been woken since it last
+     * waited on an empty queue.
+     */
+    private boolean wakeSignaled = false;
+
+    /**
+     * The thread listening for database notifications, or <code>null</code>
+     * if not listening.
+     */
+    private Thread listenerThread = null;
+
+    /**
+     * Tracks the {@link LeasedMessage} instances held under a single lease
+     * that have not yet been disposed, along with when the lease should next
+     * be renewed.
+     */
+    private static class ActiveLease
+    {
+        /**
+         * The outstanding {@link LeasedMessage} instances keyed by message ID.
+         */
+        private final Map<Long, LeasedMessage> messages
+                = new LinkedHashMap<>();
+
+        /**
+         * The {@link System#nanoTime()} at which the lease should be renewed.
+         */
+        private long renewNanoTime;
+    }
+
+    /**
+     * The {@link ActiveLease} instances keyed by lease ID for the leases
+     * having outstanding messages.  This also serves as the monitor for the
+     * lease keeper thread.
+     */
+    private final Map<String, ActiveLease> activeLeases = new LinkedHashMap<>();
+
+    /**
+     * Flag indicating if the lease keeper thread should continue renewing
+     * leases.  This is guarded by {@link #activeLeases}.
+     */
+    private boolean keepingLeases = false;
+
+    /**
+     * The thread that renews the leases on outstanding messages, or
+     * <code>null</code> if not running.
+     */
+    private Thread leaseKeeperThread = null;
+
     /**
      * Private default constructor.
      */
@@ -395,7 +560,11 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
      *   "retryWaitTime": "&lt;pause-milliseconds&gt;",
      *   "leaseTime": "&lt;lease-time-seconds&gt;",
      *   "maximumLeaseCount": "&lt;message-count&gt;",
-     * "maximumSleepTime": "&lt;sleep-time-seconds&gt;" }
+     *   "maximumSleepTime": "&lt;sleep-time-seconds&gt;",
+     *   "leaseReleaseInterval": "&lt;interval-seconds&gt;",
+     *   "deleteBatchDelay": "&lt;delay-milliseconds&gt;",
+     *   "notifications": "&lt;true|false&gt;"
+     * }
      * </pre>
      *
      * @param config Configuration string containing the needed information to
@@ -458,6 +627,20 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
                     config, MAXIMUM_SLEEP_TIME_KEY,
                     1, DEFAULT_MAXIMUM_SLEEP_TIME);
 
+            // get the lease release interval
+            this.leaseReleaseInterval = getConfigInteger(
+                    config, LEASE_RELEASE_INTERVAL_KEY,
+                    0, DEFAULT_LEASE_RELEASE_INTERVAL);
+
+            // get the delete batch delay
+            this.deleteBatchDelay = getConfigLong(
+                    config, DELETE_BATCH_DELAY_KEY,
+                    0L, DEFAULT_DELETE_BATCH_DELAY);
+
+            // check if waking on notifications
+            this.notifications = getConfigBoolean(
+                    config, NOTIFICATIONS_KEY, DEFAULT_NOTIFICATIONS);
+
             // initialize the SQLClient
             this.sqlClient = this.initSQLClient();
 
@@ -467,6 +650,12 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
             // ensure the schema exists
             this.ensureSchema(clean);
 
+            // ensure the database notifications exist if supported
+            if (this.notifications && this.sqlClient.isNotificationSupported())
+            {
+                this.ensureNotifications();
+            }
+
             // optionally register the MessageQueue interface
             this.queueRegistryName = getConfigString(
                     config, QUEUE_REGISTRY_NAME_KEY, false);
@@ -632,6 +821,189 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
         }
     }
 
+    /**
+     * Ensures the schema objects required for database notifications exist.
+     * This is called from {@link #doInit(JsonObject)} if {@linkplain
+     * #isUsingNotifications() notifications} are enabled and the {@link
+     * SQLClient} {@linkplain SQLClient#isNotificationSupported() supports}
+     * them.
+     *
+     * @throws SQLException If a failure occurs.
+     */
+    protected void ensureNotifications()
+        throws SQLException
+    {
+        Connection conn = null;
+        try {
+            // get the connection
+            conn = this.getConnection();
+
+            // ensure the notifications exist
+            this.getSQLClient().ensureNotifications(conn);
+
+        } finally {
+            conn = close(conn);
+        }
+    }
+
+    /**
+     * Gets the number of nanoseconds after leasing or renewing a lease that
+     * the lease should be renewed.  This is two-thirds of the {@linkplain
+     * #getLeaseTime() lease time} so that renewal happens shortly before the
+     * lease expires while leaving time for the renewal itself to complete.
+     *
+     * @return The number of nanoseconds after leasing or renewing a lease that
+     *         the lease should be renewed.
+     */
+    private long getLeaseRenewalNanos()
+    {
+        return (ONE_SECOND * ONE_MILLION * 2L * this.getLeaseTime()) / 3L;
+    }
+
+    /**
+     * Records the specified {@link LeasedMessage} instances as outstanding
+     * under the specified lease ID so that the {@linkplain #keepLeases() lease
+     * keeper} renews the lease until they are disposed or {@linkplain
+     * #retryMessage(LeasedMessage) fail}.
+     *
+     * @param leaseId  The lease ID for the messages.
+     * @param messages The {@link List} of {@link LeasedMessage} instances.
+     */
+    private void trackLease(String leaseId, List<LeasedMessage> messages)
+    {
+        synchronized (this.activeLeases) {
+            ActiveLease lease = this.activeLeases.get(leaseId);
+            if (lease == null) {
+                lease = new ActiveLease();
+                lease.renewNanoTime
+                    = System.nanoTime() + this.getLeaseRenewalNanos();
+                this.activeLeases.put(leaseId, lease);
+            }
+            for (LeasedMessage message : messages) {
+                lease.messages.put(message.getMessageId(), message);
+            }
+        }
+    }
+
+    /**
+     * Removes the specified {@link LeasedMessage} from those whose lease is
+     * renewed by the {@linkplain #keepLeases() lease keeper}, dropping the
+     * lease entirely once it has no outstanding messages.
+     *
+     * @param message The {@link LeasedMessage} to stop tracking.
+     */
+    private void untrackLease(LeasedMessage message)
+    {
+        synchronized (this.activeLeases) {
+            ActiveLease lease = this.activeLeases.get(message.getLeaseId());
+            if (lease == null) {
+                return;
+            }
+            lease.messages.remove(message.getMessageId());
+            if (lease.messages.size() == 0) {
+                this.activeLeases.remove(message.getLeaseId());
+            }
+        }
+    }
+
+    /**
+     * Renews the leases on outstanding messages until the consumer is
+     * destroyed.  Each lease is renewed for all of its outstanding messages in
+     * a single statement once {@linkplain #getLeaseRenewalNanos() two-thirds}
+     * of the lease time has elapsed, so that dispatching a message never waits
+     * on the database.
+     */
+    protected void keepLeases()
+    {
+        while (true) {
+            List<String> dueLeaseIds = new ArrayList<>();
+            synchronized (this.activeLeases) {
+                if (!this.keepingLeases) {
+                    return;
+                }
+                long now = System.nanoTime();
+                long waitNanos = ONE_SECOND * ONE_MILLION;
+                for (Map.Entry<String, ActiveLease> entry
+                     : this.activeLeases.entrySet())
+                {
+                    long remaining = entry.getValue().renewNanoTime - now;
+                    if (remaining <= 0L) {
+                        dueLeaseIds.add(entry.getKey());
+                    } else if (remaining < waitNanos) {
+                        waitNanos = remaining;
+                    }
+                }
+                if (dueLeaseIds.size() == 0) {
+                    try {
+                        this.activeLeases.wait((waitNanos / ONE_MILLION) + 1L);
+                    } catch (InterruptedException ignore) {
+                        // do nothing
+                    }
+                    continue;
+                }
+            }
+            this.renewLeases(dueLeaseIds);
+        }
+    }
+
+    /**
+     * Renews the leases identified by the specified lease IDs in a single
+     * transaction and extends the lease expiration on their outstanding
+     * {@link LeasedMessage} instances.  Failures are logged and the renewal
+     * is retried after one second.
+     *
+     * @param leaseIds The {@link List} of lease IDs for the leases to renew.
+     */
+    protected void renewLeases(List<String> leaseIds)
+    {
+        int leaseTime = this.getLeaseTime();
+        long expiration = System.currentTimeMillis() + (leaseTime * ONE_SECOND);
+        long renewNanoTime = System.nanoTime() + this.getLeaseRenewalNanos();
+
+        Connection conn = null;
+        try {
+            // get the connection
+            conn = this.getConnection();
+
+            // get the SQLClient
+            SQLClient sqlClient = this.getSQLClient();
+
+            // renew each lease
+            for (String leaseId : leaseIds) {
+                sqlClient.renewLeases(conn, leaseId, leaseTime);
+            }
+
+            // commit the transaction
+            conn.commit();
+
+        } catch (SQLException e) {
+            logWarning(e, "Ignoring exception while renewing message leases:",
+                       leaseIds);
+            expiration = -1L;
+            renewNanoTime = System.nanoTime() + (ONE_SECOND * ONE_MILLION);
+
+        } finally {
+            conn = close(conn);
+        }
+
+        // update the outstanding leases
+        synchronized (this.activeLeases) {
+            for (String leaseId : leaseIds) {
+                ActiveLease lease = this.activeLeases.get(leaseId);
+                if (lease == null) {
+                    continue;
+                }
+                lease.renewNanoTime = renewNanoTime;
+                if (expiration < 0L) {
+                    continue;
+                }
+                for (LeasedMessage message : lease.messages.values()) {
+                    message.extendLease(expiration);
+                }
+            }
+        }
+    }
+
     /**
      * Returns the maximum number times failed attempts to connect to the
      * database will be retried before aborting message consumption. This
@@ -701,6 +1073,133 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
         return this.maximumSleepTime;
     }
 
+    /**
+     * Gets the minimum number of <b>seconds</b> between attempts to release
+     * expired leases.  This defaults to {@link
+     * #DEFAULT_LEASE_RELEASE_INTERVAL} and can be configured via the {@link
+     * #LEASE_RELEASE_INTERVAL_KEY} configuration parameter.
+     *
+     * @return The minimum number of <b>seconds</b> between attempts to
+     *         release expired leases.
+     */
+    public int getLeaseReleaseInterval()
+    {
+        return this.leaseReleaseInterval;
+    }
+
+    /**
+     * Gets the maximum number of milliseconds that disposed messages are held
+     * so their deletions can be coalesced into a single bulk delete.  This
+     * defaults to {@link #DEFAULT_DELETE_BATCH_DELAY} and can be configured
+     * via the {@link #DELETE_BATCH_DELAY_KEY} configuration parameter.
+     *
+     * @return The maximum number of milliseconds that disposed messages are
+     *         held so their deletions can be coalesced.
+     */
+    public long getDeleteBatchDelay()
+    {
+        return this.deleteBatchDelay;
+    }
+
+    /**
+     * Checks if the consumer is woken when messages are added to the queue
+     * rather than waiting for its next poll.  This defaults to {@link
+     * #DEFAULT_NOTIFICATIONS} and can be configured via the {@link
+     * #NOTIFICATIONS_KEY} configuration parameter.
+     *
+     * @return <code>true</code> if the consumer is woken when messages are
+     *         added to the queue, otherwise <code>false</code>.
+     */
+    public boolean isUsingNotifications()
+    {
+        return this.notifications;
+    }
+
+    /**
+     * Wakes the consumption thread if it is waiting on an empty queue so that
+     * it attempts to lease messages immediately.  If the consumption thread is
+     * not currently waiting then its next wait returns immediately.
+     */
+    protected void wakeup()
+    {
+        synchronized (this.wakeMonitor) {
+            this.wakeSignaled = true;
+            this.wakeMonitor.notifyAll();
+        }
+    }
+
+    /**
+     * Waits at most the specified number of milliseconds for the consumption
+     * thread to be {@linkplain #wakeup() woken}.
+     *
+     * @param timeout The maximum number of milliseconds to wait.
+     */
+    private void awaitWakeup(long timeout)
+    {
+        long start = System.nanoTime();
+        synchronized (this.wakeMonitor) {
+            while (!this.wakeSignaled) {
+                long elapsed = (System.nanoTime() - start) / ONE_MILLION;
+                if (elapsed >= timeout) {
+                    break;
+                }
+                try {
+                    this.wakeMonitor.wait(timeout - elapsed);
+                } catch (InterruptedException ignore) {
+                    // do nothing
+                }
+            }
+            this.wakeSignaled = false;
+        }
+    }
+
+    /**
+     * Listens for database notifications until consumption ends, {@linkplain
+     * #wakeup() waking} the consumption thread whenever one is received.  If
+     * listening fails then it is retried after the {@linkplain
+     * #getRetryWaitTime() retry wait time}, and if the {@link Connection} does
+     * not support notifications then listening stops and the consumer relies
+     * on polling alone.
+     */
+    protected void listenForNotifications()
+    {
+        SQLClient sqlClient = this.getSQLClient();
+        Connection conn = null;
+        try {
+            while (this.getState() == CONSUMING) {
+                try {
+                    // get a dedicated connection and listen on it
+                    if (conn == null) {
+                        conn = this.getConnection();
+                        sqlClient.listen(conn);
+                    }
+
+                    // wait for a notification and wake the consumer
+                    if (sqlClient.awaitNotification(conn, ONE_SECOND)) {
+                        this.wakeup();
+                    }
+
+                } catch (SQLFeatureNotSupportedException e) {
+                    logWarning(e, "Database notifications are not available, "
+                               + "relying on polling only.");
+                    return;
+
+                } catch (SQLException e) {
+                    logWarning(e, "Ignoring exception while listening for "
+                               + "database notifications.");
+                    conn = close(conn);
+                    try {
+                        Thread.sleep(this.getRetryWaitTime());
+                    } catch (InterruptedException ignore) {
+                        // do nothing
+                    }
+                }
+            }
+        } finally {
+            conn = close(conn);
+        }
+    }
+
     /**
      * Creates a virtually unique lease ID.
      *
@@ -766,6 +1265,8 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
             try {
                 int failureCount = 0;
                 long sleepTime = ONE_SECOND;
+                long releaseNanoTime = 0L;
+                boolean releaseNeeded = true;
                 while (this.getState() == CONSUMING) {
                     // get the SQLClient
                     SQLClient sqlClient = this.getSQLClient();
@@ -786,24 +1287,36 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
                     Connection conn = null;
 
                     try {
+                        // delete any disposed messages held for too long
+                        this.flushDeletes(false);
+
                         // get the connection
                         conn = this.getConnection();
 
-                        // first release any expired leases so we can lease
-                        // those messages
-                        int count
-                                = sqlClient.releaseExpiredLeases(
-                                        conn, leaseTime);
-
-                        // commit the transaction
-                        conn.commit();
-
-                        if (count > 0) {
-                            logInfo("expired leases on " + count + " messages");
+                        // periodically release any expired leases so we can
+                        // lease those messages
+                        long releaseInterval = ONE_SECOND * ONE_MILLION
+                                * ((long) this.getLeaseReleaseInterval());
+                        if (releaseNeeded || (System.nanoTime()
+                            - releaseNanoTime >= releaseInterval))
+                        {
+                            int count
+                                    = sqlClient.releaseExpiredLeases(
+                                            conn, leaseTime);
+
+                            // commit the transaction
+                            conn.commit();
+
+                            if (count > 0) {
+                                logInfo("expired leases on " + count
+                                        + " messages");
+                            }
+                            releaseNanoTime = System.nanoTime();
+                            releaseNeeded = false;
                         }
 
-                        // lease messages
-                        count = sqlClient.leaseMessages(
+                        // lease messages and get the leased messages
+                        messages = sqlClient.leaseAndGetMessages(
                                 conn, leaseId,
                                 leaseTime, maxLeaseCount);
 
@@ -814,13 +1327,11 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
                         conn = close(conn);
 
                         // check if we have an empty queue
-                        if (count == 0) {
+                        if (messages.size() == 0) {
+                            // release expired leases on the next attempt
+                            releaseNeeded = true;
                             failureCount = 0;
-                            try {
-                                Thread.sleep(sleepTime);
-                            } catch (InterruptedException ignore) {
-                                // do nothing
-                            }
+                            this.awaitWakeup(sleepTime);
                             sleepTime = sleepTime * 2L;
                             long maxSleepTime = ONE_SECOND
                                     * ((long) this
@@ -838,15 +1349,6 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
                         // one second
                         sleepTime = ONE_SECOND;
 
-                        // get the connection
-                        conn = this.getConnection();
-
-                        // get the list of leased messages
-                        messages = sqlClient.getLeasedMessages(conn, leaseId);
-
-                        // close the connection
-                        conn = close(conn);
-
                     } catch (SQLException e) {
                         if (this.handleFailure(++failureCount, e)) {
                             // check if already joining the consumption thread
@@ -878,13 +1380,21 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
                     // so we reset the failure count
                     failureCount = 0;
 
+                    // renew the lease in the background until disposed
+                    this.trackLease(leaseId, messages);
+
                     // get the messages from the response
                     for (LeasedMessage message : messages) {
                         // enqueue the next message for processing -- this call
                         // may wait
                         // for enough room in the queue for the messages to be
                         // enqueued
-                        this.enqueueMessages(processor, message);
+                        this.outstandingCount.incrementAndGet();
+                        if (!this.enqueueMessages(processor, message)) {
+                            // ignored messages will never be disposed
+                            this.outstandingCount.decrementAndGet();
+                            this.untrackLease(message);
+                        }
                     }
                 }
             } finally {
@@ -901,6 +1411,25 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
 
         // start the thread
         this.consumptionThread.start();
+
+        // start renewing leases on outstanding messages
+        Thread keeper = new Thread(() -> this.keepLeases());
+        synchronized (this.activeLeases) {
+            this.keepingLeases = true;
+            this.leaseKeeperThread = keeper;
+        }
+        keeper.start();
+
+        // optionally start listening for database notifications
+        if (this.isUsingNotifications()
+            && this.getSQLClient().isNotificationSupported())
+        {
+            Thread listener = new Thread(() -> this.listenForNotifications());
+            synchronized (this) {
+                this.listenerThread = listener;
+            }
+            listener.start();
+        }
     }
 
     /**
@@ -941,69 +1470,105 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected String extractMessageBody(LeasedMessage message)
+    {
+        return message.getMessageText();
+    }
+
     /**
      * {@inheritDoc}
      * <p>
-     * Overridden to renew the lease when a message is dequeued.
+     * Overridden to hold the message so its deletion can be coalesced with
+     * other disposed messages into a single bulk delete unless the {@linkplain
+     * #getDeleteBatchDelay() delete batch delay} is zero (0).
      * </p>
      */
     @Override
-    protected synchronized InfoMessage<LeasedMessage>
-        dequeueMessage(MessageProcessor processor)
+    protected void disposeMessage(LeasedMessage message)
     {
-        // get the message
-        InfoMessage<LeasedMessage> message = super.dequeueMessage(processor);
-        // check if we got a message and renew its lease
-        if (message != null) {
-            Connection conn = null;
-            try {
-                // get a connection
-                conn = this.getConnection();
-
-                // get the SQLClient
-                SQLClient sqlClient = this.getSQLClient();
-
-                // get the lease time
-                int leaseTime = this.getLeaseTime();
-
-                // get the leased message
-                LeasedMessage leasedMessage = message.getBatch().getMessage();
-
-                // renew the lease
-                sqlClient.renewLease(conn, leasedMessage, leaseTime);
-
-                // commit the connection
-                conn.commit();
+        this.untrackLease(message);
+        int outstanding = this.outstandingCount.decrementAndGet();
 
-            } catch (SQLException e) {
-                logWarning(e,
-                        "Ignoring exception while"
-                                + " renewing message lease:",
-                        message);
+        // check if deleting messages individually
+        if (this.getDeleteBatchDelay() == 0L) {
+            this.deleteMessages(List.of(message));
+            return;
+        }
 
-            } finally {
-                conn = close(conn);
+        boolean flush = false;
+        synchronized (this.pendingDeletes) {
+            if (this.pendingDeletes.size() == 0) {
+                this.pendingDeletesNanoTime = System.nanoTime();
             }
+            this.pendingDeletes.add(message);
+
+            // delete now if the batch is full or nothing else is outstanding
+            flush = (outstanding <= 0)
+                || (this.pendingDeletes.size() >= this.getMaximumLeaseCount());
         }
 
-        // return the message
-        return message;
+        this.flushDeletes(flush);
     }
 
     /**
-     * {@inheritDoc}
+     * Overridden to stop renewing the lease on the specified failed message
+     * so that it is leased again once its lease expires.  The message is no
+     * longer outstanding, so the pending deletions are flushed if nothing
+     * else is outstanding.
+     *
+     * @param message The {@link LeasedMessage} to release for retry.
      */
     @Override
-    protected String extractMessageBody(LeasedMessage message)
+    protected void retryMessage(LeasedMessage message)
     {
-        return message.getMessageText();
+        this.untrackLease(message);
+        int outstanding = this.outstandingCount.decrementAndGet();
+        if (outstanding <= 0) {
+            this.flushDeletes(true);
+        }
     }
 
     /**
-     * {@inheritDoc}
+     * Deletes the disposed messages that are pending deletion if the oldest
+     * was disposed more than the {@linkplain #getDeleteBatchDelay() delete
+     * batch delay} ago or if forced.
+     *
+     * @param force <code>true</code> if the pending messages should be deleted
+     *              regardless of how long they have been held, otherwise
+     *              <code>false</code>.
      */
-    @Override
-    protected void disposeMessage(LeasedMessage message)
+    protected void flushDeletes(boolean force)
+    {
+        List<LeasedMessage> messages = null;
+        synchronized (this.pendingDeletes) {
+            if (this.pendingDeletes.size() == 0) {
+                return;
+            }
+            long heldNanos = System.nanoTime() - this.pendingDeletesNanoTime;
+            if (!force && heldNanos < this.getDeleteBatchDelay() * ONE_MILLION)
+            {
+                return;
+            }
+            messages = new ArrayList<>(this.pendingDeletes);
+            this.pendingDeletes.clear();
+        }
+        this.deleteMessages(messages);
+    }
+
+    /**
+     * Deletes the specified {@link List} of disposed {@link LeasedMessage}
+     * instances from the database message queue.  Failures are logged and
+     * otherwise ignored since the messages will be leased again once their
+     * leases expire.
+     *
+     * @param messages The {@link List} of {@link LeasedMessage} instances to
+     *                 delete.
+     */
+    protected void deleteMessages(List<LeasedMessage> messages)
     {
         Connection conn = null;
         try {
@@ -1013,12 +1578,14 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
             // get the SQLClient
             SQLClient sqlClient = this.getSQLClient();
 
-            // get the message ID and lease ID
-            long messageId = message.getMessageId();
-            String leaseId = message.getLeaseId();
-
-            // delete the message
-            sqlClient.deleteMessage(conn, messageId, leaseId);
+            // delete the messages
+            if (messages.size() == 1) {
+                LeasedMessage message = messages.get(0);
+                sqlClient.deleteMessage(
+                        conn, message.getMessageId(), message.getLeaseId());
+            } else {
+                sqlClient.deleteMessages(conn, messages);
+            }
 
             // commit the transaction
             conn.commit();
@@ -1026,8 +1593,8 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
         } catch (Exception e) {
             logWarning(e,
                     "Ignoring exception while"
-                            + " acknowledging message:",
-                    message);
+                            + " acknowledging messages:",
+                    messages);
 
         } finally {
             conn = close(conn);
@@ -1053,6 +1620,7 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
                     this.joiningThread = consumeThread;
                     this.notifyAll();
                 }
+                this.wakeup();
                 try {
                     consumeThread.join();
                     synchronized (this) {
@@ -1069,6 +1637,31 @@ public class SQLConsumer extends AbstractMessageConsumer<LeasedMessage>
                 }
             }
 
+            // delete any disposed messages that are still pending
+            this.flushDeletes(true);
+
+            // join to the listener thread
+            Thread listener = null;
+            synchronized (this) {
+                listener = this.listenerThread;
+                this.listenerThread = null;
+            }
+            if (listener != null && Thread.currentThread() != listener) {
+                listener.join();
+            }
+
+            // stop and join to the lease keeper thread
+            Thread keeper = null;
+            synchronized (this.activeLeases) {
+                keeper = this.leaseKeeperThread;
+                this.leaseKeeperThread = null;
+                this.keepingLeases = false;
+                this.activeLeases.notifyAll();
+            }
+            if (keeper != null && Thread.currentThread() != keeper) {
+                keeper.join();
+            }
+
             // unregister the the message queue if registered
             if (this.registryToken != null && this.queueRegistryName != null
                     && MESSAGE_QUEUE_REGISTRY.isBound(this.queueRegistryName)) {
@@ -1,6 +1,10 @@
 package com.senzing.listener.communication.sqs;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.json.JsonObject;
 
@@ -14,6 +18,15 @@ import com.senzing.listener.service.exception.ServiceSetupException;
 
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+// CSOFF
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+// CSON
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
 import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
@@ -76,6 +89,89 @@ public class SQSConsumer extends AbstractMessageConsumer<Message>
      */
     public static final long DEFAULT_RETRY_WAIT_TIME = 1000L;
 
+    /**
+     * The maximum number of entries that SQS allows in a single batch request
+     * and the maximum number of messages that can be received with a single
+     * receive request.  The value is {@value}.
+     */
+    public static final int MAXIMUM_BATCH_SIZE = 10;
+
+    /**
+     * The initialization parameter to configure the maximum number of messages
+     * to receive with each SQS receive request.  This cannot exceed {@link
+     * #MAXIMUM_BATCH_SIZE}.  If not configured then {@link
+     * #DEFAULT_RECEIVE_BATCH_SIZE} is used.
+     */
+    public static final String RECEIVE_BATCH_SIZE_KEY = "receiveBatchSize";
+
+    /**
+     * The default maximum number of messages to receive with each SQS receive
+     * request.  The default value is {@value}.  A different value can be set
+     * via the {@link #RECEIVE_BATCH_SIZE_KEY} parameter.
+     */
+    public static final int DEFAULT_RECEIVE_BATCH_SIZE = MAXIMUM_BATCH_SIZE;
+
+    /**
+     * The initialization parameter to configure the number of threads that
+     * concurrently issue SQS receive requests.  If not configured then {@link
+     * #DEFAULT_RECEIVER_COUNT} is used.
+     */
+    public static final String RECEIVER_COUNT_KEY = "receiverCount";
+
+    /**
+     * The default number of threads that concurrently issue SQS receive
+     * requests.  The default value is {@value}.  A different value can be set
+     * via the {@link #RECEIVER_COUNT_KEY} parameter.
+     */
+    public static final int DEFAULT_RECEIVER_COUNT = 1;
+
+    /**
+     * The initialization parameter to configure the maximum number of
+     * milliseconds that disposed messages are held so their deletions can be
+     * coalesced into a single SQS delete batch request.  A batch is sent
+     * sooner if {@link #MAXIMUM_BATCH_SIZE} deletions are pending.  If zero
+     * (0) then each message is deleted individually when it is disposed.  If
+     * not configured then {@link #DEFAULT_DELETE_BATCH_DELAY} is used.
+     */
+    public static final String DELETE_BATCH_DELAY_KEY = "deleteBatchDelay";
+
+    /**
+     * The default maximum number of milliseconds that disposed messages are
+     * held before their deletions are sent.  The default value is {@value}.
+     * A different value can be set via the {@link #DELETE_BATCH_DELAY_KEY}
+     * parameter.
+     */
+    public static final long DEFAULT_DELETE_BATCH_DELAY = 100L;
+
+    /**
+     * The initialization parameter to configure whether the visibility of
+     * received messages that have not yet been disposed should be
+     * periodically extended so that slow batches are not redelivered.  This
+     * requires that the {@link #VISIBILITY_TIMEOUT_KEY} parameter be
+     * configured, and the visibility is extended by that many seconds once
+     * half of it has elapsed.  If not configured then {@link
+     * #DEFAULT_VISIBILITY_HEARTBEAT} is used.
+     */
+    public static final String VISIBILITY_HEARTBEAT_KEY
+        = "visibilityHeartbeat";
+
+    /**
+     * The default value for the {@link #VISIBILITY_HEARTBEAT_KEY} parameter.
+     * The default is to <b>not</b> extend the visibility of received messages.
+     */
+    public static final Boolean DEFAULT_VISIBILITY_HEARTBEAT = Boolean.FALSE;
+
+    /**
+     * The number of milliseconds the maintenance thread waits between checks
+     * for expiring visibility if deletions are not being coalesced.
+     */
+    private static final long HEARTBEAT_CHECK_INTERVAL = 1000L;
+
+    /**
+     * Constant for nanosecond/millisecond conversion.
+     */
+    private static final long ONE_MILLION = 1000000L;
+
     /**
      * The SQS URL.
      */
@@ -87,9 +183,55 @@ public class SQSConsumer extends AbstractMessageConsumer<Message>
     private SqsClient sqsClient;
 
     /**
-     * The consumption thread for this instance.
+     * The consumption threads for this instance.
+     */
+    private List<Thread> consumptionThreads = new ArrayList<>();
+
+    /**
+     * The maintenance thread that sends coalesced deletions and visibility
+     * heartbeats, or <code>null</code> if not running.
+     */
+    private Thread maintenanceThread = null;
+
+    /**
+     * Flag indicating if the maintenance thread should continue running.
+     */
+    private volatile boolean maintaining = false;
+
+    /**
+     * The maximum number of messages to receive with each request.
+     */
+    private int receiveBatchSize = DEFAULT_RECEIVE_BATCH_SIZE;
+
+    /**
+     * The number of threads concurrently issuing receive requests.
+     */
+    private int receiverCount = DEFAULT_RECEIVER_COUNT;
+
+    /**
+     * The maximum number of milliseconds that disposed messages are held so
+     * their deletions can be coalesced.
+     */
+    private long deleteBatchDelay = DEFAULT_DELETE_BATCH_DELAY;
+
+    /**
+     * Flag indicating if the visibility of outstanding messages should be
+     * periodically extended.
      */
-    private Thread consumptionThread = null;
+    private boolean visibilityHeartbeat = DEFAULT_VISIBILITY_HEARTBEAT;
+
+    /**
+     * The receipt handles of disposed messages that are pending deletion.
+     */
+    private final List<String> pendingDeletes = new ArrayList<>();
+
+    /**
+     * The {@link Map} of receipt handles for received messages that have not
+     * yet been disposed to the nanosecond timestamp when their visibility was
+     * last set.  This is only populated if visibility heartbeats are enabled.
+     */
+    private final Map<String, Long> outstandingReceipts
+        = new ConcurrentHashMap<>();
 
     /**
      * The maximum number of times to retry failed SQS requests before aborting
@@ -145,7 +287,12 @@ public class SQSConsumer extends AbstractMessageConsumer<Message>
      *   "concurrency": "&lt;thread-count&gt;",
      *   "failureThreshold": "&lt;failure-threshold&gt;",
      *   "retryWaitTime": "&lt;pause-milliseconds&gt;",
-     * "visibilityTimeout": "&lt;timeout-seconds&gt;" }
+     *   "visibilityTimeout": "&lt;timeout-seconds&gt;",
+     *   "receiveBatchSize": "&lt;message-count&gt;",
+     *   "receiverCount": "&lt;thread-count&gt;",
+     *   "deleteBatchDelay": "&lt;delay-milliseconds&gt;",
+     *   "visibilityHeartbeat": "&lt;true|false&gt;"
+     * }
      * </pre>
      *
      * @param config Configuration string containing the needed information to
@@ -177,6 +324,38 @@ public class SQSConsumer extends AbstractMessageConsumer<Message>
                     config, VISIBILITY_TIMEOUT_KEY,
                     1, null);
 
+            // get the receive batch size
+            this.receiveBatchSize = getConfigInteger(
+                    config, RECEIVE_BATCH_SIZE_KEY,
+                    1, DEFAULT_RECEIVE_BATCH_SIZE);
+            if (this.receiveBatchSize > MAXIMUM_BATCH_SIZE) {
+                throw new MessageConsumerSetupException(
+                    "The " + RECEIVE_BATCH_SIZE_KEY + " configuration "
+                    + "parameter cannot be greater than "
+                    + MAXIMUM_BATCH_SIZE + ": " + this.receiveBatchSize);
+            }
+
+            // get the receiver count
+            this.receiverCount = getConfigInteger(
+                    config, RECEIVER_COUNT_KEY,
+                    1, DEFAULT_RECEIVER_COUNT);
+
+            // get the delete batch delay
+            this.deleteBatchDelay = getConfigLong(
+                    config, DELETE_BATCH_DELAY_KEY,
+                    0L, DEFAULT_DELETE_BATCH_DELAY);
+
+            // get the visibility heartbeat flag
+            this.visibilityHeartbeat = getConfigBoolean(
+                    config, VISIBILITY_HEARTBEAT_KEY,
+                    DEFAULT_VISIBILITY_HEARTBEAT);
+            if (this.visibilityHeartbeat && this.visibilityTimeout == null) {
+                throw new MessageConsumerSetupException(
+                    "The " + VISIBILITY_HEARTBEAT_KEY + " configuration "
+                    + "parameter requires that the " + VISIBILITY_TIMEOUT_KEY
+                    + " configuration parameter also be specified.");
+            }
+
             this.sqsClient = createSqsClient();
 
         } catch (ServiceSetupException | RuntimeException e) {
@@ -239,6 +418,62 @@ public class SQSConsumer extends AbstractMessageConsumer<Message>
         return this.visibilityTimeout;
     }
 
+    /**
+     * Returns the maximum number of messages to receive with each SQS receive
+     * request.  This defaults to {@link #DEFAULT_RECEIVE_BATCH_SIZE} and can
+     * be configured via the {@link #RECEIVE_BATCH_SIZE_KEY} configuration
+     * parameter.
+     *
+     * @return The maximum number of messages to receive with each SQS receive
+     *         request.
+     */
+    public int getReceiveBatchSize()
+    {
+        return this.receiveBatchSize;
+    }
+
+    /**
+     * Returns the number of threads that concurrently issue SQS receive
+     * requests.  This defaults to {@link #DEFAULT_RECEIVER_COUNT} and can be
+     * configured via the {@link #RECEIVER_COUNT_KEY} configuration parameter.
+     *
+     * @return The number of threads that concurrently issue SQS receive
+     *         requests.
+     */
+    public int getReceiverCount()
+    {
+        return this.receiverCount;
+    }
+
+    /**
+     * Returns the maximum number of milliseconds that disposed messages are
+     * held so their deletions can be coalesced into a single batch request.
+     * This defaults to {@link #DEFAULT_DELETE_BATCH_DELAY} and can be
+     * configured via the {@link #DELETE_BATCH_DELAY_KEY} configuration
+     * parameter.  If zero (0) then messages are deleted individually.
+     *
+     * @return The maximum number of milliseconds that disposed messages are
+     *         held before being deleted.
+     */
+    public long getDeleteBatchDelay()
+    {
+        return this.deleteBatchDelay;
+    }
+
+    /**
+     * Checks if the visibility of received messages that have not yet been
+     * disposed is periodically extended.  This defaults to {@link
+     * #DEFAULT_VISIBILITY_HEARTBEAT} and can be configured via the {@link
+     * #VISIBILITY_HEARTBEAT_KEY} configuration parameter.
+     *
+     * @return <code>true</code> if the visibility of outstanding messages is
+     *         periodically extended, otherwise <code>false</code>.
+     */
+    public boolean isVisibilityHeartbeat()
+    {
+        return this.visibilityHeartbeat;
+    }
+
     /**
      * Returns the configured SQS URL.
      *
@@ -347,7 +582,7 @@ public class SQSConsumer extends AbstractMessageConsumer<Message>
     @Override
     protected synchronized void waitUntilDestroyed()
     {
-        if (Thread.currentThread() == this.consumptionThread) {
+        if (this.consumptionThreads.contains(Thread.currentThread())) {
             return;
         }
         super.waitUntilDestroyed();
@@ -365,74 +600,273 @@ public class SQSConsumer extends AbstractMessageConsumer<Message>
     protected void doConsume(MessageProcessor processor)
         throws MessageConsumerException
     {
-        this.consumptionThread = new Thread(() -> {
-            int failureCount = 0;
-            while (this.getState() == CONSUMING) {
-                try {
-                    ReceiveMessageRequest request
-                            = ReceiveMessageRequest.builder()
-                            .queueUrl(this.getSqsUrl())
-                            .waitTimeSeconds(SQS_WAIT_SECS)
-                            .visibilityTimeout(
-                                    this.getVisibilityTimeout())
-                            .build();
-
-                    ReceiveMessageResponse response
-                            = sqsClient.receiveMessage(request);
-
-                    // failed obtaining a response
-                    if (!response.sdkHttpResponse().isSuccessful()) {
-                        // check if we intentionally shut down
-                        // before logging/retrying
-                        if (this.getState() != CONSUMING) {
-                            return;
-                        }
-                        if (this.handleFailure(
-                                ++failureCount, response, null))
-                        {
-                            // destroy and then return to abort consumption
-                            this.destroy();
-                            return;
-
-                        } else {
-                            // let's retry
-                            continue;
-                        }
-
-                    } else {
-                        // reset the consecutive failure count
-                        failureCount = 0;
-                    }
+        // create the receiver threads
+        List<Thread> threads = new ArrayList<>(this.getReceiverCount());
+        for (int index = 0; index < this.getReceiverCount(); index++) {
+            threads.add(new Thread(() -> this.receiveMessages(processor)));
+        }
 
-                    // get the messages from the response
-                    List<Message> messages = response.messages();
+        // start the maintenance thread if needed
+        if (this.getDeleteBatchDelay() > 0L || this.isVisibilityHeartbeat()) {
+            synchronized (this) {
+                this.maintaining = true;
+                this.maintenanceThread = new Thread(() -> this.maintain());
+                this.maintenanceThread.start();
+            }
+        }
 
-                    // enqueue the messages
-                    for (Message message : messages) {
-                        // enqueue the next message for
-                        // processing -- this call may wait for
-                        // enough room in the queue
-                        this.enqueueMessages(processor, message);
-                    }
+        // start the threads
+        synchronized (this) {
+            this.consumptionThreads = threads;
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+    }
 
-                } catch (SdkException e) {
+    /**
+     * Receives messages from SQS and enqueues them for processing until no
+     * longer consuming.  This is run by each of the consumption threads.
+     *
+     * @param processor The {@link MessageProcessor} to use.
+     */
+    protected void receiveMessages(MessageProcessor processor)
+    {
+        int failureCount = 0;
+        while (this.getState() == CONSUMING) {
+            try {
+                ReceiveMessageRequest request
+                        = ReceiveMessageRequest.builder()
+                        .queueUrl(this.getSqsUrl())
+                        .waitTimeSeconds(SQS_WAIT_SECS)
+                        .maxNumberOfMessages(this.getReceiveBatchSize())
+                        .visibilityTimeout(
+                                this.getVisibilityTimeout())
+                        .build();
+
+                ReceiveMessageResponse response
+                        = sqsClient.receiveMessage(request);
+
+                // failed obtaining a response
+                if (!response.sdkHttpResponse().isSuccessful()) {
                     // check if we intentionally shut down
                     // before logging/retrying
                     if (this.getState() != CONSUMING) {
                         return;
                     }
-                    if (this.handleFailure(++failureCount, null, e)) {
+                    if (this.handleFailure(
+                            ++failureCount, response, null))
+                    {
                         // destroy and then return to abort consumption
                         this.destroy();
                         return;
+
+                    } else {
+                        // let's retry
+                        continue;
                     }
-                    // otherwise retry
+
+                } else {
+                    // reset the consecutive failure count
+                    failureCount = 0;
+                }
+
+                // get the messages from the response
+                List<Message> messages = response.messages();
+
+                // track the messages for visibility heartbeats
+                if (this.isVisibilityHeartbeat()) {
+                    long now = System.nanoTime();
+                    for (Message message : messages) {
+                        this.outstandingReceipts.put(
+                            message.receiptHandle(), now);
+                    }
+                }
+
+                // enqueue the messages
+                for (Message message : messages) {
+                    // enqueue the next message for
+                    // processing -- this call may wait for
+                    // enough room in the queue
+                    this.enqueueMessages(processor, message);
                 }
+
+            } catch (SdkException e) {
+                // check if we intentionally shut down
+                // before logging/retrying
+                if (this.getState() != CONSUMING) {
+                    return;
+                }
+                if (this.handleFailure(++failureCount, null, e)) {
+                    // destroy and then return to abort consumption
+                    this.destroy();
+                    return;
+                }
+                // otherwise retry
             }
-        });
+        }
+    }
 
-        // start the thread
-        this.consumptionThread.start();
+    /**
+     * Periodically sends the coalesced deletions and extends the visibility of
+     * outstanding messages until signaled to stop.  This is run by the
+     * maintenance thread.
+     */
+    protected void maintain()
+    {
+        long interval = (this.getDeleteBatchDelay() > 0L)
+            ? this.getDeleteBatchDelay() : HEARTBEAT_CHECK_INTERVAL;
+
+        while (this.maintaining) {
+            synchronized (this.pendingDeletes) {
+                try {
+                    this.pendingDeletes.wait(interval);
+                } catch (InterruptedException ignore) {
+                    // ignore
+                }
+            }
+            this.flushDeletes();
+            if (this.isVisibilityHeartbeat()) {
+                this.extendVisibility();
+            }
+        }
+    }
+
+    /**
+     * Sends delete batch requests for all pending deletions.
+     */
+    protected void flushDeletes()
+    {
+        List<String> receipts = null;
+        synchronized (this.pendingDeletes) {
+            if (this.pendingDeletes.size() == 0) {
+                return;
+            }
+            receipts = new ArrayList<>(this.pendingDeletes);
+            this.pendingDeletes.clear();
+        }
+        for (int index = 0; index < receipts.size();
+             index += MAXIMUM_BATCH_SIZE)
+        {
+            int end = Math.min(index + MAXIMUM_BATCH_SIZE, receipts.size());
+            this.deleteMessages(receipts.subList(index, end));
+        }
+    }
+
+    /**
+     * Deletes the messages with the specified receipt handles using a single
+     * SQS delete batch request.  Any failures are logged, and the associated
+     * messages will be redelivered once their visibility times out.
+     *
+     * @param receipts The {@link List} of receipt handles for the messages
+     *                 to delete, which must not exceed {@link
+     *                 #MAXIMUM_BATCH_SIZE} in size.
+     */
+    protected void deleteMessages(List<String> receipts)
+    {
+        List<DeleteMessageBatchRequestEntry> entries
+            = new ArrayList<>(receipts.size());
+        for (String receiptHandle : receipts) {
+            entries.add(DeleteMessageBatchRequestEntry.builder()
+                .id(String.valueOf(entries.size()))
+                .receiptHandle(receiptHandle)
+                .build());
+        }
+
+        DeleteMessageBatchRequest request
+            = DeleteMessageBatchRequest.builder()
+            .queueUrl(this.getSqsUrl())
+            .entries(entries)
+            .build();
+
+        try {
+            DeleteMessageBatchResponse response
+                = sqsClient.deleteMessageBatch(request);
+
+            for (BatchResultErrorEntry error : response.failed()) {
+                logWarning("Failed to delete SQS message: " + error.id()
+                           + " / " + error.code() + " / " + error.message());
+            }
+
+        } catch (SdkException e) {
+            logWarning(e, "Failed to delete batch of "
+                       + receipts.size() + " SQS messages");
+        }
+    }
+
+    /**
+     * Extends the visibility of outstanding messages for which at least half
+     * of the {@linkplain #getVisibilityTimeout() visibility timeout} has
+     * elapsed since their visibility was last set.
+     */
+    protected void extendVisibility()
+    {
+        Integer timeout = this.getVisibilityTimeout();
+        long threshold = (timeout * 1000L * ONE_MILLION) / 2L;
+        long now = System.nanoTime();
+
+        List<String> receipts = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> iter
+            = this.outstandingReceipts.entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry<String, Long> entry = iter.next();
+            if (now - entry.getValue() < threshold) {
+                continue;
+            }
+            receipts.add(entry.getKey());
+            entry.setValue(now);
+            if (receipts.size() == MAXIMUM_BATCH_SIZE) {
+                this.changeVisibility(receipts, timeout);
+                receipts.clear();
+            }
+        }
+        if (receipts.size() > 0) {
+            this.changeVisibility(receipts, timeout);
+        }
+    }
+
+    /**
+     * Sets the visibility timeout for the messages with the specified
+     * receipt handles using a single SQS change visibility batch request.
+     * Any failures are logged.
+     *
+     * @param receipts The {@link List} of receipt handles for the messages,
+     *                 which must not exceed {@link #MAXIMUM_BATCH_SIZE} in
+     *                 size.
+     * @param timeout  The visibility timeout in seconds.
+     */
+    protected void changeVisibility(List<String> receipts, int timeout)
+    {
+        List<ChangeMessageVisibilityBatchRequestEntry> entries
+            = new ArrayList<>(receipts.size());
+        for (String receiptHandle : receipts) {
+            entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                .id(String.valueOf(entries.size()))
+                .receiptHandle(receiptHandle)
+                .visibilityTimeout(timeout)
+                .build());
+        }
+
+        ChangeMessageVisibilityBatchRequest request
+            = ChangeMessageVisibilityBatchRequest.builder()
+            .queueUrl(this.getSqsUrl())
+            .entries(entries)
+            .build();
+
+        try {
+            ChangeMessageVisibilityBatchResponse response
+                = sqsClient.changeMessageVisibilityBatch(request);
+
+            for (BatchResultErrorEntry error : response.failed()) {
+                logWarning("Failed to change SQS message visibility: "
+                           + error.id() + " / " + error.code() + " / "
+                           + error.message());
+            }
+
+        } catch (SdkException e) {
+            logWarning(e, "Failed to change visibility of "
+                       + receipts.size() + " SQS messages");
+        }
     }
 
     /**
@@ -448,7 +882,10 @@ public class SQSConsumer extends AbstractMessageConsumer<Message>
     }
 
     /**
-     * Disposes the specified {@link Message}.
+     * Disposes the specified {@link Message}.  If {@linkplain
+     * #getDeleteBatchDelay() deletions are coalesced} then the message is
+     * queued for deletion with a batch request, otherwise it is deleted
+     * immediately.
      * 
      * @param message The {@link Message} from which to extract the message
      *                body.
@@ -457,6 +894,23 @@ public class SQSConsumer extends AbstractMessageConsumer<Message>
     protected void disposeMessage(Message message)
     {
         String receiptHandle = message.receiptHandle();
+        this.outstandingReceipts.remove(receiptHandle);
+
+        // check if coalescing deletions
+        if (this.getDeleteBatchDelay() > 0L) {
+            List<String> receipts = null;
+            synchronized (this.pendingDeletes) {
+                this.pendingDeletes.add(receiptHandle);
+                if (this.pendingDeletes.size() >= MAXIMUM_BATCH_SIZE) {
+                    receipts = new ArrayList<>(this.pendingDeletes);
+                    this.pendingDeletes.clear();
+                }
+            }
+            if (receipts != null) {
+                this.deleteMessages(receipts);
+            }
+            return;
+        }
 
         DeleteMessageRequest deleteMessageRequest
                 = DeleteMessageRequest.builder()
@@ -467,29 +921,70 @@ public class SQSConsumer extends AbstractMessageConsumer<Message>
         sqsClient.deleteMessage(deleteMessageRequest);
     }
 
+    /**
+     * Overridden to stop extending the visibility of the specified failed
+     * {@link Message}.  If the visibility was being extended by {@linkplain
+     * #isVisibilityHeartbeat() heartbeats} then its visibility timeout is
+     * reset to zero (0) so that it can be received again immediately rather
+     * than after the extended timeout.
+     *
+     * @param message The {@link Message} to release for retry.
+     */
+    @Override
+    protected void retryMessage(Message message)
+    {
+        String receiptHandle = message.receiptHandle();
+        if (this.outstandingReceipts.remove(receiptHandle) != null) {
+            this.changeVisibility(List.of(receiptHandle), 0);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     protected void doDestroy()
     {
-        // join to the consumption thread
+        // join to the consumption threads
+        try {
+            List<Thread> threads = null;
+            synchronized (this) {
+                threads = new ArrayList<>(this.consumptionThreads);
+            }
+            for (Thread thread : threads) {
+                if (Thread.currentThread() != thread && thread.isAlive()) {
+                    thread.join();
+                }
+            }
+            synchronized (this) {
+                this.consumptionThreads = new ArrayList<>();
+            }
+        } catch (InterruptedException ignore) {
+            // ignore
+        }
+
+        // stop the maintenance thread
         try {
             Thread thread = null;
             synchronized (this) {
-                thread = this.consumptionThread;
+                thread = this.maintenanceThread;
+                this.maintaining = false;
+            }
+            synchronized (this.pendingDeletes) {
+                this.pendingDeletes.notifyAll();
             }
-            if (thread != null 
-                && Thread.currentThread() != thread
-                && thread.isAlive()) 
-            {
+            if (thread != null && thread.isAlive()) {
                 thread.join();
             }
             synchronized (this) {
-                this.consumptionThread = null;
+                this.maintenanceThread = null;
             }
         } catch (InterruptedException ignore) {
             // ignore
         }
+
+        // send any remaining deletions
+        this.flushDeletes();
+        this.outstandingReceipts.clear();
     }
 }
@@ -15,6 +15,9 @@ import javax.json.JsonObjectBuilder;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import static com.senzing.util.JsonUtilities.*;
 import static com.senzing.listener.service.ListenerService.State.*;
@@ -58,6 +61,39 @@ public abstract class AbstractListenerService implements ListenerService
     public static final String SCHEDULING_SERVICE_CONFIG_KEY
         = "schedulingServiceConfig";
 
+    /**
+     * The initialization parameter for the number of milliseconds that INFO
+     * messages passed to {@link #processAsync(SzInfoMessage)} are held so that
+     * the messages received in that window can be scheduled together in a
+     * single {@link TaskGroup}, scheduling one task per unique record, entity
+     * and notice rather than one per message.  Specify zero (0) to schedule
+     * each message individually.  The default value is {@link
+     * #DEFAULT_COALESCE_WINDOW}.
+     */
+    public static final String COALESCE_WINDOW_KEY = "coalesceWindow";
+
+    /**
+     * The default value for the {@link #COALESCE_WINDOW_KEY} initialization
+     * parameter.  The value is <code>{@value}</code>, which disables
+     * coalescing of messages.
+     */
+    public static final long DEFAULT_COALESCE_WINDOW = 0L;
+
+    /**
+     * The initialization parameter for the maximum number of INFO messages
+     * that will be coalesced into a single {@link TaskGroup} when the {@link
+     * #COALESCE_WINDOW_KEY} is positive.  Once this many messages have been
+     * received the group is scheduled without waiting for the window to
+     * elapse.  The default value is {@link #DEFAULT_COALESCE_LIMIT}.
+     */
+    public static final String COALESCE_LIMIT_KEY = "coalesceLimit";
+
+    /**
+     * The default value for the {@link #COALESCE_LIMIT_KEY} initialization
+     * parameter.  The value is <code>{@value}</code>.
+     */
+    public static final int DEFAULT_COALESCE_LIMIT = 100;
+
     /**
      * Enumerates the various parts of the info message that can be scheduled as
      * actions when parsed. These are used as keys in a {@link Map} provided by
@@ -189,6 +225,59 @@ public abstract class AbstractListenerService implements ListenerService
                 action, parameters, multiplicity,
                 followUpScheduler);
         }
+
+        /**
+         * Overridden to call
+         * {@link AbstractListenerService#taskPostponed(String, Map, int)} on
+         * the parent object.
+         * <p>
+         * {@inheritDoc}
+         */
+        @Override
+        public void taskPostponed(
+                String              action,
+                Map<String, Object> parameters,
+                int                 multiplicity)
+        {
+            AbstractListenerService.this.taskPostponed(
+                action, parameters, multiplicity);
+        }
+    }
+
+    /**
+     * Describes a group of INFO messages being coalesced so they are
+     * scheduled together, along with the {@link CompletableFuture} that is
+     * completed for every contributing message once the group is processed.
+     */
+    private static class CoalescedGroup
+    {
+        /**
+         * The {@link List} of {@link SzInfoMessage} instances in the group.
+         */
+        private List<SzInfoMessage> messages = new ArrayList<>();
+
+        /**
+         * The {@link CompletableFuture} that is completed when the tasks for
+         * the group have been completed.
+         */
+        private CompletableFuture<Void> future = new CompletableFuture<>();
+
+        /**
+         * The {@link System#nanoTime()} at which the group is due to be
+         * scheduled.
+         */
+        private long dueNanoTime;
+
+        /**
+         * Constructs with the {@link System#nanoTime()} at which the group is
+         * due to be scheduled.
+         *
+         * @param dueNanoTime The nano time at which the group is due.
+         */
+        private CoalescedGroup(long dueNanoTime)
+        {
+            this.dueNanoTime = dueNanoTime;
+        }
     }
 
     /**
@@ -211,6 +300,42 @@ public abstract class AbstractListenerService implements ListenerService
      */
     private TaskHandler taskHandler = null;
 
+    /**
+     * The number of milliseconds that INFO messages are held to be coalesced.
+     */
+    private long coalesceWindow = DEFAULT_COALESCE_WINDOW;
+
+    /**
+     * The maximum number of INFO messages to coalesce in a single group.
+     */
+    private int coalesceLimit = DEFAULT_COALESCE_LIMIT;
+
+    /**
+     * The {@link CoalescedGroup} that is currently accepting messages, or
+     * <code>null</code> if none.  This is guarded by {@link
+     * #coalesceMonitor}.
+     */
+    private CoalescedGroup pendingGroup = null;
+
+    /**
+     * The monitor used to guard the coalescing of messages and to notify the
+     * {@linkplain #coalesceMessages() coalescing thread}.
+     */
+    private final Object coalesceMonitor = new Object();
+
+    /**
+     * Flag indicating if the {@linkplain #coalesceMessages() coalescing
+     * thread} should keep running.  This is guarded by {@link
+     * #coalesceMonitor}.
+     */
+    private boolean coalescing = false;
+
+    /**
+     * The {@link Thread} that schedules coalesced groups once their window
+     * has elapsed, or <code>null</code> if not coalescing.
+     */
+    private Thread coalesceThread = null;
+
     /**
      * Constructs with the {@link Map} that maps {@link MessagePart} keys to
      * {@link String} action names.
@@ -274,6 +399,36 @@ public abstract class AbstractListenerService implements ListenerService
         return this.taskHandler;
     }
 
+    /**
+     * Gets the number of milliseconds that INFO messages passed to {@link
+     * #processAsync(SzInfoMessage)} are held so they can be coalesced with
+     * other messages into a single {@link TaskGroup}.  This returns zero (0)
+     * if messages are not coalesced.
+     *
+     * @return The number of milliseconds that INFO messages are held to be
+     *         coalesced, or zero (0) if messages are not coalesced.
+     *
+     * @see #COALESCE_WINDOW_KEY
+     */
+    public long getCoalesceWindow()
+    {
+        return this.coalesceWindow;
+    }
+
+    /**
+     * Gets the maximum number of INFO messages that are coalesced into a
+     * single {@link TaskGroup}.
+     *
+     * @return The maximum number of INFO messages that are coalesced into a
+     *         single {@link TaskGroup}.
+     *
+     * @see #COALESCE_LIMIT_KEY
+     */
+    public int getCoalesceLimit()
+    {
+        return this.coalesceLimit;
+    }
+
     /**
      * Creates the {@link TaskHandler} to use with the backing
      * {@link SchedulingService} for handling tasks. This is called from
@@ -366,6 +521,28 @@ public abstract class AbstractListenerService implements ListenerService
             Scheduler           followUpScheduler)
         throws ServiceExecutionException;
 
+    /**
+     * Called when the specified {@link Task} has been dequeued but postponed
+     * until the locks on its resources can be obtained so that preparation
+     * for the task can be overlapped with the handling of other tasks.  This
+     * is called while the {@link SchedulingService} holds its monitor, so
+     * implementations must not block.  The default implementation does
+     * nothing.
+     *
+     * @param action The action from the {@link Task} that was postponed.
+     * @param parameters The {@link Map} of parameters to use with the action to
+     *                   be taken.
+     * @param multiplicity The number of times an identical task has been
+     *                     scheduled thus far.
+     */
+    protected void taskPostponed(
+            String              action,
+            Map<String, Object> parameters,
+            int                 multiplicity)
+    {
+        // do nothing
+    }
+
     /**
      * Default implementation of {@link ListenerService#init(JsonObject)} that
      * initializes with the defined parameter.
@@ -395,6 +572,14 @@ public abstract class AbstractListenerService implements ListenerService
                     config = Json.createObjectBuilder().build();
                 }
 
+                // get the message coalescing options
+                this.coalesceWindow = getConfigLong(
+                    config, COALESCE_WINDOW_KEY, 0L,
+                    DEFAULT_COALESCE_WINDOW);
+                this.coalesceLimit = getConfigInteger(
+                    config, COALESCE_LIMIT_KEY, 1,
+                    DEFAULT_COALESCE_LIMIT);
+
                 // initializes the task handler
                 this.taskHandler = this.initTaskHandler(config);
 
@@ -404,6 +589,17 @@ public abstract class AbstractListenerService implements ListenerService
 
             this.doInit(config);
 
+            // start the coalescing thread if coalescing messages
+            if (this.getCoalesceWindow() > 0L) {
+                Thread thread = new Thread(() -> this.coalesceMessages());
+                thread.setDaemon(true);
+                synchronized (this.coalesceMonitor) {
+                    this.coalescing = true;
+                    this.coalesceThread = thread;
+                }
+                thread.start();
+            }
+
             this.setState(AVAILABLE);
 
         } catch (ServiceSetupException e) {
@@ -584,92 +780,286 @@ public abstract class AbstractListenerService implements ListenerService
         throws ServiceExecutionException
     {
         try {
-            // check the state
-            if (this.getState() != AVAILABLE) {
-                throw new IllegalStateException(
-                        "Cannot process messages when "
-                        + "not in the " + AVAILABLE
-                        + " state: " + state);
+            // schedule the tasks and wait for them to be completed
+            this.awaitTaskGroup(this.scheduleMessage(message));
+
+        } catch (ServiceExecutionException e) {
+            throw e;
+
+        } catch (RuntimeException e) {
+            System.err.println(
+                e.getMessage());
+            System.err.println(
+                formatStackTrace(
+                    e.getStackTrace()));
+            throw new ServiceExecutionException(e);
+        }
+    }
+
+    /**
+     * Processes the INFO message described by the specified {@link
+     * SzInfoMessage} that was parsed directly from the message body without
+     * building a {@link JsonObject}.  The tasks are scheduled via {@link
+     * #scheduleTasks(SzInfoMessage, Scheduler)}.  Subclasses that do not need
+     * the raw JSON form of the message can opt into this by implementing
+     * {@link InfoMessageProcessor}.
+     *
+     * @param message The {@link SzInfoMessage} describing the message.
+     *
+     * @throws ServiceExecutionException If a failure occurs.
+     */
+    public void process(SzInfoMessage message)
+        throws ServiceExecutionException
+    {
+        try {
+            // if coalescing then wait on the coalesced group
+            if (this.getCoalesceWindow() > 0L) {
+                this.processAsync(message).join();
+                return;
             }
 
-            // get the scheduler
-            Scheduler scheduler
-                = this.schedulingService.createScheduler();
+            // schedule the tasks and wait for them to be completed
+            this.awaitTaskGroup(this.scheduleMessage(message));
 
-            // get the task group
-            TaskGroup taskGroup
-                = scheduler.getTaskGroup();
-            if (taskGroup == null) {
-                throw new IllegalStateException(
-                    "The TaskGroup should not be null");
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ServiceExecutionException) {
+                throw ((ServiceExecutionException) cause);
             }
+            throw new ServiceExecutionException(
+                (cause instanceof Exception) ? ((Exception) cause) : e);
 
-            // schedule the tasks
-            this.scheduleTasks(message, scheduler);
-
-            // commit the scheduler tasks
-            scheduler.commit();
-
-            // wait for the tasks to be completed
-            logDebug(
-                "AWAITING COMPLETION ON "
-                + "TASK GROUP: "
-                + taskGroup.getTaskCount());
-            taskGroup.awaitCompletion();
-            logDebug(
-                "COMPLETED TASK GROUP: "
-                + taskGroup.getTaskCount());
-
-            // determine the state of the group
-            TaskGroup.State groupState
-                = taskGroup.getState();
-            logDebug(
-                "COMPLETED TASK GROUP STATE: "
-                + groupState);
-            if (groupState == TaskGroup.State.SUCCESSFUL) {
-                return;
+        } catch (ServiceExecutionException e) {
+            throw e;
+
+        } catch (RuntimeException e) {
+            System.err.println(
+                e.getMessage());
+            System.err.println(
+                formatStackTrace(
+                    e.getStackTrace()));
+            throw new ServiceExecutionException(e);
+        }
+    }
+
+    /**
+     * Waits for the specified {@link TaskGroup} to be completed and then
+     * {@linkplain #checkCompletedTaskGroup(TaskGroup) checks} its outcome.
+     *
+     * @param taskGroup The {@link TaskGroup} to wait for.
+     *
+     * @throws ServiceExecutionException If the task group did not complete
+     *                                   successfully.
+     */
+    private void awaitTaskGroup(TaskGroup taskGroup)
+        throws ServiceExecutionException
+    {
+        // wait for the tasks to be completed
+        logDebug(
+            "AWAITING COMPLETION ON "
+            + "TASK GROUP: "
+            + taskGroup.getTaskCount());
+        taskGroup.awaitCompletion();
+        logDebug(
+            "COMPLETED TASK GROUP: "
+            + taskGroup.getTaskCount());
+
+        // check the outcome of the group
+        this.checkCompletedTaskGroup(taskGroup);
+    }
+
+    /**
+     * Overridden to schedule the tasks for the message described by the
+     * specified {@link JsonObject} and return a {@link CompletableFuture} that
+     * is completed when the associated {@link TaskGroup} is completed rather
+     * than blocking the calling thread until then.  The returned future is
+     * completed exceptionally with a {@link ServiceExecutionException} if a
+     * failure occurs.
+     *
+     * @param message The {@link JsonObject} describing the message.
+     *
+     * @return The {@link CompletableFuture} that is completed when processing
+     *         of the message is complete.
+     */
+    @Override
+    public CompletableFuture<Void> processAsync(JsonObject message)
+    {
+        TaskGroup taskGroup;
+        try {
+            taskGroup = this.scheduleMessage(message);
+
+        } catch (ServiceExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+
+        } catch (RuntimeException e) {
+            System.err.println(
+                e.getMessage());
+            System.err.println(
+                formatStackTrace(
+                    e.getStackTrace()));
+            return CompletableFuture.failedFuture(
+                new ServiceExecutionException(e));
+        }
+
+        return this.toCompletionFuture(taskGroup);
+    }
+
+    /**
+     * Schedules the tasks for the INFO message described by the specified
+     * {@link SzInfoMessage} and returns a {@link CompletableFuture} that is
+     * completed when the associated {@link TaskGroup} is completed, as with
+     * {@link #processAsync(JsonObject)}.  Subclasses that do not need the raw
+     * JSON form of the message can opt into this by implementing {@link
+     * InfoMessageProcessor}.
+     * <p>
+     * If the {@linkplain #getCoalesceWindow() coalesce window} is positive
+     * then the message is held along with the other messages received in
+     * that window (up to the {@linkplain #getCoalesceLimit() coalesce limit})
+     * and they are scheduled together via {@link #scheduleMessages(List)}.
+     * The returned future is then completed when the tasks for the entire
+     * group are completed, and fails for every message in the group if any
+     * task for the group fails.
+     *
+     * @param message The {@link SzInfoMessage} describing the message.
+     *
+     * @return The {@link CompletableFuture} that is completed when processing
+     *         of the message is complete.
+     */
+    public CompletableFuture<Void> processAsync(SzInfoMessage message)
+    {
+        // check if coalescing messages
+        if (this.getCoalesceWindow() > 0L) {
+            return this.coalesceMessage(message);
+        }
+
+        TaskGroup taskGroup;
+        try {
+            taskGroup = this.scheduleMessage(message);
+
+        } catch (ServiceExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+
+        } catch (RuntimeException e) {
+            System.err.println(
+                e.getMessage());
+            System.err.println(
+                formatStackTrace(
+                    e.getStackTrace()));
+            return CompletableFuture.failedFuture(
+                new ServiceExecutionException(e));
+        }
+
+        return this.toCompletionFuture(taskGroup);
+    }
+
+    /**
+     * Adds the specified {@link SzInfoMessage} to the {@link CoalescedGroup}
+     * that is currently accepting messages, starting a new group if there is
+     * none.  If the group has reached the {@linkplain #getCoalesceLimit()
+     * coalesce limit} then it is scheduled on the calling thread, otherwise
+     * it is scheduled by the {@linkplain #coalesceMessages() coalescing
+     * thread} once the {@linkplain #getCoalesceWindow() coalesce window} has
+     * elapsed.
+     *
+     * @param message The {@link SzInfoMessage} to coalesce.
+     *
+     * @return The {@link CompletableFuture} that is completed when processing
+     *         of the group containing the message is complete.
+     */
+    private CompletableFuture<Void> coalesceMessage(SzInfoMessage message)
+    {
+        CoalescedGroup fullGroup = null;
+        CompletableFuture<Void> future = null;
+        synchronized (this.coalesceMonitor) {
+            if (!this.coalescing) {
+                return CompletableFuture.failedFuture(
+                    new ServiceExecutionException(
+                        "Cannot process messages when not in the "
+                        + AVAILABLE + " state"));
             }
 
-            // if we get here then we had a failure
-            List<Task> failedTasks
-                = taskGroup.getFailedTasks();
-            if (failedTasks.size() == 1) {
-                Exception failure
-                    = failedTasks.get(0).getFailure();
-                System.err.println(
-                    failure.getMessage());
-                System.err.println(
-                    formatStackTrace(
-                        failure.getStackTrace()));
-                if (failure instanceof ServiceExecutionException) {
-                    throw ((ServiceExecutionException)
-                        failure);
-                } else {
-                    throw new ServiceExecutionException(
-                        failure);
+            // start a new group if none is accepting messages
+            if (this.pendingGroup == null) {
+                long windowNanos = TimeUnit.MILLISECONDS.toNanos(
+                    this.getCoalesceWindow());
+                this.pendingGroup = new CoalescedGroup(
+                    System.nanoTime() + windowNanos);
+                this.coalesceMonitor.notifyAll();
+            }
+
+            // add the message to the group
+            CoalescedGroup group = this.pendingGroup;
+            group.messages.add(message);
+            future = group.future.copy();
+
+            // check if the group is full
+            if (group.messages.size() >= this.getCoalesceLimit()) {
+                fullGroup = group;
+                this.pendingGroup = null;
+            }
+        }
+
+        // schedule the group if full
+        if (fullGroup != null) {
+            this.scheduleGroup(fullGroup);
+        }
+
+        return future;
+    }
+
+    /**
+     * Schedules the {@link CoalescedGroup} instances once their {@linkplain
+     * #getCoalesceWindow() coalesce window} has elapsed until coalescing is
+     * stopped when this instance is destroyed.
+     */
+    private void coalesceMessages()
+    {
+        while (true) {
+            CoalescedGroup dueGroup = null;
+            synchronized (this.coalesceMonitor) {
+                if (!this.coalescing) {
+                    return;
                 }
-            } else {
-                StringWriter sw = new StringWriter();
-                PrintWriter pw = new PrintWriter(sw);
-
-                for (Task failedTask : failedTasks) {
-                    Exception failure
-                        = failedTask.getFailure();
-                    pw.println("--------------------"
-                        + "--------------------");
-                    pw.println(failedTask);
-                    System.err.println(
-                        failure.getMessage());
-                    System.err.println(
-                        formatStackTrace(
-                            failure.getStackTrace()));
-                    pw.println();
+                CoalescedGroup group = this.pendingGroup;
+                long remaining = (group == null) ? 0L
+                    : group.dueNanoTime - System.nanoTime();
+                if (group == null || remaining > 0L) {
+                    try {
+                        if (group == null) {
+                            this.coalesceMonitor.wait();
+                        } else {
+                            this.coalesceMonitor.wait(
+                                TimeUnit.NANOSECONDS.toMillis(remaining) + 1L);
+                        }
+                    } catch (InterruptedException ignore) {
+                        // do nothing
+                    }
+                    continue;
                 }
-                throw new ServiceExecutionException(
-                    sw.toString());
+                dueGroup = group;
+                this.pendingGroup = null;
             }
+            this.scheduleGroup(dueGroup);
+        }
+    }
+
+    /**
+     * Schedules the tasks for the messages in the specified {@link
+     * CoalescedGroup} via {@link #scheduleMessages(List)} and arranges for
+     * the future of the group to be completed when the associated {@link
+     * TaskGroup} is completed.
+     *
+     * @param group The {@link CoalescedGroup} to schedule.
+     */
+    private void scheduleGroup(CoalescedGroup group)
+    {
+        TaskGroup taskGroup;
+        try {
+            taskGroup = this.scheduleMessages(group.messages);
+
         } catch (ServiceExecutionException e) {
-            throw e;
+            group.future.completeExceptionally(e);
+            return;
 
         } catch (RuntimeException e) {
             System.err.println(
@@ -677,7 +1067,252 @@ public abstract class AbstractListenerService implements ListenerService
             System.err.println(
                 formatStackTrace(
                     e.getStackTrace()));
-            throw new ServiceExecutionException(e);
+            group.future.completeExceptionally(
+                new ServiceExecutionException(e));
+            return;
+        }
+
+        this.toCompletionFuture(taskGroup).whenComplete((result, failure) -> {
+            if (failure == null) {
+                group.future.complete(null);
+            } else if (failure instanceof CompletionException
+                       && failure.getCause() != null)
+            {
+                group.future.completeExceptionally(failure.getCause());
+            } else {
+                group.future.completeExceptionally(failure);
+            }
+        });
+    }
+
+    /**
+     * Stops the {@linkplain #coalesceMessages() coalescing thread} and fails
+     * the {@link CoalescedGroup} that is accepting messages, if any, since it
+     * can no longer be scheduled.
+     */
+    private void stopCoalescing()
+    {
+        Thread thread = null;
+        CoalescedGroup group = null;
+        synchronized (this.coalesceMonitor) {
+            thread = this.coalesceThread;
+            group = this.pendingGroup;
+            this.coalesceThread = null;
+            this.pendingGroup = null;
+            this.coalescing = false;
+            this.coalesceMonitor.notifyAll();
+        }
+        if (thread != null && Thread.currentThread() != thread) {
+            try {
+                thread.join();
+            } catch (InterruptedException ignore) {
+                // do nothing
+            }
+        }
+        if (group != null) {
+            group.future.completeExceptionally(
+                new ServiceExecutionException(
+                    "Service destroyed before the coalesced messages "
+                    + "were scheduled"));
+        }
+    }
+
+    /**
+     * Returns a {@link CompletableFuture} that is completed when the specified
+     * {@link TaskGroup} is completed, or completed exceptionally with a
+     * {@link ServiceExecutionException} if the group did not complete
+     * successfully.
+     *
+     * @param taskGroup The {@link TaskGroup} to complete on.
+     *
+     * @return The {@link CompletableFuture} for the task group.
+     */
+    private CompletableFuture<Void> toCompletionFuture(TaskGroup taskGroup)
+    {
+        return taskGroup.getCompletionFuture().thenAccept((group) -> {
+            try {
+                this.checkCompletedTaskGroup(group);
+
+            } catch (ServiceExecutionException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Creates a {@link Scheduler}, schedules and commits the tasks for the
+     * specified message and returns the associated {@link TaskGroup}.
+     *
+     * @param message The {@link JsonObject} describing the message.
+     *
+     * @return The {@link TaskGroup} for the scheduled tasks.
+     *
+     * @throws ServiceExecutionException If a failure occurs.
+     */
+    protected TaskGroup scheduleMessage(JsonObject message)
+        throws ServiceExecutionException
+    {
+        // create the scheduler and get its task group
+        Scheduler scheduler = this.createMessageScheduler();
+        TaskGroup taskGroup = scheduler.getTaskGroup();
+
+        // schedule the tasks
+        this.scheduleTasks(message, scheduler);
+
+        // commit the scheduler tasks
+        scheduler.commit();
+
+        return taskGroup;
+    }
+
+    /**
+     * Creates a {@link Scheduler}, schedules and commits the tasks for the
+     * specified parsed INFO message and returns the associated {@link
+     * TaskGroup}.
+     *
+     * @param message The {@link SzInfoMessage} describing the message.
+     *
+     * @return The {@link TaskGroup} for the scheduled tasks.
+     *
+     * @throws ServiceExecutionException If a failure occurs.
+     */
+    protected TaskGroup scheduleMessage(SzInfoMessage message)
+        throws ServiceExecutionException
+    {
+        // create the scheduler and get its task group
+        Scheduler scheduler = this.createMessageScheduler();
+        TaskGroup taskGroup = scheduler.getTaskGroup();
+
+        // schedule the tasks
+        this.scheduleTasks(message, scheduler);
+
+        // commit the scheduler tasks
+        scheduler.commit();
+
+        return taskGroup;
+    }
+
+    /**
+     * Creates a {@link Scheduler}, schedules and commits the tasks for all of
+     * the specified parsed INFO messages together via {@link
+     * #scheduleTasks(List, Scheduler)} and returns the associated {@link
+     * TaskGroup}.
+     *
+     * @param messages The {@link List} of {@link SzInfoMessage} instances
+     *                 describing the messages.
+     *
+     * @return The {@link TaskGroup} for the scheduled tasks.
+     *
+     * @throws ServiceExecutionException If a failure occurs.
+     */
+    protected TaskGroup scheduleMessages(List<SzInfoMessage> messages)
+        throws ServiceExecutionException
+    {
+        // create the scheduler and get its task group
+        Scheduler scheduler = this.createMessageScheduler();
+        TaskGroup taskGroup = scheduler.getTaskGroup();
+
+        // schedule the tasks
+        this.scheduleTasks(messages, scheduler);
+
+        // commit the scheduler tasks
+        scheduler.commit();
+
+        return taskGroup;
+    }
+
+    /**
+     * Creates the {@link Scheduler} for scheduling the tasks of a message
+     * after checking that this instance is {@linkplain State#AVAILABLE
+     * available} and that the {@link Scheduler} has a {@link TaskGroup}.
+     *
+     * @return The {@link Scheduler} for the message.
+     */
+    private Scheduler createMessageScheduler()
+    {
+        // check the state
+        if (this.getState() != AVAILABLE) {
+            throw new IllegalStateException(
+                    "Cannot process messages when "
+                    + "not in the " + AVAILABLE
+                    + " state: " + state);
+        }
+
+        // get the scheduler
+        Scheduler scheduler
+            = this.schedulingService.createScheduler();
+
+        // get the task group
+        TaskGroup taskGroup
+            = scheduler.getTaskGroup();
+        if (taskGroup == null) {
+            throw new IllegalStateException(
+                "The TaskGroup should not be null");
+        }
+
+        return scheduler;
+    }
+
+    /**
+     * Checks the state of the specified {@link TaskGroup} that has completed
+     * and throws a {@link ServiceExecutionException} describing the failed
+     * tasks if it did not complete successfully.
+     *
+     * @param taskGroup The completed {@link TaskGroup} to check.
+     *
+     * @throws ServiceExecutionException If the task group did not complete
+     *                                   successfully.
+     */
+    protected void checkCompletedTaskGroup(TaskGroup taskGroup)
+        throws ServiceExecutionException
+    {
+        // determine the state of the group
+        TaskGroup.State groupState
+            = taskGroup.getState();
+        logDebug(
+            "COMPLETED TASK GROUP STATE: "
+            + groupState);
+        if (groupState == TaskGroup.State.SUCCESSFUL) {
+            return;
+        }
+
+        // if we get here then we had a failure
+        List<Task> failedTasks
+            = taskGroup.getFailedTasks();
+        if (failedTasks.size() == 1) {
+            Exception failure
+                = failedTasks.get(0).getFailure();
+            System.err.println(
+                failure.getMessage());
+            System.err.println(
+                formatStackTrace(
+                    failure.getStackTrace()));
+            if (failure instanceof ServiceExecutionException) {
+                throw ((ServiceExecutionException)
+                    failure);
+            } else {
+                throw new ServiceExecutionException(
+                    failure);
+            }
+        } else {
+            StringWriter sw = new StringWriter();
+            PrintWriter pw = new PrintWriter(sw);
+
+            for (Task failedTask : failedTasks) {
+                Exception failure
+                    = failedTask.getFailure();
+                pw.println("--------------------"
+                    + "--------------------");
+                pw.println(failedTask);
+                System.err.println(
+                    failure.getMessage());
+                System.err.println(
+                    formatStackTrace(
+                        failure.getStackTrace()));
+                pw.println();
+            }
+            throw new ServiceExecutionException(
+                sw.toString());
         }
     }
 
@@ -775,6 +1410,131 @@ public abstract class AbstractListenerService implements ListenerService
         }
     }
 
+    /**
+     * Schedules the tasks for the specified parsed INFO message using the
+     * specified {@link Scheduler}.  This schedules the same tasks as {@link
+     * #scheduleTasks(JsonObject, Scheduler)} but works from the {@link
+     * SzInfoMessage} alone, so the raw JSON parameters passed to the handler
+     * methods are <code>null</code>.
+     *
+     * @param infoMessage The {@link SzInfoMessage} for the message.
+     * @param scheduler   The {@link Scheduler} to use for the tasks.
+     * @throws ServiceExecutionException If a failure occurs.
+     */
+    protected void scheduleTasks(
+            SzInfoMessage infoMessage,
+            Scheduler     scheduler)
+        throws ServiceExecutionException
+    {
+        // handle the record first
+        String dataSource = infoMessage.getDataSource();
+        String recordId = infoMessage.getRecordId();
+        if ((dataSource != null
+                && dataSource.trim().length() > 0)
+            && (recordId != null
+                && recordId.trim().length() > 0))
+        {
+            this.handleRecord(
+                dataSource, recordId, infoMessage,
+                null, scheduler);
+        }
+
+        // now handle the affected entities
+        for (Long entityId : infoMessage.getAffectedEntities()) {
+            this.handleAffected(
+                entityId, infoMessage, null, null, scheduler);
+        }
+
+        // now handle the interesting entities
+        for (SzInterestingEntity interesting
+            : infoMessage.getInterestingEntities())
+        {
+            this.handleInteresting(
+                interesting, infoMessage, null, null, scheduler);
+        }
+
+        // handle the notices
+        for (SzNotice notice : infoMessage.getNotices()) {
+            this.handleNotice(
+                notice, infoMessage, null, null, scheduler);
+        }
+    }
+
+    /**
+     * Schedules the tasks for all of the specified parsed INFO messages using
+     * the specified {@link Scheduler}.  Unlike calling {@link
+     * #scheduleTasks(SzInfoMessage, Scheduler)} for each message, this calls
+     * the handler methods only once for each unique record, affected entity
+     * ID, interesting entity and notice found across the messages, passing
+     * the first {@link SzInfoMessage} in which each was found.  The raw JSON
+     * parameters passed to the handler methods are <code>null</code>.
+     *
+     * @param messages  The {@link List} of {@link SzInfoMessage} instances.
+     * @param scheduler The {@link Scheduler} to use for the tasks.
+     * @throws ServiceExecutionException If a failure occurs.
+     */
+    protected void scheduleTasks(
+            List<SzInfoMessage> messages,
+            Scheduler           scheduler)
+        throws ServiceExecutionException
+    {
+        Set<List<String>> records = new HashSet<>();
+        Map<Long, SzInfoMessage> affectedMap = new LinkedHashMap<>();
+        Map<SzInterestingEntity, SzInfoMessage> interestingMap
+            = new LinkedHashMap<>();
+        Map<SzNotice, SzInfoMessage> noticeMap = new LinkedHashMap<>();
+
+        for (SzInfoMessage infoMessage : messages) {
+            // handle each unique record
+            String dataSource = infoMessage.getDataSource();
+            String recordId = infoMessage.getRecordId();
+            if ((dataSource != null
+                    && dataSource.trim().length() > 0)
+                && (recordId != null
+                    && recordId.trim().length() > 0)
+                && records.add(List.of(dataSource, recordId)))
+            {
+                this.handleRecord(
+                    dataSource, recordId, infoMessage,
+                    null, scheduler);
+            }
+
+            // collect the unique affected entities
+            for (Long entityId : infoMessage.getAffectedEntities()) {
+                affectedMap.putIfAbsent(entityId, infoMessage);
+            }
+
+            // collect the unique interesting entities
+            for (SzInterestingEntity interesting
+                : infoMessage.getInterestingEntities())
+            {
+                interestingMap.putIfAbsent(interesting, infoMessage);
+            }
+
+            // collect the unique notices
+            for (SzNotice notice : infoMessage.getNotices()) {
+                noticeMap.putIfAbsent(notice, infoMessage);
+            }
+        }
+
+        // now handle the affected entities
+        this.handleAffectedEntities(affectedMap, scheduler);
+
+        // now handle the interesting entities
+        for (Map.Entry<SzInterestingEntity, SzInfoMessage> entry
+            : interestingMap.entrySet())
+        {
+            this.handleInteresting(
+                entry.getKey(), entry.getValue(), null, null, scheduler);
+        }
+
+        // handle the notices
+        for (Map.Entry<SzNotice, SzInfoMessage> entry : noticeMap.entrySet()) {
+            this.handleNotice(
+                entry.getKey(), entry.getValue(), null, null, scheduler);
+        }
+    }
+
     /**
      * Returns the {@link String} action identifier for the specified
      * {@link MessagePart}. The default implementation of this uses the {@link
@@ -877,6 +1637,29 @@ public abstract class AbstractListenerService implements ListenerService
                 .schedule();
     }
 
+    /**
+     * This method is called by {@link #scheduleTasks(List, Scheduler)} with
+     * the unique affected entity IDs found across a group of INFO messages.
+     * The default implementation calls {@link #handleAffected(long,
+     * SzInfoMessage, JsonObject, JsonObject, Scheduler)} for each entity ID,
+     * but this may be overridden to schedule tasks that handle several
+     * affected entities at once.
+     *
+     * @param affectedMap The {@link Map} of {@link Long} entity ID keys to
+     *                    the first {@link SzInfoMessage} in which each was
+     *                    found.
+     * @param scheduler The {@link Scheduler} to be used to schedule the tasks.
+     */
+    protected void handleAffectedEntities(
+            Map<Long, SzInfoMessage>    affectedMap,
+            Scheduler                   scheduler)
+    {
+        for (Map.Entry<Long, SzInfoMessage> entry : affectedMap.entrySet()) {
+            this.handleAffected(
+                entry.getKey(), entry.getValue(), null, null, scheduler);
+        }
+    }
+
     /**
      * This method is called for each element in the
      * <code>INTERESTING_ENTITIES</code> found in an INFO message. If
@@ -1037,6 +1820,9 @@ public abstract class AbstractListenerService implements ListenerService
             this.setState(DESTROYING);
         }
 
+        // stop coalescing messages
+        this.stopCoalescing();
+
         // destroy the scheduling service
         this.schedulingService.destroy();
 
@@ -0,0 +1,54 @@
+package com.senzing.listener.service;
+
+import com.senzing.listener.service.exception.ServiceExecutionException;
+import com.senzing.listener.service.model.SzInfoMessage;
+import com.senzing.listener.service.model.SzInfoMessageParser;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Extends {@link MessageProcessor} for processors that can process an INFO
+ * message from its parsed {@link SzInfoMessage} form alone.  Message
+ * consumers that are given an instance of this interface parse message
+ * bodies directly into {@link SzInfoMessage} instances using {@link
+ * SzInfoMessageParser} rather than building {@link javax.json.JsonObject}
+ * trees, and call {@link #process(SzInfoMessage)} or {@link
+ * #processAsync(SzInfoMessage)} instead of the {@link javax.json.JsonObject}
+ * variants.
+ */
+public interface InfoMessageProcessor extends MessageProcessor
+{
+  /**
+   * This method is called by the consumer. Processes the parsed INFO message
+   * passed to the service from the consumer.
+   *
+   * @param message The {@link SzInfoMessage} to process.
+   *
+   * @throws ServiceExecutionException If a failure occurs.
+   */
+  void process(SzInfoMessage message) throws ServiceExecutionException;
+
+  /**
+   * Begins processing the parsed INFO message passed to the service from the
+   * consumer and returns a {@link CompletableFuture} that is completed when
+   * processing is complete, or completed exceptionally if processing fails.
+   * The default implementation calls {@link #process(SzInfoMessage)} on the
+   * calling thread and returns an already-completed {@link
+   * CompletableFuture}.
+   *
+   * @param message The {@link SzInfoMessage} to process.
+   *
+   * @return The {@link CompletableFuture} that is completed when processing
+   *         of the message is complete.
+   */
+  default CompletableFuture<Void> processAsync(SzInfoMessage message)
+  {
+    try {
+      this.process(message);
+      return CompletableFuture.completedFuture(null);
+
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.senzing.listener.service;
 import com.senzing.listener.service.exception.ServiceExecutionException;
 
 import javax.json.JsonObject;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Defines an interface for a {@link MessageProcessor} that can process messages
@@ -19,4 +20,29 @@ public interface MessageProcessor
    * @throws ServiceExecutionException If a failure occurs.
    */
   void process(JsonObject message) throws ServiceExecutionException;
+
+  /**
+   * Begins processing the message passed to the service from the consumer and
+   * returns a {@link CompletableFuture} that is completed when processing is
+   * complete, or completed exceptionally if processing fails.  The default
+   * implementation calls {@link #process(JsonObject)} on the calling thread
+   * and returns an already-completed {@link CompletableFuture}.
+   * Implementations that can complete processing without blocking the calling
+   * thread should override this method.
+   *
+   * @param message The message to process.
+   *
+   * @return The {@link CompletableFuture} that is completed when processing
+   *         of the message is complete.
+   */
+  default CompletableFuture<Void> processAsync(JsonObject message)
+  {
+    try {
+      this.process(message);
+      return CompletableFuture.completedFuture(null);
+
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
 }
@@ -0,0 +1,554 @@
+package com.senzing.listener.service.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Parses raw Senzing INFO messages (or JSON arrays of them) directly from
+ * their JSON text or bytes into {@link SzInfoMessage} instances in a single
+ * streaming pass using the Jackson streaming API.  This produces the same
+ * result as {@link SzInfoMessage#fromRawJson(String)} without first building
+ * an intermediate {@link javax.json.JsonObject} tree and without walking it
+ * a second time.  JSON properties that are not part of the {@link
+ * SzInfoMessage} model are skipped without being materialized.
+ */
+public final class SzInfoMessageParser
+{
+    /**
+     * The shared thread-safe {@link JsonFactory} used to create parsers.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Private default constructor.
+     */
+    private SzInfoMessageParser()
+    {
+        // do nothing
+    }
+
+    /**
+     * Parses the specified JSON text describing either a single raw INFO
+     * message JSON object or a JSON array of raw INFO message objects.
+     *
+     * @param jsonText The JSON text to parse.
+     *
+     * @return The <b>unmodifiable</b> {@link List} of {@link SzInfoMessage}
+     *         instances in the order they were found in the JSON.
+     *
+     * @throws NullPointerException If the specified parameter is
+     *                              <code>null</code>.
+     *
+     * @throws IllegalArgumentException If the specified text is not valid JSON
+     *                                  or does not contain the required JSON
+     *                                  properties.
+     */
+    public static List<SzInfoMessage> parse(String jsonText)
+        throws NullPointerException, IllegalArgumentException
+    {
+        if (jsonText == null) {
+            throw new NullPointerException(
+                "The specified JSON text cannot be null");
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(jsonText)) {
+            return parse(parser);
+
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                "The specified text is not valid JSON: " + jsonText, e);
+        }
+    }
+
+    /**
+     * Parses the specified UTF-8 encoded JSON bytes describing either a single
+     * raw INFO message JSON object or a JSON array of raw INFO message objects.
+     *
+     * @param jsonBytes The UTF-8 encoded JSON bytes to parse.
+     *
+     * @return The <b>unmodifiable</b> {@link List} of {@link SzInfoMessage}
+     *         instances in the order they were found in the JSON.
+     *
+     * @throws NullPointerException If the specified parameter is
+     *                              <code>null</code>.
+     *
+     * @throws IllegalArgumentException If the specified bytes are not valid
+     *                                  JSON or do not contain the required JSON
+     *                                  properties.
+     */
+    public static List<SzInfoMessage> parse(byte[] jsonBytes)
+        throws NullPointerException, IllegalArgumentException
+    {
+        if (jsonBytes == null) {
+            throw new NullPointerException(
+                "The specified JSON bytes cannot be null");
+        }
+        return parse(jsonBytes, 0, jsonBytes.length);
+    }
+
+    /**
+     * Parses the specified range of the specified UTF-8 encoded JSON bytes
+     * describing either a single raw INFO message JSON object or a JSON array
+     * of raw INFO message objects.
+     *
+     * @param jsonBytes The array containing the UTF-8 encoded JSON bytes.
+     * @param offset    The offset of the first byte to parse.
+     * @param length    The number of bytes to parse.
+     *
+     * @return The <b>unmodifiable</b> {@link List} of {@link SzInfoMessage}
+     *         instances in the order they were found in the JSON.
+     *
+     * @throws NullPointerException If the specified array is
+     *                              <code>null</code>.
+     *
+     * @throws IllegalArgumentException If the specified bytes are not valid
+     *                                  JSON or do not contain the required JSON
+     *                                  properties.
+     */
+    public static List<SzInfoMessage> parse(byte[]  jsonBytes,
+                                            int     offset,
+                                            int     length)
+        throws NullPointerException, IllegalArgumentException
+    {
+        if (jsonBytes == null) {
+            throw new NullPointerException(
+                "The specified JSON bytes cannot be null");
+        }
+        try (JsonParser parser
+                = JSON_FACTORY.createParser(jsonBytes, offset, length))
+        {
+            return parse(parser);
+
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                "The specified bytes are not valid JSON.", e);
+        }
+    }
+
+    /**
+     * Parses the INFO message or array of INFO messages from the specified
+     * {@link JsonParser}, ensuring no content follows the root JSON value.
+     *
+     * @param parser The {@link JsonParser} to read from.
+     *
+     * @return The <b>unmodifiable</b> {@link List} of {@link SzInfoMessage}
+     *         instances.
+     *
+     * @throws IOException If the JSON is not valid.
+     */
+    private static List<SzInfoMessage> parse(JsonParser parser)
+        throws IOException
+    {
+        List<SzInfoMessage> result = null;
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            result = List.of(parseInfoMessage(parser));
+
+        } else if (token == JsonToken.START_ARRAY) {
+            result = new ArrayList<>();
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                expectObject(parser, token);
+                result.add(parseInfoMessage(parser));
+            }
+            result = Collections.unmodifiableList(result);
+
+        } else {
+            throw new IllegalArgumentException(
+                "Expected a JSON object or array of JSON objects, but found: "
+                + token);
+        }
+
+        // ensure nothing follows the root value
+        token = parser.nextToken();
+        if (token != null) {
+            throw new IllegalArgumentException(
+                "Unexpected JSON content following the root value: " + token);
+        }
+        return result;
+    }
+
+    /**
+     * Parses a raw INFO message from the specified {@link JsonParser} which
+     * must be positioned on the {@link JsonToken#START_OBJECT} token.
+     *
+     * @param parser The {@link JsonParser} to read from.
+     *
+     * @return The parsed {@link SzInfoMessage}.
+     *
+     * @throws IOException If the JSON is not valid.
+     */
+    private static SzInfoMessage parseInfoMessage(JsonParser parser)
+        throws IOException
+    {
+        boolean                     hasDataSource   = false;
+        boolean                     hasRecordId     = false;
+        String                      dataSource      = null;
+        String                      recordId        = null;
+        List<Long>                  affected        = null;
+        List<SzInterestingEntity>   entities        = null;
+        List<SzNotice>              notices         = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String      name    = parser.currentName();
+            JsonToken   token   = parser.nextToken();
+            switch (name) {
+                case SzInfoMessage.RAW_DATA_SOURCE_KEY:
+                    hasDataSource = true;
+                    dataSource = readString(parser, token);
+                    break;
+                case SzInfoMessage.RAW_RECORD_ID_KEY:
+                    hasRecordId = true;
+                    recordId = readString(parser, token);
+                    break;
+                case SzInfoMessage.RAW_AFFECTED_ENTITIES_KEY:
+                    affected = parseAffectedEntities(parser, token);
+                    break;
+                case SzInfoMessage.RAW_INTERESTING_ENTITIES_KEY:
+                    if (token != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        break;
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String partName = parser.currentName();
+                        token = parser.nextToken();
+                        if (SzInfoMessage.RAW_ENTITIES_KEY.equals(partName)) {
+                            entities = parseInterestingEntities(parser, token);
+                        } else if (SzInfoMessage.RAW_NOTICES_KEY.equals(
+                                       partName))
+                        {
+                            notices = parseNotices(parser, token);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        if (!hasDataSource || !hasRecordId) {
+            throw new IllegalArgumentException(
+                "The specified JSON must contain the \""
+                + SzInfoMessage.RAW_DATA_SOURCE_KEY + "\" and \""
+                + SzInfoMessage.RAW_RECORD_ID_KEY + "\" properties.");
+        }
+
+        return new SzInfoMessage(
+            dataSource, recordId, affected, entities, notices);
+    }
+
+    /**
+     * Parses the entity IDs from the raw <code>AFFECTED_ENTITIES</code> array
+     * whose opening token is specified.
+     *
+     * @param parser The {@link JsonParser} to read from.
+     * @param token  The current {@link JsonToken}.
+     *
+     * @return The {@link List} of entity IDs, or <code>null</code> if the
+     *         value is not an array.
+     *
+     * @throws IOException If the JSON is not valid.
+     */
+    private static List<Long> parseAffectedEntities(JsonParser  parser,
+                                                    JsonToken   token)
+        throws IOException
+    {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<Long> result = new ArrayList<>();
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            expectObject(parser, token);
+            Long entityId = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                token = parser.nextToken();
+                if (SzInfoMessage.RAW_ENTITY_ID_KEY.equals(name)) {
+                    entityId = readLong(parser, token);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            result.add(entityId);
+        }
+        return result;
+    }
+
+    /**
+     * Parses the elements of the raw <code>ENTITIES</code> array of interesting
+     * entities whose opening token is specified.
+     *
+     * @param parser The {@link JsonParser} to read from.
+     * @param token  The current {@link JsonToken}.
+     *
+     * @return The {@link List} of {@link SzInterestingEntity} instances, or
+     *         <code>null</code> if the value is not an array.
+     *
+     * @throws IOException If the JSON is not valid.
+     */
+    private static List<SzInterestingEntity> parseInterestingEntities(
+            JsonParser  parser,
+            JsonToken   token)
+        throws IOException
+    {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<SzInterestingEntity> result = new ArrayList<>();
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            expectObject(parser, token);
+            boolean              hasEntityId    = false;
+            boolean              hasDegrees     = false;
+            Long                 entityId       = null;
+            Integer              degrees        = null;
+            List<String>         flags          = null;
+            List<SzSampleRecord> samples        = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                token = parser.nextToken();
+                switch (name) {
+                    case SzInterestingEntity.RAW_ENTITY_ID_KEY:
+                        hasEntityId = true;
+                        entityId = readLong(parser, token);
+                        break;
+                    case SzInterestingEntity.RAW_DEGREES_KEY:
+                        hasDegrees = true;
+                        Long value = readLong(parser, token);
+                        degrees = (value == null) ? null : value.intValue();
+                        break;
+                    case SzInterestingEntity.RAW_FLAGS_KEY:
+                        flags = readStrings(parser, token);
+                        break;
+                    case SzInterestingEntity.RAW_SAMPLE_RECORDS_KEY:
+                        samples = parseSampleRecords(parser, token);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            if (!hasEntityId || !hasDegrees) {
+                throw new IllegalArgumentException(
+                    "The specified JSON must contain the \""
+                    + SzInterestingEntity.RAW_ENTITY_ID_KEY + "\" and \""
+                    + SzInterestingEntity.RAW_DEGREES_KEY
+                    + "\" properties for each interesting entity.");
+            }
+            result.add(new SzInterestingEntity(
+                entityId, degrees, flags, samples));
+        }
+        return result;
+    }
+
+    /**
+     * Parses the elements of the raw <code>SAMPLE_RECORDS</code> array whose
+     * opening token is specified.
+     *
+     * @param parser The {@link JsonParser} to read from.
+     * @param token  The current {@link JsonToken}.
+     *
+     * @return The {@link List} of {@link SzSampleRecord} instances, or
+     *         <code>null</code> if the value is not an array.
+     *
+     * @throws IOException If the JSON is not valid.
+     */
+    private static List<SzSampleRecord> parseSampleRecords(JsonParser  parser,
+                                                           JsonToken   token)
+        throws IOException
+    {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<SzSampleRecord> result = new ArrayList<>();
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            expectObject(parser, token);
+            boolean         hasDataSource   = false;
+            boolean         hasRecordId     = false;
+            String          dataSource      = null;
+            String          recordId        = null;
+            List<String>    flags           = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                token = parser.nextToken();
+                switch (name) {
+                    case SzSampleRecord.RAW_DATA_SOURCE_KEY:
+                        hasDataSource = true;
+                        dataSource = readString(parser, token);
+                        break;
+                    case SzSampleRecord.RAW_RECORD_ID_KEY:
+                        hasRecordId = true;
+                        recordId = readString(parser, token);
+                        break;
+                    case SzSampleRecord.RAW_FLAGS_KEY:
+                        flags = readStrings(parser, token);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            if (!hasDataSource || !hasRecordId) {
+                throw new IllegalArgumentException(
+                    "The specified JSON must contain the \""
+                    + SzSampleRecord.RAW_DATA_SOURCE_KEY + "\" and \""
+                    + SzSampleRecord.RAW_RECORD_ID_KEY
+                    + "\" properties for each sample record.");
+            }
+            result.add(new SzSampleRecord(dataSource, recordId, flags));
+        }
+        return result;
+    }
+
+    /**
+     * Parses the elements of the raw <code>NOTICES</code> array whose opening
+     * token is specified.
+     *
+     * @param parser The {@link JsonParser} to read from.
+     * @param token  The current {@link JsonToken}.
+     *
+     * @return The {@link List} of {@link SzNotice} instances, or
+     *         <code>null</code> if the value is not an array.
+     *
+     * @throws IOException If the JSON is not valid.
+     */
+    private static List<SzNotice> parseNotices(JsonParser parser,
+                                               JsonToken  token)
+        throws IOException
+    {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<SzNotice> result = new ArrayList<>();
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            expectObject(parser, token);
+            boolean hasCode     = false;
+            String  code        = null;
+            String  description = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                token = parser.nextToken();
+                if (SzNotice.RAW_CODE_KEY.equals(name)) {
+                    hasCode = true;
+                    code = readString(parser, token);
+                } else if (SzNotice.RAW_DESCRIPTION_KEY.equals(name)) {
+                    description = readString(parser, token);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (!hasCode) {
+                throw new IllegalArgumentException(
+                    "The specified JSON must at least contain the \""
+                    + SzNotice.RAW_CODE_KEY + "\" property for each notice.");
+            }
+            result.add(new SzNotice(code, description));
+        }
+        return result;
+    }
+
+    /**
+     * Ensures the specified {@link JsonToken} starts a JSON object.
+     *
+     * @param parser The {@link JsonParser} being read.
+     * @param token  The {@link JsonToken} to check.
+     *
+     * @throws IllegalArgumentException If the token does not start a JSON
+     *                                  object.
+     */
+    private static void expectObject(JsonParser parser, JsonToken token)
+        throws IllegalArgumentException
+    {
+        if (token != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException(
+                "Expected a JSON object but found " + token + " at "
+                + parser.currentLocation());
+        }
+    }
+
+    /**
+     * Reads the scalar value at the specified {@link JsonToken} as a {@link
+     * String}, skipping it and returning <code>null</code> if it is a JSON
+     * <code>null</code>, object or array.
+     *
+     * @param parser The {@link JsonParser} to read from.
+     * @param token  The current {@link JsonToken}.
+     *
+     * @return The {@link String} value, or <code>null</code>.
+     *
+     * @throws IOException If the JSON is not valid.
+     */
+    private static String readString(JsonParser parser, JsonToken token)
+        throws IOException
+    {
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return (token == JsonToken.VALUE_NULL) ? null : parser.getText();
+    }
+
+    /**
+     * Reads the numeric value at the specified {@link JsonToken} as a {@link
+     * Long}, skipping it and returning <code>null</code> if it is a JSON
+     * <code>null</code>, object or array.
+     *
+     * @param parser The {@link JsonParser} to read from.
+     * @param token  The current {@link JsonToken}.
+     *
+     * @return The {@link Long} value, or <code>null</code>.
+     *
+     * @throws IOException If the JSON is not valid.
+     *
+     * @throws IllegalArgumentException If the value is not a number.
+     */
+    private static Long readLong(JsonParser parser, JsonToken token)
+        throws IOException, IllegalArgumentException
+    {
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isNumeric()) {
+            throw new IllegalArgumentException(
+                "Expected a numeric value but found " + token + " at "
+                + parser.currentLocation());
+        }
+        return parser.getLongValue();
+    }
+
+    /**
+     * Reads the array of strings at the specified {@link JsonToken}, skipping
+     * it and returning <code>null</code> if it is not an array.
+     *
+     * @param parser The {@link JsonParser} to read from.
+     * @param token  The current {@link JsonToken}.
+     *
+     * @return The {@link List} of {@link String} values, or <code>null</code>.
+     *
+     * @throws IOException If the JSON is not valid.
+     */
+    private static List<String> readStrings(JsonParser parser, JsonToken token)
+        throws IOException
+    {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<String> result = new ArrayList<>();
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            result.add(readString(parser, token));
+        }
+        return result;
+    }
+}
@@ -7,6 +7,7 @@ import com.senzing.sql.SQLUtilities;
 import com.senzing.text.TextUtilities;
 import com.senzing.sql.ConnectionProvider;
 
+import javax.json.Json;
 import javax.json.JsonObject;
 import javax.naming.NameNotFoundException;
 import java.sql.*;
@@ -14,6 +15,7 @@ import java.time.Instant;
 import java.util.*;
 
 import static com.senzing.listener.service.ServiceUtilities.getConfigBoolean;
+import static com.senzing.listener.service.ServiceUtilities.getConfigLong;
 import static com.senzing.listener.service.ServiceUtilities.getConfigString;
 import static com.senzing.sql.SQLUtilities.close;
 import static com.senzing.sql.SQLUtilities.rollback;
@@ -37,6 +39,11 @@ public abstract class AbstractSQLSchedulingService
     private static final Calendar UTC_CALENDAR 
         = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
 
+    /**
+     * The number of nanoseconds in a millisecond.
+     */
+    private static final long ONE_MILLION = 1000000L;
+
     /**
      * The initialization parameter key for checking if the persistent store of
      * follow-up tasks should be dropped / deleted and recreated during
@@ -51,6 +58,35 @@ public abstract class AbstractSQLSchedulingService
      */
     public static final String CONNECTION_PROVIDER_KEY = "connectionProvider";
 
+    /**
+     * The initialization parameter key for the number of milliseconds that
+     * follow-up tasks may be held in memory before being written to the
+     * database.  Follow-up tasks that are dequeued for handling within this
+     * time never touch the database.  Those still pending once this time has
+     * elapsed, or when the service is destroyed, are written to the database.
+     * Follow-up tasks held in memory are <b>not</b> crash-safe, so this should
+     * be kept short.  If not configured then the value is set to {@link
+     * #DEFAULT_FOLLOW_UP_MEMORY_HORIZON} which disables the in-memory tier.  If
+     * the value is specified it should be non-negative.
+     */
+    public static final String FOLLOW_UP_MEMORY_HORIZON_KEY
+        = "followUpMemoryHorizon";
+
+    /**
+     * The default number of milliseconds that follow-up tasks may be held in
+     * memory before being written to the database.  The default value of zero
+     * (0) disables the in-memory tier so all follow-up tasks are written to the
+     * database when scheduled.
+     */
+    public static final long DEFAULT_FOLLOW_UP_MEMORY_HORIZON = 0L;
+
+    /**
+     * The prefix for the {@linkplain ScheduledTask#getFollowUpId() follow-up
+     * ID} of follow-up tasks that were dequeued from memory rather than the
+     * database.
+     */
+    protected static final String MEMORY_FOLLOW_UP_PREFIX = "memory:";
+
     /**
      * The number of expired follow-up tasks.
      */
@@ -66,6 +102,99 @@ public abstract class AbstractSQLSchedulingService
      */
     private DatabaseType databaseType = null;
 
+    /**
+     * The object used for synchronizing access to the persistent follow-up
+     * task store so that it does not contend with the scheduler monitor.
+     */
+    private final Object followUpMonitor = new Object();
+
+    /**
+     * The maximum number of task ID's to bind in a single <code>IN</code> list
+     * when deleting completed follow-up tasks.
+     */
+    protected static final int DELETE_CHUNK_SIZE = 500;
+
+    /**
+     * The {@link Set} of {@linkplain ScheduledTask#getFollowUpId() follow-up
+     * ID's} (task ID and lease ID) for completed follow-up tasks that are
+     * awaiting deletion from persistent storage.  This is synchronized on
+     * itself rather than the {@linkplain #getFollowUpMonitor() follow-up
+     * monitor} so that completing threads can add to it while another thread
+     * is deleting a batch.
+     */
+    private final Set<String> pendingCompletions = new LinkedHashSet<>();
+
+    /**
+     * The number of milliseconds that follow-up tasks may be held in memory
+     * before being written to the database.
+     */
+    private long followUpMemoryHorizon = DEFAULT_FOLLOW_UP_MEMORY_HORIZON;
+
+    /**
+     * The {@link Map} of keys to {@link MemoryFollowUp} instances describing
+     * the follow-up tasks held in memory in the order they were created.
+     * Collapsible follow-up tasks are keyed by their signature.  This is
+     * synchronized on the {@linkplain #getFollowUpMonitor() follow-up
+     * monitor}.
+     */
+    private final Map<String, MemoryFollowUp> memoryFollowUps
+        = new LinkedHashMap<>();
+
+    /**
+     * The {@link Map} of follow-up ID's to {@link MemoryFollowUp} instances
+     * for the in-memory follow-up tasks that have been dequeued but not yet
+     * completed.  This is synchronized on the {@linkplain
+     * #getFollowUpMonitor() follow-up monitor}.
+     */
+    private final Map<String, MemoryFollowUp> memoryLeasedFollowUps
+        = new LinkedHashMap<>();
+
+    /**
+     * The sequence number for generating follow-up ID's for the in-memory
+     * follow-up tasks that are dequeued.
+     */
+    private long memoryFollowUpSequence = 0L;
+
+    /**
+     * Describes a follow-up task held in memory.
+     */
+    private static class MemoryFollowUp
+    {
+        /**
+         * The follow-up {@link Task}.
+         */
+        private Task task;
+
+        /**
+         * The multiplicity of the follow-up task.
+         */
+        private int multiplicity;
+
+        /**
+         * The nanosecond timestamp when the follow-up was first created.
+         */
+        private long createdNanos;
+
+        /**
+         * The nanosecond timestamp when the follow-up was last modified due to
+         * collapsing a duplicate.
+         */
+        private long modifiedNanos;
+
+        /**
+         * Constructs with the specified {@link Task}.
+         *
+         * @param task The follow-up {@link Task}.
+         */
+        private MemoryFollowUp(Task task)
+        {
+            this.task = task;
+            this.multiplicity = 1;
+            this.createdNanos = System.nanoTime();
+            this.modifiedNanos = this.createdNanos;
+        }
+    }
+
     /**
      * Default constructor.
      */
@@ -90,6 +219,20 @@ public abstract class AbstractSQLSchedulingService
         return this.connectionProvider.getConnection();
     }
 
+    /**
+     * Gets the {@link Object} to synchronize on when reading or modifying the
+     * persistent follow-up tasks.  This is distinct from the scheduler
+     * monitor so that producers persisting follow-up tasks do not block the
+     * dispatching of pending tasks.
+     *
+     * @return The {@link Object} to synchronize on when accessing the
+     *         persistent follow-up tasks.
+     */
+    protected final Object getFollowUpMonitor()
+    {
+        return this.followUpMonitor;
+    }
+
     /**
      * Executes a list of SQL statements within a single transaction.
      *
@@ -120,6 +263,21 @@ public abstract class AbstractSQLSchedulingService
         }
     }
 
+    /**
+     * Overridden to also disable the {@link #CLEAN_DATABASE_KEY} for the
+     * additional dispatcher shards so they do not drop the schema that this
+     * instance has already created and shares with them.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    protected JsonObject initShardConfig(JsonObject config, int concurrency)
+    {
+        JsonObject shardConfig = super.initShardConfig(config, concurrency);
+        return Json.createObjectBuilder(shardConfig)
+            .add(CLEAN_DATABASE_KEY, false).build();
+    }
+
     /**
      * Overridden to obtain the {@link ConnectionProvider}.
      *
@@ -151,6 +309,13 @@ public abstract class AbstractSQLSchedulingService
                     + providerKey);
             }
 
+            // get the in-memory follow-up horizon
+            this.followUpMemoryHorizon = getConfigLong(
+                config,
+                FOLLOW_UP_MEMORY_HORIZON_KEY,
+                0L,
+                DEFAULT_FOLLOW_UP_MEMORY_HORIZON);
+
             // set the database type
             this.databaseType = this.initDatabaseType();
 
@@ -204,12 +369,32 @@ public abstract class AbstractSQLSchedulingService
     protected abstract void ensureSchema(boolean recreate) throws SQLException;
 
     /**
-     * Overridden to do nothing.
+     * Gets the number of milliseconds that follow-up tasks may be held in
+     * memory before being written to the database.  If zero (0) then the
+     * in-memory tier is disabled.
+     *
+     * @return The number of milliseconds that follow-up tasks may be held in
+     *         memory before being written to the database.
+     *
+     * @see #FOLLOW_UP_MEMORY_HORIZON_KEY
+     */
+    public long getFollowUpMemoryHorizon()
+    {
+        return this.followUpMemoryHorizon;
+    }
+
+    /**
+     * Overridden to write any follow-up tasks held in memory to the database.
      */
     @Override
     protected void doDestroy()
     {
-        // do nothing
+        try {
+            this.spillMemoryFollowUps(true);
+
+        } catch (ServiceExecutionException e) {
+            logError(e, "FAILED TO PERSIST IN-MEMORY FOLLOW-UP TASKS");
+        }
     }
 
     /**
@@ -240,7 +425,14 @@ public abstract class AbstractSQLSchedulingService
 
             // read the result
             rs.next();
-            return rs.getLong(1);
+            long count = rs.getLong(1);
+
+            // add the follow-up tasks held in memory
+            synchronized (this.getFollowUpMonitor()) {
+                count += this.memoryFollowUps.size();
+                count += this.memoryLeasedFollowUps.size();
+            }
+            return count;
             
         } catch (Exception e) {
             logWarning(e, "Failed to get follow-up task count");
@@ -258,37 +450,421 @@ public abstract class AbstractSQLSchedulingService
      * persistent store.
      */
     @Override
-    protected synchronized void enqueueFollowUpTask(Task task) 
+    protected void enqueueFollowUpTask(Task task) 
         throws ServiceExecutionException 
     {
-        Connection conn = null;
-        boolean success = false;
+        // check if using the in-memory tier
+        if (this.getFollowUpMemoryHorizon() > 0L) {
+            this.enqueueFollowUpTasks(Collections.singletonList(task));
+            return;
+        }
+
+        synchronized (this.getFollowUpMonitor()) {
+            Connection conn = null;
+            boolean success = false;
+            try {
+                // obtain the connection
+                conn = this.getConnection();
+
+                // update the multiplicity if a collapsible row exists
+                boolean updated = task.isAllowingCollapse()
+                    && this.incrementFollowUpMultiplicity(conn, task);
+                // check if we updated a row
+                if (!updated) {
+                    // insert a new row since none was updated
+                    this.insertNewFollowUpTask(conn, task);
+                }
+
+                // commit the connection
+                conn.commit();
+                success = true;
+
+            } catch (SQLException e) {
+                System.err.println(e.getMessage());
+                System.err.println(formatStackTrace(e.getStackTrace()));
+                throw new ServiceExecutionException("JDBC failure occurred", e);
+
+            } finally {
+                if (!success) {
+                    rollback(conn);
+                }
+                conn = close(conn);
+            }
+        }
+    }
+
+    /**
+     * Overridden to persist all the specified follow-up tasks in a single
+     * transaction.  Duplicate collapsible tasks are first collapsed in memory
+     * by signature.  The multiplicities of any existing collapsible rows are
+     * then incremented with one JDBC batch and the remaining tasks are
+     * inserted with a second JDBC batch.  The transaction is committed before
+     * returning so the follow-up tasks are durable before the task that
+     * scheduled them is completed.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    protected void enqueueFollowUpTasks(List<Task> tasks)
+        throws ServiceExecutionException
+    {
+        // check for the trivial case
+        if (tasks.size() == 0) {
+            return;
+        }
+
+        // check if using the in-memory tier
+        if (this.getFollowUpMemoryHorizon() > 0L) {
+            synchronized (this.getFollowUpMonitor()) {
+                for (Task task : tasks) {
+                    this.addMemoryFollowUp(task);
+                }
+                this.spillMemoryFollowUps(false);
+            }
+            return;
+        }
+
+        // collapse duplicate tasks in memory by signature
+        Map<String, Task> signatureMap = new LinkedHashMap<>();
+        Map<Task, Integer> multiplicities = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            if (!task.isAllowingCollapse()) {
+                multiplicities.put(task, 1);
+                continue;
+            }
+            Task first = signatureMap.get(task.getSignature());
+            if (first == null) {
+                signatureMap.put(task.getSignature(), task);
+                multiplicities.put(task, 1);
+            } else {
+                multiplicities.put(first, multiplicities.get(first) + 1);
+            }
+        }
+
+        this.persistFollowUpTasks(multiplicities);
+    }
+
+    /**
+     * Persists the specified follow-up tasks to the database in a single
+     * transaction.  The multiplicities of any existing collapsible rows are
+     * incremented with one JDBC batch and the remaining tasks are inserted
+     * with a second JDBC batch.
+     *
+     * @param tasks The {@link Map} of distinct follow-up {@link Task}
+     *              instances to their multiplicities.
+     *
+     * @throws ServiceExecutionException If a failure occurs.
+     */
+    protected void persistFollowUpTasks(Map<Task, Integer> tasks)
+        throws ServiceExecutionException
+    {
+        // separate the collapsible from non-collapsible tasks
+        Map<Task, Integer> collapsible = new LinkedHashMap<>();
+        Map<Task, Integer> inserts = new LinkedHashMap<>();
+        tasks.forEach((task, multiplicity) -> {
+            if (task.isAllowingCollapse()) {
+                collapsible.put(task, multiplicity);
+            } else {
+                inserts.put(task, multiplicity);
+            }
+        });
+
+        synchronized (this.getFollowUpMonitor()) {
+            Connection conn = null;
+            boolean success = false;
+            try {
+                // obtain the connection
+                conn = this.getConnection();
+
+                // update the multiplicity of any existing rows
+                List<Task> missing
+                    = this.incrementFollowUpMultiplicities(conn, collapsible);
+
+                // insert new rows for those that were not updated
+                Map<Task, Integer> newRows = new LinkedHashMap<>();
+                for (Task task : missing) {
+                    newRows.put(task, collapsible.get(task));
+                }
+                newRows.putAll(inserts);
+                this.insertNewFollowUpTasks(conn, newRows);
+
+                // commit the connection
+                conn.commit();
+                success = true;
+
+            } catch (SQLException e) {
+                System.err.println(e.getMessage());
+                System.err.println(formatStackTrace(e.getStackTrace()));
+                throw new ServiceExecutionException("JDBC failure occurred", e);
+
+            } finally {
+                if (!success) {
+                    rollback(conn);
+                }
+                conn = close(conn);
+            }
+        }
+    }
+
+    /**
+     * Adds the specified follow-up {@link Task} to the in-memory tier,
+     * collapsing it with an existing in-memory follow-up task with the same
+     * signature if both allow collapse.  This must be called while holding
+     * the {@linkplain #getFollowUpMonitor() follow-up monitor}.
+     *
+     * @param task The follow-up {@link Task} to add.
+     */
+    protected void addMemoryFollowUp(Task task)
+    {
+        if (!task.isAllowingCollapse()) {
+            this.memoryFollowUps.put("#" + task.getTaskId(),
+                                     new MemoryFollowUp(task));
+            return;
+        }
+
+        MemoryFollowUp followUp = this.memoryFollowUps.get(task.getSignature());
+        if (followUp == null) {
+            this.memoryFollowUps.put(task.getSignature(),
+                                     new MemoryFollowUp(task));
+        } else {
+            followUp.multiplicity++;
+            followUp.modifiedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Writes the in-memory follow-up tasks that have been held longer than
+     * the {@linkplain #getFollowUpMemoryHorizon() memory horizon} to the
+     * database.  If <code>all</code> is <code>true</code> then all in-memory
+     * follow-up tasks that have not been completed are written to the
+     * database, including those that have been dequeued.  The in-memory
+     * follow-up tasks are only removed once they have been persisted.
+     *
+     * @param all <code>true</code> if all the in-memory follow-up tasks
+     *            should be written, otherwise <code>false</code>.
+     *
+     * @throws ServiceExecutionException If a failure occurs.
+     */
+    protected void spillMemoryFollowUps(boolean all)
+        throws ServiceExecutionException
+    {
+        synchronized (this.getFollowUpMonitor()) {
+            long now = System.nanoTime();
+            long horizonNanos = this.getFollowUpMemoryHorizon() * ONE_MILLION;
+
+            // find the follow-up tasks to spill (oldest first)
+            Map<Task, Integer> spills = new LinkedHashMap<>();
+            List<String> spillKeys = new ArrayList<>();
+            for (Map.Entry<String, MemoryFollowUp> entry
+                 : this.memoryFollowUps.entrySet())
+            {
+                MemoryFollowUp followUp = entry.getValue();
+                if (!all && (now - followUp.createdNanos) < horizonNanos) {
+                    break;
+                }
+                spills.put(followUp.task, followUp.multiplicity);
+                spillKeys.add(entry.getKey());
+            }
+            if (all) {
+                for (MemoryFollowUp followUp
+                     : this.memoryLeasedFollowUps.values())
+                {
+                    spills.put(followUp.task, followUp.multiplicity);
+                }
+            }
+
+            if (spills.size() == 0) {
+                return;
+            }
+
+            // persist them and then remove them from memory
+            this.persistFollowUpTasks(spills);
+            for (String key : spillKeys) {
+                this.memoryFollowUps.remove(key);
+            }
+            if (all) {
+                this.memoryLeasedFollowUps.clear();
+            }
+        }
+    }
+
+    /**
+     * Dequeues at most the specified number of in-memory follow-up tasks that
+     * are ready to be handled.  This must be called while holding the
+     * {@linkplain #getFollowUpMonitor() follow-up monitor}.
+     *
+     * @param count The maximum number of follow-up tasks to dequeue.
+     *
+     * @return The {@link List} of dequeued {@link ScheduledTask} instances.
+     */
+    protected List<ScheduledTask> dequeueMemoryFollowUps(int count)
+    {
+        List<ScheduledTask> result = new ArrayList<>();
+        if (this.memoryFollowUps.size() == 0) {
+            return result;
+        }
+
+        // forego the follow-up delay if there are no other tasks
+        int taskCount
+            = this.getPendingTaskCount()
+            + this.getPostponedTaskCount();
+        long delayNanos = (taskCount == 0)
+            ? 0L : (this.getFollowUpDelay() * ONE_MILLION);
+        long timeoutNanos = this.getFollowUpTimeout() * ONE_MILLION;
+
+        long now = System.nanoTime();
+        Iterator<MemoryFollowUp> iter
+            = this.memoryFollowUps.values().iterator();
+        while (iter.hasNext() && result.size() < count) {
+            MemoryFollowUp followUp = iter.next();
+            if ((now - followUp.modifiedNanos) < delayNanos
+                && (now - followUp.createdNanos) < timeoutNanos)
+            {
+                continue;
+            }
+            iter.remove();
+
+            String followUpId
+                = MEMORY_FOLLOW_UP_PREFIX + (this.memoryFollowUpSequence++);
+            long elapsedMillis = (now - followUp.createdNanos) / ONE_MILLION;
+            long expiration
+                = System.currentTimeMillis() + this.getFollowUpLeaseTime();
+
+            result.add(new ScheduledTask(followUp.task.toJsonText(),
+                                         followUpId,
+                                         followUp.multiplicity,
+                                         expiration,
+                                         elapsedMillis));
+
+            this.memoryLeasedFollowUps.put(followUpId, followUp);
+        }
+        return result;
+    }
+
+    /**
+     * Increments the multiplicities for the specified collapsible follow-up
+     * tasks in the database using a single JDBC batch.  Each task's row is
+     * incremented by the associated multiplicity if it exists.  This returns
+     * the {@link List} of {@link Task} instances for which no row existed.
+     *
+     * @param conn  The {@link Connection} to use to connect to the database.
+     * @param tasks The {@link Map} of distinct {@link Task} instances to the
+     *              amount by which to increment their multiplicity.
+     * @return The {@link List} of {@link Task} instances whose rows did not
+     *         exist and were therefore not updated.
+     * @throws SQLException If a JDBC failure occurs.
+     */
+    protected List<Task> incrementFollowUpMultiplicities(
+            Connection          conn,
+            Map<Task, Integer>  tasks)
+        throws SQLException
+    {
+        List<Task> result = new ArrayList<>(tasks.size());
+        if (tasks.size() == 0) {
+            return result;
+        }
+
+        PreparedStatement ps = null;
         try {
-            // obtain the connection
-            conn = this.getConnection();
+            // prepare the statement
+            ps = conn.prepareStatement(
+                "UPDATE sz_follow_up_tasks "
+                + "SET multiplicity "
+                + "= multiplicity + ? "
+                + "WHERE signature = ? "
+                + "AND allow_collapse_flag = 1 "
+                + "AND expire_lease_at IS NULL "
+                + "AND task_id = ("
+                + "SELECT MAX(task_id) "
+                + "FROM sz_follow_up_tasks "
+                + "WHERE signature = ? "
+                + "AND allow_collapse_flag = 1 "
+                + "AND expire_lease_at IS NULL)");
 
-            // update the multiplicity if the row exists
-            boolean updated = this.incrementFollowUpMultiplicity(conn, task);
-            // check if we updated a row
-            if (!updated) {
-                // insert a new row since none was updated
-                this.insertNewFollowUpTask(conn, task);
+            List<Task> taskList = new ArrayList<>(tasks.keySet());
+            for (Task task : taskList) {
+                ps.setInt(1, tasks.get(task));
+                ps.setString(2, task.getSignature());
+                ps.setString(3, task.getSignature());
+                ps.addBatch();
             }
 
-            // commit the connection
-            conn.commit();
-            success = true;
+            int[] rowCounts = ps.executeBatch();
+
+            for (int index = 0; index < rowCounts.length; index++) {
+                Task task = taskList.get(index);
+                int rowCount = rowCounts[index];
+                if (rowCount == 0) {
+                    result.add(task);
+                } else if (rowCount < 0) {
+                    throw new SQLException(
+                        "Update count not available for "
+                        + "follow-up task: " + rowCount);
+                } else if (rowCount > 1) {
+                    logError(
+                        "MULTIPLE ROWS UPDATED "
+                        + "FOR FOLLOW-UP TASK: ",
+                        task);
+                    throw new IllegalStateException(
+                        "Somehow updated multiple "
+                        + "rows when updating task "
+                        + "multiplicity.  task=[ "
+                        + task + " ]");
+                }
+            }
 
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            System.err.println(formatStackTrace(e.getStackTrace()));
-            throw new ServiceExecutionException("JDBC failure occurred", e);
+            return result;
 
         } finally {
-            if (!success) {
-                rollback(conn);
+            ps = close(ps);
+        }
+    }
+
+    /**
+     * Inserts new follow-up tasks in the database schema using a single JDBC
+     * batch.
+     *
+     * @param conn  The {@link Connection} to use to connect to the database.
+     * @param tasks The {@link Map} of {@link Task} instances describing the
+     *              rows to insert to their initial multiplicity.
+     * @throws SQLException If a JDBC failure occurs.
+     */
+    protected void insertNewFollowUpTasks(
+            Connection          conn,
+            Map<Task, Integer>  tasks)
+        throws SQLException
+    {
+        if (tasks.size() == 0) {
+            return;
+        }
+
+        PreparedStatement ps = null;
+        try {
+            ps = conn.prepareStatement(
+                "INSERT INTO sz_follow_up_tasks ("
+                + "signature, allow_collapse_flag, "
+                + "multiplicity, json_text) VALUES (?, ?, ?, ?)");
+
+            for (Map.Entry<Task, Integer> entry : tasks.entrySet()) {
+                Task task = entry.getKey();
+                ps.setString(1, task.getSignature());
+                ps.setInt(2, (task.isAllowingCollapse() ? 1 : 0));
+                ps.setInt(3, entry.getValue());
+                ps.setString(4, task.toJsonText());
+                ps.addBatch();
             }
-            conn = close(conn);
+
+            int[] rowCounts = ps.executeBatch();
+
+            for (int rowCount : rowCounts) {
+                if (rowCount != 1 && rowCount != Statement.SUCCESS_NO_INFO) {
+                    throw new SQLException(
+                        "Unexpected row count on "
+                        + "insert: " + rowCount);
+                }
+            }
+        } finally {
+            ps = close(ps);
         }
     }
 
@@ -459,64 +1035,67 @@ public abstract class AbstractSQLSchedulingService
      * @throws ServiceExecutionException If a failure occurs.
      */
     @Override
-    protected synchronized List<ScheduledTask> dequeueFollowUpTasks(int count)
+    protected List<ScheduledTask> dequeueFollowUpTasks(int count)
         throws ServiceExecutionException 
     {
-        Connection conn = null;
-        boolean success = false;
-        try {
-            // get a connection
-            conn = this.getConnection();
-
-            // first release any expired leases
-            int released = this.releaseExpiredLeases(conn);
-
-            if (released > 0) {
-                synchronized (this.getStatisticsMonitor()) {
-                    // System.err.println("EXPIRED LEASE ON " + rowCount + "
-                    // FOLLOW UP TASKS");
-                    this.totalExpiredFollowUpTaskCount += released;
-                }
+        synchronized (this.getFollowUpMonitor()) {
+            // write any follow-ups held in memory too long to the database
+            this.spillMemoryFollowUps(false);
+
+            // dequeue the in-memory follow-up tasks first
+            List<ScheduledTask> memoryTasks
+                = this.dequeueMemoryFollowUps(count);
+            if (memoryTasks.size() >= count) {
+                return memoryTasks;
             }
 
-            // generate a unique lease ID
-            String leaseId = this.generateLeaseId();
-
-            // lease the follow-up tasks
-            int leasedCount = this.leaseFollowUpTasks(conn, count, leaseId);
-            // this.dumpFollowUpTable();
+            Connection conn = null;
+            boolean success = false;
+            try {
+                // get a connection
+                conn = this.getConnection();
+
+                // first release any expired leases
+                int released = this.releaseExpiredLeases(conn);
+
+                if (released > 0) {
+                    synchronized (this.getStatisticsMonitor()) {
+                        // System.err.println("EXPIRED LEASE ON " + rowCount + "
+                        // FOLLOW UP TASKS");
+                        this.totalExpiredFollowUpTaskCount += released;
+                    }
+                }
 
-            // check if no rows were updated
-            if (leasedCount == 0) {
-                return new ArrayList<>(0);
-            }
+                // generate a unique lease ID
+                String leaseId = this.generateLeaseId();
 
-            // now get the leased rows
-            List<ScheduledTask> result
-                = this.getLeasedFollowUpTasks(
-                    conn, leaseId);
+                // lease the follow-up tasks and get the leased rows
+                List<ScheduledTask> result = this.leaseAndGetFollowUpTasks(
+                    conn, count - memoryTasks.size(), leaseId);
+                result.addAll(0, memoryTasks);
 
-            // commit the transaction
-            conn.commit();
-            success = true;
+                // commit the transaction
+                conn.commit();
+                success = true;
 
-            // return the result list
-            return result;
+                // return the result list
+                return result;
 
-        } catch (SQLException e) {
-            throw new ServiceExecutionException(
-                "Failed to dequeue follow-up "
-                + "task", e);
+            } catch (SQLException e) {
+                throw new ServiceExecutionException(
+                    "Failed to dequeue follow-up "
+                    + "task", e);
 
-        } finally {
-            if (!success) {
-                try {
-                    rollback(conn);
-                } catch (Exception suppress) {
-                    // do nothing if we cannot rollback
+            } finally {
+                if (!success) {
+                    try {
+                        rollback(conn);
+                    } catch (Exception suppress) {
+                        // do nothing if we cannot rollback
+                    }
                 }
+                conn = close(conn);
             }
-            conn = close(conn);
         }
     }
 
@@ -565,6 +1144,40 @@ public abstract class AbstractSQLSchedulingService
         }
     }
 
+    /**
+     * Marks the specified number of unleased follow-up tasks as leased with the
+     * specified lease ID and returns the {@link List} of {@link ScheduledTask}
+     * instances describing the leased follow-up tasks.  The default
+     * implementation calls {@link #leaseFollowUpTasks(Connection, int, String)}
+     * and then {@link #getLeasedFollowUpTasks(Connection, String)}.  Database
+     * specific implementations may override this to do both in a single round
+     * trip.
+     *
+     * @param conn    The {@link Connection} to use.
+     * @param limit   The upper-limit on the number of follow-up tasks to lease.
+     * @param leaseId The lease ID to use for marking the tasks as leased.
+     * @return The {@link List} of {@link ScheduledTask} instances describing
+     *             the leased follow-up tasks.
+     * @throws SQLException If a JDBC failure occurs.
+     */
+    protected List<ScheduledTask> leaseAndGetFollowUpTasks(
+            Connection  conn,
+            int         limit,
+            String      leaseId)
+        throws SQLException
+    {
+        // lease the follow-up tasks
+        int leasedCount = this.leaseFollowUpTasks(conn, limit, leaseId);
+
+        // check if no rows were updated
+        if (leasedCount == 0) {
+            return new ArrayList<>(0);
+        }
+
+        // now get the leased rows
+        return this.getLeasedFollowUpTasks(conn, leaseId);
+    }
+
     /**
      * Marks the specified number of unleased follow-up tasks as leased with the
      * specified lease ID using the specified {@link Connection}.
@@ -578,46 +1191,85 @@ public abstract class AbstractSQLSchedulingService
     protected int leaseFollowUpTasks(Connection conn, int limit, String leaseId)
         throws SQLException 
     {
-        DatabaseType dbType = this.getDatabaseType();
-
         PreparedStatement ps = null;
         try {
-            // count the non-follow-up tasks
-            int taskCount
-                = this.getPendingTaskCount()
-                + this.getPostponedTaskCount();
-            if (taskCount == 0) {
-                logDebug(
-                    "FOLLOW-UP LEASE: Foregoing"
-                    + " full follow-up delay"
-                    + " since it appears there"
-                    + " are no other tasks to"
-                    + " handle.");
-            }
-            long followUpOffset
-                = (taskCount == 0)
-                ? 0L
-                : this.getFollowUpDelay();
-
-            // don't be too aggressive on expiring leases
-            long now = System.currentTimeMillis();
-            long delayMillis = now - followUpOffset;
-            long timeoutMillis = now - this.getFollowUpTimeout();
-            Timestamp delayTime = new Timestamp(delayMillis);
-            Timestamp timeoutTime = new Timestamp(timeoutMillis);
+            ps = this.prepareLeaseStatement(conn, limit, leaseId, "", "");
 
-            // now let's lease some new follow up tasks
-            ps = conn.prepareStatement(
-                "UPDATE sz_follow_up_tasks " 
-                + "SET lease_id = ?, " 
-                + "expire_lease_at = " + dbType.getTimestampBindingSQL() + " "
-                + "WHERE task_id IN (SELECT task_id FROM sz_follow_up_tasks "
-                + "WHERE lease_id IS NULL AND expire_lease_at IS NULL " 
-                + "AND (modified_on < " + dbType.getTimestampBindingSQL() + " " 
-                + "OR created_on < " + dbType.getTimestampBindingSQL() + ") " 
-                + "ORDER BY created_on " 
-                + "LIMIT ?)");
+            // execute the update and return the number of affected rows
+            return ps.executeUpdate();
 
+        } finally {
+            ps = close(ps);
+        }
+    }
+
+    /**
+     * Prepares the statement that marks the specified number of unleased
+     * follow-up tasks as leased with the specified lease ID and binds its
+     * parameters.  The specified lock clause is appended to the sub-query that
+     * selects the candidate rows (e.g.: <code>FOR UPDATE SKIP LOCKED</code>)
+     * and the specified returning clause is appended to the update statement
+     * (e.g.: <code>RETURNING ...</code>).
+     *
+     * @param conn            The {@link Connection} to use.
+     * @param limit           The upper-limit on the number of follow-up tasks
+     *                        to lease.
+     * @param leaseId         The lease ID to use for marking the tasks as
+     *                        leased.
+     * @param lockClause      The clause to append to the candidate sub-query,
+     *                        or an empty string if none.
+     * @param returningClause The clause to append to the update statement, or
+     *                        an empty string if none.
+     * @return The {@link PreparedStatement} that was prepared.
+     * @throws SQLException If a JDBC failure occurs.
+     */
+    protected PreparedStatement prepareLeaseStatement(
+            Connection  conn,
+            int         limit,
+            String      leaseId,
+            String      lockClause,
+            String      returningClause)
+        throws SQLException
+    {
+        DatabaseType dbType = this.getDatabaseType();
+
+        // count the non-follow-up tasks
+        int taskCount
+            = this.getPendingTaskCount()
+            + this.getPostponedTaskCount();
+        if (taskCount == 0) {
+            logDebug(
+                "FOLLOW-UP LEASE: Foregoing"
+                + " full follow-up delay"
+                + " since it appears there"
+                + " are no other tasks to"
+                + " handle.");
+        }
+        long followUpOffset
+            = (taskCount == 0)
+            ? 0L
+            : this.getFollowUpDelay();
+
+        // don't be too aggressive on expiring leases
+        long now = System.currentTimeMillis();
+        long delayMillis = now - followUpOffset;
+        long timeoutMillis = now - this.getFollowUpTimeout();
+        Timestamp delayTime = new Timestamp(delayMillis);
+        Timestamp timeoutTime = new Timestamp(timeoutMillis);
+
+        // now let's lease some new follow up tasks
+        PreparedStatement ps = conn.prepareStatement(
+            "UPDATE sz_follow_up_tasks " 
+            + "SET lease_id = ?, " 
+            + "expire_lease_at = " + dbType.getTimestampBindingSQL() + " "
+            + "WHERE task_id IN (SELECT task_id FROM sz_follow_up_tasks "
+            + "WHERE lease_id IS NULL AND expire_lease_at IS NULL " 
+            + "AND (modified_on < " + dbType.getTimestampBindingSQL() + " " 
+            + "OR created_on < " + dbType.getTimestampBindingSQL() + ") " 
+            + "ORDER BY created_on " 
+            + "LIMIT ? " + lockClause + ") " + returningClause);
+
+        try {
             long leaseExpire = now + (2 * this.getFollowUpTimeout());
             Timestamp expireTime = new Timestamp(leaseExpire);
 
@@ -627,11 +1279,11 @@ public abstract class AbstractSQLSchedulingService
             dbType.setTimestamp(ps, 4, timeoutTime);
             ps.setInt(5, limit);
 
-            // execute the update and return the number of affected rows
-            return ps.executeUpdate();
+            return ps;
 
-        } finally {
+        } catch (SQLException e) {
             ps = close(ps);
+            throw e;
         }
     }
 
@@ -665,31 +1317,10 @@ public abstract class AbstractSQLSchedulingService
 
             ps.setString(1, leaseId);
 
-            int fetchCount = this.getFollowUpFetchCount();
-            List<ScheduledTask> result = new ArrayList<>(fetchCount);
             rs = ps.executeQuery();
-            while (rs.next()) {
-                long taskId = rs.getLong(1);
-                Timestamp expTime = rs.getTimestamp(2, UTC_CALENDAR);
-                int multiplicity = rs.getInt(3);
-                String jsonText = rs.getString(4);
-                Timestamp createdOn = rs.getTimestamp(5, UTC_CALENDAR);
-
-                String followUpId = taskId + ":" + leaseId;
-                long now = System.currentTimeMillis();
-                long elapsedSinceCreation = now - createdOn.getTime();
-
-                ScheduledTask task = new ScheduledTask(jsonText, 
-                                                       followUpId,
-                                                       multiplicity,
-                                                       expTime.getTime(),
-                                                       elapsedSinceCreation);
-
-                result.add(task);
-            }
 
             // return the result list
-            return result;
+            return this.readLeasedFollowUpTasks(rs, leaseId);
 
         } finally {
             rs = close(rs);
@@ -697,6 +1328,79 @@ public abstract class AbstractSQLSchedulingService
         }
     }
 
+    /**
+     * Reads the {@link List} of {@link ScheduledTask} instances describing
+     * the leased follow-up tasks from the specified {@link ResultSet}.  The
+     * columns of the {@link ResultSet} must be the task ID, lease expiration
+     * timestamp, multiplicity, JSON text and creation timestamp in that order.
+     *
+     * @param rs      The {@link ResultSet} to read from.
+     * @param leaseId The lease ID of the follow-up tasks.
+     * @return The {@link List} of {@link ScheduledTask} instances describing
+     *             the leased follow-up tasks.
+     * @throws SQLException If a JDBC failure occurs.
+     */
+    protected List<ScheduledTask> readLeasedFollowUpTasks(
+            ResultSet   rs,
+            String      leaseId)
+        throws SQLException
+    {
+        int fetchCount = this.getFollowUpFetchCount();
+        List<ScheduledTask> result = new ArrayList<>(fetchCount);
+        while (rs.next()) {
+            long taskId = rs.getLong(1);
+            Timestamp expTime = rs.getTimestamp(2, UTC_CALENDAR);
+            int multiplicity = rs.getInt(3);
+            String jsonText = rs.getString(4);
+            Timestamp createdOn = rs.getTimestamp(5, UTC_CALENDAR);
+
+            String followUpId = taskId + ":" + leaseId;
+            long now = System.currentTimeMillis();
+            long elapsedSinceCreation = now - createdOn.getTime();
+
+            ScheduledTask task = new ScheduledTask(jsonText, 
+                                                   followUpId,
+                                                   multiplicity,
+                                                   expTime.getTime(),
+                                                   elapsedSinceCreation);
+
+            result.add(task);
+        }
+
+        // return the result list
+        return result;
+    }
+
+    /**
+     * Gets the task ID of the persisted follow-up task from the specified
+     * {@linkplain ScheduledTask#getFollowUpId() follow-up ID}, which has the
+     * form <code>[task-id]:[lease-id]</code>.  This must not be called for
+     * follow-up tasks that were dequeued from memory.
+     *
+     * @param followUpId The follow-up ID of the persisted follow-up task.
+     * @return The task ID of the persisted follow-up task.
+     */
+    protected static long getFollowUpTaskId(String followUpId)
+    {
+        int index = followUpId.indexOf(":");
+        return Long.parseLong(followUpId.substring(0, index));
+    }
+
+    /**
+     * Gets the lease ID of the persisted follow-up task from the specified
+     * {@linkplain ScheduledTask#getFollowUpId() follow-up ID}, which has the
+     * form <code>[task-id]:[lease-id]</code>.  This must not be called for
+     * follow-up tasks that were dequeued from memory.
+     *
+     * @param followUpId The follow-up ID of the persisted follow-up task.
+     * @return The lease ID under which the follow-up task was dequeued.
+     */
+    protected static String getFollowUpLeaseId(String followUpId)
+    {
+        int index = followUpId.indexOf(":");
+        return followUpId.substring(index + 1);
+    }
+
     /**
      * Creates a virtually unique lease ID.
      *
@@ -713,56 +1417,80 @@ public abstract class AbstractSQLSchedulingService
 
     /**
      * Implemented to renew the lease on the specified tasks as well as any
-     * others that were dequeued with the same lease.
+     * others that were dequeued with the same lease.  Follow-up tasks that
+     * were dequeued from memory only have their expiration extended.
      *
      * {@inheritDoc}
      */
-    protected synchronized void renewFollowUpTasks(List<ScheduledTask> tasks)
+    protected void renewFollowUpTasks(List<ScheduledTask> tasks)
         throws ServiceExecutionException 
     {
-        Connection conn = null;
-        boolean success = false;
-        try {
-            conn = this.getConnection();
+        synchronized (this.getFollowUpMonitor()) {
+            long now = System.currentTimeMillis();
+            long leaseExpire = now + (2 * this.getFollowUpTimeout());
 
-            Set<String> leaseIdSet = new LinkedHashSet<>();
+            // in-memory follow-up tasks have no lease in the database
+            List<ScheduledTask> leasedTasks = new ArrayList<>(tasks.size());
             for (ScheduledTask task : tasks) {
-                String followUpId = task.getFollowUpId();
+                if (task.getFollowUpId().startsWith(MEMORY_FOLLOW_UP_PREFIX)) {
+                    task.setFollowUpExpiration(leaseExpire);
+                } else {
+                    leasedTasks.add(task);
+                }
+            }
+            if (leasedTasks.size() == 0) {
+                return;
+            }
+            tasks = leasedTasks;
 
-                int index = followUpId.indexOf(":");
-                String leaseId = followUpId.substring(index + 1);
+            Connection conn = null;
+            boolean success = false;
+            try {
+                conn = this.getConnection();
 
-                leaseIdSet.add(leaseId);
-            }
+                Set<String> leaseIdSet = new LinkedHashSet<>();
+                for (ScheduledTask task : tasks) {
+                    String followUpId = task.getFollowUpId();
 
-            long now = System.currentTimeMillis();
-            long leaseExpire = now + (2 * this.getFollowUpTimeout());
-            Timestamp expireTime = new Timestamp(leaseExpire);
+                    int index = followUpId.indexOf(":");
+                    String leaseId = followUpId.substring(index + 1);
 
-            int updateCount
-                = this.updateLeaseExpiration(
-                    conn, expireTime, leaseIdSet);
+                    leaseIdSet.add(leaseId);
+                }
 
-            if (updateCount != tasks.size()) {
-                logWarning("WARNING: Renewed lease on " + updateCount 
-                    + " follow-up tasks when expected to update "
-                    + tasks.size() + " follow-up tasks: " + leaseIdSet);
-            }
+                Timestamp expireTime = new Timestamp(leaseExpire);
 
-            // commit the change
-            conn.commit();
-            success = true;
+                int updateCount
+                    = this.updateLeaseExpiration(
+                        conn, expireTime, leaseIdSet);
 
-        } catch (SQLException e) {
-            throw new ServiceExecutionException(
-                "Failed to enqueue follow-up "
-                + "task", e);
+                // other tasks sharing the same leases may also be renewed
+                if (updateCount < tasks.size()) {
+                    logWarning("WARNING: Renewed lease on " + updateCount 
+                        + " follow-up tasks when expected to update at least "
+                        + tasks.size() + " follow-up tasks: " + leaseIdSet);
+                }
 
-        } finally {
-            if (!success) {
-                rollback(conn);
+                // commit the change
+                conn.commit();
+                success = true;
+
+                // update the expiration on the renewed tasks
+                for (ScheduledTask task : tasks) {
+                    task.setFollowUpExpiration(leaseExpire);
+                }
+
+            } catch (SQLException e) {
+                throw new ServiceExecutionException(
+                    "Failed to enqueue follow-up "
+                    + "task", e);
+
+            } finally {
+                if (!success) {
+                    rollback(conn);
+                }
+                conn = close(conn);
             }
-            conn = close(conn);
         }
     }
 
@@ -824,80 +1552,169 @@ public abstract class AbstractSQLSchedulingService
 
     /**
      * Implemented to delete the specified follow-up task from persistent
-     * storage.
+     * storage.  Completions from concurrent worker threads are coalesced: the
+     * task ID is first added to the pending completions and then whichever
+     * thread next obtains the {@linkplain #getFollowUpMonitor() follow-up
+     * monitor} deletes all the pending completions with a statement for each
+     * lease under which they were dequeued.  A row is only deleted while it
+     * still holds that lease, so a row whose lease expired and was leased
+     * again (possibly folding in newly scheduled follow-up work) is left for
+     * its new holder.  This method does not return until the specified task
+     * has been deleted.
+     * Follow-up tasks that were dequeued from memory are simply discarded.
      *
      * {@inheritDoc}
      */
-    protected synchronized void completeFollowUpTask(ScheduledTask task)
+    protected void completeFollowUpTask(ScheduledTask task)
         throws ServiceExecutionException 
     {
-        Connection conn = null;
-        boolean success = false;
-        try {
-            conn = this.getConnection();
+        String followUpId = task.getFollowUpId();
+
+        // in-memory follow-up tasks were never persisted
+        if (followUpId.startsWith(MEMORY_FOLLOW_UP_PREFIX)) {
+            synchronized (this.getFollowUpMonitor()) {
+                if (this.memoryLeasedFollowUps.remove(followUpId) == null) {
+                    logWarning("WARNING: Follow-up task "
+                               + "was already completed: ", task);
+                }
+            }
+            return;
+        }
 
-            boolean deleted = this.deleteFollowUpTask(conn, task);
+        synchronized (this.pendingCompletions) {
+            this.pendingCompletions.add(followUpId);
+        }
 
-            if (!deleted) {
-                logWarning(
-                    "WARNING: Follow-up task "
-                    + "was already completed: ",
-                    task);
+        synchronized (this.getFollowUpMonitor()) {
+            List<String> followUpIds = null;
+            synchronized (this.pendingCompletions) {
+                // check if another thread already deleted this task
+                if (!this.pendingCompletions.contains(followUpId)) {
+                    return;
+                }
+                followUpIds = new ArrayList<>(this.pendingCompletions);
+                this.pendingCompletions.clear();
             }
 
-            // commit the transaction
-            conn.commit();
-            success = true;
+            // group the task ID's by the lease they were dequeued under
+            Map<String, List<Long>> leaseTaskIds = new LinkedHashMap<>();
+            for (String id : followUpIds) {
+                String leaseId = getFollowUpLeaseId(id);
+                List<Long> taskIds = leaseTaskIds.get(leaseId);
+                if (taskIds == null) {
+                    taskIds = new ArrayList<>();
+                    leaseTaskIds.put(leaseId, taskIds);
+                }
+                taskIds.add(getFollowUpTaskId(id));
+            }
 
-        } catch (SQLException e) {
-            throw new ServiceExecutionException(
-                "Failed to delete completed follow-up task", e);
+            Connection conn = null;
+            boolean success = false;
+            try {
+                conn = this.getConnection();
+
+                int deleted = 0;
+                for (Map.Entry<String, List<Long>> entry
+                     : leaseTaskIds.entrySet())
+                {
+                    deleted += this.deleteFollowUpTasks(
+                        conn, entry.getKey(), entry.getValue());
+                }
 
-        } finally {
-            if (!success) {
-                rollback(conn);
+                // commit the transaction
+                conn.commit();
+                success = true;
+
+                if (deleted < followUpIds.size()) {
+                    if (followUpIds.size() == 1) {
+                        logWarning(
+                            "WARNING: Follow-up task "
+                            + "was already completed or "
+                            + "its lease expired: ",
+                            task);
+                    } else {
+                        logWarning(
+                            "WARNING: " + (followUpIds.size() - deleted)
+                            + " of " + followUpIds.size() + " follow-up "
+                            + "tasks were already completed or "
+                            + "their leases expired: ",
+                            followUpIds);
+                    }
+                }
+
+            } catch (SQLException e) {
+                throw new ServiceExecutionException(
+                    "Failed to delete completed follow-up task", e);
+
+            } finally {
+                if (!success) {
+                    rollback(conn);
+
+                    // leave the completions to be retried -- the retry
+                    // only deletes rows that still hold the same lease
+                    synchronized (this.pendingCompletions) {
+                        this.pendingCompletions.addAll(followUpIds);
+                    }
+                }
+                conn = close(conn);
             }
-            conn = close(conn);
         }
     }
 
     /**
-     * Deletes a follow-up task (typically once it hqs been completed). This is
-     * called from the default {@link #completeFollowUpTask(ScheduledTask)}
-     * implementation.
+     * Deletes the follow-up tasks with the specified task ID's that are still
+     * leased with the specified lease ID (typically once they have been
+     * completed).  This is called from the default {@link
+     * #completeFollowUpTask(ScheduledTask)} implementation.  The default
+     * implementation deletes the rows using <code>IN</code> lists of at most
+     * {@link #DELETE_CHUNK_SIZE} bound task ID's.
      *
-     * @param conn The {@link Connection} to use.
-     * @param task The {@link ScheduledTask} describing the task to delete.
-     * @return <code>true</code> if a follow-up was deleted and
-     *                           <code>false</code> if not (usually because it
-     *                           was already deleted).
+     * @param conn    The {@link Connection} to use.
+     * @param leaseId The lease ID that the rows must still hold.
+     * @param taskIds The {@link List} of task ID's for the rows to delete.
+     * @return The number of rows that were deleted, which may be less than
+     *         the number of task ID's if some were already deleted or their
+     *         leases expired and they were leased again.
      * @throws SQLException If a JDBC failure occurs.
      */
-    protected boolean deleteFollowUpTask(Connection conn, ScheduledTask task) 
-        throws SQLException 
+    protected int deleteFollowUpTasks(Connection conn,
+                                      String     leaseId,
+                                      List<Long> taskIds)
+        throws SQLException
     {
+        int total = 0;
         PreparedStatement ps = null;
         try {
-            ps = conn.prepareStatement(
-                "DELETE FROM sz_follow_up_tasks "
-                + "WHERE task_id = ?");
-
-            String followUpId = task.getFollowUpId();
-            int index = followUpId.indexOf(":");
-            long taskId = Long.parseLong(followUpId.substring(0, index));
+            int count = taskIds.size();
+            for (int start = 0; start < count; start += DELETE_CHUNK_SIZE) {
+                int end = Math.min(count, start + DELETE_CHUNK_SIZE);
+                int chunkSize = end - start;
+
+                // build the SQL
+                StringBuilder sb = new StringBuilder(
+                    "DELETE FROM sz_follow_up_tasks "
+                    + "WHERE lease_id = ? AND task_id IN (");
+                String prefix = "";
+                for (int index = 0; index < chunkSize; index++) {
+                    sb.append(prefix).append("?");
+                    prefix = ", ";
+                }
+                sb.append(")");
 
-            ps.setLong(1, taskId);
+                ps = conn.prepareStatement(sb.toString());
 
-            int rowCount = ps.executeUpdate();
+                // bind the lease ID and the task ID's
+                ps.setString(1, leaseId);
+                int paramIndex = 2;
+                for (Long taskId : taskIds.subList(start, end)) {
+                    ps.setLong(paramIndex++, taskId);
+                }
 
-            if (rowCount > 1) {
-                throw new SQLException(
-                    "Multiple follow-up rows "
-                    + "deleted when one was "
-                    + "expected: " + rowCount);
+                total += ps.executeUpdate();
+                ps = close(ps);
             }
 
-            return (rowCount == 1);
+            return total;
 
         } finally {
             ps = close(ps);
@@ -16,6 +16,7 @@ import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -27,6 +28,13 @@ import static com.senzing.util.LoggingUtilities.*;
 
 /**
  * Provides an abstract base class for implementing {@link SchedulingService}.
+ * <p>
+ * Tasks are dispatched by a single task handling thread to a pool of worker
+ * threads.  The pending, postponed and follow-up queues are guarded by the
+ * monitor of this instance, which the dispatcher holds only while selecting
+ * a task.  Producers (including follow-up schedulers) acquire it once per
+ * scheduled batch and statistics are read from atomic counters.  Completing
+ * a task only acquires it to wake tasks postponed on the released resources.
  */
 public abstract class AbstractSchedulingService implements SchedulingService
 {
@@ -77,6 +85,19 @@ public abstract class AbstractSchedulingService implements SchedulingService
      */
     public static final int DEFAULT_FOLLOW_UP_FETCH = 100;
 
+    /**
+     * The default weight for an action that is not configured via the {@link
+     * #ACTION_WEIGHTS_KEY} initialization parameter.
+     */
+    public static final int DEFAULT_ACTION_WEIGHT = 1;
+
+    /**
+     * The default number of dispatcher shards for the {@link
+     * #DISPATCH_SHARDS_KEY} initialization parameter if not otherwise
+     * specified.
+     */
+    public static final int DEFAULT_DISPATCH_SHARDS = 1;
+
     /**
      * The config property key for configuring the concurrency.
      */
@@ -138,6 +159,45 @@ public abstract class AbstractSchedulingService implements SchedulingService
      */
     public static final String FOLLOW_UP_FETCH_KEY = "followUpFetch";
 
+    /**
+     * The initialization parameter referencing a JSON object whose properties
+     * map action names to positive integer weights used for the weighted fair
+     * ordering of pending tasks.  An action with twice the weight of another
+     * is dequeued twice as often while both have pending tasks.  Any action
+     * that is not configured is given the {@linkplain #DEFAULT_ACTION_WEIGHT
+     * default weight}.
+     */
+    public static final String ACTION_WEIGHTS_KEY = "actionWeights";
+
+    /**
+     * The initialization parameter referencing a JSON object whose properties
+     * map action names to the non-negative number of milliseconds after
+     * creation by which a non-follow-up task for that action should be
+     * handled.  A pending task whose deadline has arrived is dequeued ahead
+     * of the weighted fair ordering.  A deadline set explicitly via {@link
+     * TaskBuilder#deadline(long)} takes precedence, and actions that are not
+     * configured have no deadline.
+     */
+    public static final String ACTION_DEADLINES_KEY = "actionDeadlines";
+
+    /**
+     * The initialization parameter for the number of dispatcher shards across
+     * which pending tasks are partitioned.  If not configured then the value
+     * is set to {@link #DEFAULT_DISPATCH_SHARDS} and a single dispatcher
+     * thread handles every task.  If specified, the value must be a positive
+     * integer that does not exceed the {@linkplain #CONCURRENCY_KEY
+     * concurrency}.  When greater than one, additional instances of the
+     * concrete class are created via its no-argument constructor, each with
+     * its own pending queue, dispatcher thread and worker pool sized to its
+     * share of the concurrency, and all sharing this instance's {@link
+     * LockingService}.  Non-follow-up tasks are routed to a shard by the hash
+     * of their first {@link ResourceKey} (or their signature if they have
+     * none) so tasks that would collapse always meet on the same shard.
+     * Follow-up tasks are always handled by this instance, and the
+     * statistics reported by this instance cover only its own shard.
+     */
+    public static final String DISPATCH_SHARDS_KEY = "dispatchShards";
+
     /**
      * The initialization parameter used by the default implementation of
      * {@link #initLockingService(JsonObject)} to specify the Java class
@@ -441,6 +501,34 @@ public abstract class AbstractSchedulingService implements SchedulingService
          */
         greatestPostponedCount(TASK_UNITS),
 
+        /**
+         * The number of tasks currently on the pending queue.
+         */
+        pendingQueueDepth(TASK_UNITS),
+
+        /**
+         * The number of tasks that have been dequeued from the pending queue.
+         */
+        pendingDequeueCount(TASK_UNITS),
+
+        /**
+         * The average number of milliseconds that tasks waited on the pending
+         * queue before being dequeued.
+         */
+        averagePendingWait(MILLISECOND_UNITS),
+
+        /**
+         * The greatest number of milliseconds that a task waited on the
+         * pending queue before being dequeued.
+         */
+        greatestPendingWait(MILLISECOND_UNITS),
+
+        /**
+         * The number of pending tasks that were dequeued ahead of the weighted
+         * fair ordering because their deadline arrived.
+         */
+        pendingDeadlineCount(TASK_UNITS),
+
         /**
          * The cumulative time spent (in milliseconds) in the {@link
          * #handleTasks()} function.
@@ -651,6 +739,26 @@ public abstract class AbstractSchedulingService implements SchedulingService
      */
     private int concurrency = DEFAULT_CONCURRENCY;
 
+    /**
+     * The number of threads in the {@link #workerPool} for this instance.
+     * This is the {@linkplain #getConcurrency() concurrency} unless the
+     * concurrency is divided across {@linkplain #DISPATCH_SHARDS_KEY
+     * dispatcher shards}.
+     */
+    private int shardConcurrency = DEFAULT_CONCURRENCY;
+
+    /**
+     * The unmodifiable {@link List} of dispatcher shards, starting with the
+     * owning instance, or <code>null</code> if not sharded.
+     */
+    private volatile List<AbstractSchedulingService> shards = null;
+
+    /**
+     * The instance that created this one as an additional dispatcher shard, or
+     * <code>null</code> if this instance was not created as a shard.
+     */
+    private AbstractSchedulingService shardOwner = null;
+
     /**
      * The {@link AsyncWorkerPool} returning {@link TaskResult} instances.
      */
@@ -705,14 +813,41 @@ public abstract class AbstractSchedulingService implements SchedulingService
     private int followUpFetch = DEFAULT_FOLLOW_UP_FETCH;
 
     /**
-     * The {@link List} of pending tasks.
+     * The {@link Map} of action names to the weights for the fair ordering
+     * of pending tasks.
      */
-    private List<ScheduledTask> pendingTasks;
+    private Map<String, Integer> actionWeights = Collections.emptyMap();
 
     /**
-     * The {@link List} of delayed/postponed tasks.
+     * The {@link Map} of action names to the default deadlines (in
+     * milliseconds) for non-follow-up tasks of those actions.
      */
-    private List<ScheduledTask> postponedTasks;
+    private Map<String, Long> actionDeadlines = Collections.emptyMap();
+
+    /**
+     * The {@link PendingTaskQueue} of pending tasks.
+     */
+    private PendingTaskQueue pendingTasks;
+
+    /**
+     * The {@link Set} of delayed/postponed tasks in the order they were
+     * postponed.
+     */
+    private Set<ScheduledTask> postponedTasks;
+
+    /**
+     * The {@link Map} of {@link ResourceKey} instances to the FIFO wait lists
+     * of postponed tasks that require the associated resource.  A postponed
+     * task is only retried once it is at the head of the wait list for every
+     * one of its resources.
+     */
+    private Map<ResourceKey, LinkedList<ScheduledTask>> postponedWaitLists;
+
+    /**
+     * The {@link Set} of {@link ResourceKey} instances that have been released
+     * since they were last checked and have postponed tasks waiting on them.
+     */
+    private Set<ResourceKey> releasedResources;
 
     /**
      * The {@link Map} of {@link String} signature keys to {@link ScheduledTask}
@@ -725,6 +860,24 @@ public abstract class AbstractSchedulingService implements SchedulingService
      */
     private List<ScheduledTask> followUpTasks;
 
+    /**
+     * The number of tasks in the {@link #pendingTasks} queue.  This is
+     * updated while holding the scheduler monitor, but may be read without it.
+     */
+    private final AtomicInteger pendingTaskCount = new AtomicInteger(0);
+
+    /**
+     * The number of tasks in the {@link #postponedTasks} queue.  This is
+     * updated while holding the scheduler monitor, but may be read without it.
+     */
+    private final AtomicInteger postponedTaskCount = new AtomicInteger(0);
+
+    /**
+     * The number of tasks in the {@link #followUpTasks} cache.  This is
+     * updated while holding the scheduler monitor, but may be read without it.
+     */
+    private final AtomicInteger leasedFollowUpCount = new AtomicInteger(0);
+
     /**
      * The value from {@link System#nanoTime()} when a task was last scheduled
      * or handled (initialized as negative-one).
@@ -732,9 +885,12 @@ public abstract class AbstractSchedulingService implements SchedulingService
     private AtomicLong lastTaskActivityNanoTime = new AtomicLong(-1L);
 
     /**
-     * The {@link List} of follow-up tasks that are currently being worked on.
+     * The {@link Map} of follow-up tasks that are currently being worked on
+     * to the nanosecond time they were dispatched.  This is a concurrent
+     * map so that worker threads can remove completed tasks without
+     * acquiring the monitor of this instance.
      */
-    private IdentityHashMap<ScheduledTask, Long> inProgressFollowUpTasks;
+    private Map<ScheduledTask, Long> inProgressFollowUpTasks;
 
     /**
      * This is the scheduling thread that handles managing and dispatching
@@ -1016,6 +1172,20 @@ public abstract class AbstractSchedulingService implements SchedulingService
         return this.concurrency;
     }
 
+    /**
+     * Gets the number of dispatcher shards across which the pending tasks are
+     * partitioned.  This returns one (1) if the tasks are not sharded.
+     *
+     * @return The number of dispatcher shards.
+     *
+     * @see #DISPATCH_SHARDS_KEY
+     */
+    public int getDispatchShardCount()
+    {
+        List<AbstractSchedulingService> shards = this.shards;
+        return (shards == null) ? 1 : shards.size();
+    }
+
     /**
      * Gets the default concurrency with which to Stat.initialize if one is not
      * specified in the initialization configuration via the {@link
@@ -1180,6 +1350,42 @@ public abstract class AbstractSchedulingService implements SchedulingService
         return DEFAULT_FOLLOW_UP_FETCH;
     }
 
+    /**
+     * Gets the weight for the specified action that is used for the weighted
+     * fair ordering of pending tasks.  This returns the {@linkplain
+     * #DEFAULT_ACTION_WEIGHT default weight} if the action was not configured
+     * via the {@link #ACTION_WEIGHTS_KEY} initialization parameter.
+     *
+     * @param action The action for which the weight is being requested.
+     *
+     * @return The weight for the specified action.
+     *
+     * @see #ACTION_WEIGHTS_KEY
+     */
+    public int getActionWeight(String action)
+    {
+        Integer weight = this.actionWeights.get(action);
+        return (weight == null) ? DEFAULT_ACTION_WEIGHT : weight;
+    }
+
+    /**
+     * Gets the default deadline (in milliseconds after creation) for
+     * non-follow-up tasks with the specified action as configured via the
+     * {@link #ACTION_DEADLINES_KEY} initialization parameter.  This returns
+     * <code>null</code> if no deadline was configured for the action.
+     *
+     * @param action The action for which the deadline is being requested.
+     *
+     * @return The default deadline in milliseconds for the specified action,
+     *         or <code>null</code> if none.
+     *
+     * @see #ACTION_DEADLINES_KEY
+     */
+    public Long getActionDeadline(String action)
+    {
+        return this.actionDeadlines.get(action);
+    }
+
     /**
      * Gets the number of milliseconds to sleep between checking to see if task
      * handling should cease. This timeout is used when there are no postponed
@@ -1347,6 +1553,81 @@ public abstract class AbstractSchedulingService implements SchedulingService
     protected void scheduleTasks(List<Task> tasks)
         throws ServiceExecutionException
     {
+        List<AbstractSchedulingService> shards = this.shards;
+        if (shards == null || tasks.size() == 0) {
+            this.scheduleShardTasks(tasks);
+            return;
+        }
+
+        // partition the tasks by the dispatcher shard that owns them
+        int shardCount = shards.size();
+        List<List<Task>> partitions = new ArrayList<>(shardCount);
+        for (int index = 0; index < shardCount; index++) {
+            partitions.add(null);
+        }
+        for (Task task : tasks) {
+            int index = getShardIndex(task, shardCount);
+            List<Task> partition = partitions.get(index);
+            if (partition == null) {
+                partition = new ArrayList<>(tasks.size());
+                partitions.set(index, partition);
+            }
+            partition.add(task);
+        }
+
+        // hand each partition to its shard without holding another monitor
+        for (int index = 0; index < shardCount; index++) {
+            List<Task> partition = partitions.get(index);
+            if (partition != null) {
+                shards.get(index).scheduleShardTasks(partition);
+            }
+        }
+    }
+
+    /**
+     * Gets the index of the dispatcher shard that should handle the specified
+     * {@link Task}.  Follow-up tasks always belong to the first shard.  Other
+     * tasks are assigned by the hash of their first {@link ResourceKey}, or
+     * by the hash of their signature if they have no resource keys.
+     *
+     * @param task       The {@link Task} to assign to a shard.
+     * @param shardCount The number of dispatcher shards.
+     *
+     * @return The index of the dispatcher shard for the specified task.
+     */
+    private static int getShardIndex(Task task, int shardCount)
+    {
+        if (task.getTaskGroup() == null) {
+            return 0;
+        }
+        SortedSet<ResourceKey> resourceKeys = task.getResourceKeys();
+        int hash = (resourceKeys == null || resourceKeys.size() == 0)
+            ? task.getSignature().hashCode()
+            : resourceKeys.first().hashCode();
+        return Math.floorMod(hash, shardCount);
+    }
+
+    /**
+     * Schedules the tasks in the specified {@link List} on the pending queue
+     * of this instance without routing them to other dispatcher shards.
+     *
+     * @param tasks The {@link List} of {@link Task} instances.
+     *
+     * @throws ServiceExecutionException If a failure occurs in scheduling the
+     *                                   tasks.
+     */
+    private void scheduleShardTasks(List<Task> tasks)
+        throws ServiceExecutionException
+    {
+        if (tasks.size() > 0) {
+            this.lastTaskActivityNanoTime.set(System.nanoTime());
+        }
+
+        // collect the follow-up tasks so they can be persisted without
+        // holding the scheduler monitor
+        List<Task> followUps = null;
+
+        // schedule the entire batch under a single acquisition of the monitor
         synchronized (this) {
             State state = this.getState();
             if (state != READY && state != ACTIVE) {
@@ -1356,69 +1637,88 @@ public abstract class AbstractSchedulingService implements SchedulingService
                         + " or " + ACTIVE
                         + " state: " + state);
             }
-        }
-
-        if (tasks.size() > 0) {
-            this.lastTaskActivityNanoTime.set(System.nanoTime());
-        }
-
-        // loop through the tasks
-        for (Task task : tasks) {
-            synchronized (this) {
-                // get the task group
-                TaskGroup taskGroup = task.getTaskGroup();
-
-                // check if this is a follow-up task
-                if (taskGroup == null) {
-                    logDebug("ENQUEUEING FOLLOW-UP TASK: ", task);
-
-                    // enqueue the follow-up task for later retrieval
-                    this.enqueueFollowUpTask(task);
 
-                    // continue on
-                    continue;
-                }
+            try {
+                // loop through the tasks
+                for (Task task : tasks) {
+                    // get the task group
+                    TaskGroup taskGroup = task.getTaskGroup();
+
+                    // check if this is a follow-up task
+                    if (taskGroup == null) {
+                        if (followUps == null) {
+                            followUps = new ArrayList<>(tasks.size());
+                        }
+                        followUps.add(task);
+                        continue;
+                    }
 
-                // get the task signature
-                String signature = task.getSignature();
+                    // apply the configured deadline for the action if the
+                    // task was not given one explicitly
+                    if (task.getDeadlineNanoTime() == null) {
+                        Long deadline
+                            = this.actionDeadlines.get(task.getAction());
+                        if (deadline != null) {
+                            task.setDeadline(deadline);
+                        }
+                    }
 
-                // check if the specified task allows collapse
-                if (task.isAllowingCollapse()) {
-                    // check for existing tasks by the same signature
-                    ScheduledTask scheduledTask
-                        = this.taskCollapseLookup
-                            .get(signature);
-                    if (scheduledTask != null) {
-                        logDebug("SCHEDULING TASK: ",
-                                 task,
-                                 "COLLAPSING WITH: ",
-                                 scheduledTask);
+                    // get the task signature
+                    String signature = task.getSignature();
+
+                    // check if the specified task allows collapse
+                    if (task.isAllowingCollapse()) {
+                        // check for existing tasks by the same signature
+                        ScheduledTask scheduledTask
+                            = this.taskCollapseLookup
+                                .get(signature);
+                        if (scheduledTask != null) {
+                            logDebug("SCHEDULING TASK: ",
+                                     task,
+                                     "COLLAPSING WITH: ",
+                                     scheduledTask);
+
+                            // simply collapse with the existing scheduled task
+                            scheduledTask.collapseWith(task);
+                            if (task.getDeadlineNanoTime() != null) {
+                                this.pendingTasks.deadlineChanged(
+                                    scheduledTask);
+                            }
 
-                        // simply collapse with the existing scheduled task
-                        scheduledTask.collapseWith(task);
+                        } else {
+                            // create a scheduled task and add to the pending
+                            // queue
+                            scheduledTask = new ScheduledTask(task);
+                            logDebug("SCHEDULING TASK: ", task);
+                            this.pendingTasks.add(scheduledTask);
+                            this.taskCollapseLookup.put(
+                                signature, scheduledTask);
+                        }
 
                     } else {
-                        // create a scheduled task and add to the pending queue
-                        scheduledTask = new ScheduledTask(task);
-                        logDebug("SCHEDULING TASK: ", task);
+                        // the specified task cannot be collapsed with another
+                        logDebug("SCHEDULING NON-COLLAPSING TASK: ", task);
+                        ScheduledTask scheduledTask = new ScheduledTask(task);
                         this.pendingTasks.add(scheduledTask);
-                        this.taskCollapseLookup.put(signature, scheduledTask);
                     }
+                }
+            } finally {
+                this.updateQueueCounts();
 
-                } else {
-                    // the specified task cannot be collapsed with another
-                    logDebug("SCHEDULING NON-COLLAPSING TASK: ", task);
-                    ScheduledTask scheduledTask = new ScheduledTask(task);
-                    this.pendingTasks.add(scheduledTask);
+                // ensure we notify all if new tasks were scheduled
+                if (tasks.size() > 0) {
+                    this.notifyAll();
                 }
             }
         }
 
-        // ensure we notify all if new tasks were scheduled
-        if (tasks.size() > 0) {
-            synchronized (this) {
-                this.notifyAll();
+        // enqueue the follow-up tasks for later retrieval -- implementations
+        // are responsible for their own thread-safety
+        if (followUps != null) {
+            for (Task task : followUps) {
+                logDebug("ENQUEUEING FOLLOW-UP TASK: ", task);
             }
+            this.enqueueFollowUpTasks(followUps);
         }
     }
 
@@ -1428,7 +1728,17 @@ public abstract class AbstractSchedulingService implements SchedulingService
     @Override
     public long getLastTaskActivityNanoTime()
     {
-        return this.lastTaskActivityNanoTime.get();
+        long result = this.lastTaskActivityNanoTime.get();
+        List<AbstractSchedulingService> shards = this.shards;
+        if (shards != null && this.shardOwner == null) {
+            for (AbstractSchedulingService shard : shards) {
+                long activity = shard.lastTaskActivityNanoTime.get();
+                if (activity != -1L && (result == -1L || activity > result)) {
+                    result = activity;
+                }
+            }
+        }
+        return result;
     }
 
     /**
@@ -1636,17 +1946,22 @@ public abstract class AbstractSchedulingService implements SchedulingService
             // if none ready then check if we can grab a pending task
             while (this.pendingTasks.size() > 0) {
                 // get the candidate task
-                ScheduledTask task = this.pendingTasks.remove(0);
+                ScheduledTask task = this.pendingTasks.poll();
 
                 // check if the task is aborted
                 if (this.skipIfAborted(task)) {
                     continue;
                 }
 
-                // attempt to lock the task resources
-                this.timerStart(Stat.obtainLocks);
-                boolean locked = task.acquireLocks(this.getLockingService());
-                this.timerPause(Stat.obtainLocks);
+                // check if earlier postponed tasks are waiting on any of the
+                // same resources so we do not jump ahead of them
+                boolean locked = false;
+                if (!this.hasPostponedWaiters(task)) {
+                    // attempt to lock the task resources
+                    this.timerStart(Stat.obtainLocks);
+                    locked = task.acquireLocks(this.getLockingService());
+                    this.timerPause(Stat.obtainLocks);
+                }
 
                 // if the lock was obtained, return the task
                 if (locked) {
@@ -1654,7 +1969,7 @@ public abstract class AbstractSchedulingService implements SchedulingService
                 }
 
                 // if not locked then postpone the task
-                this.postponedTasks.add(task);
+                this.postpone(task);
 
                 // check the postponed count to see if this is now the greatest
                 synchronized (this.getStatisticsMonitor()) {
@@ -1671,83 +1986,275 @@ public abstract class AbstractSchedulingService implements SchedulingService
             return null;
 
         } finally {
+            this.updateQueueCounts();
             this.timerPause(Stat.dequeueCheckLocked);
         }
     }
 
     /**
      * Returns a previously postponed {@link ScheduledTask} that is now ready to
-     * be processed. If the last time this method was called was less than the
-     * {@linkplain #getPostponedTimeout() postpone timeout} then this method
-     * returns
-     * <code>null</code> so that the previously postponed tasks are not checked
-     * for readiness too frequently. Otherwise, this method will find the least
-     * recently postponed {@link ScheduledTask} whose set of affected resources
-     * (identified by {@link ResourceKey} instances) are not currently locked.
-     * If there are no postponed {@link ScheduledTask} instance that meet the
-     * readiness criteria, then <code>null</code> is returned.
+     * be processed. Postponed tasks are parked on per-resource FIFO wait lists
+     * and are only retried when a {@link ResourceKey} they require has been
+     * {@linkplain #resourcesReleased(ScheduledTask) released} and they are at
+     * the head of the wait list for every one of their resources. As a safety
+     * net for locks held outside this instance, the heads of all the wait lists
+     * are also checked if the last such check was longer ago than the
+     * {@linkplain #getPostponedTimeout() postpone timeout}. If there are no
+     * postponed {@link ScheduledTask} instance that meet the readiness
+     * criteria, then <code>null</code> is returned.
      *
      * @return The next postponed {@link ScheduledTask} that is now ready to
      *             try.
      */
     protected synchronized ScheduledTask getReadyPostponedTask()
     {
-        // get the elapsed time and update the timestamp
-        long now = System.nanoTime();
-        long elapsedNanos = now - this.postponedNanoTime;
-        long elapsedMillis = elapsedNanos / ONE_MILLION;
-
-        // check the timestamp
-        if (elapsedMillis < this.getPostponedTimeout()) {
-            return null;
-        }
-
         // check if there are no postponed messages
         if (this.postponedTasks.size() == 0) {
             // since we have checked all the postponed messages (none) and none
-            // are
-            // ready then we need to update the timestamp
-            this.postponedNanoTime = now;
-
+            // are ready then we need to update the timestamp
+            this.postponedNanoTime = System.nanoTime();
+            this.releasedResources.clear();
             return null;
         }
 
-        // iterate through the postponed messages
-        Iterator<ScheduledTask> iter = this.postponedTasks.iterator();
         try {
+            // first check the wait lists for the released resources
+            Iterator<ResourceKey> iter = this.releasedResources.iterator();
             while (iter.hasNext()) {
-                ScheduledTask task = iter.next();
+                ResourceKey resourceKey = iter.next();
+                iter.remove();
 
-                // handle aborted tasks
-                if (this.skipIfAborted(task)) {
-                    iter.remove();
-                    continue;
+                ScheduledTask task = this.getReadyWaitListHead(resourceKey);
+                if (task != null) {
+                    return task;
                 }
 
-                // attempt to lock the task resources
-                this.timerStart(Stat.obtainLocks);
-                boolean locked = task.acquireLocks(this.getLockingService());
-                this.timerPause(Stat.obtainLocks);
+                // aborted tasks may have released other resources
+                iter = this.releasedResources.iterator();
+            }
 
-                if (locked) {
-                    iter.remove();
+            // get the elapsed time since the last full check
+            long now = System.nanoTime();
+            long elapsedNanos = now - this.postponedNanoTime;
+            long elapsedMillis = elapsedNanos / ONE_MILLION;
+
+            // check the timestamp
+            if (elapsedMillis < this.getPostponedTimeout()) {
+                return null;
+            }
+
+            // check the head of every wait list in case the resources were
+            // released by something other than this instance
+            List<ResourceKey> resourceKeys
+                = new ArrayList<>(this.postponedWaitLists.keySet());
+            for (ResourceKey resourceKey : resourceKeys) {
+                ScheduledTask task = this.getReadyWaitListHead(resourceKey);
+                if (task != null) {
                     return task;
                 }
             }
 
+            // since we have checked all the wait lists for readiness we can
+            // update the timestamp so we don't busy check again and again
+            this.postponedNanoTime = now;
+
+            // if we get here without returning a task then return null
+            return null;
+
         } finally {
-            // check if we checked all the messages
-            if (!iter.hasNext()) {
-                // since we have checked all the postponed messages for
-                // readiness we
-                // can update the timestamp so we don't busy check again and
-                // again
-                this.postponedNanoTime = now;
+            this.updateQueueCounts();
+        }
+    }
+
+    /**
+     * Checks if the postponed {@link ScheduledTask} at the head of the wait
+     * list for the specified {@link ResourceKey} is ready to be handled.  If
+     * the head task is at the head of the wait lists for all of its resources
+     * and its locks can be acquired then it is removed from the postponed
+     * tasks and returned.  If the head task has been aborted then it is
+     * removed and its resources are flagged as released so the next waiters
+     * are checked.
+     *
+     * @param resourceKey The {@link ResourceKey} identifying the wait list.
+     *
+     * @return The {@link ScheduledTask} that is now ready to be handled, or
+     *         <code>null</code> if none.
+     */
+    protected synchronized ScheduledTask getReadyWaitListHead(
+            ResourceKey resourceKey)
+    {
+        LinkedList<ScheduledTask> waitList
+            = this.postponedWaitLists.get(resourceKey);
+        if (waitList == null) {
+            return null;
+        }
+
+        ScheduledTask task = waitList.getFirst();
+
+        // handle aborted tasks
+        if (this.skipIfAborted(task)) {
+            this.unpark(task);
+            this.releasedResources.addAll(task.getResourceKeys());
+            return null;
+        }
+
+        // check if the task is still behind others on another resource
+        for (ResourceKey key : task.getResourceKeys()) {
+            if (this.postponedWaitLists.get(key).getFirst() != task) {
+                return null;
             }
         }
 
-        // if we get here without returning a message then return null
-        return null;
+        // attempt to lock the task resources
+        this.timerStart(Stat.obtainLocks);
+        boolean locked = task.acquireLocks(this.getLockingService());
+        this.timerPause(Stat.obtainLocks);
+
+        if (!locked) {
+            return null;
+        }
+
+        this.unpark(task);
+        return task;
+    }
+
+    /**
+     * Checks if any previously postponed tasks are waiting on any of the
+     * resources required by the specified {@link ScheduledTask}.
+     *
+     * @param task The {@link ScheduledTask} to check.
+     *
+     * @return <code>true</code> if one or more postponed tasks are waiting on
+     *         at least one of the resources, otherwise <code>false</code>.
+     */
+    protected synchronized boolean hasPostponedWaiters(ScheduledTask task)
+    {
+        if (this.postponedWaitLists.size() == 0) {
+            return false;
+        }
+        Set<ResourceKey> resourceKeys = task.getResourceKeys();
+        if (resourceKeys == null) {
+            return false;
+        }
+        for (ResourceKey key : resourceKeys) {
+            if (this.postponedWaitLists.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Postpones the specified {@link ScheduledTask} by adding it to the
+     * postponed tasks and to the tail of the wait list for each of its
+     * resources, and then notifies the {@link TaskHandler} via {@link
+     * TaskHandler#taskPostponed(String, Map, int)}.
+     *
+     * @param task The {@link ScheduledTask} to postpone.
+     */
+    protected synchronized void postpone(ScheduledTask task)
+    {
+        this.postponedTasks.add(task);
+        for (ResourceKey key : task.getResourceKeys()) {
+            LinkedList<ScheduledTask> waitList
+                = this.postponedWaitLists.get(key);
+            if (waitList == null) {
+                waitList = new LinkedList<>();
+                this.postponedWaitLists.put(key, waitList);
+            }
+            waitList.add(task);
+        }
+
+        // let the task handler prepare for the task while it waits
+        TaskHandler handler = this.getTaskHandler();
+        if (handler != null) {
+            try {
+                handler.taskPostponed(task.getAction(),
+                                      task.getParameters(),
+                                      task.getMultiplicity());
+
+            } catch (Exception e) {
+                logWarning(e, "TASK HANDLER FAILED TO PREPARE FOR "
+                           + "POSTPONED TASK: " + task);
+            }
+        }
+    }
+
+    /**
+     * Removes the specified {@link ScheduledTask} from the postponed tasks
+     * and from the head of the wait list for each of its resources.
+     *
+     * @param task The {@link ScheduledTask} to remove.
+     */
+    protected synchronized void unpark(ScheduledTask task)
+    {
+        this.postponedTasks.remove(task);
+        for (ResourceKey key : task.getResourceKeys()) {
+            LinkedList<ScheduledTask> waitList
+                = this.postponedWaitLists.get(key);
+            if (waitList == null) {
+                continue;
+            }
+            waitList.remove(task);
+            if (waitList.size() == 0) {
+                this.postponedWaitLists.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Called after the locks for the specified {@link ScheduledTask} have been
+     * released so that any postponed tasks waiting on the associated resources
+     * are woken up to be retried.
+     *
+     * @param task The {@link ScheduledTask} whose locks were released.
+     */
+    protected void resourcesReleased(ScheduledTask task)
+    {
+        Set<ResourceKey> resourceKeys = task.getResourceKeys();
+        if (resourceKeys == null || resourceKeys.size() == 0) {
+            return;
+        }
+        List<AbstractSchedulingService> shards = this.shards;
+        if (shards == null) {
+            this.wakePostponed(resourceKeys);
+            return;
+        }
+
+        // the resources may be awaited by tasks postponed on another shard,
+        // but only take the monitor of a shard that has postponed tasks
+        for (AbstractSchedulingService shard : shards) {
+            if (shard == this || shard.postponedTaskCount.get() > 0) {
+                shard.wakePostponed(resourceKeys);
+            }
+        }
+    }
+
+    /**
+     * Marks those of the specified {@link ResourceKey} instances on which
+     * postponed tasks of this instance are waiting as released and wakes up
+     * the dispatcher thread to retry them.
+     *
+     * @param resourceKeys The {@link Set} of released {@link ResourceKey}
+     *                     instances.
+     */
+    private void wakePostponed(Set<ResourceKey> resourceKeys)
+    {
+        synchronized (this) {
+            if (this.postponedWaitLists == null) {
+                return;
+            }
+            boolean waiting = false;
+            for (ResourceKey key : resourceKeys) {
+                if (this.postponedWaitLists.containsKey(key)) {
+                    this.releasedResources.add(key);
+                    waiting = true;
+                }
+            }
+            if (waiting) {
+                this.notifyAll();
+            }
+        }
     }
 
     /**
@@ -1757,11 +2264,21 @@ public abstract class AbstractSchedulingService implements SchedulingService
      * {@inheritDoc}
      */
     @Override
-    public synchronized Long getRemainingTasksCount()
+    public Long getRemainingTasksCount()
     {
-        return Long.valueOf(this.inProgressTaskCount.get() 
-                            + this.pendingTasks.size() 
-                            + this.postponedTasks.size());
+        List<AbstractSchedulingService> shards = this.shards;
+        if (shards == null || this.shardOwner != null) {
+            return Long.valueOf(this.inProgressTaskCount.get() 
+                                + this.pendingTaskCount.get() 
+                                + this.postponedTaskCount.get());
+        }
+        long count = 0L;
+        for (AbstractSchedulingService shard : shards) {
+            count += shard.inProgressTaskCount.get()
+                + shard.pendingTaskCount.get()
+                + shard.postponedTaskCount.get();
+        }
+        return Long.valueOf(count);
     }
 
     /**
@@ -1769,7 +2286,7 @@ public abstract class AbstractSchedulingService implements SchedulingService
      * {@linkplain #countScheduledFollowUpTasks() scheduled follow-up tasks}.
      */
     @Override
-    public synchronized Long getRemainingFollowUpTasksCount()
+    public Long getRemainingFollowUpTasksCount()
     {
         return Long.valueOf(this.inProgressFollowUpCount.get() 
                             + this.countScheduledFollowUpTasks());
@@ -1835,7 +2352,8 @@ public abstract class AbstractSchedulingService implements SchedulingService
     /**
      * Checks if a check should be performed against the readiness of the
      * postponed tasks. This returns <code>true</code> if and only if there is
-     * at least one postponed task and the readiness check has not been
+     * at least one postponed task and either resources on which postponed
+     * tasks are waiting have been released or the readiness check has not been
      * performed within the configured postponed timeout.
      *
      * @return <code>true</code> if it is time to perform a postponed task
@@ -1848,6 +2366,11 @@ public abstract class AbstractSchedulingService implements SchedulingService
             return false;
         }
 
+        // check if any awaited resources have been released
+        if (this.releasedResources.size() > 0) {
+            return true;
+        }
+
         // get the elapsed time and update the timestamp
         long now = System.nanoTime();
         long elapsedNanos = now - this.postponedNanoTime;
@@ -1879,6 +2402,11 @@ public abstract class AbstractSchedulingService implements SchedulingService
     protected synchronized ScheduledTask getReadyFollowUpTask()
         throws ServiceExecutionException
     {
+        // follow-up tasks are only handled by the owning dispatcher shard
+        if (this.shardOwner != null) {
+            return null;
+        }
+
         // get the current timestamp
         long now = System.nanoTime();
 
@@ -1907,14 +2435,28 @@ public abstract class AbstractSchedulingService implements SchedulingService
                 return null;
             }
         } else if (now > this.followUpRenewNanos) {
-            int size = this.followUpTasks.size()
-                + this.inProgressFollowUpTasks.size();
-            List<ScheduledTask> renewList = new ArrayList<>(size);
-            renewList.addAll(this.inProgressFollowUpTasks.keySet());
-            renewList.addAll(this.followUpTasks);
+            // only renew the leases that will expire within the timeout
+            long renewWindow = this.getFollowUpTimeout();
+            List<ScheduledTask> renewList = new ArrayList<>();
+            for (ScheduledTask task : this.inProgressFollowUpTasks.keySet()) {
+                if (task.isFollowUpExpiring(renewWindow)) {
+                    renewList.add(task);
+                }
+            }
+            for (ScheduledTask task : this.followUpTasks) {
+                if (task.isFollowUpExpiring(renewWindow)) {
+                    renewList.add(task);
+                }
+            }
 
             // renew the leases on the follow-up tasks
-            this.renewFollowUpTasks(renewList);
+            if (renewList.size() > 0) {
+                this.renewFollowUpTasks(renewList);
+            }
+
+            // check again after half the renewal window has elapsed
+            this.followUpRenewNanos = now
+                + ((renewWindow / 2) * ONE_MILLION);
         }
 
         // iterate through the follow-up messages
@@ -1937,6 +2479,8 @@ public abstract class AbstractSchedulingService implements SchedulingService
             }
 
         } finally {
+            this.updateQueueCounts();
+
             // check if we checked all the messages
             if (!iter.hasNext()) {
                 // since we have checked all the follow-up messages for
@@ -1963,6 +2507,11 @@ public abstract class AbstractSchedulingService implements SchedulingService
      */
     protected synchronized boolean isFollowUpReadyCheckTime()
     {
+        // follow-up tasks are only handled by the owning dispatcher shard
+        if (this.shardOwner != null) {
+            return false;
+        }
+
         // get the elapsed time and update the timestamp
         long now = System.nanoTime();
         long elapsedNanos = now - this.followUpNanoTime;
@@ -1972,6 +2521,32 @@ public abstract class AbstractSchedulingService implements SchedulingService
         return (elapsedMillis >= (this.getFollowUpDelay() / 2));
     }
 
+    /**
+     * Enqueues the specified follow-up {@link Task} instances that were
+     * committed together and persists them for future retrieval.  The default
+     * implementation calls {@link #enqueueFollowUpTask(Task)} for each of the
+     * specified {@link Task} instances.  Implementations may override this to
+     * persist the tasks as a single batch, but must not return until all of
+     * the tasks are persisted so they are durable before the task that
+     * scheduled them is completed.
+     *
+     * @param tasks The {@link List} of follow-up {@link Task} instances to
+     *              enqueue.
+     *
+     * @throws IllegalArgumentException  If any of the specified {@link Task}
+     *                                   belongs to a {@link TaskGroup}.
+     *
+     * @throws ServiceExecutionException If a failure occurs in persisting the
+     *                                   specified {@link Task} instances
+     */
+    protected void enqueueFollowUpTasks(List<Task> tasks)
+        throws ServiceExecutionException
+    {
+        for (Task task : tasks) {
+            this.enqueueFollowUpTask(task);
+        }
+    }
+
     /**
      * Enqueues the specified follow-up {@link Task} instance and persists it
      * for future retrieval. A follow-up {@link Task} does <b>not</b> belong to
@@ -2209,7 +2784,7 @@ public abstract class AbstractSchedulingService implements SchedulingService
 
             // create the worker pool
             synchronized (this) {
-                this.workerPool = new AsyncWorkerPool<>(this.getConcurrency());
+                this.workerPool = new AsyncWorkerPool<>(this.shardConcurrency);
             }
 
             // start the handling timer
@@ -2282,47 +2857,50 @@ public abstract class AbstractSchedulingService implements SchedulingService
                                 Stat.markComplete.toString());
 
                         } finally {
-                            // remove from persistent store (mark completed)
-                            if (currentTask.isFollowUp()) {
-                                timers.start(
-                                    Stat.completeFollowUp
-                                        .toString());
-                                synchronized (this) {
-                                    this
-                                        .inProgressFollowUpTasks
-                                        .remove(currentTask);
-                                }
-                                this
-                                    .completeFollowUpTask(
-                                        currentTask);
-                                timers.pause(
-                                    Stat.completeFollowUp
-                                        .toString());
-                            }
-
-                            // release any associated
-                            // locks on the resources
                             try {
-                                timers.start(
-                                    Stat.releaseLocks
-                                        .toString());
-                                currentTask.releaseLocks(
+                                // remove from persistent store
+                                // (mark completed)
+                                if (currentTask.isFollowUp()) {
+                                    timers.start(
+                                        Stat.completeFollowUp
+                                            .toString());
+                                    this.inProgressFollowUpTasks
+                                        .remove(currentTask);
                                     this
-                                        .getLockingService());
-                                timers.pause(
-                                    Stat.releaseLocks
-                                        .toString());
-
-                                // record statistics
-                                this.recordStatistics(task, timers);
+                                        .completeFollowUpTask(
+                                            currentTask);
+                                    timers.pause(
+                                        Stat.completeFollowUp
+                                            .toString());
+                                }
 
                             } finally {
-                                // ensure we decrement the counts
-                                if (task.isFollowUp()) {
-                                    this.inProgressFollowUpCount
-                                        .decrementAndGet();
-                                } else {
-                                    this.inProgressTaskCount.decrementAndGet();
+                                // release any associated locks on the
+                                // resources even if completion failed
+                                try {
+                                    timers.start(
+                                        Stat.releaseLocks
+                                            .toString());
+                                    currentTask.releaseLocks(
+                                        this
+                                            .getLockingService());
+                                    this.resourcesReleased(currentTask);
+                                    timers.pause(
+                                        Stat.releaseLocks
+                                            .toString());
+
+                                    // record statistics
+                                    this.recordStatistics(task, timers);
+
+                                } finally {
+                                    // ensure we decrement the counts
+                                    if (task.isFollowUp()) {
+                                        this.inProgressFollowUpCount
+                                            .decrementAndGet();
+                                    } else {
+                                        this.inProgressTaskCount
+                                            .decrementAndGet();
+                                    }
                                 }
                             }
                         }
@@ -2560,9 +3138,9 @@ public abstract class AbstractSchedulingService implements SchedulingService
      *
      * @return The number of pending tasks.
      */
-    protected synchronized int getPendingTaskCount()
+    protected int getPendingTaskCount()
     {
-        return this.pendingTasks.size();
+        return this.pendingTaskCount.get();
     }
 
     /**
@@ -2570,9 +3148,9 @@ public abstract class AbstractSchedulingService implements SchedulingService
      *
      * @return The number of postponed tasks.
      */
-    protected synchronized int getPostponedTaskCount()
+    protected int getPostponedTaskCount()
     {
-        return this.postponedTasks.size();
+        return this.postponedTaskCount.get();
     }
 
     /**
@@ -2580,9 +3158,22 @@ public abstract class AbstractSchedulingService implements SchedulingService
      *
      * @return The number of follow-up tasks cached in memory.
      */
-    protected synchronized int getLeasedFollowUpTaskCount()
+    protected int getLeasedFollowUpTaskCount()
     {
-        return this.followUpTasks.size();
+        return this.leasedFollowUpCount.get();
+    }
+
+    /**
+     * Updates the counts of the pending, postponed and cached follow-up
+     * tasks so they can be read without obtaining the scheduler monitor.
+     * This must be called while holding the monitor after any of the
+     * backing queues are modified.
+     */
+    protected void updateQueueCounts()
+    {
+        this.pendingTaskCount.set(this.pendingTasks.size());
+        this.postponedTaskCount.set(this.postponedTasks.size());
+        this.leasedFollowUpCount.set(this.followUpTasks.size());
     }
 
     /**
@@ -2620,6 +3211,7 @@ public abstract class AbstractSchedulingService implements SchedulingService
             this.setState(INITIALIZING);
         }
 
+        int dispatchShards = DEFAULT_DISPATCH_SHARDS;
         try {
             synchronized (this) {
                 // default to an empty JSON object if null
@@ -2627,7 +3219,10 @@ public abstract class AbstractSchedulingService implements SchedulingService
                     config = Json.createObjectBuilder().build();
                 }
 
-                this.lockingService = this.initLockingService(config);
+                // additional dispatcher shards share the owner's locks
+                this.lockingService = (this.shardOwner != null)
+                    ? this.shardOwner.getLockingService()
+                    : this.initLockingService(config);
                 this.setTaskHandler(taskHandler);
 
                 this.concurrency
@@ -2637,6 +3232,33 @@ public abstract class AbstractSchedulingService implements SchedulingService
                         1,
                         this.getDefaultConcurrency());
 
+                // get the number of dispatcher shards
+                dispatchShards
+                    = getConfigInteger(
+                        config,
+                        DISPATCH_SHARDS_KEY,
+                        1,
+                        DEFAULT_DISPATCH_SHARDS);
+
+                if (dispatchShards > this.concurrency) {
+                    throw new ServiceSetupException(
+                        "The configured value for "
+                        + DISPATCH_SHARDS_KEY
+                        + " ("
+                        + dispatchShards
+                        + ") cannot be greater than "
+                        + "the configured value "
+                        + "for "
+                        + CONCURRENCY_KEY
+                        + " ("
+                        + this.concurrency
+                        + ").");
+                }
+
+                // this instance takes the first share of the concurrency
+                this.shardConcurrency = (this.concurrency / dispatchShards)
+                    + ((this.concurrency % dispatchShards) > 0 ? 1 : 0);
+
                 // get the postponed timeout
                 this.postponedTimeout
                     = getConfigLong(
@@ -2696,17 +3318,31 @@ public abstract class AbstractSchedulingService implements SchedulingService
                         + ").");
                 }
 
+                // get the action weights
+                this.actionWeights = this.initActionWeights(config);
+
+                // get the action deadlines
+                this.actionDeadlines = this.initActionDeadlines(config);
+
                 // create the queues
-                this.pendingTasks = new LinkedList<>();
-                this.postponedTasks = new LinkedList<>();
+                this.pendingTasks = new PendingTaskQueue(
+                    this.actionWeights, DEFAULT_ACTION_WEIGHT);
+                this.postponedTasks = new LinkedHashSet<>();
+                this.postponedWaitLists = new HashMap<>();
+                this.releasedResources = new LinkedHashSet<>();
                 this.followUpTasks = new LinkedList<>();
-                this.inProgressFollowUpTasks = new IdentityHashMap<>();
+                this.inProgressFollowUpTasks = new ConcurrentHashMap<>();
                 this.taskCollapseLookup = new LinkedHashMap<>();
             }
 
             // defer additional configuration
             this.doInit(config);
 
+            // create the additional dispatcher shards
+            if (dispatchShards > 1) {
+                this.initShards(config, taskHandler, dispatchShards);
+            }
+
             // set to the ready state
             this.setState(READY);
             this.backgroundHandleTasks();
@@ -2722,6 +3358,59 @@ public abstract class AbstractSchedulingService implements SchedulingService
         }
     }
 
+    /**
+     * Parses the {@link Map} of action names to weights from the {@link
+     * #ACTION_WEIGHTS_KEY} initialization parameter.
+     *
+     * @param config The {@link JsonObject} describing the configuration.
+     *
+     * @return The unmodifiable {@link Map} of action names to weights.
+     *
+     * @throws ServiceSetupException If a configured weight is not a positive
+     *                               integer.
+     */
+    protected Map<String, Integer> initActionWeights(JsonObject config)
+        throws ServiceSetupException
+    {
+        if (!config.containsKey(ACTION_WEIGHTS_KEY)) {
+            return Collections.emptyMap();
+        }
+        JsonObject weightsObject = getJsonObject(config, ACTION_WEIGHTS_KEY);
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String action : weightsObject.keySet()) {
+            Integer weight = getConfigInteger(weightsObject, action, true, 1);
+            result.put(action, weight);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Parses the {@link Map} of action names to deadlines (in milliseconds)
+     * from the {@link #ACTION_DEADLINES_KEY} initialization parameter.
+     *
+     * @param config The {@link JsonObject} describing the configuration.
+     *
+     * @return The unmodifiable {@link Map} of action names to deadlines.
+     *
+     * @throws ServiceSetupException If a configured deadline is not a
+     *                               non-negative integer.
+     */
+    protected Map<String, Long> initActionDeadlines(JsonObject config)
+        throws ServiceSetupException
+    {
+        if (!config.containsKey(ACTION_DEADLINES_KEY)) {
+            return Collections.emptyMap();
+        }
+        JsonObject deadlinesObject
+            = getJsonObject(config, ACTION_DEADLINES_KEY);
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (String action : deadlinesObject.keySet()) {
+            Long deadline = getConfigLong(deadlinesObject, action, true, 0L);
+            result.put(action, deadline);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
     /**
      * The default implementation of this method gets the class name from the
      * {@link #LOCKING_SERVICE_CLASS_KEY} parameter, constructs an instance of
@@ -2801,6 +3490,87 @@ public abstract class AbstractSchedulingService implements SchedulingService
         }
     }
 
+    /**
+     * Creates and initializes the additional dispatcher shards when the
+     * {@link #DISPATCH_SHARDS_KEY} initialization parameter is greater than
+     * one (1).  Each shard is a new instance of the concrete class that is
+     * initialized with the configuration returned from {@link
+     * #initShardConfig(JsonObject, int)} for its share of the concurrency.
+     *
+     * @param config      The {@link JsonObject} describing the configuration.
+     * @param taskHandler The {@link TaskHandler} to use for handling tasks.
+     * @param shardCount  The total number of dispatcher shards including this
+     *                    instance.
+     *
+     * @throws ServiceSetupException If a failure occurs.
+     */
+    private void initShards(JsonObject  config,
+                            TaskHandler taskHandler,
+                            int         shardCount)
+        throws ServiceSetupException
+    {
+        List<AbstractSchedulingService> shards = new ArrayList<>(shardCount);
+        shards.add(this);
+        try {
+            for (int index = 1; index < shardCount; index++) {
+                AbstractSchedulingService shard
+                    = this.getClass().getDeclaredConstructor().newInstance();
+                shard.shardOwner = this;
+                shards.add(shard);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new ServiceSetupException(
+                "Failed to construct a dispatcher shard of type "
+                + this.getClass().getName()
+                + " via its no-argument constructor.", e);
+        }
+        shards = Collections.unmodifiableList(shards);
+
+        int index = 0;
+        try {
+            for (index = 1; index < shardCount; index++) {
+                AbstractSchedulingService shard = shards.get(index);
+                int concurrency = (this.concurrency / shardCount)
+                    + ((this.concurrency % shardCount) > index ? 1 : 0);
+
+                shard.shards = shards;
+                shard.init(this.initShardConfig(config, concurrency),
+                           taskHandler);
+            }
+        } catch (RuntimeException e) {
+            // destroy the shards that were initialized before the failure
+            for (int shardIndex = 1; shardIndex < index; shardIndex++) {
+                shards.get(shardIndex).destroy();
+            }
+            throw e;
+        }
+
+        // only route tasks once every shard is ready
+        this.shards = shards;
+    }
+
+    /**
+     * Creates the configuration with which to initialize an additional
+     * {@linkplain #DISPATCH_SHARDS_KEY dispatcher shard} from the
+     * configuration of this instance.  The default implementation replaces
+     * the {@link #CONCURRENCY_KEY} with the specified concurrency and removes
+     * the {@link #DISPATCH_SHARDS_KEY}.  Derived implementations may override
+     * this to drop other settings that should only be applied once.
+     *
+     * @param config      The {@link JsonObject} configuration for this
+     *                    instance.
+     * @param concurrency The concurrency for the shard.
+     *
+     * @return The {@link JsonObject} configuration for the shard.
+     */
+    protected JsonObject initShardConfig(JsonObject config, int concurrency)
+    {
+        JsonObjectBuilder job = Json.createObjectBuilder(config);
+        job.remove(DISPATCH_SHARDS_KEY);
+        job.add(CONCURRENCY_KEY, concurrency);
+        return job.build();
+    }
+
     /**
      * Called by the {@link #init(JsonObject,TaskHandler)} implementation after
      * handling the base configuration parameters.
@@ -2820,6 +3590,16 @@ public abstract class AbstractSchedulingService implements SchedulingService
      */
     public void destroy()
     {
+        // destroy the additional dispatcher shards created by this instance
+        List<AbstractSchedulingService> shards = this.shards;
+        if (shards != null && this.shardOwner == null) {
+            for (AbstractSchedulingService shard : shards) {
+                if (shard != this) {
+                    shard.destroy();
+                }
+            }
+        }
+
         synchronized (this) {
             State state = this.getState();
             if (state == DESTROYED) {
@@ -2879,8 +3659,10 @@ public abstract class AbstractSchedulingService implements SchedulingService
             // now complete the destruction / cleanup
             this.doDestroy();
 
-            // Stat.destroy the locking service
-            this.lockingService.destroy();
+            // Stat.destroy the locking service unless shared with the owner
+            if (this.shardOwner == null) {
+                this.lockingService.destroy();
+            }
 
         } finally {
             this.setState(DESTROYED); // this should notify all as well
@@ -3147,6 +3929,37 @@ public abstract class AbstractSchedulingService implements SchedulingService
             statsMap.put(Stat.greatestPostponedCount,
                 this.getGreatestPostponedCount());
 
+            // get the pending queue statistics across all actions
+            Map<String, Map<Statistic, Number>> actionStats
+                = this.getActionStatistics();
+            long depth = 0L;
+            long dequeueCount = 0L;
+            double totalWait = 0.0;
+            long greatestWait = 0L;
+            long deadlineCount = 0L;
+            for (Map<Statistic, Number> stats : actionStats.values()) {
+                depth += stats.get(Stat.pendingQueueDepth).longValue();
+                deadlineCount
+                    += stats.get(Stat.pendingDeadlineCount).longValue();
+                long wait = stats.get(Stat.greatestPendingWait).longValue();
+                if (wait > greatestWait) {
+                    greatestWait = wait;
+                }
+                Number average = stats.get(Stat.averagePendingWait);
+                Number count = stats.get(Stat.pendingDequeueCount);
+                if (average != null) {
+                    totalWait += average.doubleValue() * count.longValue();
+                    dequeueCount += count.longValue();
+                }
+            }
+            statsMap.put(Stat.pendingQueueDepth, depth);
+            if (dequeueCount > 0L) {
+                statsMap.put(Stat.averagePendingWait,
+                             totalWait / dequeueCount);
+            }
+            statsMap.put(Stat.greatestPendingWait, greatestWait);
+            statsMap.put(Stat.pendingDeadlineCount, deadlineCount);
+
             // now get the timings
             for (Stat statistic : Stat.values()) {
                 value = timings.get(statistic.toString());
@@ -3159,6 +3972,43 @@ public abstract class AbstractSchedulingService implements SchedulingService
         }
     }
 
+    /**
+     * Gets the pending queue statistics for each action that has been
+     * scheduled as a {@link Map} of action names to {@link Map} values of
+     * {@link Stat} keys to their {@link Number} values.  The statistics for
+     * each action are {@link Stat#pendingQueueDepth}, {@link
+     * Stat#pendingDequeueCount}, {@link Stat#averagePendingWait} (if any
+     * tasks for the action have been dequeued), {@link
+     * Stat#greatestPendingWait} and {@link Stat#pendingDeadlineCount}.
+     *
+     * @return The {@link Map} of action names to their pending queue
+     *         statistics.
+     */
+    public Map<String, Map<Statistic, Number>> getActionStatistics()
+    {
+        Map<String, Map<Statistic, Number>> result = new LinkedHashMap<>();
+        PendingTaskQueue queue = this.pendingTasks;
+        if (queue == null) {
+            return result;
+        }
+        queue.getQueueDepths().forEach((action, depth) -> {
+            Map<Statistic, Number> stats = new LinkedHashMap<>();
+            stats.put(Stat.pendingQueueDepth, depth);
+            stats.put(Stat.pendingDequeueCount,
+                      queue.getDequeueCount(action));
+            Double average = queue.getAverageWait(action);
+            if (average != null) {
+                stats.put(Stat.averagePendingWait, average);
+            }
+            stats.put(Stat.greatestPendingWait,
+                      queue.getGreatestWait(action));
+            stats.put(Stat.pendingDeadlineCount,
+                      queue.getDeadlineCount(action));
+            result.put(action, stats);
+        });
+        return result;
+    }
+
     /**
      * Gets the average task compression from collapsing non-follow-up tasks
      * handled by the scheduling service. This returns <code>null</code> if no
@@ -3732,6 +4582,12 @@ public abstract class AbstractSchedulingService implements SchedulingService
          */
         private LockToken lockToken = null;
 
+        /**
+         * The earliest nanosecond deadline of the backing tasks, or
+         * <code>null</code> if none of the backing tasks have a deadline.
+         */
+        private Long deadlineNanos = null;
+
         /**
          * Constructs with the first backing actual {@link Task}.
          *
@@ -3750,6 +4606,7 @@ public abstract class AbstractSchedulingService implements SchedulingService
             this.lockToken = null;
             this.successful = null;
             this.expirationNanos = null;
+            this.deadlineNanos = task.getDeadlineNanoTime();
             task.markScheduled();
             this.backingTasks.add(task);
         }
@@ -3876,6 +4733,26 @@ public abstract class AbstractSchedulingService implements SchedulingService
             return System.nanoTime() > this.expirationNanos;
         }
 
+        /**
+         * Checks if this is a follow-up task whose lease will expire within
+         * the specified number of milliseconds.  This always returns
+         * <code>false</code> if not a follow-up task.
+         *
+         * @param withinMillis The number of milliseconds from now.
+         *
+         * @return <code>true</code> if this is a follow-up task that will
+         *         expire within the specified number of milliseconds,
+         *         otherwise <code>false</code>.
+         */
+        public boolean isFollowUpExpiring(long withinMillis)
+        {
+            if (this.expirationNanos == null) {
+                return false;
+            }
+            long deadline = System.nanoTime() + (withinMillis * ONE_MILLION);
+            return deadline > this.expirationNanos;
+        }
+
         /**
          * Updates the expiration time to the specified number of milliseconds
          * since the epoch in UTC time coordinates.
@@ -4037,11 +4914,34 @@ public abstract class AbstractSchedulingService implements SchedulingService
                     + "duplicates.");
             }
 
+            // keep the earliest deadline
+            Long deadline = task.getDeadlineNanoTime();
+            if (deadline != null
+                && (this.deadlineNanos == null
+                    || deadline - this.deadlineNanos < 0L))
+            {
+                this.deadlineNanos = deadline;
+            }
+
             // add the backing tasks
             task.markScheduled();
             this.backingTasks.add(task);
         }
 
+        /**
+         * Gets the earliest nanosecond deadline (as from {@link
+         * System#nanoTime()}) of the backing tasks, or <code>null</code> if
+         * none of the backing tasks have a {@linkplain
+         * Task#getDeadlineNanoTime() deadline}.
+         *
+         * @return The earliest nanosecond deadline of the backing tasks, or
+         *         <code>null</code> if there is no deadline.
+         */
+        public Long getDeadlineNanoTime()
+        {
+            return this.deadlineNanos;
+        }
+
         /**
          * Gets the signature for the backing {@link Task} for this instance.
          *
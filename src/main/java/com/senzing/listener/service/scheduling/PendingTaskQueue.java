@@ -0,0 +1,438 @@
+package com.senzing.listener.service.scheduling;
+
+import com.senzing.listener.service.scheduling.AbstractSchedulingService.ScheduledTask;
+
+import java.util.*;
+
+/**
+ * Provides the queue of pending {@link ScheduledTask} instances for the
+ * {@link AbstractSchedulingService}.  Tasks are kept in a FIFO queue per
+ * action and the next task is chosen by weighted fair queuing across the
+ * actions so that a large volume of one action cannot starve the others.
+ * Any task whose {@linkplain ScheduledTask#getDeadlineNanoTime() deadline}
+ * has arrived is taken ahead of the fair ordering, earliest deadline first.
+ *
+ * <p>
+ * The queue is modified while holding the scheduler monitor, but its
+ * methods are also synchronized so that the statistics can be read without
+ * the scheduler monitor.
+ * </p>
+ */
+class PendingTaskQueue
+{
+    /**
+     * Constant for nanosecond/millisecond conversion.
+     */
+    private static final long ONE_MILLION = 1000000L;
+
+    /**
+     * Describes a {@link ScheduledTask} in the queue.
+     */
+    private static class Entry
+    {
+        /**
+         * The associated {@link ScheduledTask}.
+         */
+        private ScheduledTask task;
+
+        /**
+         * The {@link ActionQueue} the task was added to.
+         */
+        private ActionQueue actionQueue;
+
+        /**
+         * The nanosecond timestamp when the task was added to the queue.
+         */
+        private long enqueuedNanos;
+
+        /**
+         * Flag indicating if the entry has been removed from the queue.
+         */
+        private boolean removed = false;
+
+        /**
+         * Constructs with the specified parameters.
+         *
+         * @param task        The {@link ScheduledTask}.
+         * @param actionQueue The {@link ActionQueue} for the task.
+         */
+        private Entry(ScheduledTask task, ActionQueue actionQueue)
+        {
+            this.task           = task;
+            this.actionQueue    = actionQueue;
+            this.enqueuedNanos  = System.nanoTime();
+        }
+    }
+
+    /**
+     * Associates a deadline with an {@link Entry} in the deadline heap.  An
+     * entry may appear more than once if its deadline was moved earlier by
+     * collapsing a duplicate task with it.
+     */
+    private static class DeadlineNode
+    {
+        /**
+         * The nanosecond deadline.
+         */
+        private long deadlineNanos;
+
+        /**
+         * The associated {@link Entry}.
+         */
+        private Entry entry;
+
+        /**
+         * Constructs with the specified parameters.
+         *
+         * @param deadlineNanos The nanosecond deadline.
+         * @param entry         The associated {@link Entry}.
+         */
+        private DeadlineNode(long deadlineNanos, Entry entry)
+        {
+            this.deadlineNanos  = deadlineNanos;
+            this.entry          = entry;
+        }
+    }
+
+    /**
+     * The FIFO queue and statistics for a single action.
+     */
+    private static class ActionQueue
+    {
+        /**
+         * The weight for the action.
+         */
+        private int weight;
+
+        /**
+         * The FIFO queue of entries.  Entries removed out of order due to a
+         * deadline are flagged and skipped when they reach the head.
+         */
+        private LinkedList<Entry> entries = new LinkedList<>();
+
+        /**
+         * The number of entries that have not been removed.
+         */
+        private int size = 0;
+
+        /**
+         * The virtual finish time of the last task dequeued for the action.
+         */
+        private double lastFinish = 0.0;
+
+        /**
+         * The virtual start time for the next task to be dequeued for the
+         * action.  This is set when the action becomes backlogged so that an
+         * idle action does not accumulate credit.
+         */
+        private double nextStart = 0.0;
+
+        /**
+         * The number of tasks dequeued for the action.
+         */
+        private long dequeueCount = 0L;
+
+        /**
+         * The total nanoseconds waited on the queue by dequeued tasks.
+         */
+        private long totalWaitNanos = 0L;
+
+        /**
+         * The greatest nanoseconds waited on the queue by a dequeued task.
+         */
+        private long greatestWaitNanos = 0L;
+
+        /**
+         * The number of tasks dequeued ahead of the fair ordering because
+         * their deadline arrived.
+         */
+        private long deadlineCount = 0L;
+
+        /**
+         * Constructs with the specified weight.
+         *
+         * @param weight The weight for the action.
+         */
+        private ActionQueue(int weight)
+        {
+            this.weight = weight;
+        }
+
+        /**
+         * Removes any entries at the head that have already been removed.
+         */
+        private void trimHead()
+        {
+            while (this.entries.size() > 0 && this.entries.getFirst().removed)
+            {
+                this.entries.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * The {@link Map} of action names to their configured weights.
+     */
+    private final Map<String, Integer> weights;
+
+    /**
+     * The default weight for actions that are not configured.
+     */
+    private final int defaultWeight;
+
+    /**
+     * The {@link Map} of action names to {@link ActionQueue} instances.
+     */
+    private final Map<String, ActionQueue> actionQueues = new LinkedHashMap<>();
+
+    /**
+     * The {@link Map} of {@link ScheduledTask} instances to their {@link
+     * Entry} instances.
+     */
+    private final Map<ScheduledTask, Entry> entryLookup
+        = new IdentityHashMap<>();
+
+    /**
+     * The heap of {@link DeadlineNode} instances ordered by deadline.
+     */
+    private final PriorityQueue<DeadlineNode> deadlines = new PriorityQueue<>(
+        (n1, n2) -> Long.compare(n1.deadlineNanos - n2.deadlineNanos, 0L));
+
+    /**
+     * The system virtual time, which is the virtual start time of the task
+     * most recently dequeued.
+     */
+    private double virtualTime = 0.0;
+
+    /**
+     * Constructs with the {@link Map} of action names to weights and the
+     * default weight for actions that are not found in the map.
+     *
+     * @param weights       The {@link Map} of action names to weights.
+     * @param defaultWeight The default weight for unlisted actions.
+     */
+    PendingTaskQueue(Map<String, Integer> weights, int defaultWeight)
+    {
+        this.weights        = new LinkedHashMap<>(weights);
+        this.defaultWeight  = defaultWeight;
+    }
+
+    /**
+     * Gets the number of tasks in the queue.
+     *
+     * @return The number of tasks in the queue.
+     */
+    synchronized int size()
+    {
+        return this.entryLookup.size();
+    }
+
+    /**
+     * Adds the specified {@link ScheduledTask} to the end of the queue for
+     * its action.
+     *
+     * @param task The {@link ScheduledTask} to add.
+     */
+    synchronized void add(ScheduledTask task)
+    {
+        String action = task.getAction();
+        ActionQueue actionQueue = this.actionQueues.get(action);
+        if (actionQueue == null) {
+            Integer weight = this.weights.get(action);
+            actionQueue = new ActionQueue(
+                (weight == null) ? this.defaultWeight : weight);
+            this.actionQueues.put(action, actionQueue);
+        }
+
+        // an action that becomes backlogged starts at the current virtual time
+        if (actionQueue.size == 0) {
+            actionQueue.nextStart
+                = Math.max(actionQueue.lastFinish, this.virtualTime);
+        }
+
+        Entry entry = new Entry(task, actionQueue);
+        actionQueue.entries.add(entry);
+        actionQueue.size++;
+        this.entryLookup.put(task, entry);
+
+        Long deadline = task.getDeadlineNanoTime();
+        if (deadline != null) {
+            this.deadlines.add(new DeadlineNode(deadline, entry));
+        }
+    }
+
+    /**
+     * Notifies this instance that the {@linkplain
+     * ScheduledTask#getDeadlineNanoTime() deadline} of the specified queued
+     * {@link ScheduledTask} may have moved earlier due to collapsing a
+     * duplicate task with it.
+     *
+     * @param task The {@link ScheduledTask} whose deadline changed.
+     */
+    synchronized void deadlineChanged(ScheduledTask task)
+    {
+        Entry entry = this.entryLookup.get(task);
+        Long deadline = task.getDeadlineNanoTime();
+        if (entry != null && deadline != null) {
+            this.deadlines.add(new DeadlineNode(deadline, entry));
+        }
+    }
+
+    /**
+     * Removes and returns the next {@link ScheduledTask} from the queue, or
+     * returns <code>null</code> if the queue is empty.
+     *
+     * @return The next {@link ScheduledTask}, or <code>null</code> if the
+     *         queue is empty.
+     */
+    synchronized ScheduledTask poll()
+    {
+        long now = System.nanoTime();
+
+        // first check for a task whose deadline has arrived
+        while (this.deadlines.size() > 0) {
+            DeadlineNode node = this.deadlines.peek();
+            if (node.entry.removed) {
+                this.deadlines.remove();
+                continue;
+            }
+            if (node.deadlineNanos - now > 0L) {
+                break;
+            }
+            this.deadlines.remove();
+            node.entry.actionQueue.deadlineCount++;
+            return this.remove(node.entry, now);
+        }
+
+        // otherwise choose the action with the least virtual finish time
+        ActionQueue selected = null;
+        double selectedFinish = 0.0;
+        for (ActionQueue actionQueue : this.actionQueues.values()) {
+            if (actionQueue.size == 0) {
+                continue;
+            }
+            double finish = actionQueue.nextStart + (1.0 / actionQueue.weight);
+            if (selected == null || finish < selectedFinish) {
+                selected = actionQueue;
+                selectedFinish = finish;
+            }
+        }
+        if (selected == null) {
+            return null;
+        }
+
+        selected.trimHead();
+        return this.remove(selected.entries.getFirst(), now);
+    }
+
+    /**
+     * Removes the specified {@link Entry} from the queue, charging its action
+     * for the dequeue and recording the wait time.
+     *
+     * @param entry The {@link Entry} to remove.
+     * @param now   The current nanosecond timestamp.
+     *
+     * @return The {@link ScheduledTask} for the removed entry.
+     */
+    private ScheduledTask remove(Entry entry, long now)
+    {
+        ActionQueue actionQueue = entry.actionQueue;
+
+        entry.removed = true;
+        actionQueue.size--;
+        actionQueue.trimHead();
+        this.entryLookup.remove(entry.task);
+
+        // advance the virtual time
+        this.virtualTime = actionQueue.nextStart;
+        actionQueue.lastFinish
+            = actionQueue.nextStart + (1.0 / actionQueue.weight);
+        actionQueue.nextStart = actionQueue.lastFinish;
+
+        // record the wait time
+        long waitNanos = now - entry.enqueuedNanos;
+        actionQueue.dequeueCount++;
+        actionQueue.totalWaitNanos += waitNanos;
+        if (waitNanos > actionQueue.greatestWaitNanos) {
+            actionQueue.greatestWaitNanos = waitNanos;
+        }
+
+        return entry.task;
+    }
+
+    /**
+     * Gets the number of queued tasks for each action that has been seen.
+     *
+     * @return The {@link Map} of action names to queue depths.
+     */
+    synchronized Map<String, Integer> getQueueDepths()
+    {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        this.actionQueues.forEach((action, actionQueue) -> {
+            result.put(action, actionQueue.size);
+        });
+        return result;
+    }
+
+    /**
+     * Gets the number of tasks dequeued for the specified action.
+     *
+     * @param action The action for which the count is being requested.
+     *
+     * @return The number of tasks dequeued for the specified action.
+     */
+    synchronized long getDequeueCount(String action)
+    {
+        ActionQueue actionQueue = this.actionQueues.get(action);
+        return (actionQueue == null) ? 0L : actionQueue.dequeueCount;
+    }
+
+    /**
+     * Gets the number of tasks for the specified action that were dequeued
+     * ahead of the fair ordering because their deadline arrived.
+     *
+     * @param action The action for which the count is being requested.
+     *
+     * @return The number of tasks for the action dequeued due to deadlines.
+     */
+    synchronized long getDeadlineCount(String action)
+    {
+        ActionQueue actionQueue = this.actionQueues.get(action);
+        return (actionQueue == null) ? 0L : actionQueue.deadlineCount;
+    }
+
+    /**
+     * Gets the average number of milliseconds that dequeued tasks for the
+     * specified action waited on the queue, or <code>null</code> if no tasks
+     * for the action have been dequeued.
+     *
+     * @param action The action for which the wait time is being requested.
+     *
+     * @return The average wait time in milliseconds, or <code>null</code> if
+     *         no tasks for the action have been dequeued.
+     */
+    synchronized Double getAverageWait(String action)
+    {
+        ActionQueue actionQueue = this.actionQueues.get(action);
+        if (actionQueue == null || actionQueue.dequeueCount == 0L) {
+            return null;
+        }
+        return ((double) actionQueue.totalWaitNanos)
+            / ((double) (actionQueue.dequeueCount * ONE_MILLION));
+    }
+
+    /**
+     * Gets the greatest number of milliseconds that a dequeued task for the
+     * specified action waited on the queue.
+     *
+     * @param action The action for which the wait time is being requested.
+     *
+     * @return The greatest wait time in milliseconds.
+     */
+    synchronized long getGreatestWait(String action)
+    {
+        ActionQueue actionQueue = this.actionQueues.get(action);
+        return (actionQueue == null)
+            ? 0L : (actionQueue.greatestWaitNanos / ONE_MILLION);
+    }
+}
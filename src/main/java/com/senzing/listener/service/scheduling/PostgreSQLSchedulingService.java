@@ -3,6 +3,8 @@ package com.senzing.listener.service.scheduling;
 import java.sql.*;
 import java.util.*;
 
+import static com.senzing.sql.SQLUtilities.close;
+
 /**
  * Implements {@link SchedulingService} using a PostgreSQL database to handle
  * persisting the follow-up tasks by extending
@@ -114,4 +116,84 @@ public class PostgreSQLSchedulingService extends AbstractSQLSchedulingService
         // execute the statements
         this.executeSqlStatements(sqlList);
     }
+
+    /**
+     * Overridden to lease and fetch the follow-up tasks in a single round trip
+     * using <code>FOR UPDATE SKIP LOCKED</code> so that multiple replicator
+     * processes sharing the same database do not contend for the same
+     * candidate rows, and <code>RETURNING</code> so the leased rows do not
+     * need to be queried separately.  Since the rows returned by an
+     * <code>UPDATE</code> are in no particular order, the leased follow-up
+     * tasks are sorted by task ID so they are dequeued in the order they
+     * were created.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    protected List<ScheduledTask> leaseAndGetFollowUpTasks(
+            Connection  conn,
+            int         limit,
+            String      leaseId)
+        throws SQLException
+    {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            ps = this.prepareLeaseStatement(
+                conn, limit, leaseId,
+                "FOR UPDATE SKIP LOCKED",
+                "RETURNING task_id, expire_lease_at, "
+                + "multiplicity, json_text, created_on");
+
+            rs = ps.executeQuery();
+
+            // sort the result list in the order the tasks were created
+            List<ScheduledTask> result
+                = this.readLeasedFollowUpTasks(rs, leaseId);
+            result.sort(Comparator.comparingLong(
+                task -> getFollowUpTaskId(task.getFollowUpId())));
+
+            // return the result list
+            return result;
+
+        } finally {
+            rs = close(rs);
+            ps = close(ps);
+        }
+    }
+
+    /**
+     * Overridden to delete all the specified follow-up tasks with a single
+     * statement that binds the task ID's as a PostgreSQL array.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    protected int deleteFollowUpTasks(Connection conn,
+                                      String     leaseId,
+                                      List<Long> taskIds)
+        throws SQLException
+    {
+        PreparedStatement ps = null;
+        Array array = null;
+        try {
+            ps = conn.prepareStatement(
+                "DELETE FROM sz_follow_up_tasks "
+                + "WHERE lease_id = ? AND task_id = ANY(?)");
+
+            array = conn.createArrayOf(
+                "bigint", taskIds.toArray(new Long[taskIds.size()]));
+
+            ps.setString(1, leaseId);
+            ps.setArray(2, array);
+
+            return ps.executeUpdate();
+
+        } finally {
+            if (array != null) {
+                array.free();
+            }
+            ps = close(ps);
+        }
+    }
 }
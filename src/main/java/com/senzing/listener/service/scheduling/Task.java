@@ -263,6 +263,26 @@ public class Task
    */
   private long completedTimeNanos = -1L;
 
+  /**
+   * The cached JSON text representation of this task.  The action, parameters
+   * and resource keys for a task never change after construction so this is
+   * computed at most once and then reused.
+   */
+  private volatile String jsonText = null;
+
+  /**
+   * The cached message digest signature of the {@linkplain #jsonText JSON
+   * text} for this task.
+   */
+  private volatile String signature = null;
+
+  /**
+   * The nanosecond timestamp by which this task should be handled, or
+   * <code>null</code> if this task has no deadline.  The deadline is not part
+   * of the JSON representation or the signature of this task.
+   */
+  private Long deadlineNanos = null;
+
   /**
    * Constructs a new {@link Task} with the specified parameters.
    *
@@ -497,6 +517,9 @@ public class Task
    */
   void markScheduled()
   {
+    // freeze the signature (and JSON text) before handing off the task
+    this.getSignature();
+
     synchronized (this) {
       this.setState(SCHEDULED);
       this.scheduledTimeNanos = System.nanoTime();
@@ -567,6 +590,33 @@ public class Task
     }
   }
 
+  /**
+   * Sets the deadline for this task as the specified number of milliseconds
+   * after this task was created.  The scheduler gives a pending task
+   * precedence over the fair ordering of pending tasks once its deadline has
+   * arrived.
+   *
+   * @param deadlineMillis The number of milliseconds after creation by which
+   *                       this task should be handled.
+   */
+  void setDeadline(long deadlineMillis)
+  {
+    this.deadlineNanos = this.createdTimeNanos + (deadlineMillis * ONE_MILLION);
+  }
+
+  /**
+   * Gets the nanosecond timestamp (as from {@link System#nanoTime()}) by
+   * which this task should be handled, or <code>null</code> if this task has
+   * no deadline.
+   *
+   * @return The nanosecond deadline for this task, or <code>null</code> if
+   *         this task has no deadline.
+   */
+  public Long getDeadlineNanoTime()
+  {
+    return this.deadlineNanos;
+  }
+
   /**
    * Returns the task ID for this task.
    *
@@ -702,17 +752,23 @@ public class Task
    */
   public static String toJsonText(Task task)
   {
-    return JsonUtilities.toJsonText(toJsonObject(task));
+    return task.toJsonText();
   }
 
   /**
-   * Converts this task to a JSON representation of this task.
+   * Converts this task to a JSON representation of this task.  The JSON text
+   * is computed on the first call and cached for subsequent calls.
    *
    * @return The JSON representation of this task.
    */
   public String toJsonText()
   {
-    return toJsonText(this);
+    String result = this.jsonText;
+    if (result == null) {
+      result = JsonUtilities.toJsonText(toJsonObject(this));
+      this.jsonText = result;
+    }
+    return result;
   }
 
   /**
@@ -726,19 +782,27 @@ public class Task
    */
   public static String toSignature(Task task)
   {
-    return toSignature(toJsonText(task));
+    return task.getSignature();
   }
 
   /**
    * Gets a message digest signature which can be used to easily identify a
    * serialized text representation of this task.
    *
+   * The signature is computed on the first call and cached for subsequent
+   * calls.
+   *
    * @return A message digest signature which can be used to easily identify
    *           this a serialized text representation of this task.
    */
   public String getSignature()
   {
-    return toSignature(this);
+    String result = this.signature;
+    if (result == null) {
+      result = toSignature(this.toJsonText());
+      this.signature = result;
+    }
+    return result;
   }
 
   /**
@@ -755,10 +819,7 @@ public class Task
       HexFormat hex = HexFormat.of();
       MessageDigest md = MessageDigest.getInstance("SHA-256");
       md.update(jsonText.getBytes(UTF_8));
-      byte[] digest = md.digest();
-      StringBuilder sb = new StringBuilder();
-      sb.append(hex.formatHex(digest));
-      return sb.toString();
+      return hex.formatHex(md.digest());
 
     } catch (NoSuchAlgorithmException cannotHappen) {
       throw new IllegalStateException("SHA-256 is not supported by JVM");
@@ -793,7 +854,7 @@ public class Task
     sb.append("state=[ ").append(state).append(" ], ");
 
     String jsonText = this.toJsonText();
-    String signature = toSignature(jsonText);
+    String signature = this.getSignature();
 
     sb.append("signature=[ ").append(signature).append(" ], ");
     sb.append("allowCollapse=[ ")
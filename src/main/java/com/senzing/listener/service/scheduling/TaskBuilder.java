@@ -37,6 +37,12 @@ public class TaskBuilder
    */
   private SortedSet<ResourceKey> resourceKeys;
 
+  /**
+   * The number of milliseconds after creation by which the task should be
+   * handled, or <code>null</code> if the task has no deadline.
+   */
+  private Long deadlineMillis;
+
   /**
    * Constructs with the specified {@link Scheduler} and {@link String} action
    * name.
@@ -54,6 +60,7 @@ public class TaskBuilder
     this.action = action;
     this.params = new TreeMap<>();
     this.resourceKeys = new TreeSet<>();
+    this.deadlineMillis = null;
   }
 
   /**
@@ -774,6 +781,35 @@ public class TaskBuilder
     return this;
   }
 
+  /**
+   * Sets the deadline for the task as the number of milliseconds after the
+   * task is created by which it should be handled. Once the deadline arrives
+   * the pending task is handled ahead of the fair ordering of pending tasks
+   * by action. The deadline does not affect the signature of the task and
+   * has no effect on follow-up tasks.  If not set, the scheduling service
+   * applies any deadline configured for the action via {@link
+   * AbstractSchedulingService#ACTION_DEADLINES_KEY}.
+   *
+   * @param deadlineMillis The non-negative number of milliseconds after
+   *                       creation by which the task should be handled.
+   *
+   * @return A reference to this instance.
+   * @throws IllegalStateException    If this instance has already created and
+   *                                  scheduled a task via {@link #schedule()}.
+   * @throws IllegalArgumentException If the specified deadline is negative.
+   */
+  public TaskBuilder deadline(long deadlineMillis)
+      throws IllegalStateException, IllegalArgumentException
+  {
+    this.checkState();
+    if (deadlineMillis < 0L) {
+      throw new IllegalArgumentException(
+          "The specified deadline cannot be negative: " + deadlineMillis);
+    }
+    this.deadlineMillis = deadlineMillis;
+    return this;
+  }
+
   /**
    * Adds a parameter with the specified name a single value or a list of
    * values. If exactly one value is provided then the parameter pair will be
@@ -1210,6 +1246,11 @@ public class TaskBuilder
         taskGroup,
         allowCollapse);
 
+    // set the deadline if specified
+    if (this.deadlineMillis != null) {
+      task.setDeadline(this.deadlineMillis);
+    }
+
     // add to the task group
     if (taskGroup != null) {
       taskGroup.addTask(task);
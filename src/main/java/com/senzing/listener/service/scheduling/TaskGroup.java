@@ -3,6 +3,7 @@ package com.senzing.listener.service.scheduling;
 import com.senzing.util.Quantified;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static com.senzing.listener.service.scheduling.Task.State.UNSCHEDULED;
 import static com.senzing.listener.service.scheduling.Task.State.STARTED;
@@ -296,6 +297,13 @@ public class TaskGroup implements Quantified
    */
   private long completedTimeNanos = -1L;
 
+  /**
+   * The {@link CompletableFuture} that is completed with this instance once
+   * this {@link TaskGroup} is {@linkplain #isCompleted() completed}.
+   */
+  private final CompletableFuture<TaskGroup> completionFuture
+      = new CompletableFuture<>();
+
   /**
    * Constructs a new task group with the next sequential group ID.
    */
@@ -441,15 +449,18 @@ public class TaskGroup implements Quantified
    * Prevents the addition of any more tasks to this group. This method has no
    * effect if this {@link TaskGroup} instance has already been closed.
    */
-  synchronized void close() {
-    if (this.getState() != OPEN) {
-      return;
-    }
-    this.setState(CLOSED);
-    this.closedTimeNanos = System.nanoTime();
-    if (this.getTaskCount() == 0) {
-      this.checkCompletion();
+  void close() {
+    synchronized (this) {
+      if (this.getState() != OPEN) {
+        return;
+      }
+      this.setState(CLOSED);
+      this.closedTimeNanos = System.nanoTime();
+      if (this.getTaskCount() == 0) {
+        this.checkCompletion();
+      }
     }
+    this.signalCompletion();
   }
 
   /**
@@ -691,6 +702,9 @@ public class TaskGroup implements Quantified
       // notify all
       this.notifyAll();
     }
+
+    // complete the completion future outside the monitor
+    this.signalCompletion();
   }
 
   /**
@@ -769,6 +783,9 @@ public class TaskGroup implements Quantified
       // notify all
       this.notifyAll();
     }
+
+    // complete the completion future outside the monitor
+    this.signalCompletion();
   }
 
   /**
@@ -834,6 +851,25 @@ public class TaskGroup implements Quantified
       // notify all
       this.notifyAll();
     }
+
+    // complete the completion future outside the monitor
+    this.signalCompletion();
+  }
+
+  /**
+   * Completes the {@linkplain #getCompletionFuture() completion future} if
+   * this instance is {@linkplain #isCompleted() completed}.  This is called
+   * without holding the monitor of this instance so that any dependent
+   * actions do not run while holding it.
+   */
+  private void signalCompletion()
+  {
+    synchronized (this) {
+      if (!this.isCompleted()) {
+        return;
+      }
+    }
+    this.completionFuture.complete(this);
   }
 
   /**
@@ -1048,6 +1084,22 @@ public class TaskGroup implements Quantified
     }
   }
 
+  /**
+   * Gets the {@link CompletableFuture} that is completed with this instance
+   * once this {@link TaskGroup} is {@linkplain #isCompleted() completed}.  This
+   * allows for responding to completion without blocking a thread in
+   * {@link #awaitCompletion()}.  The future is completed on the thread that
+   * completes the last task (or the first failed task if {@linkplain
+   * #isFastFail() failing fast}), so dependent actions should not block.
+   *
+   * @return The {@link CompletableFuture} that is completed with this instance
+   *         when this {@link TaskGroup} is completed.
+   */
+  public CompletableFuture<TaskGroup> getCompletionFuture()
+  {
+    return this.completionFuture;
+  }
+
   /**
    * Gets an <b>unmodifiable</b> {@link List} of the associated {@link Task}
    * instances.
@@ -54,4 +54,27 @@ public interface TaskHandler
                   int                 multiplicity,
                   Scheduler           followUpScheduler)
     throws ServiceExecutionException;
+
+  /**
+   * Called when the specified {@link Task} has been dequeued but has been
+   * postponed until the locks on its resources can be obtained.  This gives
+   * the {@link TaskHandler} the opportunity to begin preparing for the task
+   * (e.g.: retrieving data) while other tasks are being handled.  This is
+   * called while the {@link SchedulingService} holds its monitor, so
+   * implementations must not block.  The multiplicity may increase before
+   * the task is handled if identical tasks are collapsed with it.  The
+   * default implementation does nothing.
+   *
+   * @param action The action from the {@link Task} that was postponed.
+   * @param parameters The {@link Map} of parameters to use with the action to
+   *                   be taken.
+   * @param multiplicity The number of times an identical task has been
+   *                     scheduled thus far.
+   */
+  default void taskPostponed(String              action,
+                             Map<String, Object> parameters,
+                             int                 multiplicity)
+  {
+    // do nothing
+  }
 }
@@ -1,10 +1,21 @@
 package com.senzing.datamart;
 
 import com.senzing.cmdline.CommandLineException;
+import com.senzing.listener.communication.AbstractMessageConsumer;
+import com.senzing.listener.communication.AbstractMessageConsumerTest.Message;
+import com.senzing.listener.communication.AbstractMessageConsumerTest.SimpleTestConsumer;
 import com.senzing.listener.communication.rabbitmq.RabbitMQConsumer;
 import com.senzing.listener.communication.rabbitmq.TestableRabbitMQConsumer;
 import com.senzing.listener.communication.sqs.SQSConsumer;
 import com.senzing.listener.communication.sqs.TestableSQSConsumer;
+import com.senzing.listener.service.AbstractListenerService;
+import com.senzing.listener.service.AbstractListenerService.MessagePart;
+import com.senzing.listener.service.InfoMessageProcessor;
+import com.senzing.listener.service.exception.ServiceExecutionException;
+import com.senzing.listener.service.model.SzInfoMessage;
+import com.senzing.listener.service.scheduling.Scheduler;
+import com.senzing.listener.service.scheduling.TaskGroup;
+import com.senzing.listener.service.scheduling.TestSchedulingService;
 import com.senzing.sdk.SzConfig;
 import com.senzing.sdk.SzConfigManager;
 import com.senzing.sdk.SzEnvironment;
@@ -19,7 +30,9 @@ import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
 import uk.org.webcompere.systemstubs.stream.SystemOut;
 import uk.org.webcompere.systemstubs.stream.SystemErr;
 
+import javax.json.Json;
 import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -45,6 +58,7 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.*;
@@ -1141,10 +1155,124 @@ public class SzReplicatorTest {
             "Console output should mention command-line parameter issue");
     }
 
+    // ========================================================================
+    // Message Coalescing Tests
+    // ========================================================================
+
+    /**
+     * Test that the consumer configuration built by the replicator for the
+     * standard processing rate lets more messages than there are consumer
+     * worker threads accumulate in a single coalesced group.
+     */
+    @Test
+    public void testCoalescedGroupExceedsWorkerCount() throws Exception {
+        int concurrency = 2;
+        int workerCount = concurrency * 2;
+        int messageCount = 60;
+
+        JsonObject replicatorConfig
+            = ProcessingRate.STANDARD.addReplicatorServiceOptions(null).build();
+        long coalesceWindow = replicatorConfig.getJsonNumber(
+            SzReplicatorService.COALESCE_WINDOW_KEY).longValue();
+        assertTrue(coalesceWindow > 0L, "Standard rate should coalesce messages");
+
+        CoalescingListenerService service = new CoalescingListenerService();
+        service.init(Json.createObjectBuilder()
+            .add(AbstractListenerService.SCHEDULING_SERVICE_CLASS_KEY,
+                 TestSchedulingService.class.getName())
+            .add(AbstractListenerService.COALESCE_WINDOW_KEY, coalesceWindow)
+            .build());
+
+        // build the consumer config the same way the replicator does
+        JsonObjectBuilder consumerJOB = Json.createObjectBuilder()
+            .add(AbstractMessageConsumer.CONCURRENCY_KEY, workerCount);
+        SzReplicator.addProcessingOptions(consumerJOB,
+                                          concurrency,
+                                          service.getCoalesceWindow(),
+                                          service.getCoalesceLimit());
+
+        SimpleTestConsumer consumer = new SimpleTestConsumer();
+        consumer.init(consumerJOB.build());
+        consumer.consume(service);
+        try {
+            for (int index = 1; index <= messageCount; index++) {
+                String body = "{\"DATA_SOURCE\":\"CUSTOMERS\","
+                    + "\"RECORD_ID\":\"R" + index + "\","
+                    + "\"AFFECTED_ENTITIES\":[{\"ENTITY_ID\":"
+                    + ((index % 3) + 1) + "}]}";
+                consumer.callEnqueueMessages(service, new Message(index, body));
+            }
+
+            long deadline = System.currentTimeMillis() + 30000L;
+            while (consumer.getDisposeCount() < messageCount
+                   && System.currentTimeMillis() < deadline)
+            {
+                Thread.sleep(20L);
+            }
+            assertEquals(messageCount, consumer.getDisposeCount(),
+                "Every message should have been processed");
+
+        } finally {
+            consumer.destroy();
+            service.destroy();
+        }
+
+        int largestGroup = 0;
+        for (int groupSize : service.getGroupSizes()) {
+            largestGroup = Math.max(largestGroup, groupSize);
+        }
+        assertTrue(largestGroup > workerCount,
+            "Expected a coalesced group larger than the " + workerCount
+            + " consumer workers, but the largest was " + largestGroup
+            + ": " + service.getGroupSizes());
+    }
+
     // ========================================================================
     // Helper Classes
     // ========================================================================
 
+    /**
+     * Listener service that coalesces INFO messages like the replicator
+     * service and records the size of each coalesced group.
+     */
+    private static class CoalescingListenerService
+        extends AbstractListenerService implements InfoMessageProcessor
+    {
+        private final List<Integer> groupSizes = new CopyOnWriteArrayList<>();
+
+        CoalescingListenerService() {
+            super(Map.of(MessagePart.AFFECTED_ENTITY, "REFRESH_ENTITY"));
+        }
+
+        List<Integer> getGroupSizes() {
+            return this.groupSizes;
+        }
+
+        @Override
+        protected TaskGroup scheduleMessages(List<SzInfoMessage> messages)
+            throws ServiceExecutionException
+        {
+            this.groupSizes.add(messages.size());
+            return super.scheduleMessages(messages);
+        }
+
+        @Override
+        protected void doInit(JsonObject config) {
+            // nothing to do
+        }
+
+        @Override
+        protected void handleTask(String action, Map<String, Object> parameters,
+                                  int multiplicity, Scheduler followUpScheduler) {
+            // nothing to do
+        }
+
+        @Override
+        protected void doDestroy() {
+            // nothing to do
+        }
+    }
+
     /**
      * Testable subclass of SzReplicator that uses TestableRabbitMQConsumer
      * and TestableSQSConsumer instead of real consumers.
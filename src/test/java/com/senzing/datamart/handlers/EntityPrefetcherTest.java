@@ -0,0 +1,268 @@
+package com.senzing.datamart.handlers;
+
+import com.senzing.datamart.model.SzResolvedEntity;
+import com.senzing.util.Quantified.Statistic;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.senzing.datamart.handlers.EntityPrefetcher.Stat.*;
+
+/**
+ * Unit tests for {@link EntityPrefetcher}.
+ * Tests prefetching, stale and missing prefetches, the pipeline depth bound,
+ * the engine concurrency bound and statistics.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.SAME_THREAD)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class EntityPrefetcherTest {
+
+    private static final String ACTION = "REFRESH_ENTITY";
+
+    /**
+     * Creates the task parameters for the specified entity ID.
+     */
+    private static Map<String, Object> params(long entityId) {
+        return Map.of("ENTITY_ID", entityId);
+    }
+
+    /**
+     * Creates an entity with the specified entity ID.
+     */
+    private static SzResolvedEntity createEntity(long entityId) {
+        SzResolvedEntity entity = new SzResolvedEntity();
+        entity.setEntityId(entityId);
+        entity.setEntityName("Entity " + entityId);
+        return entity;
+    }
+
+    /**
+     * Waits for the specified number of prefetch requests to complete.
+     */
+    private static void awaitCompleted(EntityPrefetcher prefetcher, AtomicInteger completed, int count)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (completed.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5L);
+        }
+        assertEquals(count, completed.get());
+    }
+
+    /**
+     * Test construction.
+     */
+    @Test
+    @Order(100)
+    void testConstruction() {
+        EntityPrefetcher prefetcher = new EntityPrefetcher(2, 10);
+        assertEquals(10, prefetcher.getMaximumDepth());
+        assertEquals(0, prefetcher.getDepth());
+        prefetcher.shutdown();
+
+        assertThrows(IllegalArgumentException.class, () -> new EntityPrefetcher(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new EntityPrefetcher(2, 0));
+    }
+
+    /**
+     * Test that prefetched entities are taken once, including deleted
+     * entities and transient states, and that missing and stale prefetches
+     * are not used.
+     */
+    @Test
+    @Order(200)
+    void testPrefetchAndTake() throws Exception {
+        EntityPrefetcher prefetcher = new EntityPrefetcher(2, 10);
+        AtomicInteger completed = new AtomicInteger(0);
+        EntityPrefetcher.Fetcher fetcher = (entityId, transientSet) -> {
+            try {
+                if (entityId == 2L) {
+                    transientSet.add(entityId);
+                }
+                return (entityId == 3L) ? null : createEntity(entityId);
+            } finally {
+                completed.incrementAndGet();
+            }
+        };
+
+        assertTrue(prefetcher.prefetch(ACTION, params(1L), 1, List.of(1L), fetcher));
+        assertTrue(prefetcher.prefetch(ACTION, params(2L), 1, List.of(2L), fetcher));
+        assertTrue(prefetcher.prefetch(ACTION, params(3L), 1, List.of(3L), fetcher));
+        assertTrue(prefetcher.prefetch(ACTION, params(4L), 1, List.of(4L), fetcher));
+
+        // a duplicate request is ignored
+        assertFalse(prefetcher.prefetch(ACTION, params(1L), 1, List.of(1L), fetcher));
+        awaitCompleted(prefetcher, completed, 4);
+        assertEquals(4, prefetcher.getDepth());
+
+        Set<Long> transientSet = new TreeSet<>();
+        Map<Long, SzResolvedEntity> result = prefetcher.take(ACTION, params(1L), 1, transientSet);
+        assertEquals(createEntity(1L), result.get(1L));
+        assertEquals(Set.of(), transientSet);
+
+        // taken only once
+        assertNull(prefetcher.take(ACTION, params(1L), 1, transientSet));
+
+        result = prefetcher.take(ACTION, params(2L), 1, transientSet);
+        assertEquals(createEntity(2L), result.get(2L));
+        assertEquals(Set.of(2L), transientSet);
+
+        result = prefetcher.take(ACTION, params(3L), 1, transientSet);
+        assertTrue(result.containsKey(3L));
+        assertNull(result.get(3L));
+
+        // the task was collapsed with another after the prefetch
+        assertNull(prefetcher.take(ACTION, params(4L), 2, transientSet));
+
+        // never requested
+        assertNull(prefetcher.take(ACTION, params(5L), 1, transientSet));
+        assertEquals(0, prefetcher.getDepth());
+
+        Map<Statistic, Number> stats = prefetcher.getStatistics();
+        assertEquals(4L, stats.get(prefetchRequestCount).longValue());
+        assertEquals(3L, stats.get(prefetchHitCount).longValue());
+        assertEquals(2L, stats.get(prefetchMissCount).longValue());
+        assertEquals(1L, stats.get(prefetchStaleCount).longValue());
+        assertEquals(0, stats.get(prefetchPipelineDepth).intValue());
+        assertEquals(4, stats.get(greatestPrefetchPipelineDepth).intValue());
+
+        prefetcher.shutdown();
+        assertFalse(prefetcher.prefetch(ACTION, params(6L), 1, List.of(6L), fetcher));
+    }
+
+    /**
+     * Test that a prefetch that has not started is claimed by the task
+     * rather than waited on.
+     */
+    @Test
+    @Order(300)
+    void testTakeBeforeStarted() throws Exception {
+        EntityPrefetcher prefetcher = new EntityPrefetcher(1, 10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger fetchCount = new AtomicInteger(0);
+        EntityPrefetcher.Fetcher fetcher = (entityId, transientSet) -> {
+            fetchCount.incrementAndGet();
+            if (entityId == 1L) {
+                started.countDown();
+                release.await();
+            }
+            return createEntity(entityId);
+        };
+
+        // occupy the single prefetch thread so the second request waits
+        assertTrue(prefetcher.prefetch(ACTION, params(1L), 1, List.of(1L), fetcher));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertTrue(prefetcher.prefetch(ACTION, params(2L), 1, List.of(2L), fetcher));
+
+        assertNull(prefetcher.take(ACTION, params(2L), 1, new TreeSet<>()));
+        release.countDown();
+
+        // the in-progress prefetch is waited on
+        Map<Long, SzResolvedEntity> result = prefetcher.take(ACTION, params(1L), 1, new TreeSet<>());
+        assertEquals(createEntity(1L), result.get(1L));
+
+        prefetcher.shutdown();
+        assertEquals(1, fetchCount.get());
+    }
+
+    /**
+     * Test that requests are dropped when the pipeline is full unless the
+     * oldest prefetch has completed.
+     */
+    @Test
+    @Order(400)
+    void testPipelineDepthBound() throws Exception {
+        EntityPrefetcher prefetcher = new EntityPrefetcher(2, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger(0);
+        EntityPrefetcher.Fetcher fetcher = (entityId, transientSet) -> {
+            if (entityId == 1L) {
+                release.await();
+            }
+            completed.incrementAndGet();
+            return createEntity(entityId);
+        };
+
+        assertTrue(prefetcher.prefetch(ACTION, params(1L), 1, List.of(1L), fetcher));
+        assertTrue(prefetcher.prefetch(ACTION, params(2L), 1, List.of(2L), fetcher));
+
+        // the oldest prefetch is still in progress
+        assertFalse(prefetcher.prefetch(ACTION, params(3L), 1, List.of(3L), fetcher));
+        assertEquals(2, prefetcher.getDepth());
+
+        // once complete, the oldest prefetch is evicted for a new request
+        release.countDown();
+        awaitCompleted(prefetcher, completed, 2);
+        Thread.sleep(100L); // let the futures complete after the fetches
+        assertTrue(prefetcher.prefetch(ACTION, params(3L), 1, List.of(3L), fetcher));
+        assertEquals(2, prefetcher.getDepth());
+        assertNull(prefetcher.take(ACTION, params(1L), 1, new TreeSet<>()));
+
+        assertEquals(2L, prefetcher.getStatistics().get(prefetchDroppedCount).longValue());
+        prefetcher.shutdown();
+    }
+
+    /**
+     * Test that the prefetches and direct retrievals together never exceed
+     * the engine concurrency.
+     */
+    @Test
+    @Order(500)
+    void testEngineConcurrencyBound() throws Exception {
+        EntityPrefetcher prefetcher = new EntityPrefetcher(2, 20);
+        AtomicInteger active = new AtomicInteger(0);
+        AtomicInteger greatest = new AtomicInteger(0);
+        AtomicInteger completed = new AtomicInteger(0);
+        EntityPrefetcher.Fetcher fetcher = (entityId, transientSet) -> {
+            greatest.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5L);
+                return createEntity(entityId);
+            } finally {
+                active.decrementAndGet();
+                completed.incrementAndGet();
+            }
+        };
+
+        for (long entityId = 1L; entityId <= 10L; entityId++) {
+            assertTrue(prefetcher.prefetch(ACTION, params(entityId), 1, List.of(entityId), fetcher));
+        }
+        List<Thread> threads = new ArrayList<>();
+        for (long entityId = 100L; entityId < 104L; entityId++) {
+            final long id = entityId;
+            Thread thread = new Thread(() -> {
+                try {
+                    assertEquals(createEntity(id), prefetcher.fetch(id, new TreeSet<>(), fetcher));
+                } catch (Exception e) {
+                    fail(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        awaitCompleted(prefetcher, completed, 14);
+        assertTrue(greatest.get() <= 2, "Engine concurrency exceeded: " + greatest.get());
+
+        Map<Statistic, Number> stats = prefetcher.getStatistics();
+        for (EntityPrefetcher.Stat stat : EntityPrefetcher.Stat.values()) {
+            assertTrue(stats.containsKey(stat), "Missing statistic: " + stat);
+        }
+        assertTrue(stats.get(prefetchEngineTime).longValue() > 0L);
+        prefetcher.shutdown();
+    }
+}
@@ -0,0 +1,188 @@
+package com.senzing.datamart.handlers;
+
+import com.senzing.datamart.model.SzRecord;
+import com.senzing.datamart.model.SzRelatedEntity;
+import com.senzing.datamart.model.SzResolvedEntity;
+import com.senzing.util.Quantified.Statistic;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import static com.senzing.datamart.handlers.EntitySnapshotCache.Stat.*;
+
+/**
+ * Unit tests for {@link EntitySnapshotCache}.
+ * Tests lookups, replacement, invalidation, weighting, frequency-based
+ * admission and statistics.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.SAME_THREAD)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class EntitySnapshotCacheTest {
+
+    /**
+     * Creates an entity with the specified number of records and related entities.
+     */
+    private static SzResolvedEntity createEntity(long entityId, int recordCount, int relatedCount) {
+        SzResolvedEntity entity = new SzResolvedEntity();
+        entity.setEntityId(entityId);
+        entity.setEntityName("Entity " + entityId);
+        for (int index = 0; index < recordCount; index++) {
+            entity.addRecord(new SzRecord("TEST", "REC-" + entityId + "-" + index, null, null));
+        }
+        for (int index = 0; index < relatedCount; index++) {
+            SzRelatedEntity related = new SzRelatedEntity();
+            related.setEntityId(entityId + 100000L + index);
+            entity.addRelatedEntity(related);
+        }
+        return entity;
+    }
+
+    /**
+     * Test construction and weighing.
+     */
+    @Test
+    @Order(100)
+    void testConstructionAndWeight() {
+        EntitySnapshotCache cache = new EntitySnapshotCache(500L);
+        assertEquals(500L, cache.getMaximumWeight());
+        assertEquals(0, cache.getSize());
+        assertEquals(0L, cache.getWeight());
+
+        assertEquals(1L, EntitySnapshotCache.weigh(createEntity(1L, 0, 0)));
+        assertEquals(6L, EntitySnapshotCache.weigh(createEntity(1L, 3, 2)));
+
+        assertThrows(IllegalArgumentException.class, () -> new EntitySnapshotCache(0L));
+        assertThrows(IllegalArgumentException.class, () -> new EntitySnapshotCache(-1L));
+    }
+
+    /**
+     * Test that entities are found after being put, replaced on a subsequent
+     * put and removed when invalidated.
+     */
+    @Test
+    @Order(200)
+    void testPutGetAndInvalidate() {
+        EntitySnapshotCache cache = new EntitySnapshotCache(1000L);
+        assertNull(cache.get(10L));
+
+        SzResolvedEntity entity = createEntity(10L, 2, 1);
+        cache.put(entity);
+        assertSame(entity, cache.get(10L));
+        assertEquals(1, cache.getSize());
+        assertEquals(4L, cache.getWeight());
+
+        SzResolvedEntity changed = createEntity(10L, 3, 1);
+        cache.put(changed);
+        assertSame(changed, cache.get(10L));
+        assertEquals(1, cache.getSize());
+        assertEquals(5L, cache.getWeight());
+
+        cache.invalidate(10L);
+        assertNull(cache.get(10L));
+        assertEquals(0, cache.getSize());
+        assertEquals(0L, cache.getWeight());
+
+        // invalidating an absent entity is harmless
+        cache.invalidate(10L);
+
+        cache.put(entity);
+        cache.clear();
+        assertNull(cache.get(10L));
+        assertEquals(0L, cache.getWeight());
+    }
+
+    /**
+     * Test that the total weight never exceeds the maximum and that an entity
+     * heavier than the maximum is never cached.
+     */
+    @Test
+    @Order(300)
+    void testWeightBound() {
+        EntitySnapshotCache cache = new EntitySnapshotCache(100L);
+        for (long entityId = 1L; entityId <= 200L; entityId++) {
+            cache.get(entityId);
+            cache.put(createEntity(entityId, (int) (entityId % 5), (int) (entityId % 3)));
+            assertTrue(cache.getWeight() <= 100L, "Weight exceeded maximum: " + cache.getWeight());
+        }
+
+        cache.put(createEntity(1000L, 150, 0));
+        assertNull(cache.get(1000L));
+        assertTrue(cache.getWeight() <= 100L);
+    }
+
+    /**
+     * Test that frequently accessed entities survive a scan of entities that
+     * are each accessed only once.
+     */
+    @Test
+    @Order(400)
+    void testFrequencyBasedAdmission() {
+        EntitySnapshotCache cache = new EntitySnapshotCache(200L);
+
+        // make a small set of hot entities
+        for (int pass = 0; pass < 5; pass++) {
+            for (long entityId = 1L; entityId <= 50L; entityId++) {
+                if (cache.get(entityId) == null) {
+                    cache.put(createEntity(entityId, 1, 0));
+                }
+            }
+        }
+
+        // scan many cold entities once each
+        for (long entityId = 10000L; entityId < 12000L; entityId++) {
+            cache.get(entityId);
+            cache.put(createEntity(entityId, 1, 0));
+        }
+
+        int hotCount = 0;
+        for (long entityId = 1L; entityId <= 50L; entityId++) {
+            if (cache.get(entityId) != null) {
+                hotCount++;
+            }
+        }
+        assertTrue(hotCount >= 45, "Hot entities were evicted by the scan: " + hotCount);
+
+        Map<Statistic, Number> stats = cache.getStatistics();
+        assertTrue(stats.get(entityCacheRejectionCount).longValue() > 0L);
+        assertTrue(stats.get(entityCacheEvictionCount).longValue() > 0L);
+    }
+
+    /**
+     * Test the statistics.
+     */
+    @Test
+    @Order(500)
+    void testStatistics() {
+        EntitySnapshotCache cache = new EntitySnapshotCache(1000L);
+        Map<Statistic, Number> stats = cache.getStatistics();
+        for (EntitySnapshotCache.Stat stat : EntitySnapshotCache.Stat.values()) {
+            assertTrue(stats.containsKey(stat), "Missing statistic: " + stat);
+        }
+        assertEquals(0.0, stats.get(entityCacheHitRatio).doubleValue());
+
+        cache.get(1L);
+        cache.put(createEntity(1L, 2, 0));
+        cache.get(1L);
+        cache.get(1L);
+        cache.get(2L);
+        cache.invalidate(1L);
+
+        stats = cache.getStatistics();
+        assertEquals(2L, stats.get(entityCacheHitCount).longValue());
+        assertEquals(2L, stats.get(entityCacheMissCount).longValue());
+        assertEquals(0.5, stats.get(entityCacheHitRatio).doubleValue());
+        assertEquals(1L, stats.get(entityCacheInvalidationCount).longValue());
+        assertEquals(0, stats.get(entityCacheSize).intValue());
+        assertEquals(0L, stats.get(entityCacheWeight).longValue());
+        assertEquals(1000L, stats.get(entityCacheMaximumWeight).longValue());
+    }
+}
@@ -0,0 +1,260 @@
+package com.senzing.datamart.handlers;
+
+import com.senzing.datamart.SzReplicationProvider;
+import com.senzing.datamart.model.SzRecord;
+import com.senzing.datamart.model.SzReportKey;
+import com.senzing.datamart.model.SzResolvedEntity;
+import com.senzing.datamart.model.SzSnapshotCodec;
+import com.senzing.datamart.schema.SQLiteSchemaBuilder;
+import com.senzing.sdk.SzEnvironment;
+import com.senzing.sql.ConnectionProvider;
+import com.senzing.sql.DatabaseType;
+import com.senzing.util.Quantified.Statistic;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the entity row upsert of {@link RefreshEntityHandler}
+ * against an SQLite data mart schema.  Tests inserted, unchanged and changed
+ * rows as well as legacy rows that have no stored entity digest.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.SAME_THREAD)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class RefreshEntityHandlerTest {
+
+    private File tempDbFile;
+    private Connection connection;
+    private RefreshEntityHandler handler;
+
+    /**
+     * Provider that is never consulted for the entity row upsert.
+     */
+    private static class UnusedProvider implements SzReplicationProvider {
+        @Override
+        public Boolean waitUntilReady(long timeoutMillis) {
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public SzEnvironment getSzEnvironment() {
+            return null;
+        }
+
+        @Override
+        public ConnectionProvider getConnectionProvider() {
+            return null;
+        }
+
+        @Override
+        public DatabaseType getDatabaseType() {
+            return DatabaseType.SQLITE;
+        }
+
+        @Override
+        public void scheduleReportFollowUp(String reportAction, SzReportKey reportKey) {
+            // do nothing
+        }
+
+        @Override
+        public Map<Statistic, Number> getStatistics() {
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Creates an entity with the specified name and number of records.
+     */
+    private static SzResolvedEntity createEntity(long entityId, String name, int recordCount) {
+        SzResolvedEntity entity = new SzResolvedEntity();
+        entity.setEntityId(entityId);
+        entity.setEntityName(name);
+        for (int index = 0; index < recordCount; index++) {
+            entity.addRecord(new SzRecord("TEST", "REC-" + entityId + "-" + index, null, null));
+        }
+        return entity;
+    }
+
+    /**
+     * Inserts an entity row as written before entity digests were stored.
+     */
+    private void insertLegacyRow(SzResolvedEntity entity) throws Exception {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO sz_dm_entity (entity_id, entity_name, record_count, relation_count,"
+                + " entity_hash, creator_id, modifier_id) VALUES (?, ?, ?, 0, ?, 'legacy', 'legacy')"))
+        {
+            ps.setLong(1, entity.getEntityId());
+            ps.setString(2, entity.getEntityName());
+            ps.setInt(3, entity.getRecords().size());
+            ps.setBytes(4, entity.toSnapshot());
+            assertEquals(1, ps.executeUpdate());
+        }
+    }
+
+    /**
+     * Gets the stored digest for the specified entity.
+     */
+    private byte[] getStoredDigest(long entityId) throws Exception {
+        return queryBytes("SELECT entity_digest FROM sz_dm_entity WHERE entity_id = ?", entityId);
+    }
+
+    /**
+     * Gets the stored modifier ID for the specified entity.
+     */
+    private String getModifierId(long entityId) throws Exception {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT modifier_id FROM sz_dm_entity WHERE entity_id = ?"))
+        {
+            ps.setLong(1, entityId);
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next(), "Entity row not found: " + entityId);
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private byte[] queryBytes(String sql, long entityId) throws Exception {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, entityId);
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next(), "Entity row not found: " + entityId);
+                return rs.getBytes(1);
+            }
+        }
+    }
+
+    @BeforeAll
+    void setUp() throws Exception {
+        tempDbFile = File.createTempFile("sqlite_entity_test_", ".db");
+        tempDbFile.deleteOnExit();
+
+        String jdbcUrl = "jdbc:sqlite:" + tempDbFile.getAbsolutePath();
+        connection = DriverManager.getConnection(jdbcUrl);
+        connection.setAutoCommit(false);
+
+        new SQLiteSchemaBuilder().ensureSchema(connection, true);
+        connection.commit();
+
+        handler = new RefreshEntityHandler(new UnusedProvider());
+    }
+
+    @BeforeEach
+    void clearEntities() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("DELETE FROM sz_dm_entity");
+        }
+        connection.commit();
+    }
+
+    @AfterAll
+    void tearDown() throws Exception {
+        if (connection != null && !connection.isClosed()) {
+            connection.close();
+        }
+        if (tempDbFile != null && tempDbFile.exists()) {
+            tempDbFile.delete();
+        }
+    }
+
+    /**
+     * Test that a new entity is inserted with its digest and reports no
+     * previous snapshot.
+     */
+    @Test
+    @Order(100)
+    void testInsertNewEntity() throws Exception {
+        SzResolvedEntity entity = createEntity(1L, "Entity 1", 2);
+
+        assertNull(handler.ensureEntityRow(connection, entity));
+        assertArrayEquals(SzSnapshotCodec.digest(entity.toSnapshot()), getStoredDigest(1L));
+    }
+
+    /**
+     * Test that an unchanged entity leaves the row untouched and reports
+     * nothing changed.
+     */
+    @Test
+    @Order(200)
+    void testUnchangedEntityIsNotWritten() throws Exception {
+        SzResolvedEntity entity = createEntity(2L, "Entity 2", 2);
+        assertNull(handler.ensureEntityRow(connection, entity));
+        String modifierId = getModifierId(2L);
+
+        byte[] result = handler.ensureEntityRow(connection, createEntity(2L, "Entity 2", 2));
+
+        assertNotNull(result);
+        assertEquals(0, result.length, "An unchanged entity should report nothing changed");
+        assertEquals(modifierId, getModifierId(2L), "An unchanged entity row should not be updated");
+    }
+
+    /**
+     * Test that a changed entity updates the row and returns the previous
+     * snapshot.
+     */
+    @Test
+    @Order(300)
+    void testChangedEntityReturnsPreviousSnapshot() throws Exception {
+        SzResolvedEntity original = createEntity(3L, "Entity 3", 1);
+        assertNull(handler.ensureEntityRow(connection, original));
+
+        SzResolvedEntity changed = createEntity(3L, "Entity 3", 3);
+        byte[] result = handler.ensureEntityRow(connection, changed);
+
+        assertArrayEquals(original.toSnapshot(), result);
+        assertArrayEquals(SzSnapshotCodec.digest(changed.toSnapshot()), getStoredDigest(3L));
+    }
+
+    /**
+     * Test that a legacy row without a digest holding the same snapshot has
+     * its digest filled in and reports nothing changed.
+     */
+    @Test
+    @Order(400)
+    void testLegacyRowWithSameSnapshotFillsDigest() throws Exception {
+        SzResolvedEntity entity = createEntity(4L, "Entity 4", 2);
+        insertLegacyRow(entity);
+        assertNull(getStoredDigest(4L));
+
+        byte[] result = handler.ensureEntityRow(connection, createEntity(4L, "Entity 4", 2));
+
+        assertNotNull(result);
+        assertEquals(0, result.length, "A legacy row with the same snapshot should report nothing changed");
+        assertArrayEquals(SzSnapshotCodec.digest(entity.toSnapshot()), getStoredDigest(4L));
+    }
+
+    /**
+     * Test that a legacy row without a digest holding a different snapshot is
+     * updated and returns the previous snapshot.
+     */
+    @Test
+    @Order(500)
+    void testLegacyRowWithChangedSnapshotReturnsPreviousSnapshot() throws Exception {
+        SzResolvedEntity original = createEntity(5L, "Entity 5", 1);
+        insertLegacyRow(original);
+
+        SzResolvedEntity changed = createEntity(5L, "Entity 5", 2);
+        byte[] result = handler.ensureEntityRow(connection, changed);
+
+        assertArrayEquals(original.toSnapshot(), result);
+        assertArrayEquals(SzSnapshotCodec.digest(changed.toSnapshot()), getStoredDigest(5L));
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.parallel.ExecutionMode;
 import uk.org.webcompere.systemstubs.stream.SystemErr;
 
 import javax.json.JsonObject;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -388,6 +389,21 @@ class SzRelationshipTest {
         assertNull(SzRelationship.parseHash(null));
     }
 
+    @Test
+    void testToSnapshotAndParseSnapshot() {
+        SzRelationship original = createTestRelationship();
+
+        byte[] snapshot = original.toSnapshot();
+        assertTrue(SzSnapshotCodec.isBinarySnapshot(snapshot));
+        assertEquals(original, SzRelationship.parseSnapshot(snapshot));
+
+        // legacy hash text is still readable
+        byte[] legacy = original.toHash().getBytes(StandardCharsets.UTF_8);
+        assertEquals(original, SzRelationship.parseSnapshot(legacy));
+
+        assertNull(SzRelationship.parseSnapshot(null));
+    }
+
     @Test
     void testRoundTripThroughJson() {
         SzRelationship original = createTestRelationship();
@@ -6,6 +6,7 @@ import javax.json.Json;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -313,6 +314,21 @@ class SzResolvedEntityTest {
         assertEquals(original, parsed);
     }
 
+    @Test
+    void testToSnapshotAndParseSnapshot() {
+        SzResolvedEntity original = createTestResolvedEntity();
+
+        byte[] snapshot = original.toSnapshot();
+        assertTrue(SzSnapshotCodec.isBinarySnapshot(snapshot));
+        assertEquals(original, SzResolvedEntity.parseSnapshot(snapshot));
+
+        // legacy hash text is still readable
+        byte[] legacy = original.toHash().getBytes(StandardCharsets.UTF_8);
+        assertEquals(original, SzResolvedEntity.parseSnapshot(legacy));
+
+        assertNull(SzResolvedEntity.parseSnapshot(null));
+    }
+
     @Test
     void testRoundTripThroughJson() {
         SzResolvedEntity original = createTestResolvedEntity();
@@ -0,0 +1,204 @@
+package com.senzing.datamart.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SzSnapshotCodecTest {
+
+    private static final String[] DATA_SOURCES = {"CUSTOMERS", "VENDORS", "EMPLOYEES", "WATCHLIST"};
+
+    private static final String[] MATCH_KEYS = {"+NAME+DOB", "+NAME+ADDRESS", "+PHONE+EMAIL", "+NAME+SSN"};
+
+    private static final String[] PRINCIPLES = {"SF1_PNAME_CSTAB", "CNAME_CFF_CEXCL", "MFF_CSTAB"};
+
+    /**
+     * Creates a representative entity with the specified number of records and
+     * related entities.
+     */
+    private static SzResolvedEntity createEntity(long entityId, int recordCount, int relatedCount) {
+        SzResolvedEntity entity = new SzResolvedEntity();
+        entity.setEntityId(entityId);
+        entity.setEntityName("Entity Name " + entityId);
+        for (int index = 0; index < recordCount; index++) {
+            entity.addRecord(new SzRecord(DATA_SOURCES[index % DATA_SOURCES.length],
+                                          "REC-" + entityId + "-" + index,
+                                          (index == 0) ? null : MATCH_KEYS[index % MATCH_KEYS.length],
+                                          (index == 0) ? null : PRINCIPLES[index % PRINCIPLES.length]));
+        }
+        SzMatchType[] matchTypes = SzMatchType.values();
+        for (int index = 0; index < relatedCount; index++) {
+            SzRelatedEntity related = new SzRelatedEntity();
+            related.setEntityId(entityId + 1000L + (index * 37L));
+            related.setEntityName("Related " + index);
+            related.setMatchType(matchTypes[index % matchTypes.length]);
+            related.setMatchKey(MATCH_KEYS[index % MATCH_KEYS.length]);
+            related.setPrinciple(PRINCIPLES[index % PRINCIPLES.length]);
+            for (int recordIndex = 0; recordIndex < 2; recordIndex++) {
+                related.addRecord(new SzRecord(DATA_SOURCES[(index + recordIndex) % DATA_SOURCES.length],
+                                               "REL-" + index + "-" + recordIndex, null, null));
+            }
+            entity.addRelatedEntity(related);
+        }
+        return entity;
+    }
+
+    @Test
+    void testEntityRoundTrip() {
+        SzResolvedEntity original = createEntity(123456789L, 12, 8);
+        byte[] snapshot = SzSnapshotCodec.encode(original);
+
+        assertTrue(SzSnapshotCodec.isBinarySnapshot(snapshot));
+        assertEquals(SzSnapshotCodec.MAGIC, snapshot[0]);
+        assertEquals(SzSnapshotCodec.FORMAT_VERSION, snapshot[1]);
+        assertEquals(original, SzSnapshotCodec.decodeEntity(snapshot));
+    }
+
+    @Test
+    void testEntityWithoutRecordsOrName() {
+        SzResolvedEntity original = new SzResolvedEntity();
+        original.setEntityId(-5L);
+        assertEquals(original, SzSnapshotCodec.decodeEntity(SzSnapshotCodec.encode(original)));
+    }
+
+    @Test
+    void testRelationshipRoundTrip() {
+        SzResolvedEntity entity = createEntity(5000L, 3, 4);
+        for (SzRelatedEntity related : entity.getRelatedEntities().values()) {
+            SzRelationship original = new SzRelationship(entity, related);
+            byte[] snapshot = SzSnapshotCodec.encode(original);
+            assertTrue(SzSnapshotCodec.isBinarySnapshot(snapshot));
+            assertEquals(original, SzSnapshotCodec.decodeRelationship(snapshot));
+        }
+    }
+
+    @Test
+    void testEncodingIsDeterministic() {
+        SzResolvedEntity entity1 = createEntity(42L, 6, 5);
+
+        // build the same entity with the records and relations in reverse order
+        SzResolvedEntity entity2 = new SzResolvedEntity();
+        entity2.setEntityId(entity1.getEntityId());
+        entity2.setEntityName(entity1.getEntityName());
+        List<SzRecord> records = new ArrayList<>(entity1.getRecords().values());
+        Collections.reverse(records);
+        records.forEach(entity2::addRecord);
+        List<SzRelatedEntity> related = new ArrayList<>(entity1.getRelatedEntities().values());
+        Collections.reverse(related);
+        related.forEach(entity2::addRelatedEntity);
+
+        assertEquals(entity1, entity2);
+        assertArrayEquals(SzSnapshotCodec.encode(entity1), SzSnapshotCodec.encode(entity2));
+    }
+
+    @Test
+    void testDigest() {
+        SzResolvedEntity entity1 = createEntity(42L, 6, 5);
+        SzResolvedEntity entity2 = SzSnapshotCodec.decodeEntity(SzSnapshotCodec.encode(entity1));
+        byte[] digest = SzSnapshotCodec.digest(entity1.toSnapshot());
+
+        assertEquals(SzSnapshotCodec.DIGEST_LENGTH, digest.length);
+        assertArrayEquals(digest, SzSnapshotCodec.digest(entity2.toSnapshot()));
+
+        // any change to the entity changes the digest
+        entity2.setEntityName(entity1.getEntityName() + " Changed");
+        assertFalse(Arrays.equals(digest, SzSnapshotCodec.digest(entity2.toSnapshot())));
+        SzResolvedEntity entity3 = createEntity(42L, 6, 4);
+        assertFalse(Arrays.equals(digest, SzSnapshotCodec.digest(entity3.toSnapshot())));
+
+        assertThrows(NullPointerException.class, () -> SzSnapshotCodec.digest(null));
+    }
+
+    @Test
+    void testLegacyHashIsNotBinarySnapshot() {
+        SzResolvedEntity entity = createEntity(7L, 2, 1);
+        byte[] legacy = entity.toHash().getBytes(StandardCharsets.UTF_8);
+        assertFalse(SzSnapshotCodec.isBinarySnapshot(legacy));
+        assertFalse(SzSnapshotCodec.isBinarySnapshot(null));
+        assertFalse(SzSnapshotCodec.isBinarySnapshot(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> SzSnapshotCodec.decodeEntity(legacy));
+    }
+
+    @Test
+    void testInvalidSnapshots() {
+        SzResolvedEntity entity = createEntity(7L, 3, 2);
+        byte[] snapshot = SzSnapshotCodec.encode(entity);
+
+        // wrong kind
+        assertThrows(IllegalArgumentException.class, () -> SzSnapshotCodec.decodeRelationship(snapshot));
+
+        // unsupported version
+        byte[] future = snapshot.clone();
+        future[1] = (byte) (SzSnapshotCodec.FORMAT_VERSION + 1);
+        assertThrows(IllegalArgumentException.class, () -> SzSnapshotCodec.decodeEntity(future));
+
+        // truncated and trailing bytes
+        byte[] truncated = Arrays.copyOf(snapshot, snapshot.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> SzSnapshotCodec.decodeEntity(truncated));
+        byte[] trailing = Arrays.copyOf(snapshot, snapshot.length + 1);
+        assertThrows(IllegalArgumentException.class, () -> SzSnapshotCodec.decodeEntity(trailing));
+
+        assertThrows(NullPointerException.class, () -> SzSnapshotCodec.decodeEntity(null));
+    }
+
+    /**
+     * Compares the size and the encode and decode time of the binary snapshot
+     * with the legacy zipped and base64-encoded JSON hash for representative
+     * entities.
+     */
+    @Test
+    void testCodecBenchmark() {
+        int iterations = 2000;
+        List<SzResolvedEntity> entities = new ArrayList<>();
+        for (int index = 0; index < 20; index++) {
+            entities.add(createEntity(1000000L + index * 101L, 1 + (index % 8), index % 12));
+        }
+
+        // warm up and verify
+        long hashBytes = 0L;
+        long snapshotBytes = 0L;
+        for (SzResolvedEntity entity : entities) {
+            String hash = entity.toHash();
+            byte[] snapshot = entity.toSnapshot();
+            assertEquals(entity, SzResolvedEntity.parseHash(hash));
+            assertEquals(entity, SzResolvedEntity.parseSnapshot(snapshot));
+            hashBytes += hash.getBytes(StandardCharsets.UTF_8).length;
+            snapshotBytes += snapshot.length;
+        }
+        for (int index = 0; index < iterations / 4; index++) {
+            for (SzResolvedEntity entity : entities) {
+                SzResolvedEntity.parseHash(entity.toHash());
+                SzResolvedEntity.parseSnapshot(entity.toSnapshot());
+            }
+        }
+
+        long checksum = 0L;
+        long hashStart = System.nanoTime();
+        for (int index = 0; index < iterations; index++) {
+            for (SzResolvedEntity entity : entities) {
+                checksum += SzResolvedEntity.parseHash(entity.toHash()).getRecords().size();
+            }
+        }
+        long hashNanos = System.nanoTime() - hashStart;
+
+        long snapshotStart = System.nanoTime();
+        for (int index = 0; index < iterations; index++) {
+            for (SzResolvedEntity entity : entities) {
+                checksum -= SzResolvedEntity.parseSnapshot(entity.toSnapshot()).getRecords().size();
+            }
+        }
+        long snapshotNanos = System.nanoTime() - snapshotStart;
+
+        assertEquals(0L, checksum);
+        assertTrue(snapshotBytes < hashBytes, "Snapshots should be smaller than legacy hashes");
+
+        long count = (long) iterations * entities.size();
+        System.err.println("ENTITY CODEC (legacy hash): " + (hashNanos / count) + " ns/round-trip, "
+                + (hashBytes / entities.size()) + " bytes/entity");
+        System.err.println("ENTITY CODEC (binary snapshot): " + (snapshotNanos / count) + " ns/round-trip, "
+                + (snapshotBytes / entities.size()) + " bytes/entity");
+    }
+}
@@ -8,6 +8,8 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * Unit tests for {@link SQLiteSchemaBuilder} using a temporary SQLite database file.
  */
@@ -139,4 +141,33 @@ class SQLiteSchemaBuilderTest extends AbstractSchemaBuilderTest<SQLiteSchemaBuil
         }
         return triggers;
     }
+
+    /**
+     * Test 4: Ensure schema on an entity table created before the digest
+     * column existed.  Verifies the column is added and the data preserved.
+     */
+    @Test
+    @Order(400)
+    void testEnsureSchemaAddsEntityDigestColumn() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS sz_dm_entity");
+            stmt.execute("CREATE TABLE sz_dm_entity (entity_id INTEGER NOT NULL PRIMARY KEY, "
+                    + "entity_name TEXT, record_count INTEGER, relation_count INTEGER, "
+                    + "entity_hash BLOB, prev_entity_hash BLOB, creator_id TEXT NOT NULL, "
+                    + "modifier_id TEXT NOT NULL, created_on TIMESTAMP, modified_on TIMESTAMP)");
+            stmt.execute("INSERT INTO sz_dm_entity (entity_id, entity_name, record_count, "
+                    + "relation_count, creator_id, modifier_id) "
+                    + "VALUES (1, 'Test Entity', 1, 0, 'test', 'test')");
+            connection.commit();
+        }
+        assertFalse(getSchemaBuilder().hasColumn(connection, "sz_dm_entity", "entity_digest"));
+
+        assertDoesNotThrow(() -> getSchemaBuilder().ensureSchema(connection, false));
+        assertTrue(getSchemaBuilder().hasColumn(connection, "sz_dm_entity", "entity_digest"));
+        assertEquals(1L, getRowCount("sz_dm_entity"));
+
+        // a second call leaves the column in place
+        assertDoesNotThrow(() -> getSchemaBuilder().ensureSchema(connection, false));
+        assertTrue(getSchemaBuilder().hasColumn(connection, "sz_dm_entity", "entity_digest"));
+    }
 }
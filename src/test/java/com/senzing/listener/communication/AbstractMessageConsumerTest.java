@@ -2,9 +2,11 @@ package com.senzing.listener.communication;
 
 import com.senzing.listener.communication.exception.MessageConsumerException;
 import com.senzing.listener.service.AbstractListenerService;
+import com.senzing.listener.service.InfoMessageProcessor;
 import com.senzing.listener.service.MessageProcessor;
 import com.senzing.listener.service.exception.ServiceExecutionException;
 import com.senzing.listener.service.locking.ProcessScopeLockingService;
+import com.senzing.listener.service.model.SzInfoMessage;
 import com.senzing.listener.service.scheduling.AbstractSchedulingService;
 import com.senzing.listener.service.scheduling.PostgreSQLSchedulingService;
 import com.senzing.listener.service.scheduling.Scheduler;
@@ -16,6 +18,8 @@ import com.senzing.util.JsonUtilities;
 import javax.json.*;
 import javax.naming.NamingException;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.sql.DriverManager;
 import java.util.*;
@@ -29,7 +33,11 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import uk.org.webcompere.systemstubs.stream.SystemErr;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -1718,10 +1726,21 @@ public class AbstractMessageConsumerTest {
     public static class SimpleTestConsumer extends AbstractMessageConsumer<Message> {
         private String messageBodyOverride = null;
         private boolean useOverride = false;
+        private ByteBuffer messageBytesOverride = null;
+        private final Set<Thread> disposeThreads = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger disposeCount = new AtomicInteger(0);
 
         public SimpleTestConsumer() {
         }
 
+        public Set<Thread> getDisposeThreads() {
+            return this.disposeThreads;
+        }
+
+        public int getDisposeCount() {
+            return this.disposeCount.get();
+        }
+
         public void setMessageBodyOverride(String body) {
             this.messageBodyOverride = body;
             this.useOverride = true;
@@ -1732,6 +1751,15 @@ public class AbstractMessageConsumerTest {
             this.messageBodyOverride = null;
         }
 
+        public void setMessageBytesOverride(ByteBuffer bytes) {
+            this.messageBytesOverride = bytes;
+        }
+
+        @Override
+        protected ByteBuffer extractMessageBytes(Message msg) {
+            return (this.messageBytesOverride == null) ? null : this.messageBytesOverride.duplicate();
+        }
+
         @Override
         protected void doInit(JsonObject config) {
             // nothing to do
@@ -1757,7 +1785,8 @@ public class AbstractMessageConsumerTest {
 
         @Override
         protected void disposeMessage(Message msg) {
-            // nothing to do
+            this.disposeThreads.add(Thread.currentThread());
+            this.disposeCount.incrementAndGet();
         }
 
         /**
@@ -1839,6 +1868,7 @@ public class AbstractMessageConsumerTest {
                     assertNull(units, "Expected null units for " + stat);
                     break;
                 case concurrency:
+                case concurrencyLimit:
                     assertEquals("threads", units, "Expected 'threads' units for " + stat);
                     break;
                 case roundTripCount:
@@ -2193,6 +2223,114 @@ public class AbstractMessageConsumerTest {
                 "Warning about unrecognized message should be logged");
     }
 
+    /**
+     * Tests that enqueueMessages() parses the body directly into {@link SzInfoMessage}
+     * instances when the processor is an {@link InfoMessageProcessor}.
+     */
+    @Test
+    public void testEnqueueMessagesParsesInfoMessagesForInfoMessageProcessor() throws Exception {
+        SimpleTestConsumer consumer = new SimpleTestConsumer();
+        consumer.init(Json.createObjectBuilder().build());
+        synchronized (consumer) {
+            consumer.setState(CONSUMING);
+        }
+
+        consumer.setMessageBodyOverride("[{\"DATA_SOURCE\":\"TEST\",\"RECORD_ID\":\"1\","
+                + "\"AFFECTED_ENTITIES\":[{\"ENTITY_ID\":10}]},"
+                + "{\"DATA_SOURCE\":\"TEST\",\"RECORD_ID\":\"2\"}]");
+
+        List<SzInfoMessage> processed = new ArrayList<>();
+        InfoMessageProcessor processor = new InfoMessageProcessor() {
+            @Override
+            public void process(JsonObject message) {
+                fail("The JSON object variant should not be called");
+            }
+
+            @Override
+            public void process(SzInfoMessage message) {
+                processed.add(message);
+            }
+        };
+        consumer.callEnqueueMessages(processor, new Message(1, "ignored"));
+        assertEquals(2, consumer.getPendingMessageCount());
+
+        InfoMessage<Message> first = consumer.dequeueMessage(processor);
+        assertNull(first.getMessage());
+        assertEquals("1", first.getInfoMessage().getRecordId());
+        assertEquals(Set.of(10L), first.getInfoMessage().getAffectedEntities());
+
+        InfoMessage<Message> second = consumer.dequeueMessage(processor);
+        assertEquals("2", second.getInfoMessage().getRecordId());
+        assertTrue(second.getInfoMessage().getAffectedEntities().isEmpty());
+    }
+
+    /**
+     * Tests that enqueueMessages() parses a byte view of the body in place for both
+     * the streaming and JSON object paths, ignoring surrounding whitespace.
+     */
+    @Test
+    public void testEnqueueMessagesFromBytes() throws Exception {
+        SimpleTestConsumer consumer = new SimpleTestConsumer();
+        consumer.init(Json.createObjectBuilder().build());
+        synchronized (consumer) {
+            consumer.setState(CONSUMING);
+        }
+
+        String body = " \n[{\"DATA_SOURCE\":\"TEST\",\"RECORD_ID\":\"1\","
+                + "\"AFFECTED_ENTITIES\":[{\"ENTITY_ID\":10}]},"
+                + "{\"DATA_SOURCE\":\"TEST\",\"RECORD_ID\":\"2\"}]\t ";
+        byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        byte[] padded = new byte[bodyBytes.length + 6];
+        Arrays.fill(padded, (byte) 'x');
+        System.arraycopy(bodyBytes, 0, padded, 3, bodyBytes.length);
+        consumer.setMessageBytesOverride(ByteBuffer.wrap(padded, 3, bodyBytes.length).slice());
+
+        // the text form must not be requested when the bytes are available
+        consumer.setMessageBodyOverride("not used");
+
+        InfoMessageProcessor infoProcessor = new InfoMessageProcessor() {
+            @Override
+            public void process(JsonObject message) {
+                fail("The JSON object variant should not be called");
+            }
+
+            @Override
+            public void process(SzInfoMessage message) {
+                // do nothing
+            }
+        };
+        consumer.callEnqueueMessages(infoProcessor, new Message(1, "ignored"));
+        assertEquals(2, consumer.getPendingMessageCount());
+        InfoMessage<Message> first = consumer.dequeueMessage(infoProcessor);
+        assertEquals("1", first.getInfoMessage().getRecordId());
+        assertEquals(Set.of(10L), first.getInfoMessage().getAffectedEntities());
+        assertEquals("2", consumer.dequeueMessage(infoProcessor).getInfoMessage().getRecordId());
+
+        // the JSON object path from a direct buffer
+        ByteBuffer direct = ByteBuffer.allocateDirect(bodyBytes.length);
+        direct.put(bodyBytes).flip();
+        consumer.setMessageBytesOverride(direct);
+        MessageProcessor processor = (msg) -> {};
+        consumer.callEnqueueMessages(processor, new Message(2, "ignored"));
+        assertEquals(2, consumer.getPendingMessageCount());
+        assertEquals("1", consumer.dequeueMessage(processor).getMessage().getString("RECORD_ID"));
+        assertEquals("2", consumer.dequeueMessage(processor).getMessage().getString("RECORD_ID"));
+
+        // whitespace only is ignored
+        consumer.setMessageBytesOverride(ByteBuffer.wrap(" \r\n\t ".getBytes(StandardCharsets.UTF_8)));
+        consumer.callEnqueueMessages(processor, new Message(3, "ignored"));
+        assertEquals(0, consumer.getPendingMessageCount());
+
+        // invalid bytes report the decoded body
+        consumer.setMessageBytesOverride(ByteBuffer.wrap("not json bytes".getBytes(StandardCharsets.UTF_8)));
+        SystemErr systemErr = new SystemErr();
+        systemErr.execute(() -> consumer.callEnqueueMessages(processor, new Message(4, "ignored")));
+        assertEquals(0, consumer.getPendingMessageCount());
+        String errOutput = systemErr.getText();
+        assertTrue(errOutput.contains("Ignoring unrecognized message body"));
+        assertTrue(errOutput.contains("not json bytes"));
+    }
+
     /**
      * Test 13: Tests that backgroundProcessMessages() when not CONSUMING throws exception.
      * This exercises lines 1070-1071 of AbstractMessageConsumer.java.
@@ -2485,6 +2623,177 @@ public class AbstractMessageConsumerTest {
                 "toString() should contain 'disposable=[ false ]' after markProcessed(false), but was: " + toStringAfter);
     }
 
+    // ========================================================================
+    // Virtual Thread Execution Mode Tests
+    // ========================================================================
+
+    /**
+     * Consumes the specified number of messages with a processor that sleeps
+     * for the specified number of milliseconds per message and returns the
+     * elapsed milliseconds.  The peak number of concurrently processed
+     * messages is recorded in the specified {@link AtomicInteger}.
+     */
+    private long timeBlockingConsumption(JsonObject     config,
+                                         int            messageCount,
+                                         long           sleepMillis,
+                                         AtomicInteger  peakConcurrency)
+        throws Exception
+    {
+        SimpleTestConsumer consumer = new SimpleTestConsumer();
+        consumer.init(config);
+
+        AtomicInteger active = new AtomicInteger(0);
+        CountDownLatch latch = new CountDownLatch(messageCount);
+        MessageProcessor processor = (msg) -> {
+            int current = active.incrementAndGet();
+            peakConcurrency.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException ignore) {
+                // ignore
+            } finally {
+                active.decrementAndGet();
+                latch.countDown();
+            }
+        };
+
+        long start = System.nanoTime();
+        consumer.consume(processor);
+        try {
+            for (int i = 1; i <= messageCount; i++) {
+                consumer.callEnqueueMessages(processor, new Message(
+                    i, buildInfoMessage(i, "CUSTOMERS", "00" + i, i)));
+            }
+            assertTrue(latch.await(60, TimeUnit.SECONDS),
+                    "All messages should have been processed");
+        } finally {
+            consumer.destroy();
+        }
+        return (System.nanoTime() - start) / 1000000L;
+    }
+
+    /**
+     * Compares the throughput of blocking message processing on a fixed-size
+     * worker pool against processing each message on its own thread with a
+     * bounded number of in-flight messages.
+     */
+    @Test
+    public void testVirtualThreadModeThroughput() throws Exception {
+        int messageCount = 200;
+        int maxInFlight = 50;
+
+        JsonObject pooledConfig = Json.createObjectBuilder()
+                .add(CONCURRENCY_KEY, 2)
+                .build();
+        AtomicInteger pooledPeak = new AtomicInteger(0);
+        long pooledMillis = timeBlockingConsumption(
+                pooledConfig, messageCount, 20L, pooledPeak);
+
+        JsonObject virtualConfig = Json.createObjectBuilder()
+                .add(CONCURRENCY_KEY, 2)
+                .add(VIRTUAL_THREADS_KEY, true)
+                .add(MAX_IN_FLIGHT_KEY, maxInFlight)
+                .build();
+        AtomicInteger virtualPeak = new AtomicInteger(0);
+        long virtualMillis = timeBlockingConsumption(
+                virtualConfig, messageCount, 20L, virtualPeak);
+
+        System.err.println("POOLED: " + messageCount + " messages in "
+                + pooledMillis + " ms (peak concurrency " + pooledPeak + ")");
+        System.err.println("VIRTUAL: " + messageCount + " messages in "
+                + virtualMillis + " ms (peak concurrency " + virtualPeak + ")");
+
+        assertTrue(pooledPeak.get() <= 2,
+                "Pooled mode should not exceed the configured concurrency");
+        assertTrue(virtualPeak.get() > 2,
+                "Virtual thread mode should exceed the pool concurrency");
+        assertTrue(virtualPeak.get() <= maxInFlight,
+                "Virtual thread mode should not exceed the in-flight bound");
+    }
+
+    /**
+     * Tests that asynchronous processing keeps many messages in flight from
+     * a single completion thread and disposes them from the message
+     * processing thread rather than the completion callbacks.
+     */
+    @Test
+    public void testAsyncProcessingKeepsMessagesInFlight() throws Exception {
+        int messageCount = 200;
+        int maxInFlight = 50;
+
+        SimpleTestConsumer consumer = new SimpleTestConsumer();
+        consumer.init(Json.createObjectBuilder()
+                .add(CONCURRENCY_KEY, 1)
+                .add(ASYNC_PROCESSING_KEY, true)
+                .add(MAX_IN_FLIGHT_KEY, maxInFlight)
+                .build());
+        assertTrue(consumer.isAsyncProcessing());
+
+        Set<Thread> completerThreads = ConcurrentHashMap.newKeySet();
+        ScheduledExecutorService completer
+                = Executors.newSingleThreadScheduledExecutor();
+        AtomicInteger inFlight = new AtomicInteger(0);
+        AtomicInteger peakInFlight = new AtomicInteger(0);
+        CountDownLatch latch = new CountDownLatch(messageCount);
+        MessageProcessor processor = new MessageProcessor() {
+            @Override
+            public void process(JsonObject message) {
+                fail("Synchronous processing should not be used");
+            }
+
+            @Override
+            public CompletableFuture<Void> processAsync(JsonObject message) {
+                peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                CompletableFuture<Void> future
+                        = new CompletableFuture<>();
+                completer.schedule(() -> {
+                    completerThreads.add(Thread.currentThread());
+                    inFlight.decrementAndGet();
+                    future.complete(null);
+                    latch.countDown();
+                }, 20, TimeUnit.MILLISECONDS);
+                return future;
+            }
+        };
+
+        consumer.consume(processor);
+        try {
+            for (int i = 1; i <= messageCount; i++) {
+                consumer.callEnqueueMessages(processor, new Message(
+                    i, buildInfoMessage(i, "CUSTOMERS", "00" + i, i)));
+            }
+            assertTrue(latch.await(60, TimeUnit.SECONDS),
+                    "All messages should have been processed");
+        } finally {
+            consumer.destroy();
+            completer.shutdownNow();
+        }
+
+        assertTrue(peakInFlight.get() > 1,
+                "Asynchronous processing should keep multiple messages in flight");
+        assertTrue(peakInFlight.get() <= maxInFlight,
+                "Asynchronous processing should not exceed the in-flight bound");
+        assertEquals(messageCount, consumer.getDisposeCount(),
+                "Every message should have been disposed");
+        for (Thread thread : completerThreads) {
+            assertFalse(consumer.getDisposeThreads().contains(thread),
+                    "Messages should not be disposed from completion callbacks");
+        }
+    }
+
+    @Test
+    public void testVirtualThreadConfigDefaults() throws Exception {
+        SimpleTestConsumer consumer = new SimpleTestConsumer();
+        consumer.init(Json.createObjectBuilder().build());
+        try {
+            assertFalse(consumer.isUsingVirtualThreads());
+            assertFalse(consumer.isAsyncProcessing());
+            assertEquals(DEFAULT_MAX_IN_FLIGHT, consumer.getMaxInFlight());
+        } finally {
+            consumer.destroy();
+        }
+    }
+
     private static Map<Statistic, Number> printStatistics(TestMessageConsumer consumer, TestService service, ConnectionPool pool) {
         System.err.println();
         System.err.println("=====================================================");
@@ -0,0 +1,131 @@
+package com.senzing.listener.communication;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AdaptiveConcurrencyLimiter}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AdaptiveConcurrencyLimiterTest {
+
+    /**
+     * Completes one full window at the current limit with the specified
+     * latency per message and dequeue outcome.
+     */
+    private static void completeWindow(AdaptiveConcurrencyLimiter limiter, long latencyNanos,
+                                       boolean backlog, boolean failed) {
+        int count = limiter.getLimit();
+        long[] admitted = new long[count];
+        for (int index = 0; index < count; index++) {
+            limiter.recordDequeue(backlog);
+            admitted[index] = limiter.acquire() - latencyNanos;
+        }
+        for (int index = 0; index < count; index++) {
+            limiter.release(admitted[index], failed && index == 0);
+        }
+    }
+
+    @Test
+    public void constructionTest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 8, 4);
+        assertEquals(2, limiter.getMinimum());
+        assertEquals(8, limiter.getMaximum());
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlightCount());
+        assertTrue(limiter.isAdaptive());
+
+        assertEquals(8, new AdaptiveConcurrencyLimiter(2, 8, 20).getLimit());
+        assertEquals(2, new AdaptiveConcurrencyLimiter(2, 8, 1).getLimit());
+        assertFalse(new AdaptiveConcurrencyLimiter(4, 4, 4).isAdaptive());
+
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(0, 4, 2));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 4, 4));
+    }
+
+    @Test
+    public void fixedLimitTest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 4, 4);
+        for (int window = 0; window < 5; window++) {
+            completeWindow(limiter, 1000000L, true, false);
+        }
+        completeWindow(limiter, 500000000L, false, true);
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    public void increaseWithBacklogTest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 6, 2);
+
+        // no backlog means no increase
+        completeWindow(limiter, 2000000L, false, false);
+        assertEquals(2, limiter.getLimit());
+
+        for (int window = 0; window < 10; window++) {
+            completeWindow(limiter, 2000000L, true, false);
+        }
+        assertEquals(6, limiter.getLimit());
+    }
+
+    @Test
+    public void decreaseOnLatencyTest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 16, 16);
+        completeWindow(limiter, 2000000L, true, false);
+        assertEquals(16, limiter.getLimit());
+
+        // latency well past the baseline shrinks the limit despite a backlog
+        completeWindow(limiter, 20000000L, true, false);
+        assertEquals(12, limiter.getLimit());
+        completeWindow(limiter, 20000000L, true, false);
+        assertEquals(9, limiter.getLimit());
+
+        // never below the minimum
+        for (int window = 0; window < 10; window++) {
+            completeWindow(limiter, 200000000L, true, false);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    public void decreaseOnFailureTest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 8, 8);
+        completeWindow(limiter, 2000000L, true, true);
+        assertEquals(6, limiter.getLimit());
+    }
+
+    @Test
+    public void acquireBlocksAtLimitTest() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, 2);
+        long first = limiter.acquire();
+        limiter.acquire();
+        assertEquals(2, limiter.getInFlightCount());
+        assertFalse(limiter.awaitIdle(10L));
+
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean admitted = new AtomicBoolean(false);
+        Thread thread = new Thread(() -> {
+            started.countDown();
+            limiter.acquire();
+            admitted.set(true);
+        });
+        thread.start();
+        started.await();
+        Thread.sleep(100L);
+        assertFalse(admitted.get());
+
+        limiter.release(first, false);
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+        assertTrue(admitted.get());
+        assertEquals(2, limiter.getInFlightCount());
+
+        limiter.release(System.nanoTime(), false);
+        limiter.release(System.nanoTime(), false);
+        assertTrue(limiter.awaitIdle(10L));
+    }
+}
@@ -0,0 +1,231 @@
+package com.senzing.listener.communication;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PendingMessageRing}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class PendingMessageRingTest {
+
+    @Test
+    public void capacityRoundsToPowerOfTwoTest() {
+        assertEquals(2, new PendingMessageRing<String>(1).getCapacity());
+        assertEquals(2, new PendingMessageRing<String>(2).getCapacity());
+        assertEquals(4, new PendingMessageRing<String>(3).getCapacity());
+        assertEquals(1024, new PendingMessageRing<String>(1000).getCapacity());
+        assertEquals(1024, new PendingMessageRing<String>(1024).getCapacity());
+
+        assertThrows(IllegalArgumentException.class, () -> new PendingMessageRing<String>(0));
+        assertThrows(IllegalArgumentException.class, () -> new PendingMessageRing<String>(-1));
+    }
+
+    @Test
+    public void offerAndPollInOrderTest() {
+        PendingMessageRing<Integer> ring = new PendingMessageRing<>(4);
+        assertTrue(ring.isEmpty());
+        assertNull(ring.poll());
+
+        // wrap around the ring several times
+        int next = 0;
+        int expected = 0;
+        for (int lap = 0; lap < 5; lap++) {
+            for (int index = 0; index < 3; index++) {
+                assertTrue(ring.offer(next++));
+            }
+            assertEquals(3, ring.size());
+            for (int index = 0; index < 3; index++) {
+                assertEquals(expected++, ring.poll());
+            }
+            assertTrue(ring.isEmpty());
+        }
+
+        assertThrows(NullPointerException.class, () -> ring.offer(null));
+    }
+
+    @Test
+    public void offerWhenFullTest() {
+        PendingMessageRing<String> ring = new PendingMessageRing<>(4);
+        for (int index = 0; index < 4; index++) {
+            assertTrue(ring.offer("M" + index));
+        }
+        assertEquals(4, ring.size());
+        assertFalse(ring.offer("M4"));
+
+        assertEquals("M0", ring.poll());
+        assertTrue(ring.offer("M4"));
+        assertFalse(ring.offer("M5"));
+
+        for (int index = 1; index <= 4; index++) {
+            assertEquals("M" + index, ring.poll());
+        }
+        assertNull(ring.poll());
+    }
+
+    @Test
+    public void concurrentProducersTest() throws Exception {
+        int producerCount = 8;
+        int perProducer = 20000;
+        PendingMessageRing<long[]> ring = new PendingMessageRing<>(256);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int producer = 0; producer < producerCount; producer++) {
+            long producerId = producer;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                for (long sequence = 0; sequence < perProducer; sequence++) {
+                    long[] element = {producerId, sequence};
+                    while (!ring.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            producers.add(thread);
+            thread.start();
+        }
+        start.countDown();
+
+        // each producer's elements must arrive once and in order
+        long[] nextSequence = new long[producerCount];
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (received < producerCount * perProducer) {
+            assertTrue(System.nanoTime() < deadline, "Timed out after " + received + " elements");
+            long[] element = ring.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            int producer = (int) element[0];
+            assertEquals(nextSequence[producer], element[1]);
+            nextSequence[producer]++;
+            received++;
+        }
+        for (Thread thread : producers) {
+            thread.join();
+        }
+        assertTrue(ring.isEmpty());
+        assertNull(ring.poll());
+    }
+
+    /**
+     * Measures the time per message to hand messages from the specified number
+     * of producer threads to a single consumer through a synchronized {@link
+     * LinkedList} guarded by wait/notify, as the consumer did before the ring.
+     */
+    private static long measureSynchronizedList(int producerCount, int perProducer) throws Exception {
+        List<Integer> list = new LinkedList<>();
+        AtomicLong checksum = new AtomicLong();
+        return measure(producerCount, perProducer, checksum, (value) -> {
+            synchronized (list) {
+                list.add(value);
+                list.notifyAll();
+            }
+        }, () -> {
+            synchronized (list) {
+                while (list.isEmpty()) {
+                    list.wait(1500L);
+                }
+                return list.remove(0);
+            }
+        });
+    }
+
+    /**
+     * Measures the time per message to hand messages from the specified number
+     * of producer threads to a single consumer through a {@link
+     * PendingMessageRing}.
+     */
+    private static long measureRing(int producerCount, int perProducer) throws Exception {
+        PendingMessageRing<Integer> ring = new PendingMessageRing<>(2048);
+        AtomicLong checksum = new AtomicLong();
+        return measure(producerCount, perProducer, checksum, (value) -> {
+            while (!ring.offer(value)) {
+                Thread.yield();
+            }
+        }, () -> {
+            Integer value = ring.poll();
+            while (value == null) {
+                Thread.yield();
+                value = ring.poll();
+            }
+            return value;
+        });
+    }
+
+    private interface Producer {
+        void produce(Integer value) throws Exception;
+    }
+
+    private interface Consumer {
+        Integer consume() throws Exception;
+    }
+
+    private static long measure(int producerCount, int perProducer, AtomicLong checksum,
+                                Producer producer, Consumer consumer) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int index = 0; index < producerCount; index++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int value = 0; value < perProducer; value++) {
+                        producer.produce(value);
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        int total = producerCount * perProducer;
+        for (int index = 0; index < total; index++) {
+            checksum.addAndGet(consumer.consume());
+        }
+        long elapsed = System.nanoTime() - begin;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long expected = (long) producerCount * ((long) perProducer * (perProducer - 1) / 2);
+        assertEquals(expected, checksum.get());
+        return elapsed / total;
+    }
+
+    /**
+     * Compares the dispatch time per message through the synchronized list
+     * and the ring as the number of producer threads grows.
+     */
+    @Test
+    public void dispatchBenchmarkTest() throws Exception {
+        int perProducer = 50000;
+
+        // warm up
+        measureSynchronizedList(2, perProducer);
+        measureRing(2, perProducer);
+
+        for (int producerCount : new int[] {1, 2, 4, 8}) {
+            long listNanos = measureSynchronizedList(producerCount, perProducer);
+            long ringNanos = measureRing(producerCount, perProducer);
+            System.err.println("PENDING DISPATCH (" + producerCount + " producers): synchronized list "
+                    + listNanos + " ns/msg, ring " + ringNanos + " ns/msg");
+        }
+    }
+}
@@ -11,9 +11,12 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -39,6 +42,13 @@ public class MockRabbitMQChannel implements Channel {
     private volatile Thread consumerThread;
     private final AtomicBoolean consuming = new AtomicBoolean(false);
     private final AtomicInteger basicCancelCallCount = new AtomicInteger(0);
+    private final AtomicInteger basicConsumeCallCount = new AtomicInteger(0);
+    private final AtomicInteger basicAckCallCount = new AtomicInteger(0);
+    private final AtomicInteger basicNackCallCount = new AtomicInteger(0);
+    private final AtomicInteger deadLetterCount = new AtomicInteger(0);
+    private final Set<Long> requeuedMessageIds = ConcurrentHashMap.newKeySet();
+    private final boolean ownsStorage;
+    private volatile int prefetchCount = 0;
 
     // Exception injection fields
     private volatile boolean throwOnBasicConsume = false;
@@ -61,6 +71,7 @@ public class MockRabbitMQChannel implements Channel {
      */
     public MockRabbitMQChannel(int visibilityTimeoutSeconds) throws Exception {
         this.visibilityTimeoutSeconds = visibilityTimeoutSeconds;
+        this.ownsStorage = true;
 
         // Create a temporary SQLite database
         this.tempDbFile = File.createTempFile("mock_rabbitmq_", ".db");
@@ -78,6 +89,21 @@ public class MockRabbitMQChannel implements Channel {
         }
     }
 
+    /**
+     * Creates a sibling channel that shares the SQLite message storage of the
+     * specified channel but has its own delivery tags, prefetch window and
+     * consumer.  Closing the sibling does not close the shared storage.
+     *
+     * @param primary The {@link MockRabbitMQChannel} whose storage is shared.
+     */
+    MockRabbitMQChannel(MockRabbitMQChannel primary) {
+        this.visibilityTimeoutSeconds = primary.visibilityTimeoutSeconds;
+        this.ownsStorage = false;
+        this.tempDbFile = null;
+        this.connectionPool = primary.connectionPool;
+        this.sqlClient = primary.sqlClient;
+    }
+
     /**
      * Enqueues a message to the mock queue.
      *
@@ -115,6 +141,7 @@ public class MockRabbitMQChannel implements Channel {
             throw new IOException("Channel is closed");
         }
 
+        basicConsumeCallCount.incrementAndGet();
         if (throwOnBasicConsume) {
             throw new IOException("Injected basicConsume failure");
         }
@@ -139,8 +166,14 @@ public class MockRabbitMQChannel implements Channel {
                         String leaseId = "mock-lease-" + System.currentTimeMillis() + "-" +
                                 deliveryTagCounter.incrementAndGet();
 
-                        // Lease messages
-                        sqlClient.leaseMessages(conn, leaseId, visibilityTimeoutSeconds, 1);
+                        // Lease messages up to the prefetch window (one per poll if unset)
+                        int window = (prefetchCount > 0)
+                                ? prefetchCount - deliveryTagToMessageId.size() : 1;
+                        if (window <= 0) {
+                            Thread.sleep(100);
+                            continue;
+                        }
+                        sqlClient.leaseMessages(conn, leaseId, visibilityTimeoutSeconds, window);
                         conn.commit();
 
                         // Get leased messages
@@ -153,7 +186,8 @@ public class MockRabbitMQChannel implements Channel {
                             deliveryTagToMessageId.put(deliveryTag, lm.getMessageId());
 
                             // Create delivery
-                            Envelope envelope = new Envelope(deliveryTag, false, "", queue);
+                            boolean redeliver = requeuedMessageIds.contains(lm.getMessageId());
+                            Envelope envelope = new Envelope(deliveryTag, redeliver, "", queue);
                             AMQP.BasicProperties props = new AMQP.BasicProperties.Builder().build();
                             Delivery delivery = new Delivery(envelope, props,
                                     lm.getMessageText().getBytes(StandardCharsets.UTF_8));
@@ -199,14 +233,29 @@ public class MockRabbitMQChannel implements Channel {
             throw new IOException("Injected basicAck failure");
         }
 
-        Long messageId = deliveryTagToMessageId.remove(deliveryTag);
-        if (messageId != null) {
-            try (Connection conn = connectionPool.acquire()) {
-                conn.setAutoCommit(false);
-                sqlClient.deleteMessage(conn, messageId, null);
-                conn.commit();
-            } catch (SQLException e) {
-                throw new IOException("Failed to ack message: " + e.getMessage(), e);
+        basicAckCallCount.incrementAndGet();
+
+        List<Long> tags = new ArrayList<>();
+        if (multiple) {
+            for (Long tag : deliveryTagToMessageId.keySet()) {
+                if (tag <= deliveryTag) {
+                    tags.add(tag);
+                }
+            }
+        } else {
+            tags.add(deliveryTag);
+        }
+
+        for (Long tag : tags) {
+            Long messageId = deliveryTagToMessageId.remove(tag);
+            if (messageId != null) {
+                try (Connection conn = connectionPool.acquire()) {
+                    conn.setAutoCommit(false);
+                    sqlClient.deleteMessage(conn, messageId, null);
+                    conn.commit();
+                } catch (SQLException e) {
+                    throw new IOException("Failed to ack message: " + e.getMessage(), e);
+                }
             }
         }
     }
@@ -240,6 +289,62 @@ public class MockRabbitMQChannel implements Channel {
         return this.basicCancelCallCount.get();
     }
 
+    /**
+     * Gets the number of times basicConsume was called.
+     *
+     * @return The call count.
+     */
+    public int getBasicConsumeCallCount() {
+        return this.basicConsumeCallCount.get();
+    }
+
+    /**
+     * Gets the number of times basicAck was called.
+     *
+     * @return The call count.
+     */
+    public int getBasicAckCallCount() {
+        return this.basicAckCallCount.get();
+    }
+
+    /**
+     * Gets the number of times basicNack was called.
+     *
+     * @return The number of basicNack calls.
+     */
+    public int getBasicNackCallCount() {
+        return this.basicNackCallCount.get();
+    }
+
+    /**
+     * Gets the number of messages negatively acknowledged without requeue,
+     * which a broker would route to the dead-letter exchange.
+     *
+     * @return The number of dead-lettered messages.
+     */
+    public int getDeadLetterCount() {
+        return this.deadLetterCount.get();
+    }
+
+    /**
+     * Gets the prefetch count most recently set via basicQos, or zero (0) if
+     * no prefetch count has been set.
+     *
+     * @return The prefetch count.
+     */
+    public int getPrefetchCount() {
+        return this.prefetchCount;
+    }
+
+    /**
+     * Checks if this channel currently has an active consumer.
+     *
+     * @return <code>true</code> if consuming, otherwise <code>false</code>.
+     */
+    public boolean isConsuming() {
+        return this.consuming.get();
+    }
+
     // ========================================================================
     // Exception Injection Methods
     // ========================================================================
@@ -318,7 +423,7 @@ public class MockRabbitMQChannel implements Channel {
                 Thread.currentThread().interrupt();
             }
         }
-        if (connectionPool != null) {
+        if (ownsStorage && connectionPool != null) {
             connectionPool.shutdown();
         }
         if (tempDbFile != null && tempDbFile.exists()) {
@@ -405,13 +510,19 @@ public class MockRabbitMQChannel implements Channel {
     public void setDefaultConsumer(Consumer consumer) {}
 
     @Override
-    public void basicQos(int prefetchSize, int prefetchCount, boolean global) {}
+    public void basicQos(int prefetchSize, int prefetchCount, boolean global) {
+        this.prefetchCount = prefetchCount;
+    }
 
     @Override
-    public void basicQos(int prefetchCount, boolean global) {}
+    public void basicQos(int prefetchCount, boolean global) {
+        this.prefetchCount = prefetchCount;
+    }
 
     @Override
-    public void basicQos(int prefetchCount) {}
+    public void basicQos(int prefetchCount) {
+        this.prefetchCount = prefetchCount;
+    }
 
     @Override
     public void basicPublish(String exchange, String routingKey, AMQP.BasicProperties props, byte[] body)
@@ -603,7 +714,49 @@ public class MockRabbitMQChannel implements Channel {
     }
 
     @Override
-    public void basicNack(long deliveryTag, boolean multiple, boolean requeue) {}
+    public void basicNack(long deliveryTag, boolean multiple, boolean requeue) throws IOException {
+        if (closed) {
+            throw new IOException("Channel is closed");
+        }
+
+        basicNackCallCount.incrementAndGet();
+
+        List<Long> tags = new ArrayList<>();
+        if (multiple) {
+            for (Long tag : deliveryTagToMessageId.keySet()) {
+                if (tag <= deliveryTag) {
+                    tags.add(tag);
+                }
+            }
+        } else {
+            tags.add(deliveryTag);
+        }
+
+        for (Long tag : tags) {
+            Long messageId = deliveryTagToMessageId.remove(tag);
+            if (messageId == null) {
+                continue;
+            }
+            try (Connection conn = connectionPool.acquire()) {
+                conn.setAutoCommit(false);
+                if (requeue) {
+                    try (PreparedStatement ps = conn.prepareStatement(
+                            "UPDATE sz_message_queue SET lease_id = NULL, expire_lease_at = NULL "
+                            + "WHERE message_id = ?")) {
+                        ps.setLong(1, messageId);
+                        ps.executeUpdate();
+                    }
+                    requeuedMessageIds.add(messageId);
+                } else {
+                    sqlClient.deleteMessage(conn, messageId, null);
+                    deadLetterCount.incrementAndGet();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                throw new IOException("Failed to nack message: " + e.getMessage(), e);
+            }
+        }
+    }
 
     @Override
     public void basicReject(long deliveryTag, boolean requeue) {}
@@ -4,7 +4,9 @@ import com.rabbitmq.client.*;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -14,6 +16,7 @@ import java.util.concurrent.TimeoutException;
 public class MockRabbitMQConnection implements Connection {
 
     private final MockRabbitMQChannel channel;
+    private final List<MockRabbitMQChannel> siblingChannels = new CopyOnWriteArrayList<>();
     private volatile boolean closed = false;
 
     /**
@@ -41,12 +44,32 @@ public class MockRabbitMQConnection implements Connection {
         return this.channel;
     }
 
+    /**
+     * Gets the sibling channels created after the primary channel began
+     * consuming.  These share the message storage of the primary channel.
+     *
+     * @return The {@link List} of sibling {@link MockRabbitMQChannel} instances.
+     */
+    public List<MockRabbitMQChannel> getSiblingChannels() {
+        return this.siblingChannels;
+    }
+
+    /**
+     * Returns the primary channel until it begins consuming, after which a new
+     * sibling channel sharing the same message storage is returned so that
+     * multiple channels can consume concurrently.
+     */
     @Override
     public Channel createChannel() throws IOException {
         if (closed) {
             throw new IOException("Connection is closed");
         }
-        return channel;
+        if (!channel.isConsuming()) {
+            return channel;
+        }
+        MockRabbitMQChannel sibling = new MockRabbitMQChannel(channel);
+        siblingChannels.add(sibling);
+        return sibling;
     }
 
     @Override
@@ -57,6 +80,9 @@ public class MockRabbitMQConnection implements Connection {
     @Override
     public void close() throws IOException {
         closed = true;
+        for (MockRabbitMQChannel sibling : siblingChannels) {
+            sibling.close();
+        }
         if (channel != null) {
             channel.close();
         }
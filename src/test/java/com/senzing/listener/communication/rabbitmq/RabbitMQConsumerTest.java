@@ -578,12 +578,13 @@ class RabbitMQConsumerTest {
         assertTrue(completed, "All messages should be processed within timeout");
         assertEquals(20, processedCount.get());
 
-        // Verify basicCancel was called (throttling occurred)
-        // Note: basicCancel is also called by destroy(), so we check > 1
-        int cancelCount = mockChannel.getBasicCancelCallCount();
-        assertTrue(cancelCount >= 1, "basicCancel should be called during throttling or cleanup");
+        // Verify flow control used the prefetch window rather than cancelling
+        assertEquals(5, mockChannel.getPrefetchCount(), "Prefetch should be sized from the maximum pending count");
+        assertEquals(0, mockChannel.getBasicCancelCallCount(), "basicCancel should not be called while throttling");
+        assertEquals(1, mockChannel.getBasicConsumeCallCount(), "Consumption should never be restarted");
 
         consumer.destroy();
+        assertEquals(1, mockChannel.getBasicCancelCallCount(), "basicCancel should only be called by destroy()");
     }
 
     @Test
@@ -623,6 +624,264 @@ class RabbitMQConsumerTest {
         consumer.destroy();
     }
 
+    // ========================================================================
+    // Prefetch and Acknowledgement Tests
+    // ========================================================================
+
+    @Test
+    @Order(8200)
+    void testCumulativeAcknowledgement() throws Exception {
+        int messageCount = 40;
+        for (int i = 0; i < messageCount; i++) {
+            mockChannel.enqueueMessage("{\"id\": " + i + "}");
+        }
+
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+        builder.add(RabbitMQConsumer.MQ_HOST_KEY, "localhost");
+        builder.add(RabbitMQConsumer.MQ_QUEUE_KEY, "test-queue");
+        builder.add(RabbitMQConsumer.CONCURRENCY_KEY, 8);
+        JsonObject config = builder.build();
+
+        TestableRabbitMQConsumer consumer = new TestableRabbitMQConsumer();
+        consumer.setInjectedConnectionFactory(mockFactory);
+        consumer.init(config);
+
+        CountDownLatch latch = new CountDownLatch(messageCount);
+
+        // even messages are slow so the odd ones complete out of order
+        MessageProcessor processor = (message) -> {
+            if (message.getInt("id") % 2 == 0) {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException ignore) {}
+            }
+            latch.countDown();
+        };
+
+        consumer.consume(processor);
+        assertTrue(latch.await(60, TimeUnit.SECONDS), "All messages should be processed within timeout");
+
+        // wait for the final acknowledgements
+        long deadline = System.currentTimeMillis() + 10000L;
+        while (mockChannel.getMessageCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        consumer.destroy();
+
+        assertEquals(0, mockChannel.getMessageCount(), "Every message should have been acknowledged");
+        int ackCount = mockChannel.getBasicAckCallCount();
+        assertTrue(ackCount < messageCount,
+                "Acknowledgements should be coalesced: " + ackCount + " acks for " + messageCount + " messages");
+    }
+
+    @Test
+    @Order(8300)
+    void testIgnoredMessageDoesNotBlockAcknowledgement() throws Exception {
+        mockChannel.enqueueMessage("{\"id\": 1}");
+        mockChannel.enqueueMessage("not valid json");
+        mockChannel.enqueueMessage("{\"id\": 2}");
+
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+        builder.add(RabbitMQConsumer.MQ_HOST_KEY, "localhost");
+        builder.add(RabbitMQConsumer.MQ_QUEUE_KEY, "test-queue");
+        JsonObject config = builder.build();
+
+        TestableRabbitMQConsumer consumer = new TestableRabbitMQConsumer();
+        consumer.setInjectedConnectionFactory(mockFactory);
+        consumer.init(config);
+
+        CountDownLatch latch = new CountDownLatch(2);
+        new SystemErr().execute(() -> {
+            consumer.consume((message) -> latch.countDown());
+            assertTrue(latch.await(30, TimeUnit.SECONDS), "Valid messages should be processed");
+
+            long deadline = System.currentTimeMillis() + 10000L;
+            while (mockChannel.getMessageCount() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            consumer.destroy();
+        });
+
+        assertEquals(0, mockChannel.getMessageCount(),
+                "The ignored message should be acknowledged along with the others");
+    }
+
+    @Test
+    @Order(8350)
+    void testFailedMessageDoesNotBlockAcknowledgement() throws Exception {
+        int messageCount = 10;
+        for (int i = 0; i < messageCount; i++) {
+            mockChannel.enqueueMessage("{\"id\": " + i + "}");
+        }
+
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+        builder.add(RabbitMQConsumer.MQ_HOST_KEY, "localhost");
+        builder.add(RabbitMQConsumer.MQ_QUEUE_KEY, "test-queue");
+        JsonObject config = builder.build();
+
+        TestableRabbitMQConsumer consumer = new TestableRabbitMQConsumer();
+        consumer.setInjectedConnectionFactory(mockFactory);
+        consumer.setMaximumPendingCount(4); // small prefetch window
+        consumer.init(config);
+
+        // the first message fails once and every other message succeeds
+        AtomicInteger failures = new AtomicInteger(0);
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+        MessageProcessor processor = (message) -> {
+            int id = message.getInt("id");
+            if (id == 0 && failures.getAndIncrement() == 0) {
+                throw new IllegalStateException("Simulated failure");
+            }
+            processed.add(id);
+        };
+
+        new SystemErr().execute(() -> {
+            consumer.consume(processor);
+
+            // the later deliveries must be acknowledged beyond the prefetch
+            // window despite the failure
+            long deadline = System.currentTimeMillis() + 30000L;
+            while (mockChannel.getMessageCount() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            consumer.destroy();
+        });
+
+        assertEquals(0, mockChannel.getMessageCount(),
+                "Every message should have been acknowledged");
+        assertEquals(1, mockChannel.getBasicNackCallCount(),
+                "The failed delivery should be negatively acknowledged");
+        assertEquals(messageCount, processed.size(),
+                "The failed message should be redelivered and processed");
+        assertTrue(processed.contains(0));
+    }
+
+    @Test
+    @Order(8375)
+    void testAlwaysFailingMessageIsNotRedeliveredIndefinitely() throws Exception {
+        int messageCount = 10;
+        for (int i = 0; i < messageCount; i++) {
+            mockChannel.enqueueMessage("{\"id\": " + i + "}");
+        }
+
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+        builder.add(RabbitMQConsumer.MQ_HOST_KEY, "localhost");
+        builder.add(RabbitMQConsumer.MQ_QUEUE_KEY, "test-queue");
+        JsonObject config = builder.build();
+
+        TestableRabbitMQConsumer consumer = new TestableRabbitMQConsumer();
+        consumer.setInjectedConnectionFactory(mockFactory);
+        consumer.setMaximumPendingCount(4);
+        consumer.init(config);
+
+        // the first message always fails and every other message succeeds
+        AtomicInteger attempts = new AtomicInteger(0);
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+        MessageProcessor processor = (message) -> {
+            int id = message.getInt("id");
+            if (id == 0) {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("Simulated permanent failure");
+            }
+            processed.add(id);
+        };
+
+        new SystemErr().execute(() -> {
+            consumer.consume(processor);
+
+            long deadline = System.currentTimeMillis() + 30000L;
+            while (mockChannel.getMessageCount() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            // allow time for any further (unwanted) redeliveries
+            Thread.sleep(500);
+            consumer.destroy();
+        });
+
+        assertEquals(0, mockChannel.getMessageCount(),
+                "The failing message should leave the queue rather than loop");
+        assertEquals(2, attempts.get(),
+                "The failing message should be retried once and then dead-lettered");
+        assertEquals(2, mockChannel.getBasicNackCallCount(),
+                "Both failed deliveries should be negatively acknowledged");
+        assertEquals(1, mockChannel.getDeadLetterCount(),
+                "The failed redelivery should not be requeued");
+        assertEquals(messageCount - 1, processed.size(),
+                "Every other message should be processed");
+        assertFalse(processed.contains(0));
+    }
+
+    @Test
+    @Order(8400)
+    void testMultipleChannels() throws Exception {
+        int messageCount = 30;
+        for (int i = 0; i < messageCount; i++) {
+            mockChannel.enqueueMessage("{\"id\": " + i + "}");
+        }
+
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+        builder.add(RabbitMQConsumer.MQ_HOST_KEY, "localhost");
+        builder.add(RabbitMQConsumer.MQ_QUEUE_KEY, "test-queue");
+        builder.add(RabbitMQConsumer.MQ_CHANNEL_COUNT_KEY, 3);
+        JsonObject config = builder.build();
+
+        TestableRabbitMQConsumer consumer = new TestableRabbitMQConsumer();
+        consumer.setInjectedConnectionFactory(mockFactory);
+        consumer.setMaximumPendingCount(30);
+        consumer.init(config);
+        assertEquals(3, consumer.getChannelCount());
+
+        CountDownLatch latch = new CountDownLatch(messageCount);
+        List<Integer> processedIds = Collections.synchronizedList(new ArrayList<>());
+
+        MessageProcessor processor = (message) -> {
+            processedIds.add(message.getInt("id"));
+            latch.countDown();
+        };
+
+        new SystemErr().execute(() -> {
+            consumer.consume(processor);
+            assertTrue(latch.await(60, TimeUnit.SECONDS), "All messages should be processed within timeout");
+            consumer.destroy();
+        });
+
+        assertEquals(messageCount, processedIds.size());
+        assertEquals(messageCount, processedIds.stream().distinct().count(), "No message should be processed twice");
+
+        List<MockRabbitMQChannel> siblings = mockFactory.getMockConnection().getSiblingChannels();
+        assertEquals(2, siblings.size(), "Two additional channels should have been created");
+        assertEquals(10, mockChannel.getPrefetchCount(), "Prefetch should be divided across the channels");
+        for (MockRabbitMQChannel sibling : siblings) {
+            assertEquals(10, sibling.getPrefetchCount());
+            assertEquals(1, sibling.getBasicConsumeCallCount());
+            assertEquals(1, sibling.getBasicCancelCallCount());
+        }
+    }
+
+    @Test
+    @Order(8500)
+    void testChannelCountConfiguration() throws Exception {
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+        builder.add(RabbitMQConsumer.MQ_HOST_KEY, "localhost");
+        builder.add(RabbitMQConsumer.MQ_QUEUE_KEY, "test-queue");
+
+        TestableRabbitMQConsumer consumer = new TestableRabbitMQConsumer();
+        consumer.setInjectedConnectionFactory(mockFactory);
+        consumer.init(builder.build());
+        assertEquals(RabbitMQConsumer.DEFAULT_MQ_CHANNEL_COUNT, consumer.getChannelCount());
+
+        builder = Json.createObjectBuilder();
+        builder.add(RabbitMQConsumer.MQ_HOST_KEY, "localhost");
+        builder.add(RabbitMQConsumer.MQ_QUEUE_KEY, "test-queue");
+        builder.add(RabbitMQConsumer.MQ_CHANNEL_COUNT_KEY, 0);
+        JsonObject config = builder.build();
+
+        TestableRabbitMQConsumer invalid = new TestableRabbitMQConsumer();
+        invalid.setInjectedConnectionFactory(mockFactory);
+        assertThrows(Exception.class, () -> invalid.init(config));
+    }
+
     // ========================================================================
     // Exception Injection Tests
     // ========================================================================
@@ -651,7 +910,7 @@ class RabbitMQConsumerTest {
 
     @Test
     @Order(9100)
-    void testBasicCancelIOExceptionInThrottleConsumption() throws Exception {
+    void testBasicCancelIOExceptionDuringThrottledConsumption() throws Exception {
         // Enqueue messages to trigger throttling
         for (int i = 0; i < 15; i++) {
             mockChannel.enqueueMessage("{\"id\": " + i + "}");
@@ -702,7 +961,7 @@ class RabbitMQConsumerTest {
             consumeThread.join(5000);
         });
 
-        // Verify that processing continued despite the exception
+        // Verify that processing continued since throttling never cancels consumption
         assertTrue(processedCount.get() >= 10, "Should have processed messages despite basicCancel exception");
     }
 
@@ -844,7 +1103,7 @@ class RabbitMQConsumerTest {
 
     @Test
     @Order(9500)
-    void testBasicConsumeIOExceptionInThrottleResumeThread() throws Exception {
+    void testBasicConsumeNotRepeatedWhileThrottled() throws Exception {
         // Enqueue messages to trigger throttling
         for (int i = 0; i < 20; i++) {
             mockChannel.enqueueMessage("{\"id\": " + i + "}");
@@ -860,44 +1119,30 @@ class RabbitMQConsumerTest {
         consumer.setMaximumPendingCount(5);
         consumer.init(config);
 
-        CountDownLatch processedLatch = new CountDownLatch(5);
+        CountDownLatch processedLatch = new CountDownLatch(20);
         AtomicInteger processedCount = new AtomicInteger(0);
 
         MessageProcessor processor = (message) -> {
             int count = processedCount.incrementAndGet();
-            // After initial processing triggers throttle, set up for resume failure
+            // Any attempt to re-consume after throttling would now fail
             if (count == 5) {
-                // Next basicConsume (in the throttle resume thread) will fail
                 mockChannel.setThrowOnBasicConsume(true);
             }
             try {
-                Thread.sleep(200);
+                Thread.sleep(50);
             } catch (InterruptedException ignore) {}
             processedLatch.countDown();
         };
 
-        // Suppress console output from exception logging in consumer thread
-        new SystemErr().execute(() -> {
-            // Start consuming
-            Thread consumeThread = new Thread(() -> {
-                try {
-                    consumer.consume(processor);
-                } catch (Exception ignore) {
-                }
-            });
-            consumeThread.start();
-
-            // Wait for initial messages and throttle to trigger
-            processedLatch.await(60, TimeUnit.SECONDS);
-            Thread.sleep(2000); // Allow throttle resume thread to run and fail
+        consumer.consume(processor);
+        assertTrue(processedLatch.await(60, TimeUnit.SECONDS),
+                "All messages should be processed without re-consuming");
 
-            mockChannel.setThrowOnBasicConsume(false);
-            consumer.destroy();
-            consumeThread.join(5000);
-        });
+        mockChannel.setThrowOnBasicConsume(false);
+        consumer.destroy();
 
-        // Should have processed some messages before the throttle resume failure
-        assertTrue(processedCount.get() >= 5, "Should have processed initial messages");
+        assertEquals(20, processedCount.get());
+        assertEquals(1, mockChannel.getBasicConsumeCallCount(), "basicConsume should only be called once");
     }
 
     // ========================================================================
@@ -399,6 +399,125 @@ abstract class AbstractSQLConsumerTest {
         }
     }
 
+    @Test
+    @Order(1600)
+    void testLeaseAndGetMessages() throws SQLException {
+        Connection conn = null;
+        try {
+            conn = connectionProvider.getConnection();
+            conn.setAutoCommit(false);
+
+            // Ensure clean schema
+            sqlClient.ensureSchema(conn, true);
+
+            for (int i = 0; i < 5; i++) {
+                sqlClient.insertMessage(conn, "{\"id\": " + i + "}");
+            }
+            conn.commit();
+
+            String leaseId = "lease-get-" + System.currentTimeMillis();
+            List<LeasedMessage> messages = sqlClient.leaseAndGetMessages(conn, leaseId, 300, 3);
+            conn.commit();
+
+            assertEquals(3, messages.size(), "Should lease exactly 3 messages");
+            long previousId = -1L;
+            for (LeasedMessage msg : messages) {
+                assertEquals(leaseId, msg.getLeaseId());
+                assertTrue(msg.getLeaseExpiration() > System.currentTimeMillis());
+                assertTrue(msg.getMessageId() > previousId, "Messages should be in queue order");
+                previousId = msg.getMessageId();
+            }
+            assertEquals(3, sqlClient.getLeasedMessages(conn, leaseId).size());
+
+            // the remaining messages are leased next and then the queue is drained
+            assertEquals(2, sqlClient.leaseAndGetMessages(conn, leaseId + "-2", 300, 3).size());
+            assertEquals(0, sqlClient.leaseAndGetMessages(conn, leaseId + "-3", 300, 3).size());
+            conn.commit();
+
+        } finally {
+            if (conn != null) conn.close();
+        }
+    }
+
+    @Test
+    @Order(1700)
+    void testDeleteMessagesInBulk() throws SQLException {
+        Connection conn = null;
+        try {
+            conn = connectionProvider.getConnection();
+            conn.setAutoCommit(false);
+
+            // Ensure clean schema
+            sqlClient.ensureSchema(conn, true);
+
+            for (int i = 0; i < 4; i++) {
+                sqlClient.insertMessage(conn, "{\"id\": " + i + "}");
+            }
+            conn.commit();
+
+            String leaseId = "bulk-delete-" + System.currentTimeMillis();
+            List<LeasedMessage> messages = sqlClient.leaseAndGetMessages(conn, leaseId, 300, 4);
+            conn.commit();
+            assertEquals(4, messages.size());
+
+            // a message whose lease ID has changed must not be deleted
+            LeasedMessage first = messages.get(0);
+            List<LeasedMessage> toDelete = new ArrayList<>(messages.subList(1, 4));
+            toDelete.add(new LeasedMessage(first.getMessageId(), first.getMessageText(),
+                    "other-lease", first.getLeaseExpiration()));
+
+            int deleted = sqlClient.deleteMessages(conn, toDelete);
+            conn.commit();
+
+            assertEquals(3, deleted, "Only messages still leased with their lease ID should be deleted");
+            assertEquals(1L, sqlClient.getMessageCount(conn));
+            assertEquals(0, sqlClient.deleteMessages(conn, Collections.emptyList()));
+
+        } finally {
+            if (conn != null) conn.close();
+        }
+    }
+
+    @Test
+    @Order(1800)
+    void testRenewLeases() throws SQLException {
+        Connection conn = null;
+        try {
+            conn = connectionProvider.getConnection();
+            conn.setAutoCommit(false);
+
+            // Ensure clean schema
+            sqlClient.ensureSchema(conn, true);
+
+            for (int i = 0; i < 3; i++) {
+                sqlClient.insertMessage(conn, "{\"id\": " + i + "}");
+            }
+            conn.commit();
+
+            String leaseId = "renew-all-" + System.currentTimeMillis();
+            List<LeasedMessage> messages = sqlClient.leaseAndGetMessages(conn, leaseId, 1, 2);
+            conn.commit();
+            assertEquals(2, messages.size());
+
+            // renew both messages in one statement before the lease expires
+            assertEquals(2, sqlClient.renewLeases(conn, leaseId, 300));
+            assertEquals(0, sqlClient.renewLeases(conn, "unknown-lease", 300));
+            conn.commit();
+
+            // the renewed leases should survive past the original expiration
+            try {
+                Thread.sleep(1500L);
+            } catch (InterruptedException ignore) {
+            }
+            assertEquals(0, sqlClient.releaseExpiredLeases(conn, 0));
+            conn.commit();
+            assertEquals(2, sqlClient.getLeasedMessages(conn, leaseId).size());
+
+        } finally {
+            if (conn != null) conn.close();
+        }
+    }
+
     // ========================================================================
     // SQLConsumer Initialization Tests
     // ========================================================================
@@ -478,11 +597,15 @@ abstract class AbstractSQLConsumerTest {
         builder.add(SQLConsumer.MAXIMUM_SLEEP_TIME_KEY, 5);
         builder.add(SQLConsumer.MAXIMUM_RETRIES_KEY, 3);
         builder.add(SQLConsumer.RETRY_WAIT_TIME_KEY, 500);
+        builder.add(SQLConsumer.LEASE_RELEASE_INTERVAL_KEY, 30);
+        builder.add(SQLConsumer.DELETE_BATCH_DELAY_KEY, 0);
         JsonObject config = builder.build();
 
         SQLConsumer consumer = new SQLConsumer();
         consumer.init(config);
 
+        assertEquals(30, consumer.getLeaseReleaseInterval());
+        assertEquals(0L, consumer.getDeleteBatchDelay());
         assertEquals(60, consumer.getLeaseTime());
         assertEquals(50, consumer.getMaximumLeaseCount());
         assertEquals(5, consumer.getMaximumSleepTime());
@@ -971,6 +1094,254 @@ abstract class AbstractSQLConsumerTest {
         assertEquals(SQLConsumer.DEFAULT_MAXIMUM_SLEEP_TIME, consumer.getMaximumSleepTime());
         assertEquals(SQLConsumer.DEFAULT_MAXIMUM_RETRIES, consumer.getMaximumRetries());
         assertEquals(SQLConsumer.DEFAULT_RETRY_WAIT_TIME, consumer.getRetryWaitTime());
+        assertEquals(SQLConsumer.DEFAULT_LEASE_RELEASE_INTERVAL, consumer.getLeaseReleaseInterval());
+        assertEquals(SQLConsumer.DEFAULT_DELETE_BATCH_DELAY, consumer.getDeleteBatchDelay());
+        assertEquals(SQLConsumer.DEFAULT_NOTIFICATIONS, consumer.isUsingNotifications());
+    }
+
+    /**
+     * Test that with notifications enabled a message enqueued while the
+     * consumer is backing off on an empty queue is leased without waiting
+     * out the remainder of the back-off.
+     */
+    @Test
+    @Order(5800)
+    void testNotificationWakesIdleConsumer() throws Exception {
+        // Clean schema first
+        Connection conn = connectionProvider.getConnection();
+        conn.setAutoCommit(false);
+        sqlClient.ensureSchema(conn, true);
+        conn.close();
+
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+        builder.add(SQLConsumer.CONNECTION_PROVIDER_KEY, this.providerName);
+        builder.add(SQLConsumer.CLEAN_DATABASE_KEY, false);
+        builder.add(SQLConsumer.MAXIMUM_SLEEP_TIME_KEY, 30);
+        builder.add(SQLConsumer.NOTIFICATIONS_KEY, true);
+        JsonObject config = builder.build();
+
+        SQLConsumer consumer = new SQLConsumer();
+        consumer.init(config);
+        assertTrue(consumer.isUsingNotifications());
+
+        CountDownLatch latch = new CountDownLatch(1);
+        MessageProcessor processor = (message) -> latch.countDown();
+
+        Thread consumeThread = new Thread(() -> {
+            try {
+                consumer.consume(processor);
+            } catch (Exception ignore) {
+            }
+        });
+        consumeThread.start();
+
+        // let the consumer back off to a four second sleep on the empty queue
+        Thread.sleep(3500L);
+
+        long start = System.nanoTime();
+        enqueueWhileIdle(consumer, "{\"test\": \"wakeup\"}");
+
+        assertTrue(latch.await(30, TimeUnit.SECONDS), "Message should be processed");
+        long elapsed = (System.nanoTime() - start) / 1000000L;
+        assertTrue(elapsed < 2000L,
+            "Message should be processed without waiting out the back-off: " + elapsed + "ms");
+
+        consumer.destroy();
+        consumeThread.join(5000);
+    }
+
+    /**
+     * Test that the lease on a message held by a slow processor is renewed in
+     * the background so that it does not expire while being processed.
+     */
+    @Test
+    @Order(5900)
+    void testLeaseKeeperRenewsOutstandingLeases() throws Exception {
+        // Clean schema first
+        Connection conn = connectionProvider.getConnection();
+        conn.setAutoCommit(false);
+        sqlClient.ensureSchema(conn, true);
+        sqlClient.insertMessage(conn, "{\"test\": \"slow\"}");
+        conn.commit();
+        conn.close();
+
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+        builder.add(SQLConsumer.CONNECTION_PROVIDER_KEY, this.providerName);
+        builder.add(SQLConsumer.CLEAN_DATABASE_KEY, false);
+        builder.add(SQLConsumer.LEASE_TIME_KEY, 2);
+        JsonObject config = builder.build();
+
+        SQLConsumer consumer = new SQLConsumer();
+        consumer.init(config);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MessageProcessor processor = (message) -> {
+            started.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException ignore) {
+            }
+        };
+
+        Thread consumeThread = new Thread(() -> {
+            try {
+                consumer.consume(processor);
+            } catch (Exception ignore) {
+            }
+        });
+        consumeThread.start();
+
+        assertTrue(started.await(30, TimeUnit.SECONDS), "Message should be dispatched");
+
+        // hold the message for twice the lease time
+        Thread.sleep(4000L);
+
+        conn = connectionProvider.getConnection();
+        try {
+            conn.setAutoCommit(false);
+            assertEquals(0, sqlClient.releaseExpiredLeases(conn, 0),
+                "Lease on the message being processed should have been renewed");
+            conn.commit();
+        } finally {
+            conn.close();
+        }
+
+        release.countDown();
+        consumer.destroy();
+        consumeThread.join(5000);
+    }
+
+    /**
+     * Test that the lease on a message that failed processing is no longer
+     * renewed so that the message is leased again once the lease expires.
+     */
+    @Test
+    @Order(5950)
+    void testFailedMessageLeasedAgain() throws Exception {
+        // Clean schema first
+        Connection conn = connectionProvider.getConnection();
+        conn.setAutoCommit(false);
+        sqlClient.ensureSchema(conn, true);
+        sqlClient.insertMessage(conn, "{\"test\": \"fail\"}");
+        conn.commit();
+        conn.close();
+
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+        builder.add(SQLConsumer.CONNECTION_PROVIDER_KEY, this.providerName);
+        builder.add(SQLConsumer.CLEAN_DATABASE_KEY, false);
+        builder.add(SQLConsumer.LEASE_TIME_KEY, 2);
+        JsonObject config = builder.build();
+
+        SQLConsumer consumer = new SQLConsumer();
+        consumer.init(config);
+        SQLConsumer.MessageQueue queue = consumer.getMessageQueue();
+
+        // fail the first attempt and succeed on the second
+        AtomicInteger processCount = new AtomicInteger(0);
+        CountDownLatch secondProcessLatch = new CountDownLatch(2);
+        MessageProcessor processor = (message) -> {
+            int count = processCount.incrementAndGet();
+            secondProcessLatch.countDown();
+            if (count == 1) {
+                throw new IllegalStateException("Simulated failure");
+            }
+        };
+
+        Thread consumeThread = new Thread(() -> {
+            try {
+                consumer.consume(processor);
+            } catch (Exception ignore) {
+            }
+        });
+
+        new SystemErr().execute(() -> {
+            consumeThread.start();
+
+            assertTrue(secondProcessLatch.await(20, TimeUnit.SECONDS),
+                "Failed message should be leased again after the lease expires");
+
+            // wait for the message to be deleted after succeeding
+            long deadline = System.currentTimeMillis() + 10000L;
+            while (queue.getMessageCount() > 0L && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50L);
+            }
+            assertEquals(0L, queue.getMessageCount(),
+                "Message should be deleted once processed successfully");
+
+            consumer.destroy();
+            consumeThread.join(5000);
+        });
+    }
+
+    /**
+     * Test that a failed message is no longer counted as outstanding so that
+     * the disposed messages are deleted without waiting for the delete batch
+     * delay once nothing else is outstanding.
+     */
+    @Test
+    @Order(5960)
+    void testFailedMessageDoesNotDelayDeletes() throws Exception {
+        // Clean schema first
+        Connection conn = connectionProvider.getConnection();
+        conn.setAutoCommit(false);
+        sqlClient.ensureSchema(conn, true);
+        sqlClient.insertMessage(conn, "{\"test\": \"fail\"}");
+        sqlClient.insertMessage(conn, "{\"test\": \"succeed\"}");
+        conn.commit();
+        conn.close();
+
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+        builder.add(SQLConsumer.CONNECTION_PROVIDER_KEY, this.providerName);
+        builder.add(SQLConsumer.CLEAN_DATABASE_KEY, false);
+        builder.add(SQLConsumer.LEASE_TIME_KEY, 60);
+        builder.add(SQLConsumer.DELETE_BATCH_DELAY_KEY, 60000);
+        JsonObject config = builder.build();
+
+        SQLConsumer consumer = new SQLConsumer();
+        consumer.init(config);
+        SQLConsumer.MessageQueue queue = consumer.getMessageQueue();
+
+        CountDownLatch processedLatch = new CountDownLatch(2);
+        MessageProcessor processor = (message) -> {
+            processedLatch.countDown();
+            if ("fail".equals(message.getString("test"))) {
+                throw new IllegalStateException("Simulated failure");
+            }
+        };
+
+        Thread consumeThread = new Thread(() -> {
+            try {
+                consumer.consume(processor);
+            } catch (Exception ignore) {
+            }
+        });
+
+        new SystemErr().execute(() -> {
+            consumeThread.start();
+            assertTrue(processedLatch.await(30, TimeUnit.SECONDS), "Both messages should be processed");
+
+            // only the failed message should remain well before the delay
+            long deadline = System.currentTimeMillis() + 10000L;
+            while (queue.getMessageCount() > 1L && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50L);
+            }
+            assertEquals(1L, queue.getMessageCount(),
+                "Successful message should be deleted once nothing is outstanding");
+
+            consumer.destroy();
+            consumeThread.join(5000);
+        });
+    }
+
+    /**
+     * Enqueues the specified message for {@link
+     * #testNotificationWakesIdleConsumer()} while the specified consumer is
+     * idle.  The default implementation uses the consumer's {@link
+     * SQLConsumer.MessageQueue}.
+     */
+    protected void enqueueWhileIdle(SQLConsumer consumer, String message) throws Exception {
+        consumer.getMessageQueue().enqueueMessage(message);
     }
 
     /**
@@ -1,8 +1,26 @@
 package com.senzing.listener.communication.sql;
 
+import com.senzing.listener.service.MessageProcessor;
 import com.senzing.sql.Connector;
 import com.senzing.sql.PostgreSqlConnector;
 import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Unit tests for {@link SQLConsumer} using PostgreSQL via Zonky Embedded PostgreSQL.
@@ -34,4 +52,161 @@ class PostgreSQLConsumerTest extends AbstractSQLConsumerTest {
     protected String getProviderName() {
         return "postgresql-test-provider-" + System.currentTimeMillis();
     }
+
+    /**
+     * Overridden to insert the message on a separate connection so that the
+     * consumer is woken by the database notification rather than by its
+     * own message queue.
+     */
+    @Override
+    protected void enqueueWhileIdle(SQLConsumer consumer, String message) throws Exception {
+        Connection conn = connectionProvider.getConnection();
+        try {
+            conn.setAutoCommit(false);
+            sqlClient.insertMessage(conn, message);
+            conn.commit();
+        } finally {
+            conn.close();
+        }
+    }
+
+    // ========================================================================
+    // SKIP LOCKED Leasing Tests
+    // ========================================================================
+
+    @Test
+    @Order(7000)
+    void testConcurrentLeasesSkipLockedRows() throws Exception {
+        Connection conn = connectionProvider.getConnection();
+        conn.setAutoCommit(false);
+        sqlClient.ensureSchema(conn, true);
+        for (int i = 0; i < 4; i++) {
+            sqlClient.insertMessage(conn, "{\"id\": " + i + "}");
+        }
+        conn.commit();
+        conn.close();
+
+        Connection conn1 = connectionProvider.getConnection();
+        Connection conn2 = connectionProvider.getConnection();
+        try {
+            conn1.setAutoCommit(false);
+            conn2.setAutoCommit(false);
+
+            // the first lease is not committed so its rows remain locked
+            List<LeasedMessage> leased1 = sqlClient.leaseAndGetMessages(conn1, "lease-1", 60, 2);
+            List<LeasedMessage> leased2 = sqlClient.leaseAndGetMessages(conn2, "lease-2", 60, 2);
+
+            assertEquals(2, leased1.size());
+            assertEquals(2, leased2.size(), "Second lease should skip the locked rows rather than block");
+
+            Set<Long> messageIds = new HashSet<>();
+            for (LeasedMessage message : leased1) {
+                messageIds.add(message.getMessageId());
+            }
+            for (LeasedMessage message : leased2) {
+                assertTrue(messageIds.add(message.getMessageId()), "Leases should not overlap");
+            }
+
+            conn1.commit();
+            conn2.commit();
+
+        } finally {
+            conn1.close();
+            conn2.close();
+        }
+    }
+
+    // ========================================================================
+    // Multi-Consumer Throughput Tests
+    // ========================================================================
+
+    /**
+     * Consumes the specified number of messages with the specified number of
+     * consumer instances sharing the queue table, each standing in for a
+     * separate replicator process, and returns the elapsed milliseconds.
+     */
+    private long timeConsumption(int consumerCount, int messageCount) throws Exception {
+        Connection conn = connectionProvider.getConnection();
+        conn.setAutoCommit(false);
+        sqlClient.ensureSchema(conn, true);
+        for (int i = 0; i < messageCount; i++) {
+            sqlClient.insertMessage(conn, "{\"id\": " + i + "}");
+        }
+        conn.commit();
+        conn.close();
+
+        JsonObject config = Json.createObjectBuilder()
+                .add(SQLConsumer.CONNECTION_PROVIDER_KEY, this.providerName)
+                .add(SQLConsumer.CLEAN_DATABASE_KEY, false)
+                .add(SQLConsumer.LEASE_TIME_KEY, 60)
+                .add(SQLConsumer.MAXIMUM_LEASE_COUNT_KEY, 20)
+                .add(SQLConsumer.MAXIMUM_SLEEP_TIME_KEY, 1)
+                .build();
+
+        Map<Integer, AtomicInteger> processedCounts = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(messageCount);
+        MessageProcessor processor = (message) -> {
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException ignore) {}
+            processedCounts.computeIfAbsent(message.getInt("id"),
+                    (k) -> new AtomicInteger(0)).incrementAndGet();
+            latch.countDown();
+        };
+
+        List<SQLConsumer> consumers = new ArrayList<>(consumerCount);
+        List<Thread> threads = new ArrayList<>(consumerCount);
+        long start = System.nanoTime();
+        for (int i = 0; i < consumerCount; i++) {
+            SQLConsumer consumer = new SQLConsumer();
+            consumer.init(config);
+            consumers.add(consumer);
+            Thread thread = new Thread(() -> {
+                try {
+                    consumer.consume(processor);
+                } catch (Exception ignore) {
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        assertTrue(latch.await(120, TimeUnit.SECONDS),
+                "All messages should be processed within timeout");
+        long elapsed = (System.nanoTime() - start) / 1000000L;
+
+        for (SQLConsumer consumer : consumers) {
+            consumer.destroy();
+        }
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+
+        assertEquals(messageCount, processedCounts.size());
+        for (Map.Entry<Integer, AtomicInteger> entry : processedCounts.entrySet()) {
+            assertEquals(1, entry.getValue().get(),
+                    "Message processed more than once: " + entry.getKey());
+        }
+        conn = connectionProvider.getConnection();
+        try {
+            assertEquals(0L, sqlClient.getMessageCount(conn),
+                    "All messages should have been deleted");
+        } finally {
+            conn.close();
+        }
+        return elapsed;
+    }
+
+    @Test
+    @Order(7100)
+    void testMultiConsumerThroughputBenchmark() throws Exception {
+        int messageCount = 400;
+        for (int consumerCount : new int[] { 1, 2, 4 }) {
+            long millis = timeConsumption(consumerCount, messageCount);
+            double rate = (messageCount * 1000.0) / Math.max(1L, millis);
+            System.err.println("SKIP LOCKED: " + consumerCount + " consumer(s) processed "
+                    + messageCount + " messages in " + millis + " ms ("
+                    + String.format("%.1f", rate) + " msgs/sec)");
+        }
+    }
 }
@@ -18,6 +18,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -44,6 +45,13 @@ public class MockSqsClient implements SqsClient {
     private volatile int failureCount = 0;
     private volatile int httpErrorCount = 0;
     private volatile int httpErrorStatusCode = 500;
+    private volatile long requestLatency = 0L;
+
+    // Counts the requests of each type for round-trip comparisons
+    private final AtomicInteger receiveRequestCount = new AtomicInteger(0);
+    private final AtomicInteger deleteRequestCount = new AtomicInteger(0);
+    private final AtomicInteger deleteBatchRequestCount = new AtomicInteger(0);
+    private final AtomicInteger visibilityBatchRequestCount = new AtomicInteger(0);
 
     /**
      * Creates a new MockSqsClient with default visibility timeout of 30 seconds.
@@ -125,9 +133,46 @@ public class MockSqsClient implements SqsClient {
         this.httpErrorStatusCode = statusCode;
     }
 
+    /**
+     * Configures a simulated network round-trip latency for each request.
+     *
+     * @param millis The number of milliseconds to delay each request.
+     */
+    public void setRequestLatency(long millis) {
+        this.requestLatency = millis;
+    }
+
+    public int getReceiveRequestCount() {
+        return receiveRequestCount.get();
+    }
+
+    public int getDeleteRequestCount() {
+        return deleteRequestCount.get();
+    }
+
+    public int getDeleteBatchRequestCount() {
+        return deleteBatchRequestCount.get();
+    }
+
+    public int getVisibilityBatchRequestCount() {
+        return visibilityBatchRequestCount.get();
+    }
+
+    private void simulateLatency() {
+        if (requestLatency > 0L) {
+            try {
+                Thread.sleep(requestLatency);
+            } catch (InterruptedException ignore) {
+                // ignore
+            }
+        }
+    }
+
     @Override
     public ReceiveMessageResponse receiveMessage(ReceiveMessageRequest request)
             throws AwsServiceException, SdkClientException {
+        receiveRequestCount.incrementAndGet();
+        simulateLatency();
 
         // Check for simulated failures FIRST (test's configured behavior takes precedence)
         if (failNextRequest || failureCount > 0) {
@@ -227,6 +272,8 @@ public class MockSqsClient implements SqsClient {
     @Override
     public DeleteMessageResponse deleteMessage(DeleteMessageRequest request)
             throws AwsServiceException, SdkClientException {
+        deleteRequestCount.incrementAndGet();
+        simulateLatency();
 
         if (closed) {
             throw SdkClientException.create("Client is closed");
@@ -379,12 +426,87 @@ public class MockSqsClient implements SqsClient {
 
     @Override
     public ChangeMessageVisibilityBatchResponse changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest request) {
-        throw new java.lang.UnsupportedOperationException("Not implemented in mock");
+        visibilityBatchRequestCount.incrementAndGet();
+        simulateLatency();
+        if (closed) {
+            throw SdkClientException.create("Client is closed");
+        }
+
+        List<ChangeMessageVisibilityBatchResultEntry> successful = new ArrayList<>();
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+        try (Connection conn = connectionPool.acquire()) {
+            conn.setAutoCommit(false);
+            for (ChangeMessageVisibilityBatchRequestEntry entry : request.entries()) {
+                Long messageId = receiptHandleToMessageId.get(entry.receiptHandle());
+                if (messageId == null) {
+                    failed.add(BatchResultErrorEntry.builder()
+                            .id(entry.id()).code("ReceiptHandleIsInvalid")
+                            .message("Unknown receipt handle").senderFault(true).build());
+                    continue;
+                }
+                long expiration = System.currentTimeMillis() + (entry.visibilityTimeout() * 1000L);
+                try (java.sql.PreparedStatement ps = conn.prepareStatement(
+                        "UPDATE sz_message_queue SET expire_lease_at = ? WHERE message_id = ?")) {
+                    sqlClient.getDatabaseType().setTimestamp(ps, 1, new java.sql.Timestamp(expiration));
+                    ps.setLong(2, messageId);
+                    ps.executeUpdate();
+                }
+                messageVisibilityExpiration.put(messageId, expiration);
+                successful.add(ChangeMessageVisibilityBatchResultEntry.builder().id(entry.id()).build());
+            }
+            conn.commit();
+
+        } catch (SQLException e) {
+            throw SdkClientException.create("Database error: " + e.getMessage(), e);
+        }
+
+        SdkHttpResponse httpResponse = SdkHttpResponse.builder()
+                .statusCode(200)
+                .statusText("OK")
+                .build();
+
+        return (ChangeMessageVisibilityBatchResponse) ((SdkResponse.Builder) ChangeMessageVisibilityBatchResponse.builder()
+                .successful(successful)
+                .failed(failed))
+                .sdkHttpResponse(httpResponse)
+                .build();
     }
 
     @Override
     public DeleteMessageBatchResponse deleteMessageBatch(DeleteMessageBatchRequest request) {
-        throw new java.lang.UnsupportedOperationException("Not implemented in mock");
+        deleteBatchRequestCount.incrementAndGet();
+        simulateLatency();
+        if (closed) {
+            throw SdkClientException.create("Client is closed");
+        }
+
+        List<DeleteMessageBatchResultEntry> successful = new ArrayList<>();
+        try (Connection conn = connectionPool.acquire()) {
+            conn.setAutoCommit(false);
+            for (DeleteMessageBatchRequestEntry entry : request.entries()) {
+                Long messageId = receiptHandleToMessageId.remove(entry.receiptHandle());
+                if (messageId != null) {
+                    sqlClient.deleteMessage(conn, messageId, null);
+                    messageVisibilityExpiration.remove(messageId);
+                }
+                successful.add(DeleteMessageBatchResultEntry.builder().id(entry.id()).build());
+            }
+            conn.commit();
+
+        } catch (SQLException e) {
+            throw SdkClientException.create("Database error: " + e.getMessage(), e);
+        }
+
+        SdkHttpResponse httpResponse = SdkHttpResponse.builder()
+                .statusCode(200)
+                .statusText("OK")
+                .build();
+
+        return (DeleteMessageBatchResponse) ((SdkResponse.Builder) DeleteMessageBatchResponse.builder()
+                .successful(successful)
+                .failed(Collections.emptyList()))
+                .sdkHttpResponse(httpResponse)
+                .build();
     }
 
     @Override
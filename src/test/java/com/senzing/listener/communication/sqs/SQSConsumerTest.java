@@ -118,6 +118,10 @@ class SQSConsumerTest {
         assertEquals(SQSConsumer.DEFAULT_MAXIMUM_RETRIES, consumer.getMaximumRetries());
         assertEquals(SQSConsumer.DEFAULT_RETRY_WAIT_TIME, consumer.getRetryWaitTime());
         assertNull(consumer.getVisibilityTimeout());
+        assertEquals(SQSConsumer.DEFAULT_RECEIVE_BATCH_SIZE, consumer.getReceiveBatchSize());
+        assertEquals(SQSConsumer.DEFAULT_RECEIVER_COUNT, consumer.getReceiverCount());
+        assertEquals(SQSConsumer.DEFAULT_DELETE_BATCH_DELAY, consumer.getDeleteBatchDelay());
+        assertFalse(consumer.isVisibilityHeartbeat());
     }
 
     // ========================================================================
@@ -410,6 +414,212 @@ class SQSConsumerTest {
         consumeThread.join(5000);
     }
 
+    // ========================================================================
+    // Batching Tests
+    // ========================================================================
+
+    /**
+     * Consumes the specified number of messages from a fresh mock client with
+     * the specified request latency and returns the elapsed milliseconds.
+     */
+    private long timeConsumption(JsonObject config, int messageCount, long latency)
+            throws Exception
+    {
+        mockSqsClient.close();
+        mockSqsClient = new MockSqsClient(60);
+        for (int i = 0; i < messageCount; i++) {
+            mockSqsClient.enqueueMessage("{\"id\": " + i + "}");
+        }
+        mockSqsClient.setRequestLatency(latency);
+
+        TestableSQSConsumer consumer = new TestableSQSConsumer();
+        consumer.setInjectedClient(mockSqsClient);
+        consumer.init(config);
+
+        CountDownLatch latch = new CountDownLatch(messageCount);
+        MessageProcessor processor = (message) -> latch.countDown();
+
+        long start = System.nanoTime();
+        Thread consumeThread = new Thread(() -> {
+            try {
+                consumer.consume(processor);
+            } catch (Exception ignore) {
+            }
+        });
+        consumeThread.start();
+
+        assertTrue(latch.await(120, TimeUnit.SECONDS),
+                "All messages should be processed within timeout");
+
+        consumer.destroy();
+        consumeThread.join(5000);
+        long elapsed = (System.nanoTime() - start) / 1000000L;
+
+        assertEquals(0, mockSqsClient.getMessageCount(),
+                "All messages should have been deleted");
+        return elapsed;
+    }
+
+    @Test
+    @Order(4100)
+    void testBatchedReceiveAndDeleteBenchmark() throws Exception {
+        int messageCount = 200;
+        long latency = 5L;
+
+        JsonObject unbatchedConfig = Json.createObjectBuilder()
+                .add(SQSConsumer.SQS_URL_KEY, "https://sqs.test/queue")
+                .add(SQSConsumer.VISIBILITY_TIMEOUT_KEY, 60)
+                .add(SQSConsumer.RECEIVE_BATCH_SIZE_KEY, 1)
+                .add(SQSConsumer.DELETE_BATCH_DELAY_KEY, 0)
+                .build();
+        long unbatchedMillis = timeConsumption(unbatchedConfig, messageCount, latency);
+        int unbatchedReceives = mockSqsClient.getReceiveRequestCount();
+        int unbatchedDeletes = mockSqsClient.getDeleteRequestCount();
+        assertEquals(messageCount, unbatchedDeletes);
+        assertEquals(0, mockSqsClient.getDeleteBatchRequestCount());
+
+        JsonObject batchedConfig = Json.createObjectBuilder()
+                .add(SQSConsumer.SQS_URL_KEY, "https://sqs.test/queue")
+                .add(SQSConsumer.VISIBILITY_TIMEOUT_KEY, 60)
+                .add(SQSConsumer.RECEIVER_COUNT_KEY, 2)
+                .build();
+        long batchedMillis = timeConsumption(batchedConfig, messageCount, latency);
+        int batchedReceives = mockSqsClient.getReceiveRequestCount();
+        int batchedDeletes = mockSqsClient.getDeleteBatchRequestCount();
+
+        System.err.println("UNBATCHED: " + messageCount + " messages in " + unbatchedMillis
+                + " ms (" + unbatchedReceives + " receives, " + unbatchedDeletes + " deletes)");
+        System.err.println("BATCHED: " + messageCount + " messages in " + batchedMillis
+                + " ms (" + batchedReceives + " receives, " + batchedDeletes + " delete batches)");
+
+        assertEquals(0, mockSqsClient.getDeleteRequestCount(),
+                "Deletions should be sent in batches");
+        assertTrue(batchedReceives < unbatchedReceives,
+                "Batched receives should use fewer round trips");
+        assertTrue(batchedDeletes < messageCount,
+                "Batched deletes should use fewer round trips");
+    }
+
+    @Test
+    @Order(4200)
+    void testVisibilityHeartbeatPreventsRedelivery() throws Exception {
+        mockSqsClient.close();
+        mockSqsClient = new MockSqsClient(2);
+        mockSqsClient.enqueueMessage("{\"slow\": \"processing\"}");
+
+        JsonObject config = Json.createObjectBuilder()
+                .add(SQSConsumer.SQS_URL_KEY, "https://sqs.test/queue")
+                .add(SQSConsumer.VISIBILITY_TIMEOUT_KEY, 2)
+                .add(SQSConsumer.VISIBILITY_HEARTBEAT_KEY, true)
+                .build();
+
+        TestableSQSConsumer consumer = new TestableSQSConsumer();
+        consumer.setInjectedClient(mockSqsClient);
+        consumer.init(config);
+        assertTrue(consumer.isVisibilityHeartbeat());
+
+        AtomicInteger processCount = new AtomicInteger(0);
+        CountDownLatch doneLatch = new CountDownLatch(1);
+        MessageProcessor slowProcessor = (message) -> {
+            processCount.incrementAndGet();
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException ignore) {
+            }
+            doneLatch.countDown();
+        };
+
+        Thread consumeThread = new Thread(() -> {
+            try {
+                consumer.consume(slowProcessor);
+            } catch (Exception ignore) {
+            }
+        });
+        consumeThread.start();
+
+        assertTrue(doneLatch.await(15, TimeUnit.SECONDS));
+        Thread.sleep(500);
+
+        assertEquals(1, processCount.get(),
+                "Message should not be redelivered while its visibility is extended");
+        assertTrue(mockSqsClient.getVisibilityBatchRequestCount() > 0,
+                "Visibility should have been extended");
+
+        consumer.destroy();
+        consumeThread.join(5000);
+    }
+
+    @Test
+    @Order(4250)
+    void testFailedMessageRedeliveredWithHeartbeat() throws Exception {
+        mockSqsClient.close();
+        mockSqsClient = new MockSqsClient(2);
+        mockSqsClient.enqueueMessage("{\"fail\": \"once\"}");
+
+        JsonObject config = Json.createObjectBuilder()
+                .add(SQSConsumer.SQS_URL_KEY, "https://sqs.test/queue")
+                .add(SQSConsumer.VISIBILITY_TIMEOUT_KEY, 2)
+                .add(SQSConsumer.VISIBILITY_HEARTBEAT_KEY, true)
+                .build();
+
+        TestableSQSConsumer consumer = new TestableSQSConsumer();
+        consumer.setInjectedClient(mockSqsClient);
+        consumer.init(config);
+
+        // fail the first attempt and succeed on the second
+        AtomicInteger processCount = new AtomicInteger(0);
+        CountDownLatch secondProcessLatch = new CountDownLatch(2);
+        MessageProcessor processor = (message) -> {
+            int count = processCount.incrementAndGet();
+            secondProcessLatch.countDown();
+            if (count == 1) {
+                throw new IllegalStateException("Simulated failure");
+            }
+        };
+
+        Thread consumeThread = new Thread(() -> {
+            try {
+                consumer.consume(processor);
+            } catch (Exception ignore) {
+            }
+        });
+
+        new SystemErr().execute(() -> {
+            consumeThread.start();
+
+            assertTrue(secondProcessLatch.await(15, TimeUnit.SECONDS),
+                    "Failed message should no longer have its visibility extended");
+
+            long deadline = System.currentTimeMillis() + 10000L;
+            while (mockSqsClient.getMessageCount() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(0, mockSqsClient.getMessageCount(),
+                    "Message should be deleted once processed successfully");
+
+            consumer.destroy();
+            consumeThread.join(5000);
+        });
+    }
+
+    @Test
+    @Order(4300)
+    void testBatchingConfigurationValidation() throws Exception {
+        TestableSQSConsumer consumer = new TestableSQSConsumer();
+        consumer.setInjectedClient(mockSqsClient);
+        assertThrows(Exception.class, () -> consumer.init(Json.createObjectBuilder()
+                .add(SQSConsumer.SQS_URL_KEY, "https://sqs.test/queue")
+                .add(SQSConsumer.RECEIVE_BATCH_SIZE_KEY, SQSConsumer.MAXIMUM_BATCH_SIZE + 1)
+                .build()));
+
+        TestableSQSConsumer consumer2 = new TestableSQSConsumer();
+        consumer2.setInjectedClient(mockSqsClient);
+        assertThrows(Exception.class, () -> consumer2.init(Json.createObjectBuilder()
+                .add(SQSConsumer.SQS_URL_KEY, "https://sqs.test/queue")
+                .add(SQSConsumer.VISIBILITY_HEARTBEAT_KEY, true)
+                .build()));
+    }
+
     // ========================================================================
     // Parent Class Method Tests (SQSConsumer)
     // ========================================================================
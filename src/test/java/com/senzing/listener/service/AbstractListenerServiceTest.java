@@ -2,6 +2,7 @@ package com.senzing.listener.service;
 
 import com.senzing.listener.service.exception.ServiceExecutionException;
 import com.senzing.listener.service.exception.ServiceSetupException;
+import com.senzing.listener.service.model.SzInfoMessage;
 import com.senzing.listener.service.scheduling.*;
 import com.senzing.util.Quantified;
 import org.junit.jupiter.api.*;
@@ -14,7 +15,9 @@ import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -830,6 +833,94 @@ class AbstractListenerServiceTest {
         service.destroy();
     }
 
+    // ========================================================================
+    // processAsync() tests
+    // ========================================================================
+
+    @Test
+    @Order(3110)
+    void testProcessAsyncWithSimpleMessage() throws Exception {
+        Map<MessagePart, String> messagePartMap = new EnumMap<>(MessagePart.class);
+        messagePartMap.put(AFFECTED_ENTITY, "REFRESH_ENTITY");
+        messagePartMap.put(RECORD, "PROCESS_RECORD");
+        TestListenerService service = new TestListenerService(messagePartMap);
+        service.init(null);
+
+        JsonObject message = createSimpleInfoMessage("TEST_DS", "REC001", 100L, 101L);
+
+        CompletableFuture<Void> future = service.processAsync(message);
+        assertNotNull(future);
+        future.get(30, TimeUnit.SECONDS);
+        assertTrue(future.isDone());
+        assertFalse(future.isCompletedExceptionally());
+
+        service.destroy();
+    }
+
+    @Test
+    @Order(3120)
+    void testProcessAsyncWithTaskFailure() throws Exception {
+        Map<MessagePart, String> messagePartMap = new EnumMap<>(MessagePart.class);
+        messagePartMap.put(AFFECTED_ENTITY, "REFRESH_ENTITY");
+        TestListenerService service = new TestListenerService(messagePartMap);
+        service.init(null);
+
+        service.getTestSchedulingService().setSimulateFailures(true);
+        service.getTestSchedulingService().setFailureCount(1);
+
+        JsonObject message = createSimpleInfoMessage("TEST_DS", "REC001", 100L);
+
+        new SystemErr().execute(() -> {
+            CompletableFuture<Void> future = service.processAsync(message);
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> future.get(30, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof ServiceExecutionException);
+        });
+
+        service.destroy();
+    }
+
+    @Test
+    @Order(3125)
+    void testProcessAsyncWithParsedInfoMessage() throws Exception {
+        Map<MessagePart, String> messagePartMap = new EnumMap<>(MessagePart.class);
+        messagePartMap.put(AFFECTED_ENTITY, "REFRESH_ENTITY");
+        messagePartMap.put(RECORD, "PROCESS_RECORD");
+        TestListenerService service = new TestListenerService(messagePartMap);
+        service.init(null);
+
+        SzInfoMessage message = SzInfoMessage.fromRawJson(
+                createSimpleInfoMessage("TEST_DS", "REC001", 100L, 101L));
+
+        CompletableFuture<Void> future = service.processAsync(message);
+        assertNotNull(future);
+        future.get(30, TimeUnit.SECONDS);
+        assertFalse(future.isCompletedExceptionally());
+
+        // the synchronous variant should also schedule and complete the tasks
+        service.process(message);
+
+        service.destroy();
+    }
+
+    @Test
+    @Order(3130)
+    void testProcessAsyncWhenNotAvailable() throws Exception {
+        Map<MessagePart, String> messagePartMap = new EnumMap<>(MessagePart.class);
+        messagePartMap.put(AFFECTED_ENTITY, "TEST_ACTION");
+        TestListenerService service = new TestListenerService(messagePartMap);
+
+        JsonObject message = createSimpleInfoMessage("TEST", "1", 100L);
+
+        new SystemErr().execute(() -> {
+            CompletableFuture<Void> future = service.processAsync(message);
+            assertTrue(future.isCompletedExceptionally());
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> future.get());
+            assertTrue(exception.getCause() instanceof ServiceExecutionException);
+        });
+    }
+
     // ========================================================================
     // handleRecord() tests - covers lines 648-656
     // ========================================================================
@@ -1206,4 +1297,228 @@ class AbstractListenerServiceTest {
 
         service.destroy();
     }
+
+    // ========================================================================
+    // Coalescing of INFO messages
+    // ========================================================================
+
+    /**
+     * Creates a {@link TestListenerService} that records the groups of
+     * messages passed to {@link AbstractListenerService#scheduleMessages(List)}
+     * along with the resulting task groups.
+     */
+    private static TestListenerService createCoalescingService(Map<MessagePart, String> messagePartMap,
+                                                               List<List<SzInfoMessage>> scheduledMessages,
+                                                               List<TaskGroup> scheduledGroups) {
+        return new TestListenerService(messagePartMap) {
+            @Override
+            protected TaskGroup scheduleMessages(List<SzInfoMessage> messages) throws ServiceExecutionException {
+                TaskGroup taskGroup = super.scheduleMessages(messages);
+                synchronized (scheduledMessages) {
+                    scheduledMessages.add(new ArrayList<>(messages));
+                    scheduledGroups.add(taskGroup);
+                }
+                return taskGroup;
+            }
+        };
+    }
+
+    private static JsonObject createCoalesceConfig(long window, int limit) {
+        return Json.createObjectBuilder()
+                .add(AbstractListenerService.COALESCE_WINDOW_KEY, window)
+                .add(AbstractListenerService.COALESCE_LIMIT_KEY, limit)
+                .build();
+    }
+
+    @Test
+    @Order(5000)
+    void testCoalesceConfig() throws Exception {
+        Map<MessagePart, String> messagePartMap = new EnumMap<>(MessagePart.class);
+        messagePartMap.put(AFFECTED_ENTITY, "REFRESH_ENTITY");
+
+        TestListenerService service = new TestListenerService(messagePartMap);
+        service.init(null);
+        assertEquals(AbstractListenerService.DEFAULT_COALESCE_WINDOW, service.getCoalesceWindow());
+        assertEquals(AbstractListenerService.DEFAULT_COALESCE_LIMIT, service.getCoalesceLimit());
+        service.destroy();
+
+        service = new TestListenerService(messagePartMap);
+        service.init(createCoalesceConfig(25L, 3));
+        assertEquals(25L, service.getCoalesceWindow());
+        assertEquals(3, service.getCoalesceLimit());
+        service.destroy();
+
+        TestListenerService invalid = new TestListenerService(messagePartMap);
+        assertThrows(ServiceSetupException.class, () -> invalid.init(createCoalesceConfig(-1L, 3)));
+    }
+
+    @Test
+    @Order(5100)
+    void testCoalescedMessagesScheduleUniqueTasks() throws Exception {
+        Map<MessagePart, String> messagePartMap = new EnumMap<>(MessagePart.class);
+        messagePartMap.put(RECORD, "PROCESS_RECORD");
+        messagePartMap.put(AFFECTED_ENTITY, "REFRESH_ENTITY");
+        List<List<SzInfoMessage>> scheduledMessages = new ArrayList<>();
+        List<TaskGroup> scheduledGroups = new ArrayList<>();
+        TestListenerService service = createCoalescingService(messagePartMap, scheduledMessages, scheduledGroups);
+
+        // use a long window so the group is only scheduled once the limit is reached
+        service.init(createCoalesceConfig(60000L, 4));
+
+        List<SzInfoMessage> messages = List.of(
+                SzInfoMessage.fromRawJson(createSimpleInfoMessage("DS", "R1", 100L, 101L)),
+                SzInfoMessage.fromRawJson(createSimpleInfoMessage("DS", "R2", 100L, 102L)),
+                SzInfoMessage.fromRawJson(createSimpleInfoMessage("DS", "R1", 100L, 101L)),
+                SzInfoMessage.fromRawJson(createSimpleInfoMessage("DS", "R3", 100L)));
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (SzInfoMessage message : messages) {
+            futures.add(service.processAsync(message));
+        }
+        for (CompletableFuture<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+            assertFalse(future.isCompletedExceptionally());
+        }
+
+        // all four messages should be scheduled together with one task per
+        // unique record (3) and one per unique affected entity (3)
+        assertEquals(1, scheduledMessages.size());
+        assertEquals(messages, scheduledMessages.get(0));
+        assertEquals(6, scheduledGroups.get(0).getTaskCount());
+
+        service.destroy();
+    }
+
+    @Test
+    @Order(5200)
+    void testCoalescedMessagesScheduledWhenWindowElapses() throws Exception {
+        Map<MessagePart, String> messagePartMap = new EnumMap<>(MessagePart.class);
+        messagePartMap.put(AFFECTED_ENTITY, "REFRESH_ENTITY");
+        List<List<SzInfoMessage>> scheduledMessages = new ArrayList<>();
+        List<TaskGroup> scheduledGroups = new ArrayList<>();
+        TestListenerService service = createCoalescingService(messagePartMap, scheduledMessages, scheduledGroups);
+        service.init(createCoalesceConfig(50L, 100));
+
+        CompletableFuture<Void> future1 = service.processAsync(
+                SzInfoMessage.fromRawJson(createSimpleInfoMessage("DS", "R1", 100L, 101L)));
+        CompletableFuture<Void> future2 = service.processAsync(
+                SzInfoMessage.fromRawJson(createSimpleInfoMessage("DS", "R2", 101L, 102L)));
+
+        future1.get(30, TimeUnit.SECONDS);
+        future2.get(30, TimeUnit.SECONDS);
+
+        // the synchronous variant should wait on its coalesced group
+        service.process(SzInfoMessage.fromRawJson(createSimpleInfoMessage("DS", "R3", 100L)));
+
+        int taskCount = 0;
+        int messageCount = 0;
+        synchronized (scheduledMessages) {
+            for (int index = 0; index < scheduledMessages.size(); index++) {
+                messageCount += scheduledMessages.get(index).size();
+                taskCount += scheduledGroups.get(index).getTaskCount();
+            }
+        }
+        assertEquals(3, messageCount);
+        assertTrue(taskCount >= 3 && taskCount <= 4,
+                "Unexpected number of tasks scheduled: " + taskCount);
+
+        service.destroy();
+    }
+
+    @Test
+    @Order(5300)
+    void testCoalescedFailureFailsEveryMessage() throws Exception {
+        Map<MessagePart, String> messagePartMap = new EnumMap<>(MessagePart.class);
+        messagePartMap.put(AFFECTED_ENTITY, "REFRESH_ENTITY");
+        TestListenerService service = new TestListenerService(messagePartMap);
+        service.init(createCoalesceConfig(60000L, 2));
+        service.getTestSchedulingService().setSimulateFailures(true);
+        service.getTestSchedulingService().setFailureCount(1);
+
+        new SystemErr().execute(() -> {
+            CompletableFuture<Void> future1 = service.processAsync(
+                    SzInfoMessage.fromRawJson(createSimpleInfoMessage("DS", "R1", 100L)));
+            CompletableFuture<Void> future2 = service.processAsync(
+                    SzInfoMessage.fromRawJson(createSimpleInfoMessage("DS", "R2", 200L)));
+
+            for (CompletableFuture<Void> future : List.of(future1, future2)) {
+                ExecutionException exception = assertThrows(ExecutionException.class,
+                        () -> future.get(30, TimeUnit.SECONDS));
+                assertTrue(exception.getCause() instanceof ServiceExecutionException);
+            }
+        });
+
+        service.destroy();
+    }
+
+    @Test
+    @Order(5350)
+    void testCoalescedAffectedEntitiesHandledTogether() throws Exception {
+        Map<MessagePart, String> messagePartMap = new EnumMap<>(MessagePart.class);
+        messagePartMap.put(AFFECTED_ENTITY, "REFRESH_ENTITY");
+        List<List<Long>> affectedGroups = new ArrayList<>();
+        List<TaskGroup> scheduledGroups = new ArrayList<>();
+        TestListenerService service = new TestListenerService(messagePartMap) {
+            @Override
+            protected TaskGroup scheduleMessages(List<SzInfoMessage> messages) throws ServiceExecutionException {
+                TaskGroup taskGroup = super.scheduleMessages(messages);
+                synchronized (scheduledGroups) {
+                    scheduledGroups.add(taskGroup);
+                }
+                return taskGroup;
+            }
+
+            @Override
+            protected void handleAffectedEntities(Map<Long, SzInfoMessage> affectedMap, Scheduler scheduler) {
+                synchronized (affectedGroups) {
+                    affectedGroups.add(new ArrayList<>(affectedMap.keySet()));
+                }
+                super.handleAffectedEntities(affectedMap, scheduler);
+            }
+        };
+        service.init(createCoalesceConfig(60000L, 3));
+
+        List<SzInfoMessage> messages = List.of(
+                SzInfoMessage.fromRawJson(createSimpleInfoMessage("DS", "R1", 100L, 101L)),
+                SzInfoMessage.fromRawJson(createSimpleInfoMessage("DS", "R2", 102L, 100L)),
+                SzInfoMessage.fromRawJson(createSimpleInfoMessage("DS", "R3", 101L)));
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (SzInfoMessage message : messages) {
+            futures.add(service.processAsync(message));
+        }
+        for (CompletableFuture<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+            assertFalse(future.isCompletedExceptionally());
+        }
+
+        // the unique affected entities are handled once in the order found
+        assertEquals(List.of(List.of(100L, 101L, 102L)), affectedGroups);
+        assertEquals(3, scheduledGroups.get(0).getTaskCount());
+
+        service.destroy();
+    }
+
+    @Test
+    @Order(5400)
+    void testDestroyFailsPendingCoalescedMessages() throws Exception {
+        Map<MessagePart, String> messagePartMap = new EnumMap<>(MessagePart.class);
+        messagePartMap.put(AFFECTED_ENTITY, "REFRESH_ENTITY");
+        TestListenerService service = new TestListenerService(messagePartMap);
+        service.init(createCoalesceConfig(60000L, 100));
+
+        SzInfoMessage message = SzInfoMessage.fromRawJson(createSimpleInfoMessage("DS", "R1", 100L));
+        CompletableFuture<Void> pending = service.processAsync(message);
+        assertFalse(pending.isDone());
+
+        service.destroy();
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> pending.get(30, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof ServiceExecutionException);
+
+        // messages received after destruction fail immediately
+        CompletableFuture<Void> rejected = service.processAsync(message);
+        assertTrue(rejected.isCompletedExceptionally());
+    }
 }
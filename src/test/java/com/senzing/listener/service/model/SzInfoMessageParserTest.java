@@ -0,0 +1,259 @@
+package com.senzing.listener.service.model;
+
+import com.senzing.util.JsonUtilities;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SzInfoMessageParser}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SzInfoMessageParserTest {
+
+    /**
+     * A representative raw INFO message with affected entities, interesting
+     * entities, notices and properties that are not part of the model.
+     */
+    private static final String FULL_INFO_MESSAGE = """
+        {
+            "DATA_SOURCE": "CUSTOMERS",
+            "RECORD_ID": "CUST-001",
+            "UMF_PROC": {"NAME": "ignored", "PARAMS": [{"PARAM": {"A": 1}}]},
+            "AFFECTED_ENTITIES": [
+                {"ENTITY_ID": 1, "LENS_CODE": "DEFAULT"},
+                {"ENTITY_ID": 2},
+                {"ENTITY_ID": 3}
+            ],
+            "INTERESTING_ENTITIES": {
+                "ENTITIES": [
+                    {
+                        "ENTITY_ID": 1,
+                        "DEGREES": 0,
+                        "FLAGS": ["RESOLVED", "POSSIBLY_SAME"],
+                        "SAMPLE_RECORDS": [
+                            {
+                                "DATA_SOURCE": "CUSTOMERS",
+                                "RECORD_ID": "CUST-001",
+                                "FLAGS": ["RESOLVED"]
+                            }
+                        ]
+                    },
+                    {
+                        "ENTITY_ID": 2,
+                        "DEGREES": 1,
+                        "FLAGS": ["RELATED"],
+                        "SAMPLE_RECORDS": []
+                    }
+                ],
+                "NOTICES": [
+                    {"CODE": "N1", "DESCRIPTION": "First notice"},
+                    {"CODE": "N2"}
+                ]
+            }
+        }
+        """;
+
+    /**
+     * Builds a compact raw INFO message for the specified index.
+     */
+    private static String buildInfoMessage(int index) {
+        return "{\"DATA_SOURCE\":\"CUSTOMERS\",\"RECORD_ID\":\"REC-" + index + "\","
+                + "\"AFFECTED_ENTITIES\":[{\"ENTITY_ID\":" + (index * 3) + "},"
+                + "{\"ENTITY_ID\":" + (index * 3 + 1) + "},{\"ENTITY_ID\":" + (index * 3 + 2) + "}],"
+                + "\"INTERESTING_ENTITIES\":{\"ENTITIES\":[{\"ENTITY_ID\":" + (index * 3)
+                + ",\"DEGREES\":0,\"FLAGS\":[\"RESOLVED\"],\"SAMPLE_RECORDS\":[{\"DATA_SOURCE\":"
+                + "\"CUSTOMERS\",\"RECORD_ID\":\"REC-" + index + "\",\"FLAGS\":[\"RESOLVED\"]}]}]}}";
+    }
+
+    /**
+     * Builds a JSON array batch of the specified number of raw INFO messages.
+     */
+    private static String buildBatch(int count) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int index = 0; index < count; index++) {
+            if (index > 0) {
+                sb.append(",");
+            }
+            sb.append(buildInfoMessage(index));
+        }
+        return sb.append("]").toString();
+    }
+
+    @Test
+    public void parseObjectMatchesFromRawJsonTest() {
+        List<SzInfoMessage> parsed = SzInfoMessageParser.parse(FULL_INFO_MESSAGE);
+
+        assertEquals(1, parsed.size());
+        SzInfoMessage expected = SzInfoMessage.fromRawJson(FULL_INFO_MESSAGE);
+        assertEquals(expected, parsed.get(0));
+
+        SzInfoMessage message = parsed.get(0);
+        assertEquals("CUSTOMERS", message.getDataSource());
+        assertEquals("CUST-001", message.getRecordId());
+        assertEquals(new LinkedHashSet<>(List.of(1L, 2L, 3L)), message.getAffectedEntities());
+        assertEquals(2, message.getInterestingEntities().size());
+        assertEquals(2, message.getNotices().size());
+        assertNull(message.getNotices().get(1).getDescription());
+    }
+
+    @Test
+    public void parseArrayMatchesFromRawJsonTest() {
+        String batch = buildBatch(5);
+        List<SzInfoMessage> parsed = SzInfoMessageParser.parse(batch);
+
+        JsonArray jsonArray = JsonUtilities.parseJsonArray(batch);
+        assertEquals(jsonArray.size(), parsed.size());
+        for (int index = 0; index < jsonArray.size(); index++) {
+            assertEquals(SzInfoMessage.fromRawJson(jsonArray.getJsonObject(index)), parsed.get(index));
+        }
+        assertThrows(UnsupportedOperationException.class, () -> parsed.add(new SzInfoMessage()));
+    }
+
+    @Test
+    public void parseBytesTest() {
+        byte[] bytes = buildBatch(3).getBytes(StandardCharsets.UTF_8);
+        assertEquals(SzInfoMessageParser.parse(buildBatch(3)), SzInfoMessageParser.parse(bytes));
+
+        byte[] padded = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, padded, 2, bytes.length);
+        assertEquals(3, SzInfoMessageParser.parse(padded, 2, bytes.length).size());
+    }
+
+    @Test
+    public void parseMinimalMessageTest() {
+        List<SzInfoMessage> parsed = SzInfoMessageParser.parse(
+                "{\"DATA_SOURCE\": \"DS\", \"RECORD_ID\": null, \"AFFECTED_ENTITIES\": null}");
+
+        assertEquals(1, parsed.size());
+        assertEquals("DS", parsed.get(0).getDataSource());
+        assertNull(parsed.get(0).getRecordId());
+        assertTrue(parsed.get(0).getAffectedEntities().isEmpty());
+        assertTrue(parsed.get(0).getInterestingEntities().isEmpty());
+        assertTrue(parsed.get(0).getNotices().isEmpty());
+    }
+
+    @Test
+    public void parseInvalidJsonTest() {
+        assertThrows(NullPointerException.class, () -> SzInfoMessageParser.parse((String) null));
+        assertThrows(NullPointerException.class, () -> SzInfoMessageParser.parse((byte[]) null));
+        assertThrows(IllegalArgumentException.class, () -> SzInfoMessageParser.parse("{\"DATA_SOURCE\": "));
+        assertThrows(IllegalArgumentException.class, () -> SzInfoMessageParser.parse("\"text\""));
+        assertThrows(IllegalArgumentException.class, () -> SzInfoMessageParser.parse("[1, 2]"));
+        assertThrows(IllegalArgumentException.class,
+                () -> SzInfoMessageParser.parse("{\"DATA_SOURCE\": \"DS\", \"RECORD_ID\": \"1\"} {}"));
+    }
+
+    @Test
+    public void parseMissingRequiredPropertiesTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SzInfoMessageParser.parse("{\"DATA_SOURCE\": \"DS\"}"));
+        assertThrows(IllegalArgumentException.class,
+                () -> SzInfoMessageParser.parse("{\"DATA_SOURCE\": \"DS\", \"RECORD_ID\": \"1\", "
+                        + "\"INTERESTING_ENTITIES\": {\"ENTITIES\": [{\"ENTITY_ID\": 1}]}}"));
+        assertThrows(IllegalArgumentException.class,
+                () -> SzInfoMessageParser.parse("{\"DATA_SOURCE\": \"DS\", \"RECORD_ID\": \"1\", "
+                        + "\"INTERESTING_ENTITIES\": {\"NOTICES\": [{\"DESCRIPTION\": \"x\"}]}}"));
+        assertThrows(IllegalArgumentException.class,
+                () -> SzInfoMessageParser.parse("{\"DATA_SOURCE\": \"DS\", \"RECORD_ID\": \"1\", "
+                        + "\"AFFECTED_ENTITIES\": [{\"ENTITY_ID\": \"abc\"}]}"));
+    }
+
+    /**
+     * Parses the batch the way the consumer and listener service did before
+     * the streaming parser: build the tree, convert each element with {@link
+     * SzInfoMessage#fromRawJson(JsonObject)} and re-read the affected entity
+     * IDs from the tree.
+     */
+    private static long parseWithTree(String batch) {
+        long checksum = 0L;
+        JsonArray jsonArray = JsonUtilities.parseJsonArray(batch);
+        for (JsonObject jsonObject : jsonArray.getValuesAs(JsonObject.class)) {
+            SzInfoMessage message = SzInfoMessage.fromRawJson(jsonObject);
+            checksum += message.getInterestingEntities().size();
+            JsonArray affected = JsonUtilities.getJsonArray(jsonObject, SzInfoMessage.RAW_AFFECTED_ENTITIES_KEY);
+            for (JsonObject entity : affected.getValuesAs(JsonObject.class)) {
+                checksum += JsonUtilities.getLong(entity, SzInfoMessage.RAW_ENTITY_ID_KEY);
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * Parses the batch with {@link SzInfoMessageParser}.
+     */
+    private static long parseWithStreaming(String batch) {
+        long checksum = 0L;
+        for (SzInfoMessage message : SzInfoMessageParser.parse(batch)) {
+            checksum += message.getInterestingEntities().size();
+            for (Long entityId : message.getAffectedEntities()) {
+                checksum += entityId;
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * Gets the bytes allocated so far by the current thread, or -1 if the
+     * JVM does not support measuring it.
+     */
+    private static long getAllocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return -1L;
+    }
+
+    /**
+     * Compares parse time and bytes allocated per message for the tree-based
+     * and streaming parse of representative batched INFO messages.
+     */
+    @Test
+    public void parseBenchmarkTest() {
+        int messageCount = 50;
+        int iterations = 400;
+        String batch = buildBatch(messageCount);
+
+        // both approaches must agree
+        assertEquals(parseWithTree(batch), parseWithStreaming(batch));
+
+        // warm up
+        for (int index = 0; index < iterations; index++) {
+            parseWithTree(batch);
+            parseWithStreaming(batch);
+        }
+
+        long checksum = 0L;
+        long treeBytes = getAllocatedBytes();
+        long treeStart = System.nanoTime();
+        for (int index = 0; index < iterations; index++) {
+            checksum += parseWithTree(batch);
+        }
+        long treeNanos = System.nanoTime() - treeStart;
+        treeBytes = getAllocatedBytes() - treeBytes;
+
+        long streamBytes = getAllocatedBytes();
+        long streamStart = System.nanoTime();
+        for (int index = 0; index < iterations; index++) {
+            checksum -= parseWithStreaming(batch);
+        }
+        long streamNanos = System.nanoTime() - streamStart;
+        streamBytes = getAllocatedBytes() - streamBytes;
+
+        assertEquals(0L, checksum);
+
+        long parsedCount = (long) messageCount * iterations;
+        System.err.println("INFO PARSE (tree): " + (treeNanos / parsedCount) + " ns/msg, "
+                + (treeBytes / parsedCount) + " bytes/msg");
+        System.err.println("INFO PARSE (streaming): " + (streamNanos / parsedCount) + " ns/msg, "
+                + (streamBytes / parsedCount) + " bytes/msg");
+    }
+}
@@ -1,6 +1,8 @@
 package com.senzing.listener.service.scheduling;
 
 import com.senzing.listener.service.exception.ServiceExecutionException;
+import com.senzing.listener.service.locking.LockToken;
+import com.senzing.listener.service.locking.ResourceKey;
 import com.senzing.sql.ConnectionProvider;
 import com.senzing.sql.PoolConnectionProvider;
 import com.senzing.sql.ConnectionPool;
@@ -632,7 +634,10 @@ class AbstractSQLSchedulingServiceTest {
             Connection conn = service.getConnection();
             try {
                 // Delete the task
-                service.deleteFollowUpTask(conn, tasks.get(0));
+                String followUpId = tasks.get(0).getFollowUpId();
+                long taskId = AbstractSQLSchedulingService.getFollowUpTaskId(followUpId);
+                String leaseId = AbstractSQLSchedulingService.getFollowUpLeaseId(followUpId);
+                service.deleteFollowUpTasks(conn, leaseId, List.of(taskId));
                 conn.commit();
 
                 // Task should be deleted
@@ -684,6 +689,151 @@ class AbstractSQLSchedulingServiceTest {
         }
     }
 
+    @Test
+    void testBatchInsertAndIncrementFollowUpTasks() throws Exception {
+        long ts = System.nanoTime();
+        Task collapse = new Task("BATCH_" + ts, new TreeMap<>(), new TreeSet<>(), null, true);
+        Task other = new Task("BATCH_OTHER_" + ts, new TreeMap<>(), new TreeSet<>(), null, true);
+        Task nonCollapse = new Task("BATCH_NC_" + ts, new TreeMap<>(), new TreeSet<>(), null, false);
+
+        Connection conn = service.getConnection();
+        try {
+            // nothing exists yet so all should be reported as missing
+            Map<Task, Integer> collapsible = new LinkedHashMap<>();
+            collapsible.put(collapse, 3);
+            collapsible.put(other, 1);
+            List<Task> missing = service.incrementFollowUpMultiplicities(conn, collapsible);
+            assertEquals(List.of(collapse, other), missing);
+
+            // insert the new rows in a single batch
+            Map<Task, Integer> inserts = new LinkedHashMap<>(collapsible);
+            inserts.put(nonCollapse, 1);
+            service.insertNewFollowUpTasks(conn, inserts);
+
+            // increment just the first task
+            Map<Task, Integer> increments = new LinkedHashMap<>();
+            increments.put(collapse, 2);
+            increments.put(nonCollapse, 1);
+            missing = service.incrementFollowUpMultiplicities(conn, increments);
+            assertEquals(List.of(nonCollapse), missing,
+                "Non-collapsible rows should not be incremented");
+
+            // verify on the SAME connection (sees uncommitted data)
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT multiplicity FROM sz_follow_up_tasks WHERE signature = ?")) {
+                ps.setString(1, collapse.getSignature());
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(5, rs.getInt(1));
+                    assertFalse(rs.next());
+                }
+                ps.setString(1, other.getSignature());
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(1, rs.getInt(1));
+                }
+            }
+
+            conn.rollback();
+
+        } finally {
+            conn.close();
+        }
+    }
+
+    @Test
+    void testEnqueueFollowUpTasksCollapsesInMemory() throws Exception {
+        long ts = System.nanoTime();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tasks.add(new Task("BATCH_ENQ_" + ts, new TreeMap<>(), new TreeSet<>(), null, true));
+        }
+        tasks.add(new Task("BATCH_ENQ_NC_" + ts, new TreeMap<>(), new TreeSet<>(), null, false));
+        tasks.add(new Task("BATCH_ENQ_NC_" + ts, new TreeMap<>(), new TreeSet<>(), null, false));
+
+        // enqueueFollowUpTasks is protected - directly accessible in same package
+        service.enqueueFollowUpTasks(tasks);
+
+        // rows may be leased and handled by the background thread, so only
+        // verify that no more rows than expected were ever created
+        try (PreparedStatement ps = queryConnection.prepareStatement(
+                "SELECT COUNT(*) FROM sz_follow_up_tasks WHERE signature = ?")) {
+            ps.setString(1, tasks.get(0).getSignature());
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next());
+                assertTrue(rs.getInt(1) <= 1, "Duplicates should be collapsed");
+            }
+            ps.setString(1, tasks.get(4).getSignature());
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next());
+                assertTrue(rs.getInt(1) <= 2, "Non-collapsible tasks are separate");
+            }
+        }
+        queryConnection.commit();
+    }
+
+    @Test
+    void testDeleteFollowUpTasksInChunks() throws Exception {
+        long ts = System.nanoTime();
+        int rowCount = AbstractSQLSchedulingService.DELETE_CHUNK_SIZE + 5;
+        Map<Task, Integer> inserts = new LinkedHashMap<>();
+        for (int i = 0; i < rowCount; i++) {
+            inserts.put(new Task("CHUNK_" + ts, new TreeMap<>(), new TreeSet<>(), null, false), 1);
+        }
+        String signature = inserts.keySet().iterator().next().getSignature();
+
+        Connection conn = service.getConnection();
+        try {
+            service.insertNewFollowUpTasks(conn, inserts);
+
+            // get the task ID's on the SAME connection (sees uncommitted data)
+            List<Long> taskIds = new ArrayList<>();
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT task_id FROM sz_follow_up_tasks WHERE signature = ?")) {
+                ps.setString(1, signature);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        taskIds.add(rs.getLong(1));
+                    }
+                }
+            }
+            assertEquals(rowCount, taskIds.size());
+
+            // include an ID that does not exist
+            taskIds.add(-1L);
+
+            // lease the rows as if they had been dequeued
+            String leaseId = "test-lease-" + System.nanoTime();
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "UPDATE sz_follow_up_tasks SET lease_id = ? WHERE signature = ?")) {
+                ps.setString(1, leaseId);
+                ps.setString(2, signature);
+                assertEquals(rowCount, ps.executeUpdate());
+            }
+
+            // rows held under a different lease must not be deleted
+            // deleteFollowUpTasks is protected - directly accessible in same package
+            assertEquals(0, service.deleteFollowUpTasks(conn, leaseId + "-other", taskIds));
+
+            int deleted = service.deleteFollowUpTasks(conn, leaseId, taskIds);
+            assertEquals(rowCount, deleted);
+
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT COUNT(*) FROM sz_follow_up_tasks WHERE signature = ?")) {
+                ps.setString(1, signature);
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(0, rs.getInt(1));
+                }
+            }
+
+            conn.rollback();
+
+        } finally {
+            conn.close();
+        }
+    }
+
     @Test
     void testGenerateUniqueLeaseIds() throws Exception {
         // Generate multiple lease IDs and verify they're unique
@@ -909,8 +1059,10 @@ class AbstractSQLSchedulingServiceTest {
                 for (AbstractSchedulingService.ScheduledTask st : tasks) {
                     Connection deleteConn = service.getConnection();
                     try {
-                        Boolean deleted = service.deleteFollowUpTask(deleteConn, st);
-                        assertNotNull(deleted, "Delete should return a boolean");
+                        long taskId = AbstractSQLSchedulingService.getFollowUpTaskId(st.getFollowUpId());
+                        String leaseId = AbstractSQLSchedulingService.getFollowUpLeaseId(st.getFollowUpId());
+                        int deleted = service.deleteFollowUpTasks(deleteConn, leaseId, List.of(taskId));
+                        assertTrue(deleted <= 1, "Delete should remove at most one row");
 
                         deleteConn.commit();
                         break;
@@ -1023,8 +1175,11 @@ class AbstractSQLSchedulingServiceTest {
         if (!tasks.isEmpty()) {
             Connection conn = service.getConnection();
             try {
-                boolean deleted = service.deleteFollowUpTask(conn, tasks.get(0));
-                assertNotNull(deleted);
+                String followUpId = tasks.get(0).getFollowUpId();
+                long taskId = AbstractSQLSchedulingService.getFollowUpTaskId(followUpId);
+                String leaseId = AbstractSQLSchedulingService.getFollowUpLeaseId(followUpId);
+                int deleted = service.deleteFollowUpTasks(conn, leaseId, List.of(taskId));
+                assertTrue(deleted <= 1, "Delete should remove at most one row");
 
                 conn.commit();
             } finally {
@@ -1033,6 +1188,67 @@ class AbstractSQLSchedulingServiceTest {
         }
     }
 
+    @Test
+    void testCompleteFollowUpTaskKeepsReleasedRow() throws Exception {
+        long ts = System.nanoTime();
+        Task task = new Task("RELEASED_" + ts, new TreeMap<>(), new TreeSet<>(), null, true);
+        String leaseId = "test-lease-" + ts;
+
+        Connection conn = service.getConnection();
+        try {
+            // insert and lease the row in one transaction so that the
+            // background thread never sees it unleased
+            service.insertNewFollowUpTask(conn, task);
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "UPDATE sz_follow_up_tasks SET lease_id = ? WHERE signature = ?")) {
+                ps.setString(1, leaseId);
+                ps.setString(2, task.getSignature());
+                assertEquals(1, ps.executeUpdate());
+            }
+            conn.commit();
+
+            List<AbstractSchedulingService.ScheduledTask> leasedTasks
+                = service.getLeasedFollowUpTasks(conn, leaseId);
+            assertEquals(1, leasedTasks.size());
+            AbstractSchedulingService.ScheduledTask leased = leasedTasks.get(0);
+
+            // simulate the lease expiring and the row being leased again
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "UPDATE sz_follow_up_tasks SET lease_id = ? WHERE signature = ?")) {
+                ps.setString(1, leaseId + "-renewed");
+                ps.setString(2, task.getSignature());
+                assertEquals(1, ps.executeUpdate());
+            }
+            conn.commit();
+
+            // completing under the stale lease must not delete the row
+            SystemErr systemErr = new SystemErr();
+            AbstractSchedulingService.ScheduledTask staleTask = leased;
+            systemErr.execute(() -> service.completeFollowUpTask(staleTask));
+
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT COUNT(*) FROM sz_follow_up_tasks WHERE signature = ?")) {
+                ps.setString(1, task.getSignature());
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(1, rs.getInt(1),
+                        "A row leased again after expiry should not be deleted by the stale lease holder");
+                }
+            }
+
+            // clean up the row that is still held under the new lease
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "DELETE FROM sz_follow_up_tasks WHERE signature = ?")) {
+                ps.setString(1, task.getSignature());
+                ps.executeUpdate();
+            }
+            conn.commit();
+
+        } finally {
+            conn.close();
+        }
+    }
+
     @Test
     void testCompleteFollowUpTaskDeletesCorrectly() throws Exception {
         // Schedule a unique task
@@ -1544,6 +1760,225 @@ class AbstractSQLSchedulingServiceTest {
         nullService.destroy();
     }
 
+    // ========================================================================
+    // In-Memory Follow-Up Tier Tests
+    // ========================================================================
+
+    @Test
+    void testMemoryFollowUpsHandledWithoutDatabase() throws Exception {
+        File freshDbFile = File.createTempFile("memory_sql_test_", ".db");
+        freshDbFile.deleteOnExit();
+
+        SQLiteConnector freshConnector = new SQLiteConnector(freshDbFile.getAbsolutePath());
+        ConnectionPool freshPool = new ConnectionPool(freshConnector, 2);
+        PoolConnectionProvider freshProvider = new PoolConnectionProvider(freshPool);
+
+        String freshKey = "MEMORY_TEST_" + System.nanoTime();
+        AccessToken freshToken = ConnectionProvider.REGISTRY.bind(freshKey, freshProvider);
+
+        Map<Object, Integer> multiplicities = new java.util.concurrent.ConcurrentHashMap<>();
+        TaskHandler handler = new TaskHandler() {
+            @Override
+            public Boolean waitUntilReady(long timeoutMillis) {
+                return Boolean.TRUE;
+            }
+
+            @Override
+            public void handleTask(String action, Map<String, Object> parameters,
+                                 int multiplicity, Scheduler followUpScheduler) {
+                multiplicities.put(parameters.get("id"), multiplicity);
+            }
+        };
+
+        try {
+            SQLiteSchedulingService freshService = new SQLiteSchedulingService();
+
+            JsonObject config = Json.createObjectBuilder()
+                .add(AbstractSQLSchedulingService.CONNECTION_PROVIDER_KEY, freshKey)
+                .add(AbstractSQLSchedulingService.CLEAN_DATABASE_KEY, true)
+                .add(AbstractSQLSchedulingService.FOLLOW_UP_MEMORY_HORIZON_KEY, 60000)
+                .add(AbstractSchedulingService.CONCURRENCY_KEY, 2)
+                .add(AbstractSchedulingService.FOLLOW_UP_DELAY_KEY, 50)
+                .add(AbstractSchedulingService.FOLLOW_UP_TIMEOUT_KEY, 30000)
+                .build();
+
+            freshService.init(config, handler);
+            assertEquals(60000L, freshService.getFollowUpMemoryHorizon());
+
+            // enqueue two collapsible duplicates and one distinct task
+            List<Task> tasks = new ArrayList<>();
+            for (int id : new int[] { 1, 1, 2 }) {
+                SortedMap<String, Object> params = new TreeMap<>();
+                params.put("id", id);
+                tasks.add(new Task("MEMORY_FOLLOW_UP", params, new TreeSet<>(), null, true));
+            }
+            freshService.enqueueFollowUpTasks(tasks);
+
+            long deadline = System.currentTimeMillis() + 10000L;
+            while (multiplicities.size() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+
+            assertEquals(2, multiplicities.size(), "Both follow-ups should be handled");
+            assertEquals(2, multiplicities.get(1), "Duplicates should collapse in memory");
+            assertEquals(1, multiplicities.get(2));
+
+            // nothing should ever have been written to the database
+            try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + freshDbFile.getAbsolutePath());
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM sz_follow_up_tasks")) {
+                assertTrue(rs.next());
+                assertEquals(0, rs.getInt(1), "No follow-up rows should be written");
+            }
+
+            freshService.destroy();
+        } finally {
+            ConnectionProvider.REGISTRY.unbind(freshKey, freshToken);
+            freshPool.shutdown();
+            freshDbFile.delete();
+        }
+    }
+
+    @Test
+    void testSpillMemoryFollowUpsPersistsUncompleted() throws Exception {
+        File freshDbFile = File.createTempFile("spill_sql_test_", ".db");
+        freshDbFile.deleteOnExit();
+
+        SQLiteConnector freshConnector = new SQLiteConnector(freshDbFile.getAbsolutePath());
+        ConnectionPool freshPool = new ConnectionPool(freshConnector, 2);
+        PoolConnectionProvider freshProvider = new PoolConnectionProvider(freshPool);
+
+        String freshKey = "SPILL_TEST_" + System.nanoTime();
+        AccessToken freshToken = ConnectionProvider.REGISTRY.bind(freshKey, freshProvider);
+
+        BlockingTestHandler blockingHandler = new BlockingTestHandler(1);
+
+        try {
+            SQLiteSchedulingService freshService = new SQLiteSchedulingService();
+
+            JsonObject config = Json.createObjectBuilder()
+                .add(AbstractSQLSchedulingService.CONNECTION_PROVIDER_KEY, freshKey)
+                .add(AbstractSQLSchedulingService.CLEAN_DATABASE_KEY, true)
+                .add(AbstractSQLSchedulingService.FOLLOW_UP_MEMORY_HORIZON_KEY, 60000)
+                .add(AbstractSchedulingService.CONCURRENCY_KEY, 1)
+                .add(AbstractSchedulingService.FOLLOW_UP_DELAY_KEY, 50)
+                .add(AbstractSchedulingService.FOLLOW_UP_TIMEOUT_KEY, 30000)
+                .build();
+
+            freshService.init(config, blockingHandler);
+
+            List<Task> tasks = new ArrayList<>();
+            for (int id = 0; id < 3; id++) {
+                SortedMap<String, Object> params = new TreeMap<>();
+                params.put("id", id);
+                tasks.add(new Task("SPILL_FOLLOW_UP", params, new TreeSet<>(), null, true));
+            }
+            freshService.enqueueFollowUpTasks(tasks);
+
+            // wait until one is blocked in the handler so none can complete
+            assertTrue(blockingHandler.awaitTasksStarted(5, TimeUnit.SECONDS));
+            assertTrue(freshService.getRemainingFollowUpTasksCount() >= 3L,
+                       "In-memory follow-ups should be counted");
+
+            // spill everything whether dequeued or not
+            freshService.spillMemoryFollowUps(true);
+
+            try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + freshDbFile.getAbsolutePath());
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM sz_follow_up_tasks")) {
+                assertTrue(rs.next());
+                assertEquals(3, rs.getInt(1), "All uncompleted follow-ups should be spilled");
+            }
+
+            blockingHandler.signalProceed();
+            freshService.destroy();
+        } finally {
+            ConnectionProvider.REGISTRY.unbind(freshKey, freshToken);
+            freshPool.shutdown();
+            freshDbFile.delete();
+        }
+    }
+
+    @Test
+    void testCompleteMemoryFollowUpReleasesLocks() throws Exception {
+        File freshDbFile = File.createTempFile("memory_lock_test_", ".db");
+        freshDbFile.deleteOnExit();
+
+        SQLiteConnector freshConnector = new SQLiteConnector(freshDbFile.getAbsolutePath());
+        ConnectionPool freshPool = new ConnectionPool(freshConnector, 2);
+        PoolConnectionProvider freshProvider = new PoolConnectionProvider(freshPool);
+
+        String freshKey = "MEMORY_LOCK_TEST_" + System.nanoTime();
+        AccessToken freshToken = ConnectionProvider.REGISTRY.bind(freshKey, freshProvider);
+
+        AtomicInteger handledCount = new AtomicInteger(0);
+        TaskHandler handler = new TaskHandler() {
+            @Override
+            public Boolean waitUntilReady(long timeoutMillis) {
+                return Boolean.TRUE;
+            }
+
+            @Override
+            public void handleTask(String action, Map<String, Object> parameters,
+                                 int multiplicity, Scheduler followUpScheduler) {
+                handledCount.incrementAndGet();
+            }
+        };
+
+        try {
+            SQLiteSchedulingService freshService = new SQLiteSchedulingService();
+
+            JsonObject config = Json.createObjectBuilder()
+                .add(AbstractSQLSchedulingService.CONNECTION_PROVIDER_KEY, freshKey)
+                .add(AbstractSQLSchedulingService.CLEAN_DATABASE_KEY, true)
+                .add(AbstractSQLSchedulingService.FOLLOW_UP_MEMORY_HORIZON_KEY, 60000)
+                .add(AbstractSchedulingService.CONCURRENCY_KEY, 1)
+                .add(AbstractSchedulingService.FOLLOW_UP_DELAY_KEY, 0)
+                .add(AbstractSchedulingService.FOLLOW_UP_TIMEOUT_KEY, 30000)
+                .build();
+
+            freshService.init(config, handler);
+
+            ResourceKey resourceKey = new ResourceKey("ENTITY", 1L);
+            SortedMap<String, Object> params = new TreeMap<>();
+            params.put("id", 1);
+            SortedSet<ResourceKey> resourceKeys = new TreeSet<>();
+            resourceKeys.add(resourceKey);
+            freshService.enqueueFollowUpTasks(
+                List.of(new Task("LOCKED_FOLLOW_UP", params, resourceKeys, null, true)));
+
+            long deadline = System.currentTimeMillis() + 10000L;
+            while ((handledCount.get() < 1
+                    || freshService.getRemainingFollowUpTasksCount() > 0L)
+                   && System.currentTimeMillis() < deadline)
+            {
+                Thread.sleep(20);
+            }
+
+            assertEquals(1, handledCount.get(), "The follow-up should be handled");
+            assertEquals(0L, freshService.getRemainingFollowUpTasksCount(),
+                         "The completed in-memory follow-up should not be counted");
+
+            // the locks on the resources should have been released
+            LockToken token = freshService.getLockingService().acquireLocks(Set.of(resourceKey), 0L);
+            assertNotNull(token, "Locks should be released after completion");
+            freshService.getLockingService().releaseLocks(token);
+
+            // nothing should be written back to the database on destroy
+            freshService.destroy();
+            try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + freshDbFile.getAbsolutePath());
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM sz_follow_up_tasks")) {
+                assertTrue(rs.next());
+                assertEquals(0, rs.getInt(1), "Completed follow-ups should not be spilled");
+            }
+        } finally {
+            ConnectionProvider.REGISTRY.unbind(freshKey, freshToken);
+            freshPool.shutdown();
+            freshDbFile.delete();
+        }
+    }
+
     // ========================================================================
     // Helper Methods
     // ========================================================================
@@ -3,6 +3,7 @@ package com.senzing.listener.service.scheduling;
 import com.senzing.listener.service.exception.ServiceExecutionException;
 import com.senzing.listener.service.exception.ServiceSetupException;
 import com.senzing.listener.service.locking.ResourceKey;
+import com.senzing.util.Quantified.Statistic;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
@@ -175,6 +176,67 @@ class AbstractSchedulingServiceTest {
         service.destroy();
     }
 
+    @Test
+    void testConfiguredActionDeadlinesApplied() throws Exception {
+        SuccessTaskHandler handler = new SuccessTaskHandler();
+        MockSchedulingService service = new MockSchedulingService();
+
+        JsonObject config = Json.createObjectBuilder()
+            .add(AbstractSchedulingService.ACTION_DEADLINES_KEY,
+                 Json.createObjectBuilder().add("URGENT_ACTION", 0))
+            .build();
+
+        service.init(config, handler);
+        assertEquals(0L, service.getActionDeadline("URGENT_ACTION"));
+        assertNull(service.getActionDeadline("TEST_ACTION"));
+
+        Scheduler scheduler = service.createScheduler(false);
+        for (int index = 0; index < 3; index++) {
+            scheduler.createTaskBuilder("URGENT_ACTION")
+                .parameter("index", String.valueOf(index))
+                .schedule(false);
+            scheduler.createTaskBuilder("TEST_ACTION")
+                .parameter("index", String.valueOf(index))
+                .schedule(false);
+        }
+        scheduler.commit();
+
+        long deadline = System.currentTimeMillis() + 4000L;
+        while (handler.getHandledCount() < 6
+               && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(20L);
+        }
+        assertEquals(6, handler.getHandledCount());
+
+        // only the tasks for the configured action had a deadline
+        Map<String, Map<Statistic, Number>> stats
+            = service.getActionStatistics();
+        assertEquals(3L, stats.get("URGENT_ACTION").get(
+            AbstractSchedulingService.Stat.pendingDeadlineCount).longValue());
+        assertEquals(0L, stats.get("TEST_ACTION").get(
+            AbstractSchedulingService.Stat.pendingDeadlineCount).longValue());
+
+        service.destroy();
+    }
+
+    @Test
+    void testInitWithInvalidActionDeadlineThrows() throws Exception {
+        SystemErr systemErr = new SystemErr();
+        systemErr.execute(() -> {
+            SuccessTaskHandler handler = new SuccessTaskHandler();
+            MockSchedulingService service = new MockSchedulingService();
+
+            JsonObject config = Json.createObjectBuilder()
+                .add(AbstractSchedulingService.ACTION_DEADLINES_KEY,
+                     Json.createObjectBuilder().add("TEST_ACTION", -1))
+                .build();
+
+            // May throw RuntimeException wrapping ServiceSetupException
+            assertThrows(Exception.class, () -> service.init(config, handler));
+        });
+    }
+
     @Test
     void testInitWithNullTaskHandlerThrows() {
         MockSchedulingService service = new MockSchedulingService();
@@ -862,6 +924,50 @@ class AbstractSchedulingServiceTest {
         service.destroy();
     }
 
+    @Test
+    void testPostponedTasksWakeInOrderOnRelease() throws Exception {
+        SuccessTaskHandler handler = new SuccessTaskHandler();
+        MockSchedulingService service = new MockSchedulingService();
+
+        // use a long postponed timeout so only released locks wake tasks
+        JsonObject config = Json.createObjectBuilder()
+            .add(AbstractSchedulingService.CONCURRENCY_KEY, 4)
+            .add(AbstractSchedulingService.POSTPONED_TIMEOUT_KEY, 5000)
+            .build();
+
+        service.init(config, handler);
+
+        Scheduler scheduler = service.createScheduler(false);
+
+        // schedule many tasks contending on the same hot resource
+        int taskCount = 20;
+        List<String> expected = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            scheduler.createTaskBuilder("HOT_" + i)
+                .resource("ENTITY", "100")
+                .parameter("id", i)
+                .schedule(false);
+            expected.add("HOT_" + i);
+        }
+
+        scheduler.commit();
+
+        // wait for handling
+        long deadline = System.currentTimeMillis() + 4000L;
+        while (handler.getHandledCount() < taskCount
+               && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(20);
+        }
+
+        // all should be handled well before the postponed timeout and in the
+        // order they were scheduled for the shared resource
+        assertEquals(taskCount, handler.getHandledCount());
+        assertEquals(expected, handler.getHandledActions());
+
+        service.destroy();
+    }
+
     @Test
     void testTasksWithNoResourcesExecuteConcurrently() throws Exception {
         SuccessTaskHandler handler = new SuccessTaskHandler();
@@ -1261,6 +1367,83 @@ class AbstractSchedulingServiceTest {
         assertEquals(SchedulingService.State.DESTROYED, service.getState());
     }
 
+    // ========================================================================
+    // Concurrent Scheduling Tests
+    // ========================================================================
+
+    @Test
+    void testConcurrentProducersAndStatisticsReaders() throws Exception {
+        SuccessTaskHandler handler = new SuccessTaskHandler();
+        MockSchedulingService service = new MockSchedulingService();
+
+        JsonObject config = Json.createObjectBuilder()
+            .add(AbstractSchedulingService.CONCURRENCY_KEY, 4)
+            .build();
+
+        service.init(config, handler);
+
+        int producerCount = 8;
+        int tasksPerProducer = 50;
+        AtomicInteger failures = new AtomicInteger(0);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>(producerCount);
+        for (int p = 0; p < producerCount; p++) {
+            final int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    startLatch.await();
+                    for (int i = 0; i < tasksPerProducer; i++) {
+                        Scheduler scheduler = service.createScheduler(false);
+                        scheduler.createTaskBuilder("PRODUCE")
+                            .resource("ENTITY", producer, i)
+                            .parameter("producer", producer)
+                            .parameter("index", i)
+                            .schedule(false);
+                        scheduler.commit();
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+            });
+            producers.add(thread);
+            thread.start();
+        }
+
+        // read the statistics while the producers are scheduling
+        Thread reader = new Thread(() -> {
+            try {
+                startLatch.await();
+                for (int i = 0; i < 200; i++) {
+                    service.getStatistics();
+                    service.getRemainingTasksCount();
+                }
+            } catch (Exception e) {
+                failures.incrementAndGet();
+            }
+        });
+        reader.start();
+
+        startLatch.countDown();
+        for (Thread thread : producers) {
+            thread.join(10000);
+        }
+        reader.join(10000);
+
+        // wait for all the tasks to be handled
+        int expected = producerCount * tasksPerProducer;
+        long deadline = System.currentTimeMillis() + 10000L;
+        while (handler.getHandledCount() < expected
+               && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(20);
+        }
+
+        assertEquals(0, failures.get(), "Producers or readers failed");
+        assertEquals(expected, handler.getHandledCount());
+
+        service.destroy();
+    }
+
     // ========================================================================
     // Timer Function Tests
     // ========================================================================
@@ -1541,4 +1724,193 @@ class AbstractSchedulingServiceTest {
 
         service.destroy();
     }
+
+    // ========================================================================
+    // Dispatcher Shard Tests
+    // ========================================================================
+
+    @Test
+    void testDispatchShardsExceedingConcurrencyThrows() throws Exception {
+        SystemErr systemErr = new SystemErr();
+        systemErr.execute(() -> {
+            SuccessTaskHandler handler = new SuccessTaskHandler();
+            MockSchedulingService service = new MockSchedulingService();
+
+            JsonObject config = Json.createObjectBuilder()
+                .add(AbstractSchedulingService.CONCURRENCY_KEY, 2)
+                .add(AbstractSchedulingService.DISPATCH_SHARDS_KEY, 3)
+                .build();
+
+            // May throw RuntimeException wrapping ServiceSetupException
+            assertThrows(Exception.class, () -> service.init(config, handler));
+        });
+    }
+
+    @Test
+    void testShardedDispatchHandlesEveryTaskWithSharedLocks() throws Exception {
+        class ExclusiveHandler implements TaskHandler {
+            private final Set<String> active = ConcurrentHashMap.newKeySet();
+            private final AtomicInteger handledCount = new AtomicInteger(0);
+            private final AtomicInteger overlapCount = new AtomicInteger(0);
+
+            @Override
+            public Boolean waitUntilReady(long timeoutMillis) {
+                return Boolean.TRUE;
+            }
+
+            @Override
+            public void handleTask(String action, Map<String, Object> parameters,
+                                 int multiplicity, Scheduler followUpScheduler) {
+                String entity = String.valueOf(parameters.get("entity"));
+                if (!active.add(entity)) {
+                    overlapCount.incrementAndGet();
+                }
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    // Ignore
+                }
+                active.remove(entity);
+                handledCount.addAndGet(multiplicity);
+            }
+        }
+
+        ExclusiveHandler handler = new ExclusiveHandler();
+        MockSchedulingService service = new MockSchedulingService();
+
+        JsonObject config = Json.createObjectBuilder()
+            .add(AbstractSchedulingService.CONCURRENCY_KEY, 4)
+            .add(AbstractSchedulingService.DISPATCH_SHARDS_KEY, 4)
+            .build();
+
+        service.init(config, handler);
+        assertEquals(4, service.getDispatchShardCount());
+
+        // tasks for the same entity carry a second shared resource so that
+        // they contend for locks across different dispatcher shards
+        int taskCount = 200;
+        Scheduler scheduler = service.createScheduler(false);
+        for (int i = 0; i < taskCount; i++) {
+            scheduler.createTaskBuilder("SHARDED")
+                .parameter("entity", String.valueOf(i % 10))
+                .parameter("id", String.valueOf(i))
+                .resource("RECORD", String.valueOf(i))
+                .resource("ENTITY", String.valueOf(i % 10))
+                .schedule(false);
+        }
+        scheduler.commit();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (handler.handledCount.get() < taskCount
+               && System.nanoTime() < deadline)
+        {
+            Thread.sleep(10);
+        }
+
+        assertEquals(taskCount, handler.handledCount.get(),
+            "Every task should be handled exactly once");
+        assertEquals(0, handler.overlapCount.get(),
+            "Tasks sharing a resource should never run concurrently");
+        assertEquals(0L, service.getRemainingTasksCount().longValue());
+
+        service.destroy();
+    }
+
+    @Test
+    void testShardedDispatchThroughputScalesWithConcurrency() throws Exception {
+        int[] concurrencies = { 1, 2, 4 };
+        double[] throughputs = new double[concurrencies.length];
+        for (int index = 0; index < concurrencies.length; index++) {
+            throughputs[index] = measureShardedThroughput(concurrencies[index]);
+            System.out.println("concurrency=" + concurrencies[index]
+                + " dispatchShards=" + concurrencies[index]
+                + " throughput=" + Math.round(throughputs[index]) + " tasks/sec");
+        }
+
+        // ideal scaling is linear, but allow generous slack for shared CI
+        double ratio = throughputs[concurrencies.length - 1] / throughputs[0];
+        assertTrue(ratio >= 2.0,
+            "Throughput at concurrency " + concurrencies[concurrencies.length - 1]
+            + " should be at least twice that at concurrency 1, ratio was: " + ratio);
+    }
+
+    /**
+     * Schedules tasks with distinct resources from several producer threads
+     * against a {@link MockSchedulingService} whose dispatcher shards match
+     * the specified concurrency and returns the measured tasks per second.
+     */
+    private double measureShardedThroughput(int concurrency) throws Exception {
+        int producerCount = 4;
+        int tasksPerProducer = 100;
+        int taskCount = producerCount * tasksPerProducer;
+        AtomicInteger handledCount = new AtomicInteger(0);
+
+        TaskHandler handler = new TaskHandler() {
+            @Override
+            public Boolean waitUntilReady(long timeoutMillis) {
+                return Boolean.TRUE;
+            }
+
+            @Override
+            public void handleTask(String action, Map<String, Object> parameters,
+                                 int multiplicity, Scheduler followUpScheduler) {
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    // Ignore
+                }
+                handledCount.addAndGet(multiplicity);
+            }
+        };
+
+        MockSchedulingService service = new MockSchedulingService();
+        JsonObject config = Json.createObjectBuilder()
+            .add(AbstractSchedulingService.CONCURRENCY_KEY, concurrency)
+            .add(AbstractSchedulingService.DISPATCH_SHARDS_KEY, concurrency)
+            .build();
+        service.init(config, handler);
+
+        ExecutorService producers = Executors.newFixedThreadPool(producerCount);
+        try {
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>(producerCount);
+            for (int producer = 0; producer < producerCount; producer++) {
+                final int producerId = producer;
+                futures.add(producers.submit(() -> {
+                    startLatch.await();
+                    for (int i = 0; i < tasksPerProducer; i++) {
+                        String id = String.valueOf(producerId * tasksPerProducer + i);
+                        Scheduler scheduler = service.createScheduler(false);
+                        scheduler.createTaskBuilder("THROUGHPUT")
+                            .parameter("id", id)
+                            .resource("ENTITY", id)
+                            .schedule(false);
+                        scheduler.commit();
+                    }
+                    return null;
+                }));
+            }
+
+            long start = System.nanoTime();
+            startLatch.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            long deadline = start + TimeUnit.SECONDS.toNanos(60);
+            while (handledCount.get() < taskCount && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            assertEquals(taskCount, handledCount.get(),
+                "Every task should be handled at concurrency " + concurrency);
+
+            return taskCount / (elapsed / 1_000_000_000.0);
+
+        } finally {
+            producers.shutdownNow();
+            service.destroy();
+        }
+    }
 }
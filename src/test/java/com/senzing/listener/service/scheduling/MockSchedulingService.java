@@ -21,18 +21,18 @@ class MockSchedulingService extends AbstractSchedulingService {
         // Default constructor
     }
 
-    public List<Task> getScheduledTasks() {
+    public synchronized List<Task> getScheduledTasks() {
         return new ArrayList<>(allScheduledTasks);
     }
 
     @Override
-    protected void enqueueFollowUpTask(Task task) throws ServiceExecutionException {
+    protected synchronized void enqueueFollowUpTask(Task task) throws ServiceExecutionException {
         allScheduledTasks.add(task);
         followUpQueue.add(new ScheduledTask(task));
     }
 
     @Override
-    protected List<ScheduledTask> dequeueFollowUpTasks(int count) throws ServiceExecutionException {
+    protected synchronized List<ScheduledTask> dequeueFollowUpTasks(int count) throws ServiceExecutionException {
         List<ScheduledTask> result = new ArrayList<>();
         int toFetch = Math.min(count, followUpQueue.size());
         for (int i = 0; i < toFetch; i++) {
@@ -62,7 +62,7 @@ class MockSchedulingService extends AbstractSchedulingService {
     }
 
     @Override
-    protected Long countScheduledFollowUpTasks() {
+    protected synchronized Long countScheduledFollowUpTasks() {
         return ((long) this.followUpQueue.size());
     }
 }
@@ -0,0 +1,188 @@
+package com.senzing.listener.service.scheduling;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PendingTaskQueue}.
+ * Tests weighted fair ordering across actions, deadline precedence and
+ * per-action statistics.
+ */
+class PendingTaskQueueTest {
+
+    private static int nextId = 0;
+
+    private static AbstractSchedulingService.ScheduledTask createTask(String action, Long deadlineMillis) {
+        SortedMap<String, Object> params = new TreeMap<>();
+        params.put("id", nextId++);
+        Task task = new Task(action, params, new TreeSet<>(), null, true);
+        if (deadlineMillis != null) {
+            task.setDeadline(deadlineMillis);
+        }
+        return new AbstractSchedulingService.ScheduledTask(task);
+    }
+
+    // ========================================================================
+    // Fair Ordering Tests
+    // ========================================================================
+
+    @Test
+    void testSmallActionNotStarvedBehindLargeBacklog() {
+        PendingTaskQueue queue = new PendingTaskQueue(Collections.emptyMap(), 1);
+        for (int i = 0; i < 1000; i++) {
+            queue.add(createTask("REFRESH_ENTITY", null));
+        }
+        queue.add(createTask("UPDATE_REPORT", null));
+        queue.add(createTask("UPDATE_REPORT", null));
+
+        assertEquals(1002, queue.size());
+
+        int reportCount = 0;
+        for (int i = 0; i < 5; i++) {
+            if (queue.poll().getAction().equals("UPDATE_REPORT")) {
+                reportCount++;
+            }
+        }
+        assertEquals(2, reportCount, "Equal weights should alternate between actions");
+        assertEquals(997, queue.size());
+    }
+
+    @Test
+    void testWeightedOrdering() {
+        Map<String, Integer> weights = new HashMap<>();
+        weights.put("HEAVY", 3);
+        PendingTaskQueue queue = new PendingTaskQueue(weights, 1);
+        for (int i = 0; i < 40; i++) {
+            queue.add(createTask("HEAVY", null));
+            queue.add(createTask("LIGHT", null));
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 40; i++) {
+            counts.merge(queue.poll().getAction(), 1, Integer::sum);
+        }
+        assertEquals(30, counts.get("HEAVY"));
+        assertEquals(10, counts.get("LIGHT"));
+    }
+
+    @Test
+    void testFifoWithinAction() {
+        PendingTaskQueue queue = new PendingTaskQueue(Collections.emptyMap(), 1);
+        List<AbstractSchedulingService.ScheduledTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            AbstractSchedulingService.ScheduledTask task = createTask("ACTION", null);
+            tasks.add(task);
+            queue.add(task);
+        }
+        for (AbstractSchedulingService.ScheduledTask task : tasks) {
+            assertSame(task, queue.poll());
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void testIdleActionDoesNotBankCredit() {
+        PendingTaskQueue queue = new PendingTaskQueue(Collections.emptyMap(), 1);
+        for (int i = 0; i < 20; i++) {
+            queue.add(createTask("BUSY", null));
+        }
+        for (int i = 0; i < 10; i++) {
+            queue.poll();
+        }
+        // a newly active action should alternate rather than run 10 in a row
+        for (int i = 0; i < 10; i++) {
+            queue.add(createTask("LATE", null));
+        }
+        Set<String> firstTwo = new HashSet<>();
+        firstTwo.add(queue.poll().getAction());
+        firstTwo.add(queue.poll().getAction());
+        assertEquals(Set.of("BUSY", "LATE"), firstTwo);
+    }
+
+    // ========================================================================
+    // Deadline Tests
+    // ========================================================================
+
+    @Test
+    void testExpiredDeadlineTakesPrecedence() {
+        PendingTaskQueue queue = new PendingTaskQueue(Collections.emptyMap(), 1);
+        for (int i = 0; i < 10; i++) {
+            queue.add(createTask("ACTION", null));
+        }
+        AbstractSchedulingService.ScheduledTask urgent = createTask("ACTION", 0L);
+        queue.add(urgent);
+
+        assertSame(urgent, queue.poll(), "Task with arrived deadline should be dequeued first");
+        assertEquals(10, queue.size());
+        assertEquals(1L, queue.getDeadlineCount("ACTION"));
+
+        // the remaining tasks are still dequeued in order
+        int count = 0;
+        while (queue.poll() != null) {
+            count++;
+        }
+        assertEquals(10, count);
+    }
+
+    @Test
+    void testFutureDeadlineDoesNotJumpQueue() {
+        PendingTaskQueue queue = new PendingTaskQueue(Collections.emptyMap(), 1);
+        AbstractSchedulingService.ScheduledTask first = createTask("ACTION", null);
+        queue.add(first);
+        queue.add(createTask("ACTION", 60000L));
+
+        assertSame(first, queue.poll());
+        assertEquals(0L, queue.getDeadlineCount("ACTION"));
+    }
+
+    @Test
+    void testCollapsedDeadlineMovesEarlier() {
+        SortedMap<String, Object> params = new TreeMap<>();
+        params.put("id", "dup");
+        Task original = new Task("ACTION", params, new TreeSet<>(), null, true);
+        original.setDeadline(60000L);
+        AbstractSchedulingService.ScheduledTask scheduled
+            = new AbstractSchedulingService.ScheduledTask(original);
+
+        PendingTaskQueue queue = new PendingTaskQueue(Collections.emptyMap(), 1);
+        queue.add(createTask("ACTION", null));
+        queue.add(scheduled);
+
+        Task duplicate = new Task("ACTION", new TreeMap<>(params), new TreeSet<>(), null, true);
+        duplicate.setDeadline(0L);
+        scheduled.collapseWith(duplicate);
+        queue.deadlineChanged(scheduled);
+
+        assertEquals(duplicate.getDeadlineNanoTime(), scheduled.getDeadlineNanoTime());
+        assertSame(scheduled, queue.poll());
+    }
+
+    // ========================================================================
+    // Statistics Tests
+    // ========================================================================
+
+    @Test
+    void testPerActionStatistics() throws Exception {
+        PendingTaskQueue queue = new PendingTaskQueue(Collections.emptyMap(), 1);
+        queue.add(createTask("A", null));
+        queue.add(createTask("A", null));
+        queue.add(createTask("B", null));
+
+        assertNull(queue.getAverageWait("A"));
+        assertEquals(Map.of("A", 2, "B", 1), queue.getQueueDepths());
+
+        Thread.sleep(20);
+        queue.poll();
+        queue.poll();
+
+        assertEquals(Map.of("A", 1, "B", 0), queue.getQueueDepths());
+        assertEquals(1L, queue.getDequeueCount("A"));
+        assertEquals(1L, queue.getDequeueCount("B"));
+        assertTrue(queue.getAverageWait("A") >= 20.0);
+        assertTrue(queue.getGreatestWait("B") >= 20L);
+        assertEquals(0L, queue.getDequeueCount("UNKNOWN"));
+    }
+}
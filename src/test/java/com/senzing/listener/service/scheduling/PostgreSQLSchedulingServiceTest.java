@@ -0,0 +1,220 @@
+package com.senzing.listener.service.scheduling;
+
+import com.senzing.sql.ConnectionPool;
+import com.senzing.sql.ConnectionProvider;
+import com.senzing.sql.PoolConnectionProvider;
+import com.senzing.sql.PostgreSqlConnector;
+import com.senzing.util.AccessToken;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link PostgreSQLSchedulingService} follow-up leasing when
+ * multiple replicator nodes share the same database.  Uses Zonky Embedded
+ * PostgreSQL.
+ */
+@Execution(ExecutionMode.SAME_THREAD)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PostgreSQLSchedulingServiceTest {
+
+    private static final String PROVIDER_KEY = "PG_SCHEDULING_TEST";
+    private EmbeddedPostgres embeddedPostgres;
+    private ConnectionPool connectionPool;
+    private AccessToken providerToken;
+
+    /**
+     * Handler that counts how many times each follow-up task is handled.
+     */
+    private static class CountingTaskHandler implements TaskHandler {
+        private final Map<Object, AtomicInteger> handledCounts;
+
+        public CountingTaskHandler(Map<Object, AtomicInteger> handledCounts) {
+            this.handledCounts = handledCounts;
+        }
+
+        @Override
+        public Boolean waitUntilReady(long timeoutMillis) {
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public void handleTask(String action, Map<String, Object> parameters,
+                             int multiplicity, Scheduler followUpScheduler) {
+            handledCounts.computeIfAbsent(parameters.get("id"),
+                (k) -> new AtomicInteger(0)).incrementAndGet();
+        }
+    }
+
+    @BeforeAll
+    void setUp() throws Exception {
+        embeddedPostgres = EmbeddedPostgres.builder().start();
+        int port = embeddedPostgres.getPort();
+        PostgreSqlConnector connector = new PostgreSqlConnector(
+            "localhost", port, "postgres", "postgres", "postgres");
+        connectionPool = new ConnectionPool(connector, 10);
+        PoolConnectionProvider provider = new PoolConnectionProvider(connectionPool);
+        providerToken = ConnectionProvider.REGISTRY.bind(PROVIDER_KEY, provider);
+    }
+
+    @AfterAll
+    void tearDown() throws Exception {
+        if (providerToken != null) {
+            ConnectionProvider.REGISTRY.unbind(PROVIDER_KEY, providerToken);
+        }
+        if (connectionPool != null) {
+            connectionPool.shutdown();
+        }
+        if (embeddedPostgres != null) {
+            embeddedPostgres.close();
+        }
+    }
+
+    private JsonObject createConfig(boolean clean) {
+        return Json.createObjectBuilder()
+            .add(AbstractSQLSchedulingService.CONNECTION_PROVIDER_KEY, PROVIDER_KEY)
+            .add(AbstractSQLSchedulingService.CLEAN_DATABASE_KEY, clean)
+            .add(AbstractSchedulingService.CONCURRENCY_KEY, 2)
+            .add(AbstractSchedulingService.FOLLOW_UP_DELAY_KEY, 100)
+            .add(AbstractSchedulingService.FOLLOW_UP_TIMEOUT_KEY, 30000)
+            .add(AbstractSchedulingService.FOLLOW_UP_FETCH_KEY, 5)
+            .build();
+    }
+
+    // ========================================================================
+    // Multi-Node Leasing Tests
+    // ========================================================================
+
+    @Test
+    void testLeaseAndGetFollowUpTasksSingleRoundTrip() throws Exception {
+        PostgreSQLSchedulingService service = new PostgreSQLSchedulingService();
+        service.init(createConfig(true), new CountingTaskHandler(new ConcurrentHashMap<>()));
+        try {
+            Connection conn = service.getConnection();
+            try {
+                Map<Task, Integer> inserts = new LinkedHashMap<>();
+                for (int i = 0; i < 3; i++) {
+                    Task task = new Task("LEASE_" + i, new TreeMap<>(), new TreeSet<>(), null, false);
+                    inserts.put(task, 1);
+                }
+                service.insertNewFollowUpTasks(conn, inserts);
+
+                // lease on the SAME connection (sees uncommitted data)
+                String leaseId = service.generateLeaseId();
+                List<AbstractSchedulingService.ScheduledTask> leased
+                    = service.leaseAndGetFollowUpTasks(conn, 2, leaseId);
+
+                assertEquals(2, leased.size());
+                for (AbstractSchedulingService.ScheduledTask task : leased) {
+                    assertTrue(task.getFollowUpId().endsWith(":" + leaseId));
+                    assertFalse(task.isFollowUpExpired());
+                }
+
+                conn.rollback();
+
+            } finally {
+                conn.close();
+            }
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void testLeaseAndGetFollowUpTasksInTaskIdOrder() throws Exception {
+        PostgreSQLSchedulingService service = new PostgreSQLSchedulingService();
+        service.init(createConfig(true), new CountingTaskHandler(new ConcurrentHashMap<>()));
+        try {
+            Connection conn = service.getConnection();
+            try {
+                Map<Task, Integer> inserts = new LinkedHashMap<>();
+                for (int i = 0; i < 20; i++) {
+                    Task task = new Task("ORDER_" + i, new TreeMap<>(), new TreeSet<>(), null, false);
+                    inserts.put(task, 1);
+                }
+                service.insertNewFollowUpTasks(conn, inserts);
+
+                // update some rows so their physical order differs
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("UPDATE sz_follow_up_tasks SET multiplicity = 2 "
+                                       + "WHERE MOD(task_id, 2) = 0");
+                }
+
+                String leaseId = service.generateLeaseId();
+                List<AbstractSchedulingService.ScheduledTask> leased
+                    = service.leaseAndGetFollowUpTasks(conn, 20, leaseId);
+
+                assertEquals(20, leased.size());
+                long previous = -1L;
+                for (AbstractSchedulingService.ScheduledTask task : leased) {
+                    long taskId = AbstractSQLSchedulingService.getFollowUpTaskId(task.getFollowUpId());
+                    assertTrue(taskId > previous,
+                        "Leased follow-up tasks should be ordered by task ID: " + leased);
+                    previous = taskId;
+                }
+
+                conn.rollback();
+
+            } finally {
+                conn.close();
+            }
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void testMultipleNodesHandleEachFollowUpOnce() throws Exception {
+        int nodeCount = 4;
+        int taskCount = 200;
+        Map<Object, AtomicInteger> handledCounts = new ConcurrentHashMap<>();
+
+        List<PostgreSQLSchedulingService> nodes = new ArrayList<>(nodeCount);
+        try {
+            for (int i = 0; i < nodeCount; i++) {
+                PostgreSQLSchedulingService node = new PostgreSQLSchedulingService();
+                node.init(createConfig(i == 0), new CountingTaskHandler(handledCounts));
+                nodes.add(node);
+            }
+
+            // enqueue all the follow-up tasks via the first node
+            List<Task> tasks = new ArrayList<>(taskCount);
+            for (int i = 0; i < taskCount; i++) {
+                SortedMap<String, Object> params = new TreeMap<>();
+                params.put("id", i);
+                tasks.add(new Task("NODE_FOLLOW_UP", params, new TreeSet<>(), null, false));
+            }
+            nodes.get(0).enqueueFollowUpTasks(tasks);
+
+            // wait for all the nodes to drain the follow-up tasks
+            long deadline = System.currentTimeMillis() + 30000L;
+            while (handledCounts.size() < taskCount
+                   && System.currentTimeMillis() < deadline)
+            {
+                Thread.sleep(50);
+            }
+
+            assertEquals(taskCount, handledCounts.size(),
+                "Every follow-up task should have been handled");
+            for (Map.Entry<Object, AtomicInteger> entry : handledCounts.entrySet()) {
+                assertEquals(1, entry.getValue().get(),
+                    "Follow-up task handled more than once: " + entry.getKey());
+            }
+
+        } finally {
+            for (PostgreSQLSchedulingService node : nodes) {
+                node.destroy();
+            }
+        }
+    }
+}
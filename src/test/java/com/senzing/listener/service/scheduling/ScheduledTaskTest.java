@@ -135,6 +135,24 @@ class ScheduledTaskTest {
         assertFalse(expired, "Should not be expired when expiration not set");
     }
 
+    @Test
+    void testIsFollowUpExpiring() throws Exception {
+        Task task = new Task("ACTION", new TreeMap<>(), new TreeSet<>(), null, true);
+        AbstractSchedulingService.ScheduledTask scheduledTask =
+            new AbstractSchedulingService.ScheduledTask(task);
+
+        // Not expiring when expiration not set
+        assertFalse(scheduledTask.isFollowUpExpiring(60000L));
+
+        // Set expiration ten seconds in the future
+        scheduledTask.setFollowUpExpiration(System.currentTimeMillis() + 10000);
+
+        assertFalse(scheduledTask.isFollowUpExpiring(1000L),
+                    "Should not be expiring within one second");
+        assertTrue(scheduledTask.isFollowUpExpiring(60000L),
+                   "Should be expiring within one minute");
+    }
+
     @Test
     void testGetOriginalBackingTaskId() throws Exception {
         Task task = new Task("ACTION", new TreeMap<>(), new TreeSet<>(), null, true);
@@ -826,5 +826,59 @@ class TaskGroupTest {
         assertEquals("tasks", TaskGroup.Stat.successCount.getUnits());
         assertEquals("tasks", TaskGroup.Stat.failureCount.getUnits());
     }
-}
 
+    @Test
+    void testCompletionFutureCompletedOnEmptyClose() {
+        TaskGroup group = new TaskGroup();
+        assertFalse(group.getCompletionFuture().isDone());
+
+        group.close();
+        assertTrue(group.getCompletionFuture().isDone());
+        assertSame(group, group.getCompletionFuture().join());
+    }
+
+    @Test
+    void testCompletionFutureCompletedByLastTask() throws Exception {
+        TaskGroup group = new TaskGroup();
+        Task task1 = new Task("ACTION1", new TreeMap<>(), new TreeSet<>(), group, true);
+        Task task2 = new Task("ACTION2", new TreeMap<>(), new TreeSet<>(), group, true);
+
+        group.addTask(task1);
+        group.addTask(task2);
+        group.close();
+
+        List<TaskGroup.State> observed = new ArrayList<>();
+        group.getCompletionFuture().thenAccept((g) -> observed.add(g.getState()));
+
+        task1.markScheduled();
+        task2.markScheduled();
+        task1.beginHandling();
+        task1.succeeded();
+        assertFalse(group.getCompletionFuture().isDone());
+
+        task2.beginHandling();
+        task2.succeeded();
+        assertTrue(group.getCompletionFuture().isDone());
+        assertEquals(List.of(TaskGroup.State.SUCCESSFUL), observed);
+    }
+
+    @Test
+    void testCompletionFutureCompletedOnFastFail() throws Exception {
+        TaskGroup group = new TaskGroup();
+        Task task1 = new Task("ACTION1", new TreeMap<>(), new TreeSet<>(), group, true);
+        Task task2 = new Task("ACTION2", new TreeMap<>(), new TreeSet<>(), group, true);
+
+        group.addTask(task1);
+        group.addTask(task2);
+        group.close();
+
+        task1.markScheduled();
+        task2.markScheduled();
+        task1.beginHandling();
+        task1.failed(new Exception("Test"));
+
+        // the future completes normally, the group state records the failure
+        assertTrue(group.getCompletionFuture().isDone());
+        assertEquals(TaskGroup.State.FAILED, group.getCompletionFuture().join().getState());
+    }
+}
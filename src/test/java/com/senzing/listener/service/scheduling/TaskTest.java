@@ -437,6 +437,29 @@ class TaskTest {
         assertNotEquals(task1.getSignature(), task2.getSignature());
     }
 
+    @Test
+    void testSignatureAndJsonTextAreCached() throws Exception {
+        SortedMap<String, Object> params = new TreeMap<>();
+        params.put("key", "value");
+        SortedSet<ResourceKey> resources = new TreeSet<>();
+        resources.add(new ResourceKey("ENTITY", "123"));
+
+        Task task = new Task("ACTION", params, resources, null, true);
+
+        // repeated calls should return the same cached instances
+        String jsonText = task.toJsonText();
+        String signature = task.getSignature();
+        assertSame(jsonText, task.toJsonText());
+        assertSame(jsonText, Task.toJsonText(task));
+        assertSame(signature, task.getSignature());
+        assertSame(signature, Task.toSignature(task));
+
+        // modifying the original parameters should not affect the task
+        params.put("key", "other");
+        assertEquals(jsonText, task.toJsonText());
+        assertEquals(signature, task.getSignature());
+    }
+
     // ========================================================================
     // isCompleted() Tests
     // ========================================================================
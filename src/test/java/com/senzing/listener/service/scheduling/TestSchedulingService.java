@@ -7,6 +7,7 @@ import com.senzing.util.Quantified;
 
 import javax.json.JsonObject;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -209,12 +210,27 @@ public class TestSchedulingService implements SchedulingService {
 
         @Override
         public void awaitCompletion() {
+            if (!simulateCompletion()) {
+                // Already processed, just wait for completion like the parent
+                super.awaitCompletion();
+            }
+        }
+
+        @Override
+        public CompletableFuture<TaskGroup> getCompletionFuture() {
+            simulateCompletion();
+            return super.getCompletionFuture();
+        }
+
+        /**
+         * Simulates completion of the tasks the first time it is called.
+         * @return true if the tasks were completed by this call, otherwise false.
+         */
+        private boolean simulateCompletion() {
             // Guard against double processing - only process tasks once
             synchronized (this) {
                 if (completionProcessed) {
-                    // Already processed, just wait for completion like the parent
-                    super.awaitCompletion();
-                    return;
+                    return false;
                 }
                 completionProcessed = true;
             }
@@ -240,6 +256,7 @@ public class TestSchedulingService implements SchedulingService {
                     task.succeeded();
                 }
             }
+            return true;
         }
 
         @Override